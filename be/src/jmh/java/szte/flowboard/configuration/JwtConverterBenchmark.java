@@ -0,0 +1,70 @@
+package szte.flowboard.configuration;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Converts a Keycloak access token to the authentication of a request with {@link JwtConverter#convert(Jwt)},
+ * which runs on every authenticated request.
+ * The token carries the given number of client roles of the FlowBoard client and as many scopes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtConverterBenchmark {
+
+    @Param({"1", "5", "20"})
+    private int roles;
+
+    private JwtConverter jwtConverter;
+    private Jwt jwt;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtConverter = new JwtConverter();
+        ReflectionTestUtils.setField(jwtConverter, "principleAttribute", "preferred_username");
+        ReflectionTestUtils.setField(jwtConverter, "resourceId", "flowboard");
+
+        var issuedAt = Instant.parse("2025-01-01T08:00:00Z");
+
+        jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("c0ffee00-0000-0000-0000-000000000001")
+                .issuer("http://localhost:9090/realms/flowboard")
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plusSeconds(300))
+                .claim("preferred_username", "munkatars")
+                .claim("scope", String.join(" ", IntStream.range(0, roles).mapToObj(i -> "scope-" + i).toList()))
+                .claim("resource_access", Map.of(
+                        "flowboard", Map.of("roles", IntStream.range(0, roles).mapToObj(i -> "role-" + i).toList()),
+                        "account", Map.of("roles", List.of("manage-account", "view-profile"))))
+                .build();
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken convert() {
+        return jwtConverter.convert(jwt);
+    }
+}
@@ -0,0 +1,54 @@
+package szte.flowboard.dto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import szte.flowboard.service.report.SyntheticReportData;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sums the billed lines of a COC report into its summary line with {@link COCReportLineItemDto#summarize},
+ * one line per user of the team.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class COCReportSummarizeBenchmark {
+
+    @Param({"5", "50", "1000"})
+    private int users;
+
+    private List<COCReportLineItemDto> lines;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var report = SyntheticReportData.coc(users);
+
+        lines = report.getLines().subList(0, users);
+    }
+
+    @Benchmark
+    public COCReportLineItemDto summarize() {
+        var summary = new COCReportLineItemDto("Összesen", null, null, 0.0, 0.0, 0.0, null);
+
+        for (var line : lines) {
+            summary.summarize(line);
+        }
+
+        return summary;
+    }
+}
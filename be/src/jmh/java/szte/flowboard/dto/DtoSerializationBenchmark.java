@@ -0,0 +1,135 @@
+package szte.flowboard.dto;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import szte.flowboard.enums.TaskStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Serializes the task and time log lists with reflective property access and with Blackbird, in JSON, Smile and CBOR.
+ * The lists are written row by row through a generator, the way the unpaged list endpoints stream them,
+ * and read back into DTOs, the way the API clients read them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DtoSerializationBenchmark {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 1, 8, 0);
+
+    @Param({"JSON", "Smile", "CBOR"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean blackbird;
+
+    @Param({"10000"})
+    private int rows;
+
+    private ObjectMapper objectMapper;
+    private List<TaskDto> tasks;
+    private List<TimeLogDto> timeLogs;
+    private byte[] taskPayload;
+    private byte[] timeLogPayload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        var factory = switch (format) {
+            case "Smile" -> new SmileFactory();
+            case "CBOR" -> new CBORFactory();
+            default -> new JsonFactory();
+        };
+        var builder = new Jackson2ObjectMapperBuilder().factory(factory);
+
+        if (blackbird) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+
+        objectMapper = builder.build();
+        tasks = IntStream.range(0, rows).mapToObj(DtoSerializationBenchmark::task).toList();
+        timeLogs = IntStream.range(0, rows).mapToObj(DtoSerializationBenchmark::timeLog).toList();
+        taskPayload = writeTasks();
+        timeLogPayload = writeTimeLogs();
+    }
+
+    @Benchmark
+    public byte[] writeTasks() throws IOException {
+        return write(tasks);
+    }
+
+    @Benchmark
+    public List<TaskDto> readTasks() throws IOException {
+        return read(taskPayload, TaskDto.class);
+    }
+
+    @Benchmark
+    public byte[] writeTimeLogs() throws IOException {
+        return write(timeLogs);
+    }
+
+    @Benchmark
+    public List<TimeLogDto> readTimeLogs() throws IOException {
+        return read(timeLogPayload, TimeLogDto.class);
+    }
+
+    private byte[] write(List<?> rows) throws IOException {
+        var outputStream = new ByteArrayOutputStream();
+
+        try (var generator = objectMapper.createGenerator(outputStream)) {
+            generator.writeStartArray();
+            for (var row : rows) {
+                generator.writeObject(row);
+            }
+            generator.writeEndArray();
+        }
+
+        return outputStream.toByteArray();
+    }
+
+    private <T> List<T> read(byte[] payload, Class<T> rowType) throws IOException {
+        return objectMapper.readValue(payload, objectMapper.getTypeFactory().constructCollectionType(List.class, rowType));
+    }
+
+    private static TaskDto task(int i) {
+        var createdAt = CREATED_AT.minusMinutes(i);
+
+        return new TaskDto(UUID.randomUUID(), "Task " + i, "Description of task " + i, UUID.randomUUID(), UUID.randomUUID(),
+                "Test User", Duration.ofMinutes(i % 480), UUID.randomUUID(), TaskStatus.values()[i % TaskStatus.values().length],
+                "creator", createdAt, "modifier", createdAt.plusMinutes(5), i);
+    }
+
+    private static TimeLogDto timeLog(int i) {
+        var createdAt = CREATED_AT.minusMinutes(i);
+
+        return new TimeLogDto(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), Duration.ofMinutes(15 + i % 240), i % 2 == 0,
+                createdAt.toLocalDate().minusDays(i % 365), "creator", createdAt, "modifier", createdAt.plusMinutes(5), i);
+    }
+}
@@ -0,0 +1,276 @@
+package szte.flowboard.mapper;
+
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import szte.flowboard.dto.CompanyDto;
+import szte.flowboard.dto.ProjectDto;
+import szte.flowboard.dto.ProjectUserDto;
+import szte.flowboard.dto.ReportDto;
+import szte.flowboard.dto.StoryPointTimeMappingDto;
+import szte.flowboard.dto.TaskDto;
+import szte.flowboard.dto.TimeLogDto;
+import szte.flowboard.dto.UserDto;
+import szte.flowboard.entity.AuditEntity;
+import szte.flowboard.entity.CompanyEntity;
+import szte.flowboard.entity.ProjectEntity;
+import szte.flowboard.entity.ProjectUserEntity;
+import szte.flowboard.entity.ReportEntity;
+import szte.flowboard.entity.StoryPointTimeMappingEntity;
+import szte.flowboard.entity.TaskEntity;
+import szte.flowboard.entity.TimeLogEntity;
+import szte.flowboard.entity.UserEntity;
+import szte.flowboard.enums.ProjectStatus;
+import szte.flowboard.enums.ProjectType;
+import szte.flowboard.enums.TaskStatus;
+import szte.flowboard.enums.UserRole;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps the entities of a whole team to DTOs and back with every entity mapper.
+ * The team has a project per ten users with five story point mappings and a report each, every user is a member of
+ * one project and is assigned ten tasks with four time logs each.
+ * The entity manager only hands out one reference per entity type, so the mapping is measured without a persistence context.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MapperBenchmark {
+
+    private static final int TASKS_PER_USER = 10;
+    private static final int TIME_LOGS_PER_TASK = 4;
+    private static final int[] STORY_POINTS = {1, 2, 3, 5, 8};
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 1, 8, 0);
+
+    @Param({"5", "50", "1000"})
+    private int users;
+
+    private final CompanyMapper companyMapper = new CompanyMapper();
+    private final StoryPointTimeMappingMapper storyPointTimeMappingMapper = new StoryPointTimeMappingMapper();
+    private final ProjectMapper projectMapper = new ProjectMapper(storyPointTimeMappingMapper, companyMapper);
+    private final UserMapper userMapper = new UserMapper();
+    private final ReportMapper reportMapper = new ReportMapper();
+    private final EntityManager entityManager = referenceOnlyEntityManager();
+    private final ProjectUserMapper projectUserMapper = new ProjectUserMapper(entityManager);
+    private final TaskMapper taskMapper = new TaskMapper(entityManager);
+    private final TimeLogMapper timeLogMapper = new TimeLogMapper(entityManager);
+
+    private List<UserEntity> userEntities;
+    private List<CompanyEntity> companyEntities;
+    private List<StoryPointTimeMappingEntity> storyPointTimeMappingEntities;
+    private List<ProjectEntity> projectEntities;
+    private List<ProjectUserEntity> projectUserEntities;
+    private List<TaskEntity> taskEntities;
+    private List<TimeLogEntity> timeLogEntities;
+    private List<ReportEntity> reportEntities;
+
+    private List<UserDto> userDtos;
+    private List<CompanyDto> companyDtos;
+    private List<StoryPointTimeMappingDto> storyPointTimeMappingDtos;
+    private List<ProjectDto> projectDtos;
+    private List<ProjectUserDto> projectUserDtos;
+    private List<TaskDto> taskDtos;
+    private List<TimeLogDto> timeLogDtos;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userEntities = new ArrayList<>();
+        companyEntities = new ArrayList<>();
+        storyPointTimeMappingEntities = new ArrayList<>();
+        projectEntities = new ArrayList<>();
+        projectUserEntities = new ArrayList<>();
+        taskEntities = new ArrayList<>();
+        timeLogEntities = new ArrayList<>();
+        reportEntities = new ArrayList<>();
+
+        for (int p = 0; p < Math.max(1, users / 10); p++) {
+            projectEntities.add(project(p));
+        }
+
+        for (int u = 0; u < users; u++) {
+            var user = audited(new UserEntity("keycloak-" + u, "Munkatárs", String.valueOf(u), "user" + u + "@flowboard.hu",
+                    null, null, null, null));
+            var project = projectEntities.get(u % projectEntities.size());
+
+            userEntities.add(user);
+            projectUserEntities.add(audited(new ProjectUserEntity(u % 10 == 0 ? UserRole.MAINTAINER : UserRole.MEMBER, 12000.0, project, user)));
+
+            for (int t = 0; t < TASKS_PER_USER; t++) {
+                var task = audited(new TaskEntity("Feladat " + u + "-" + t, "Leírás " + t, TaskStatus.values()[t % TaskStatus.values().length],
+                        null, project, new ArrayList<>(), user, project.getStoryPointTimeMappings().get(t % STORY_POINTS.length)));
+
+                for (int l = 0; l < TIME_LOGS_PER_TASK; l++) {
+                    var timeLog = audited(new TimeLogEntity(Duration.ofMinutes(30L * (l + 1)), l % 2 == 0,
+                            CREATED_AT.toLocalDate().plusDays(l), user, task));
+
+                    task.getTimeLogs().add(timeLog);
+                    timeLogEntities.add(timeLog);
+                }
+
+                taskEntities.add(task);
+            }
+        }
+
+        userDtos = userMapper.toDtoList(userEntities);
+        companyDtos = companyMapper.toDtoList(companyEntities);
+        storyPointTimeMappingDtos = storyPointTimeMappingMapper.toDtoList(storyPointTimeMappingEntities);
+        projectDtos = projectMapper.toDtoList(projectEntities);
+        projectUserDtos = projectUserMapper.toDtoList(projectUserEntities);
+        taskDtos = taskMapper.toDtoList(taskEntities);
+        timeLogDtos = timeLogMapper.toDtoList(timeLogEntities);
+    }
+
+    @Benchmark
+    public List<UserDto> userToDto() {
+        return userMapper.toDtoList(userEntities);
+    }
+
+    @Benchmark
+    public List<UserEntity> userToEntity() {
+        return userMapper.toEntityList(userDtos);
+    }
+
+    @Benchmark
+    public List<CompanyDto> companyToDto() {
+        return companyMapper.toDtoList(companyEntities);
+    }
+
+    @Benchmark
+    public List<CompanyEntity> companyToEntity() {
+        return companyMapper.toEntityList(companyDtos);
+    }
+
+    @Benchmark
+    public List<StoryPointTimeMappingDto> storyPointTimeMappingToDto() {
+        return storyPointTimeMappingMapper.toDtoList(storyPointTimeMappingEntities);
+    }
+
+    @Benchmark
+    public List<StoryPointTimeMappingEntity> storyPointTimeMappingToEntity() {
+        return storyPointTimeMappingMapper.toEntityList(storyPointTimeMappingDtos);
+    }
+
+    @Benchmark
+    public List<ProjectDto> projectToDto() {
+        return projectMapper.toDtoList(projectEntities);
+    }
+
+    @Benchmark
+    public List<ProjectEntity> projectToEntity() {
+        return projectMapper.toEntityList(projectDtos);
+    }
+
+    @Benchmark
+    public List<ProjectUserDto> projectUserToDto() {
+        return projectUserMapper.toDtoList(projectUserEntities);
+    }
+
+    @Benchmark
+    public List<ProjectUserEntity> projectUserToEntity() {
+        return projectUserMapper.toEntityList(projectUserDtos);
+    }
+
+    @Benchmark
+    public List<TaskDto> taskToDto() {
+        return taskMapper.toDtoList(taskEntities);
+    }
+
+    @Benchmark
+    public List<TaskEntity> taskToEntity() {
+        return taskMapper.toEntityList(taskDtos);
+    }
+
+    @Benchmark
+    public List<TimeLogDto> timeLogToDto() {
+        return timeLogMapper.toDtoList(timeLogEntities);
+    }
+
+    @Benchmark
+    public List<TimeLogEntity> timeLogToEntity() {
+        return timeLogMapper.toEntityList(timeLogDtos);
+    }
+
+    @Benchmark
+    public List<ReportDto> reportToDto() {
+        return reportMapper.toDto(reportEntities);
+    }
+
+    private ProjectEntity project(int p) {
+        var customer = new CompanyEntity("Megrendelő " + p + " Kft.", "6720 Szeged, Dugonics tér " + p + ".");
+        var contractor = new CompanyEntity("Vállalkozó Kft.", "6720 Szeged, Árpád tér 2.");
+        var project = audited(new ProjectEntity("Projekt " + p, ProjectStatus.ACTIVE, ProjectType.values()[p % ProjectType.values().length],
+                15000.0, new ArrayList<>(), null, null, null, customer, contractor));
+
+        for (var storyPoints : STORY_POINTS) {
+            var mapping = audited(new StoryPointTimeMappingEntity(storyPoints, Duration.ofHours(storyPoints * 2L), project, null));
+
+            project.getStoryPointTimeMappings().add(mapping);
+            storyPointTimeMappingEntities.add(mapping);
+        }
+
+        var report = audited(new ReportEntity(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), "Riport " + p, project, null));
+
+        companyEntities.add(customer);
+        companyEntities.add(contractor);
+        reportEntities.add(report);
+
+        return project;
+    }
+
+    private static <T extends AuditEntity> T audited(T entity) {
+        entity.setId(UUID.randomUUID());
+        entity.setCreatedBy("creator");
+        entity.setCreatedAt(CREATED_AT);
+        entity.setLastModifiedBy("modifier");
+        entity.setLastModifiedAt(CREATED_AT.plusHours(1));
+
+        return entity;
+    }
+
+    /**
+     * An entity manager that answers {@link EntityManager#getReference(Class, Object)} with one instance per entity type,
+     * the only call of the mappers.
+     */
+    private static EntityManager referenceOnlyEntityManager() {
+        var references = new HashMap<Class<?>, Object>();
+
+        return (EntityManager) Proxy.newProxyInstance(EntityManager.class.getClassLoader(), new Class<?>[]{EntityManager.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("getReference") || !(args[0] instanceof Class<?> type)) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+
+                    return references.computeIfAbsent(type, MapperBenchmark::instantiate);
+                });
+    }
+
+    private static Object instantiate(Class<?> type) {
+        try {
+            return type.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package szte.flowboard.repository;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import szte.flowboard.entity.BaseEntity;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An embedded PostgreSQL server with the schema of the Flyway migrations, behind a connection pool configured like
+ * the one of the application.
+ */
+final class BenchmarkDatabase implements AutoCloseable {
+
+    // The defaults of spring.datasource.hikari.maximum-pool-size and connection-timeout
+    private static final int POOL_SIZE = 20;
+    private static final Duration CONNECTION_TIMEOUT = Duration.ofSeconds(5);
+    private static final String JPA_PROPERTY_PREFIX = "spring.jpa.properties.";
+
+    private final EmbeddedPostgres postgres;
+    private final HikariDataSource dataSource;
+
+    private BenchmarkDatabase(EmbeddedPostgres postgres) {
+        this.postgres = postgres;
+
+        var config = new HikariConfig();
+        config.setDataSource(postgres.getPostgresDatabase());
+        config.setMaximumPoolSize(POOL_SIZE);
+        config.setConnectionTimeout(CONNECTION_TIMEOUT.toMillis());
+        this.dataSource = new HikariDataSource(config);
+    }
+
+    /**
+     * Starts the server and migrates its schema.
+     *
+     * @return the started database
+     */
+    static BenchmarkDatabase start() {
+        try {
+            var postgres = EmbeddedPostgres.start();
+            Flyway.configure()
+                    .dataSource(postgres.getPostgresDatabase())
+                    .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                    .load()
+                    .migrate();
+            return new BenchmarkDatabase(postgres);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the embedded PostgreSQL server", e);
+        }
+    }
+
+    /**
+     * Loads a synthetic dataset in one transaction.
+     *
+     * @param dataset the dataset to load
+     * @return the loaded tables in loading order
+     * @throws SQLException if a statement fails
+     */
+    List<SyntheticDataset.LoadedTable> load(SyntheticDataset dataset) throws SQLException {
+        try (var connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            var tables = dataset.load(connection);
+            connection.commit();
+            return tables;
+        }
+    }
+
+    /**
+     * Empties every table the synthetic dataset loads.
+     *
+     * @throws SQLException if the statement fails
+     */
+    void truncate() throws SQLException {
+        try (var connection = dataSource.getConnection(); var statement = connection.createStatement()) {
+            statement.execute("TRUNCATE users, projects, story_point_time_mappings, project_users, tasks, time_logs CASCADE");
+        }
+    }
+
+    /**
+     * Builds an entity manager factory over the pool with the Hibernate settings of {@code application.properties},
+     * such as the JDBC batching, and the naming strategies of Spring Boot. The second-level cache is left off, so every
+     * query reads the database.
+     *
+     * @param overrides the Hibernate settings to change
+     * @param entities the entity classes to map next to the ones of the application
+     * @return the entity manager factory, closed by the caller
+     */
+    EntityManagerFactory entityManagerFactory(Map<String, ?> overrides, Class<?>... entities) {
+        var properties = new HashMap<String, Object>(applicationJpaProperties());
+        properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+        properties.put(AvailableSettings.USE_QUERY_CACHE, false);
+        properties.put(AvailableSettings.PHYSICAL_NAMING_STRATEGY, CamelCaseToUnderscoresNamingStrategy.class.getName());
+        properties.put(AvailableSettings.IMPLICIT_NAMING_STRATEGY, SpringImplicitNamingStrategy.class.getName());
+        properties.putAll(overrides);
+
+        var factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan(BaseEntity.class.getPackageName());
+        factory.setPersistenceUnitPostProcessors(unit -> {
+            for (var entity : entities) {
+                unit.addManagedClassName(entity.getName());
+            }
+        });
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(properties);
+        factory.afterPropertiesSet();
+        return factory.getObject();
+    }
+
+    DataSource dataSource() {
+        return dataSource;
+    }
+
+    private static Map<String, String> applicationJpaProperties() {
+        try {
+            var environment = new StandardEnvironment();
+            var properties = new HashMap<String, String>();
+
+            PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties")).forEach((key, value) -> {
+                var name = (String) key;
+                if (name.startsWith(JPA_PROPERTY_PREFIX)) {
+                    properties.put(name.substring(JPA_PROPERTY_PREFIX.length()), environment.resolvePlaceholders((String) value));
+                }
+            });
+
+            return properties;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read application.properties", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        dataSource.close();
+        postgres.close();
+    }
+}
@@ -0,0 +1,102 @@
+package szte.flowboard.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+import szte.flowboard.dto.TaskDto;
+import szte.flowboard.mapper.TaskMapper;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the task list of the story point based project with the most tasks of a synthetic tenant in the two ways the
+ * application did: managed entities loaded with {@link szte.flowboard.entity.TaskEntity#DETAILS_GRAPH} and mapped by
+ * {@link TaskMapper}, and the JPQL constructor expression of {@link TaskRepository#findTaskDtosByProjectId} that
+ * selects the DTOs directly.
+ * Both run in a read-only transaction, like in the services. The allocation per call is reported next to the latency
+ * by the GC profiler, run with {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DtoProjectionBenchmark {
+
+    private static final long SEED = 42;
+
+    @Param({"20000"})
+    private int tasks;
+
+    private BenchmarkDatabase database;
+    private EntityManagerFactory entityManagerFactory;
+    private TaskRepository taskRepository;
+    private TaskMapper taskMapper;
+    private TransactionTemplate readOnlyTransaction;
+    private UUID projectId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        database = BenchmarkDatabase.start();
+        database.load(new SyntheticDataset(SEED, new SyntheticDataset.Scale(200, 10, tasks, tasks * 3L, 12),
+                LocalDate.now().withDayOfMonth(1).minusDays(1)));
+
+        try (var connection = database.dataSource().getConnection();
+             var statement = connection.createStatement();
+             // Story point based, TaskMapper expects a story point mapping on every task
+             var rows = statement.executeQuery("SELECT t.project_id FROM tasks t JOIN projects p ON p.id = t.project_id "
+                     + "WHERE p.type = 'STORY_POINT_BASED' GROUP BY t.project_id ORDER BY count(*) DESC LIMIT 1")) {
+            rows.next();
+            projectId = rows.getObject(1, UUID.class);
+        }
+
+        entityManagerFactory = database.entityManagerFactory(Map.of());
+        var entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        taskRepository = new JpaRepositoryFactory(entityManager).getRepository(TaskRepository.class);
+        taskMapper = new TaskMapper(entityManager);
+        readOnlyTransaction = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+        readOnlyTransaction.setReadOnly(true);
+
+        if (entitiesAndMapper().size() != constructorExpression().size()) {
+            throw new IllegalStateException("The two task lists of project " + projectId + " differ");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        entityManagerFactory.close();
+        database.close();
+    }
+
+    @Benchmark
+    public List<TaskDto> entitiesAndMapper() {
+        return readOnlyTransaction.execute(status -> taskMapper.toDtoList(taskRepository.findByProjectId(projectId)));
+    }
+
+    @Benchmark
+    public List<TaskDto> constructorExpression() {
+        return readOnlyTransaction.execute(status -> taskRepository.findTaskDtosByProjectId(projectId));
+    }
+}
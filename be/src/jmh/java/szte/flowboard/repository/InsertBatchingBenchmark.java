@@ -0,0 +1,139 @@
+package szte.flowboard.repository;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import szte.flowboard.entity.TimeLogEntity;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts the same number of time logs through Hibernate as the application did before and after the insert tuning:
+ * random version 4 keys sent one statement per row, and the time-ordered version 7 keys of {@link TimeLogEntity}
+ * sent in JDBC batches with ordered inserts, with the settings of {@code application.properties}.
+ * Every iteration starts from an empty table and commits every {@value #ROWS_PER_TRANSACTION} rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class InsertBatchingBenchmark {
+
+    private static final int ROWS_PER_TRANSACTION = 1000;
+
+    @Param({"RANDOM_KEYS_UNBATCHED", "ORDERED_KEYS_BATCHED"})
+    private Inserts inserts;
+
+    @Param({"100000"})
+    private int rows;
+
+    private BenchmarkDatabase database;
+    private EntityManagerFactory entityManagerFactory;
+
+    public enum Inserts {
+        RANDOM_KEYS_UNBATCHED,
+        ORDERED_KEYS_BATCHED
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.start();
+        entityManagerFactory = inserts == Inserts.RANDOM_KEYS_UNBATCHED
+                ? database.entityManagerFactory(Map.of(AvailableSettings.STATEMENT_BATCH_SIZE, 1, AvailableSettings.ORDER_INSERTS, false),
+                        RandomKeyTimeLog.class)
+                : database.entityManagerFactory(Map.of());
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() throws SQLException {
+        database.truncate();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        entityManagerFactory.close();
+        database.close();
+    }
+
+    @Benchmark
+    public int insert() {
+        for (int inserted = 0; inserted < rows; inserted += ROWS_PER_TRANSACTION) {
+            try (var entityManager = entityManagerFactory.createEntityManager()) {
+                entityManager.getTransaction().begin();
+
+                for (int i = inserted; i < Math.min(rows, inserted + ROWS_PER_TRANSACTION); i++) {
+                    entityManager.persist(inserts == Inserts.RANDOM_KEYS_UNBATCHED ? new RandomKeyTimeLog() : timeLog());
+                }
+
+                entityManager.getTransaction().commit();
+            }
+        }
+
+        return rows;
+    }
+
+    private static TimeLogEntity timeLog() {
+        var timeLog = new TimeLogEntity();
+        timeLog.setIsBillable(true);
+        timeLog.setLogDate(LocalDate.now());
+        timeLog.setLoggedTime(Duration.ofMinutes(30));
+        // The auditing of Spring Data is not wired up outside the application context
+        timeLog.setCreatedAt(LocalDateTime.now());
+        return timeLog;
+    }
+
+    /**
+     * A time log mapped as before the time-ordered keys, with a random version 4 key generated by Hibernate.
+     */
+    @Entity
+    @Table(name = "time_logs")
+    public static class RandomKeyTimeLog {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.UUID)
+        private UUID id;
+
+        @Column(name = "logged_time")
+        private Duration loggedTime = Duration.ofMinutes(30);
+
+        @Column(name = "is_billable")
+        private Boolean isBillable = true;
+
+        @Column(name = "log_date")
+        private LocalDate logDate = LocalDate.now();
+
+        @Column(name = "created_at")
+        private LocalDateTime createdAt = LocalDateTime.now();
+
+        @Version
+        private long version;
+    }
+}
@@ -0,0 +1,159 @@
+package szte.flowboard.repository;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares the request throughput of the platform thread pool of Tomcat with a virtual thread per request, under the
+ * connection pool of the application.
+ * A request waits for a remote call, standing in for the Keycloak and S3 calls, and reads the first page of the task
+ * list of a user with the SQL of {@link TaskRepository#findTaskDtoPageByUserId}. The clients keep a fixed number of
+ * requests in flight. The database shares the cores with the clients, so on a machine with few cores the query cost
+ * dominates and the two executors converge.
+ * Requests that wait longer than the connection timeout of the pool fail like in the application, they are counted
+ * as {@code failedRequests} next to the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class RequestThreadingBenchmark {
+
+    private static final int REQUESTS = 5000;
+    // The default server.tomcat.threads.max
+    private static final int PLATFORM_THREADS = 200;
+    private static final int PAGE_SIZE = 50;
+    private static final SyntheticDataset.Scale SCALE = new SyntheticDataset.Scale(200, 20, 5_000, 100_000, 12);
+
+    private static final String TASK_PAGE_QUERY = """
+            SELECT t.id, t.name, t.project_id, a.id,
+                   CASE WHEN a.id IS NULL THEN NULL ELSE a.first_name || ' ' || a.last_name END,
+                   (SELECT COALESCE(sum(tl.logged_time), 0) FROM time_logs tl WHERE tl.task_id = t.id),
+                   t.story_point_mapping_id, t.status, t.created_by, t.created_at, t.last_modified_by, t.last_modified_at, t.version
+            FROM tasks t LEFT JOIN users a ON a.id = t.assigned_to_id
+            WHERE t.project_id IN (SELECT pu.project_id FROM project_users pu WHERE pu.user_id = ?)
+            ORDER BY t.created_at DESC, t.id DESC
+            LIMIT ?""";
+
+    @Param({"platform", "virtual"})
+    private String executor;
+
+    @Param({"1000"})
+    private int concurrency;
+
+    @Param({"20"})
+    private int remoteCallMs;
+
+    private BenchmarkDatabase database;
+    private ExecutorService requestExecutor;
+    private UUID userId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        database = BenchmarkDatabase.start();
+        database.load(new SyntheticDataset(42, SCALE, LocalDate.now().withDayOfMonth(1).minusDays(1)));
+
+        try (var connection = database.dataSource().getConnection();
+             var statement = connection.createStatement();
+             var rows = statement.executeQuery("SELECT user_id FROM project_users GROUP BY user_id ORDER BY count(*) DESC LIMIT 1")) {
+            rows.next();
+            userId = rows.getObject(1, UUID.class);
+        }
+
+        requestExecutor = executor.equals("virtual")
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : new ThreadPoolExecutor(PLATFORM_THREADS, PLATFORM_THREADS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        requestExecutor.close();
+        database.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public int requests(Failures failures) throws InterruptedException {
+        var inFlight = new Semaphore(concurrency);
+        var failed = new AtomicInteger();
+
+        for (int i = 0; i < REQUESTS; i++) {
+            inFlight.acquire();
+
+            requestExecutor.execute(() -> {
+                try {
+                    Thread.sleep(remoteCallMs);
+                    readTaskPage();
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+
+        inFlight.acquire(concurrency);
+        failures.failedRequests += failed.get();
+
+        return REQUESTS;
+    }
+
+    private void readTaskPage() throws SQLException {
+        try (var connection = database.dataSource().getConnection()) {
+            connection.setReadOnly(true);
+
+            try (var statement = connection.prepareStatement(TASK_PAGE_QUERY)) {
+                statement.setObject(1, userId);
+                statement.setInt(2, PAGE_SIZE + 1);
+
+                try (var rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        rows.getObject(1);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The requests that failed during an iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Failures {
+
+        public long failedRequests;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            failedRequests = 0;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package szte.flowboard.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads a synthetic tenant of production scale with {@link SyntheticDataset} and measures the report query of the
+ * busiest project on it, over the last month and the whole period, with the SQL of
+ * {@link TimeLogRepository#streamAllByTaskProjectIdAndLogDateBetween}.
+ * The period ends on the last day of the previous month, so the rows are the same during a month.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SyntheticDatasetBenchmark {
+
+    private static final LocalDate END = LocalDate.now().withDayOfMonth(1).minusDays(1);
+    private static final int FETCH_SIZE = Integer.parseInt(ReportQueryHints.FETCH_SIZE);
+
+    private static final String REPORT_QUERY = """
+            SELECT tl.*, u.*, t.*
+            FROM time_logs tl JOIN users u ON u.id = tl.user_id JOIN tasks t ON t.id = tl.task_id
+            WHERE t.project_id = ? AND tl.log_date BETWEEN ? AND ?""";
+
+    /**
+     * The scale of the dataset and the database it is loaded into.
+     */
+    @State(Scope.Benchmark)
+    public static class Dataset {
+
+        @Param({"42"})
+        private long seed;
+
+        @Param({"2000"})
+        private int users;
+
+        @Param({"200"})
+        private int projects;
+
+        @Param({"50000"})
+        private int tasks;
+
+        @Param({"2000000"})
+        private long timeLogs;
+
+        @Param({"24"})
+        private int months;
+
+        BenchmarkDatabase database;
+
+        SyntheticDataset dataset() {
+            return new SyntheticDataset(seed, new SyntheticDataset.Scale(users, projects, tasks, timeLogs, months), END);
+        }
+
+        @Setup(Level.Trial)
+        public void start() {
+            database = BenchmarkDatabase.start();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() throws IOException {
+            database.close();
+        }
+    }
+
+    /**
+     * The dataset loaded once for the report queries.
+     */
+    @State(Scope.Benchmark)
+    public static class LoadedDataset {
+
+        private UUID projectId;
+
+        @Setup(Level.Trial)
+        public void load(Dataset dataset) throws SQLException {
+            dataset.database.load(dataset.dataset());
+
+            try (var connection = dataset.database.dataSource().getConnection();
+                 var statement = connection.createStatement();
+                 var rows = statement.executeQuery(
+                         "SELECT t.project_id FROM time_logs tl JOIN tasks t ON t.id = tl.task_id GROUP BY t.project_id ORDER BY count(*) DESC LIMIT 1")) {
+                rows.next();
+                projectId = rows.getObject(1, UUID.class);
+            }
+        }
+    }
+
+    /**
+     * Empties the tables before each load.
+     */
+    @State(Scope.Benchmark)
+    public static class EmptyDatabase {
+
+        @Setup(Level.Iteration)
+        public void truncate(Dataset dataset) throws SQLException {
+            dataset.database.truncate();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public List<SyntheticDataset.LoadedTable> load(Dataset dataset, EmptyDatabase emptyDatabase) throws SQLException {
+        return dataset.database.load(dataset.dataset());
+    }
+
+    @Benchmark
+    public long reportLastMonth(Dataset dataset, LoadedDataset loaded) throws SQLException {
+        return report(dataset, loaded, END.withDayOfMonth(1));
+    }
+
+    @Benchmark
+    public long reportWholePeriod(Dataset dataset, LoadedDataset loaded) throws SQLException {
+        return report(dataset, loaded, END.minusMonths(dataset.months).plusDays(1));
+    }
+
+    private static long report(Dataset dataset, LoadedDataset loaded, LocalDate startDate) throws SQLException {
+        try (var connection = dataset.database.dataSource().getConnection()) {
+            // The fetch size only takes effect inside a transaction, the rows are read with a cursor
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+
+            try (var statement = connection.prepareStatement(REPORT_QUERY)) {
+                statement.setFetchSize(FETCH_SIZE);
+                statement.setObject(1, loaded.projectId);
+                statement.setDate(2, Date.valueOf(startDate));
+                statement.setDate(3, Date.valueOf(END));
+
+                long rows = 0;
+                try (var resultSet = statement.executeQuery()) {
+                    var columns = resultSet.getMetaData().getColumnCount();
+                    while (resultSet.next()) {
+                        for (int i = 1; i <= columns; i++) {
+                            resultSet.getObject(i);
+                        }
+                        rows++;
+                    }
+                }
+
+                connection.commit();
+                return rows;
+            }
+        }
+    }
+}
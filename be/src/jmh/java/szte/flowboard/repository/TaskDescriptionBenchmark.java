@@ -0,0 +1,125 @@
+package szte.flowboard.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.jpa.SpecHints;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+import szte.flowboard.entity.TaskEntity;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the tasks of the project with the most tasks of a synthetic tenant, whose descriptions are rewritten to
+ * {@code descriptionLength} characters of hardly compressible text, so PostgreSQL stores them out of line like long
+ * descriptions in production. The task list query of {@link TaskRepository#findByProjectId} leaves the lazy
+ * descriptions unloaded, the same tasks loaded with {@link TaskEntity#DETAILS_WITH_DESCRIPTION_GRAPH} read them as
+ * every task fetch did before the description became lazy. Both run in a read-only transaction, like in the services.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TaskDescriptionBenchmark {
+
+    private static final long SEED = 42;
+    // Hex digits of MD5 hashes, which pglz can hardly compress
+    private static final String LONG_DESCRIPTIONS = """
+            UPDATE tasks t SET description = left((SELECT string_agg(md5(t.id::text || g), ' ')
+                                                   FROM generate_series(1, ? / 33 + 1) AS g), ?)
+            WHERE t.project_id = ?""";
+    private static final String PROJECT_TASKS = "SELECT t FROM TaskEntity t WHERE t.project.id = :projectId";
+
+    @Param({"20000"})
+    private int tasks;
+
+    @Param({"4096"})
+    private int descriptionLength;
+
+    private BenchmarkDatabase database;
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private TaskRepository taskRepository;
+    private TransactionTemplate readOnlyTransaction;
+    private UUID projectId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        database = BenchmarkDatabase.start();
+        database.load(new SyntheticDataset(SEED, new SyntheticDataset.Scale(200, 10, tasks, tasks * 3L, 12),
+                LocalDate.now().withDayOfMonth(1).minusDays(1)));
+
+        try (var connection = database.dataSource().getConnection()) {
+            try (var statement = connection.createStatement();
+                 var rows = statement.executeQuery("SELECT project_id FROM tasks GROUP BY project_id ORDER BY count(*) DESC LIMIT 1")) {
+                rows.next();
+                projectId = rows.getObject(1, UUID.class);
+            }
+
+            try (var statement = connection.prepareStatement(LONG_DESCRIPTIONS)) {
+                statement.setInt(1, descriptionLength);
+                statement.setInt(2, descriptionLength);
+                statement.setObject(3, projectId);
+                statement.executeUpdate();
+            }
+
+            try (var statement = connection.createStatement()) {
+                statement.execute("VACUUM ANALYZE tasks");
+            }
+        }
+
+        entityManagerFactory = database.entityManagerFactory(Map.of());
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        taskRepository = new JpaRepositoryFactory(entityManager).getRepository(TaskRepository.class);
+        readOnlyTransaction = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+        readOnlyTransaction.setReadOnly(true);
+
+        if (Hibernate.isPropertyInitialized(taskList().getFirst(), "description")
+                || !Hibernate.isPropertyInitialized(taskListWithDescription().getFirst(), "description")) {
+            throw new IllegalStateException("The description is not loaded lazily");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        entityManagerFactory.close();
+        database.close();
+    }
+
+    @Benchmark
+    public List<TaskEntity> taskList() {
+        return readOnlyTransaction.execute(status -> taskRepository.findByProjectId(projectId));
+    }
+
+    @Benchmark
+    public List<TaskEntity> taskListWithDescription() {
+        return readOnlyTransaction.execute(status -> entityManager.createQuery(PROJECT_TASKS, TaskEntity.class)
+                .setParameter("projectId", projectId)
+                .setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, entityManager.getEntityGraph(TaskEntity.DETAILS_WITH_DESCRIPTION_GRAPH))
+                .getResultList());
+    }
+}
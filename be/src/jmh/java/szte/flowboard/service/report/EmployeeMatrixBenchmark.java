@@ -0,0 +1,89 @@
+package szte.flowboard.service.report;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import szte.flowboard.entity.ProjectEntity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the employee matrix of {@link EmployeeMatrixReportGenerator} from minutes already summed per project and
+ * user, the part of the report between the time log stream and the HTML rendering.
+ * Every user logs time on three of every five projects.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EmployeeMatrixBenchmark {
+
+    @Param({"5", "50", "1000"})
+    private int users;
+
+    private List<ProjectEntity> projects;
+    private Set<UUID> projectIds;
+    private Map<UUID, String> userNames;
+    private Map<UUID, Map<UUID, Long>> projectUserMinutes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        projects = new ArrayList<>();
+        userNames = new LinkedHashMap<>();
+        projectUserMinutes = new HashMap<>();
+
+        for (int p = 0; p < ReportRenderingBenchmark.projects(users); p++) {
+            var project = new ProjectEntity();
+
+            project.setId(new UUID(1, p));
+            project.setName("Projekt " + p);
+            projects.add(project);
+        }
+
+        for (int u = 0; u < users; u++) {
+            userNames.put(new UUID(2, u), "Munkatárs " + u);
+        }
+
+        for (int p = 0; p < projects.size(); p++) {
+            var userMinutes = new HashMap<UUID, Long>();
+
+            for (int u = 0; u < users; u++) {
+                var days = (p + u) % 5;
+
+                if (days > 0 && days < 4) {
+                    userMinutes.put(new UUID(2, u), days * 480L);
+                }
+            }
+
+            projectUserMinutes.put(projects.get(p).getId(), userMinutes);
+        }
+
+        projectIds = projects.stream()
+                .map(ProjectEntity::getId)
+                .collect(Collectors.toSet());
+    }
+
+    @Benchmark
+    public ArrayList<ArrayList<String>> buildMatrix() {
+        return EmployeeMatrixReportGenerator.buildMatrix(projects, projectIds, userNames, projectUserMinutes);
+    }
+}
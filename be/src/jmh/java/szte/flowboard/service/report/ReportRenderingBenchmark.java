@@ -0,0 +1,76 @@
+package szte.flowboard.service.report;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import szte.flowboard.configuration.ReportProperties;
+import szte.flowboard.enums.ReportType;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders every report template to HTML with {@link HTMLGenerator} and lays the rendered HTML out as a PDF with
+ * {@link PDFGenerator#generatePdf(String)}, with the synthetic reports of {@link SyntheticReportData}.
+ * The reports grow with the team: a COC line and a finished task per user, and a project per fifty users in the
+ * employee matrix. The PDFs are compressed with the deflate level of the application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ReportRenderingBenchmark {
+
+    @Param({"COC", "PROJECT_ACTIVITY", "EMPLOYEE_MATRIX"})
+    private ReportType template;
+
+    @Param({"5", "50", "1000"})
+    private int users;
+
+    private HTMLGenerator htmlGenerator;
+    private PDFGenerator pdfGenerator;
+    private String html;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        PDFGenerator.configureDeflateLevel();
+        htmlGenerator = new HTMLGenerator();
+        pdfGenerator = new PDFGenerator(new ReportProperties());
+        html = html();
+    }
+
+    @Benchmark
+    public String html() throws IOException {
+        return switch (template) {
+            case COC -> htmlGenerator.generateFromCOC(SyntheticReportData.coc(users));
+            case PROJECT_ACTIVITY -> htmlGenerator.generateFromProjectActivity(SyntheticReportData.projectActivity(users));
+            case EMPLOYEE_MATRIX -> htmlGenerator.generateFromMatrix(SyntheticReportData.employeeMatrix(projects(users), users));
+        };
+    }
+
+    @Benchmark
+    public byte[] pdf() {
+        return pdfGenerator.generatePdf(html);
+    }
+
+    /**
+     * The number of projects in the employee matrix of a team.
+     *
+     * @param users the number of users in the team
+     * @return one project per fifty users, at least two
+     */
+    static int projects(int users) {
+        return Math.max(2, users / 50);
+    }
+}
@@ -2,11 +2,15 @@ package szte.flowboard;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import szte.flowboard.service.report.PDFGenerator;
 
 @SpringBootApplication
+@EnableScheduling
 public class FlowBoardApplication {
 
 	public static void main(String[] args) {
+		PDFGenerator.configureDeflateLevel();
 		SpringApplication.run(FlowBoardApplication.class, args);
 	}
 
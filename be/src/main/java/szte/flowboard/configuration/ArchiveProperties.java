@@ -0,0 +1,20 @@
+package szte.flowboard.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Period;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "flowboard.archive")
+public class ArchiveProperties {
+    private boolean enabled = true;
+    private String cron = "0 30 2 * * *";
+    private int chunkSize = 200;
+    private Duration chunkPause = Duration.ofMillis(100);
+    private Duration lockTimeout = Duration.ofSeconds(2);
+    private Period reportRetention;
+}
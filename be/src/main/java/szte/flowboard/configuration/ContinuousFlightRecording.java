@@ -0,0 +1,79 @@
+package szte.flowboard.configuration;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.List;
+
+/**
+ * An always-on Flight Recorder recording kept as a ring buffer of the last {@code flowboard.flight-recorder.max-age}
+ * or {@code max-size} on disk, with the JDK {@code flowboard.flight-recorder.settings} ({@code default} stays below
+ * 1% overhead, {@code profile} samples more) and the FlowBoard events longer than {@code event-threshold}.
+ * The events holding the environment variables, system properties and JVM arguments are left out, because they may
+ * contain credentials and the recording can be downloaded from the actuator.
+ */
+@Slf4j
+public class ContinuousFlightRecording {
+
+    static final String RECORDING_NAME = "flowboard";
+
+    static final List<String> EXCLUDED_EVENTS = List.of("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty",
+            "jdk.JVMInformation");
+
+    private static final List<Class<? extends FlowBoardEvent>> EVENTS = List.of(ReportStageEvent.class, StorageCallEvent.class,
+            KeycloakCallEvent.class, RepositoryCallEvent.class);
+
+    private final FlightRecorderProperties properties;
+
+    private Recording recording;
+
+    public ContinuousFlightRecording(FlightRecorderProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Starts the recording.
+     *
+     * @throws IOException if the settings can not be read
+     * @throws ParseException if the settings are invalid
+     */
+    @PostConstruct
+    public void start() throws IOException, ParseException {
+        recording = new Recording(Configuration.getConfiguration(properties.getSettings()));
+        recording.setName(RECORDING_NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(properties.getMaxAge());
+        recording.setMaxSize(properties.getMaxSize().toBytes());
+        EXCLUDED_EVENTS.forEach(recording::disable);
+        EVENTS.forEach(event -> recording.enable(event).withThreshold(properties.getEventThreshold()));
+        recording.start();
+        log.info("Flight recording started with the {} settings, keeping the last {} or {}",
+                properties.getSettings(), properties.getMaxAge(), properties.getMaxSize());
+    }
+
+    /**
+     * Stops and discards the recording.
+     */
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    /**
+     * Writes the content of the ring buffer to a file, the recording keeps running.
+     *
+     * @param destination the file to write
+     * @throws IOException if the file can not be written
+     */
+    public void dump(Path destination) throws IOException {
+        recording.dump(destination);
+    }
+}
@@ -0,0 +1,66 @@
+package szte.flowboard.configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Configures the Hibernate second-level cache for the entities that are read on nearly every request but
+ * written rarely. Every cache region is a local Caffeine cache, sized and expired as configured under
+ * {@code flowboard.entity-cache.regions}. Hibernate fails at startup if a region used by the mappings has no
+ * configuration. The expiry also bounds how long another application instance can serve stale data,
+ * since the caches are not replicated.
+ */
+@Configuration
+public class EntityCacheConfig {
+
+    public static final String PROJECTS = "projects";
+    public static final String PROJECT_STORY_POINT_TIME_MAPPINGS = "project-story-point-time-mappings";
+    public static final String PROJECT_PROJECT_USERS = "project-project-users";
+    public static final String STORY_POINT_TIME_MAPPINGS = "story-point-time-mappings";
+    public static final String USERS = "users";
+    public static final String USER_QUERIES = "user-queries";
+    public static final String PROJECT_USERS = "project-users";
+
+    /**
+     * Creates a cache manager holding one cache per configured region.
+     * Each manager gets its own URI, so separate application contexts never share cache instances.
+     *
+     * @param entityCacheProperties the sizing and expiry of the cache regions
+     * @return the cache manager used by Hibernate
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(EntityCacheProperties entityCacheProperties) {
+        var provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        var cacheManager = provider.getCacheManager(
+                URI.create("flowboard:entity-cache:" + UUID.randomUUID()), getClass().getClassLoader());
+
+        entityCacheProperties.getRegions().forEach((name, region) -> {
+            var configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(region.getMaximumSize()));
+            configuration.setStatisticsEnabled(true);
+
+            if (region.getTimeToLive() != null) {
+                configuration.setExpireAfterWrite(OptionalLong.of(region.getTimeToLive().toNanos()));
+            }
+
+            cacheManager.createCache(name, configuration);
+        });
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+}
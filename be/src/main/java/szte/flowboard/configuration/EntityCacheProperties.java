@@ -0,0 +1,22 @@
+package szte.flowboard.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "flowboard.entity-cache")
+public class EntityCacheProperties {
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Data
+    public static class Region {
+        private long maximumSize = 1000;
+        private Duration timeToLive;
+    }
+}
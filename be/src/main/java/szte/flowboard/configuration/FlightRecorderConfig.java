@@ -0,0 +1,44 @@
+package szte.flowboard.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Keeps a continuous Flight Recorder recording of the application when {@code flowboard.flight-recorder.enabled} is set,
+ * with custom events for the report stages, repository, storage and Keycloak calls. The recording is downloaded from
+ * {@code /actuator/flightrecording} when a latency spike needs explaining, while the GC pauses and monitor contention
+ * are streamed into meters all the time.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "flowboard.flight-recorder", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class FlightRecorderConfig {
+
+    @Bean
+    public static BeanPostProcessor repositoryCallRecorderPostProcessor() {
+        return RepositoryCallRecorder.postProcessor();
+    }
+
+    @Bean
+    public FlightRecorderObservationHandler flightRecorderObservationHandler() {
+        return new FlightRecorderObservationHandler();
+    }
+
+    @Bean
+    public ContinuousFlightRecording continuousFlightRecording(FlightRecorderProperties properties) {
+        return new ContinuousFlightRecording(properties);
+    }
+
+    @Bean
+    public FlightRecorderMetrics flightRecorderMetrics(MeterRegistry meterRegistry, FlightRecorderProperties properties,
+                                                       FlightRecorderObservationHandler observationHandler) {
+        return new FlightRecorderMetrics(meterRegistry, properties, observationHandler);
+    }
+
+    @Bean
+    public FlightRecordingEndpoint flightRecordingEndpoint(ContinuousFlightRecording recording) {
+        return new FlightRecordingEndpoint(recording);
+    }
+}
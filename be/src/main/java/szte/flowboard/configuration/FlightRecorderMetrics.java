@@ -0,0 +1,96 @@
+package szte.flowboard.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+
+/**
+ * Streams the GC pauses and the contended monitor enters of the running JVM into meters.
+ * The garbage collections are recorded in {@code flowboard.jfr.gc.pause} with the sum of their pauses, tagged with the
+ * collector, and the threads that waited longer than {@code flowboard.flight-recorder.lock-threshold} to enter a
+ * {@code synchronized} block in {@code flowboard.jfr.monitor.blocked}, tagged with the class of the monitor.
+ * Both are tagged with whether reports were being generated, to tell the pauses of report bursts from the rest.
+ */
+@Slf4j
+public class FlightRecorderMetrics {
+
+    public static final String GC_PAUSE_TIMER = "flowboard.jfr.gc.pause";
+    public static final String MONITOR_BLOCKED_TIMER = "flowboard.jfr.monitor.blocked";
+
+    static final String GC_EVENT = "jdk.GarbageCollection";
+    static final String MONITOR_ENTER_EVENT = "jdk.JavaMonitorEnter";
+
+    private final MeterRegistry meterRegistry;
+    private final FlightRecorderProperties properties;
+    private final FlightRecorderObservationHandler observationHandler;
+
+    private RecordingStream recordingStream;
+
+    public FlightRecorderMetrics(MeterRegistry meterRegistry, FlightRecorderProperties properties,
+                                 FlightRecorderObservationHandler observationHandler) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        this.observationHandler = observationHandler;
+    }
+
+    /**
+     * Starts streaming the events of the running JVM.
+     */
+    @PostConstruct
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(GC_EVENT);
+        recordingStream.enable(MONITOR_ENTER_EVENT).withThreshold(properties.getLockThreshold()).withoutStackTrace();
+        recordingStream.onEvent(GC_EVENT, this::garbageCollection);
+        recordingStream.onEvent(MONITOR_ENTER_EVENT, this::monitorEnter);
+        recordingStream.startAsync();
+        log.info("Streaming GC pauses and monitor enters blocked for more than {}", properties.getLockThreshold());
+    }
+
+    /**
+     * Stops the event stream.
+     */
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    /**
+     * Records a garbage collection.
+     *
+     * @param event the {@code jdk.GarbageCollection} event
+     */
+    void garbageCollection(RecordedEvent event) {
+        record(GC_PAUSE_TIMER, "Time the application was paused by a garbage collection", "gc", event.getString("name"),
+                event, event.getDuration("sumOfPauses"));
+    }
+
+    /**
+     * Records a thread blocked on entering a monitor.
+     *
+     * @param event the {@code jdk.JavaMonitorEnter} event
+     */
+    void monitorEnter(RecordedEvent event) {
+        RecordedClass monitorClass = event.getValue("monitorClass");
+        record(MONITOR_BLOCKED_TIMER, "Time a thread waited to enter a contended monitor", "monitor",
+                monitorClass == null ? "unknown" : monitorClass.getName(), event, event.getDuration());
+    }
+
+    private void record(String name, String description, String key, String value, RecordedEvent event, Duration duration) {
+        Timer.builder(name)
+                .description(description)
+                .tag(key, value)
+                .tag("reports", observationHandler.reportsRunning(event.getStartTime()) ? "running" : "idle")
+                .register(meterRegistry)
+                .record(duration);
+    }
+}
@@ -0,0 +1,101 @@
+package szte.flowboard.configuration;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import szte.flowboard.service.KeycloakService;
+import szte.flowboard.service.S3Service;
+import szte.flowboard.service.report.ReportMetrics;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Turns the report, storage and Keycloak observations into Flight Recorder events, so a recording shows them next
+ * to the GC, lock and I/O events of the same moment. An event is only created when Flight Recorder records it.
+ * The handler also tracks whether reports are being generated, for the metrics of {@link FlightRecorderMetrics}.
+ */
+public class FlightRecorderObservationHandler implements ObservationHandler<Observation.Context> {
+
+    private static final Set<String> OBSERVATIONS = Set.of(ReportMetrics.REPORT_OBSERVATION, ReportMetrics.STAGE_OBSERVATION,
+            S3Service.STORAGE_OBSERVATION, KeycloakService.KEYCLOAK_OBSERVATION);
+    private static final String TOTAL_STAGE = "total";
+    private static final String NONE = "none";
+
+    private final AtomicInteger activeReports = new AtomicInteger();
+    private volatile Instant lastReportEnded = Instant.MIN;
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return context.getName() != null && OBSERVATIONS.contains(context.getName());
+    }
+
+    @Override
+    public void onStart(Observation.Context context) {
+        if (ReportMetrics.REPORT_OBSERVATION.equals(context.getName())) {
+            activeReports.incrementAndGet();
+        }
+
+        var event = event(context.getName());
+        if (event.isEnabled()) {
+            event.begin();
+            context.put(FlowBoardEvent.class, event);
+        }
+    }
+
+    @Override
+    public void onStop(Observation.Context context) {
+        if (ReportMetrics.REPORT_OBSERVATION.equals(context.getName())) {
+            lastReportEnded = Instant.now();
+            activeReports.decrementAndGet();
+        }
+
+        FlowBoardEvent event = context.get(FlowBoardEvent.class);
+        if (event == null) {
+            return;
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            switch (event) {
+                case ReportStageEvent reportStage -> {
+                    reportStage.reportType = value(context, "report.type");
+                    reportStage.projectType = value(context, "project.type");
+                    reportStage.stage = ReportMetrics.REPORT_OBSERVATION.equals(context.getName()) ? TOTAL_STAGE : value(context, "stage");
+                }
+                case StorageCallEvent storageCall -> storageCall.operation = value(context, "operation");
+                case KeycloakCallEvent keycloakCall -> keycloakCall.operation = value(context, "operation");
+                default -> {
+                }
+            }
+            if (context.getError() != null) {
+                event.error = context.getError().getClass().getSimpleName();
+            }
+            event.commit();
+        }
+    }
+
+    /**
+     * Tells whether reports were being generated at the given time, for events reported a moment after they happened.
+     *
+     * @param time the time of the event
+     * @return true if a report is being generated, or the last one ended after the given time
+     */
+    public boolean reportsRunning(Instant time) {
+        return activeReports.get() > 0 || !lastReportEnded.isBefore(time);
+    }
+
+    private static FlowBoardEvent event(String observation) {
+        return switch (observation) {
+            case S3Service.STORAGE_OBSERVATION -> new StorageCallEvent();
+            case KeycloakService.KEYCLOAK_OBSERVATION -> new KeycloakCallEvent();
+            default -> new ReportStageEvent();
+        };
+    }
+
+    private static String value(Observation.Context context, String key) {
+        KeyValue keyValue = context.getLowCardinalityKeyValue(key);
+        return keyValue == null ? NONE : keyValue.getValue();
+    }
+}
@@ -0,0 +1,20 @@
+package szte.flowboard.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "flowboard.flight-recorder")
+public class FlightRecorderProperties {
+    private boolean enabled = true;
+    private String settings = "default";
+    private Duration maxAge = Duration.ofMinutes(30);
+    private DataSize maxSize = DataSize.ofMegabytes(250);
+    private Duration eventThreshold = Duration.ofMillis(1);
+    private Duration lockThreshold = Duration.ofMillis(10);
+}
@@ -0,0 +1,97 @@
+package szte.flowboard.configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Actuator endpoint {@code /actuator/flightrecording} downloading the ring buffer of the continuous flight recording
+ * as a {@code .jfr} file, to be opened in JDK Mission Control or with {@code jfr print}.
+ * One dump is written at a time, a concurrent request is answered with 429.
+ */
+@Slf4j
+@WebEndpoint(id = "flightrecording")
+public class FlightRecordingEndpoint {
+
+    private final ContinuousFlightRecording recording;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public FlightRecordingEndpoint(ContinuousFlightRecording recording) {
+        this.recording = recording;
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> flightRecording() throws IOException {
+        if (!lock.tryLock()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+        }
+
+        try {
+            var file = Files.createTempFile("flowboard-", ".jfr");
+            try {
+                recording.dump(file);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(file);
+                throw e;
+            }
+            log.info("Flight recording dumped, {} bytes", Files.size(file));
+            return new WebEndpointResponse<>(new TemporaryFileResource(file));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A dump file deleted once it has been sent.
+     */
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        private TemporaryFileResource(Path path) {
+            super(path);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        delete();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public ReadableByteChannel readableChannel() throws IOException {
+            return Channels.newChannel(getInputStream());
+        }
+
+        @Override
+        public boolean isFile() {
+            return false;
+        }
+
+        private void delete() {
+            try {
+                Files.deleteIfExists(getFile().toPath());
+            } catch (IOException e) {
+                log.warn("Could not delete the flight recording dump {}", getPath(), e);
+            }
+        }
+    }
+}
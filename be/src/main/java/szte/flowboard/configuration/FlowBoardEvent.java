@@ -0,0 +1,18 @@
+package szte.flowboard.configuration;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base of the custom Flight Recorder events of FlowBoard, shown under the FlowBoard category in JDK Mission Control.
+ * The events carry what was called instead of a stack trace, so committing one stays cheap.
+ */
+@Category("FlowBoard")
+@StackTrace(false)
+public abstract class FlowBoardEvent extends Event {
+
+    @Label("Error")
+    String error;
+}
@@ -0,0 +1,16 @@
+package szte.flowboard.configuration;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name(KeycloakCallEvent.NAME)
+@Label("Keycloak Call")
+@Description("A call to the Keycloak admin API")
+public class KeycloakCallEvent extends FlowBoardEvent {
+
+    public static final String NAME = "flowboard.KeycloakCall";
+
+    @Label("Operation")
+    String operation;
+}
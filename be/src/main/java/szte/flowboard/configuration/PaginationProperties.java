@@ -0,0 +1,14 @@
+package szte.flowboard.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "flowboard.pagination")
+public class PaginationProperties {
+    private int defaultLimit = 50;
+    private int maxLimit = 500;
+    private int streamChunkSize = 500;
+}
@@ -0,0 +1,96 @@
+package szte.flowboard.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes read-only transactions to a read replica when {@code flowboard.datasource.replica.enabled} is set.
+ * The primary pool is configured from {@code spring.datasource.*} as before, the replica pool from
+ * {@code flowboard.datasource.replica.*}. Both pools publish their Hikari metrics, tagged with the pool name.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "flowboard.datasource.replica", name = "enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    public static final String REPLICA_LAG_GAUGE = "flowboard.datasource.replica.lag";
+
+    @Bean
+    public ReplicaStatus replicaStatus(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        return readReplicaRoutingDataSource.getReplicaStatus();
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                                     ReplicaDataSourceProperties replicaProperties,
+                                                                     Environment environment,
+                                                                     MeterRegistry meterRegistry) {
+        var binder = Binder.get(environment);
+
+        var primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        var replica = new HikariDataSource();
+        replica.setJdbcUrl(replicaProperties.getUrl());
+        replica.setUsername(replicaProperties.getUsername());
+        replica.setPassword(replicaProperties.getPassword());
+        replica.setDriverClassName(dataSourceProperties.getDriverClassName());
+        replica.setReadOnly(true);
+        // Start without a reachable replica, reads fall back to the primary until it answers
+        replica.setInitializationFailTimeout(-1);
+        binder.bind("flowboard.datasource.replica.hikari", Bindable.ofInstance(replica));
+        replica.setPoolName("replica");
+        replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        var replicaStatus = new ReplicaStatus(replica, replicaProperties.getMaxLag());
+        Gauge.builder(REPLICA_LAG_GAUGE, replicaStatus, ReplicaStatus::getLagSeconds)
+                .description("Replication lag of the read replica")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        return new ReadReplicaRoutingDataSource(primary, replica, replicaStatus,
+                new ReadYourWritesTracker(replicaProperties.getReadYourWritesWindow()), meterRegistry);
+    }
+
+    /**
+     * The data source used by JPA, Flyway and everything else. The lazy proxy only fetches a connection
+     * from the routing data source when the first statement runs, after the transaction has been marked read-only.
+     *
+     * @param readReplicaRoutingDataSource the routing data source
+     * @return the application data source
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readReplicaRoutingDataSource);
+    }
+
+    /**
+     * Releases the connection after every transaction, so each transaction of a request is routed on its own
+     * instead of reusing the connection of the first one.
+     *
+     * @return the customizer setting the connection handling mode
+     */
+    @Bean
+    public HibernatePropertiesCustomizer connectionPerTransactionCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,116 @@
+package szte.flowboard.configuration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+/**
+ * Hands out replica connections to read-only transactions and primary connections to everything else.
+ * Reads stay on the primary while the replica is unreachable or lagging, and while the current user has
+ * committed a write within the read-your-writes window. The decision is made when a connection is
+ * requested, so this data source has to be wrapped in a lazy connection proxy that defers the request
+ * until the transaction is fully set up.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    public static final String ROUTE_COUNTER = "flowboard.datasource.route";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaStatus replicaStatus;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final MeterRegistry meterRegistry;
+
+    public ReadReplicaRoutingDataSource(DataSource primary,
+                                        DataSource replica,
+                                        ReplicaStatus replicaStatus,
+                                        ReadYourWritesTracker readYourWritesTracker,
+                                        MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.replicaStatus = replicaStatus;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ReplicaStatus getReplicaStatus() {
+        return replicaStatus;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackWrite();
+            return primary("read-write");
+        }
+
+        if (!replicaStatus.isUsable()) {
+            return primary("replica-unavailable");
+        }
+
+        if (readYourWritesTracker.hasRecentWrite()) {
+            return primary("recent-write");
+        }
+
+        try {
+            var connection = replica.getConnection();
+            count("replica", "read-only");
+            return connection;
+        } catch (SQLException e) {
+            replicaStatus.markUnreachable(e);
+            return primary("replica-unavailable");
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Connections are routed with the configured credentials");
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (replica instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Connection primary(String reason) throws SQLException {
+        var connection = primary.getConnection();
+        count("primary", reason);
+        return connection;
+    }
+
+    /**
+     * Records a write for the current user once the read-write transaction using this connection commits.
+     */
+    private void trackWrite() {
+        if (TransactionSynchronizationManager.isActualTransactionActive() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    readYourWritesTracker.recordWrite();
+                }
+            });
+        }
+    }
+
+    private void count(String target, String reason) {
+        Counter.builder(ROUTE_COUNTER)
+                .description("Connections handed out by the read replica routing, by target and reason")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
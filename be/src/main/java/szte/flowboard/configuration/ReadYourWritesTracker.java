@@ -0,0 +1,44 @@
+package szte.flowboard.configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Remembers which users committed a write recently, so their reads can be kept on the primary until the
+ * replica has caught up with their own changes. Writes are tracked per application instance.
+ */
+public class ReadYourWritesTracker {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    /**
+     * Records that the current user committed a write.
+     */
+    public void recordWrite() {
+        currentUser().ifPresent(user -> recentWriters.put(user, Boolean.TRUE));
+    }
+
+    /**
+     * @return true if the current user committed a write within the read-your-writes window
+     */
+    public boolean hasRecentWrite() {
+        return currentUser()
+                .map(user -> recentWriters.getIfPresent(user) != null)
+                .orElse(false);
+    }
+
+    private static Optional<String> currentUser() {
+        return Optional.ofNullable(SecurityContextHolder.getContext().getAuthentication())
+                .map(authentication -> authentication.getName());
+    }
+}
@@ -0,0 +1,16 @@
+package szte.flowboard.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "flowboard.realtime")
+public class RealtimeProperties {
+    private boolean enabled = true;
+    private Duration pollTimeout = Duration.ofSeconds(1);
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+}
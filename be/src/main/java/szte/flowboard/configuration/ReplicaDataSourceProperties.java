@@ -0,0 +1,20 @@
+package szte.flowboard.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "flowboard.datasource.replica")
+public class ReplicaDataSourceProperties {
+    private boolean enabled;
+    private String url;
+    private String username;
+    private String password;
+    private Duration maxLag = Duration.ofSeconds(5);
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+    private Duration readYourWritesWindow = Duration.ofSeconds(10);
+}
@@ -0,0 +1,98 @@
+package szte.flowboard.configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Tracks whether the read replica can serve reads.
+ * The replication lag is measured periodically on the replica; while it exceeds the allowed lag, or while
+ * the replica cannot be reached, read-only transactions are sent to the primary instead.
+ */
+@Slf4j
+public class ReplicaStatus {
+
+    /**
+     * Seconds since the last replayed transaction, or zero if the replica has replayed everything it received.
+     * Without the second check an idle primary would look like a lagging replica.
+     */
+    static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            END""";
+
+    private final DataSource replica;
+    private final Duration maxLag;
+
+    private volatile double lagSeconds;
+    private volatile boolean reachable = true;
+
+    public ReplicaStatus(DataSource replica, Duration maxLag) {
+        this.replica = replica;
+        this.maxLag = maxLag;
+    }
+
+    /**
+     * @return true if the replica is reachable and its lag is within the allowed lag
+     */
+    public boolean isUsable() {
+        return reachable && lagSeconds * 1000 <= maxLag.toMillis();
+    }
+
+    /**
+     * @return the last measured replication lag in seconds
+     */
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    /**
+     * Measures the replication lag, and marks the replica reachable again once it answers.
+     */
+    @Scheduled(fixedDelayString = "${flowboard.datasource.replica.lag-check-interval:5s}")
+    public void refresh() {
+        try (var connection = replica.getConnection();
+             var statement = connection.createStatement();
+             var resultSet = statement.executeQuery(LAG_QUERY)) {
+            resultSet.next();
+            update(resultSet.getDouble(1));
+        } catch (SQLException e) {
+            markUnreachable(e);
+        }
+    }
+
+    /**
+     * Records a lag measurement.
+     *
+     * @param lagSeconds the measured replication lag in seconds
+     */
+    void update(double lagSeconds) {
+        if (!reachable) {
+            log.info("Read replica is reachable again");
+        }
+
+        if (lagSeconds * 1000 > maxLag.toMillis() && this.lagSeconds * 1000 <= maxLag.toMillis()) {
+            log.warn("Read replica lags {} s behind the primary, reads are sent to the primary", lagSeconds);
+        }
+
+        this.lagSeconds = lagSeconds;
+        this.reachable = true;
+    }
+
+    /**
+     * Stops routing reads to the replica until the next successful lag measurement.
+     *
+     * @param cause the error raised while connecting to the replica
+     */
+    public void markUnreachable(SQLException cause) {
+        if (reachable) {
+            log.warn("Read replica is unreachable, reads are sent to the primary", cause);
+        }
+
+        reachable = false;
+    }
+}
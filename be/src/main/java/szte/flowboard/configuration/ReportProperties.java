@@ -0,0 +1,24 @@
+package szte.flowboard.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "flowboard.report")
+public class ReportProperties {
+    private Warmup warmup = new Warmup();
+    private Pdf pdf = new Pdf();
+
+    @Data
+    public static class Warmup {
+        private boolean enabled;
+        private int iterations = 3;
+    }
+
+    @Data
+    public static class Pdf {
+        private boolean pdfA;
+    }
+}
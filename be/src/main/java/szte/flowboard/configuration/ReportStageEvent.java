@@ -0,0 +1,22 @@
+package szte.flowboard.configuration;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name(ReportStageEvent.NAME)
+@Label("Report Stage")
+@Description("A stage of a report generation, or the whole report as the total stage")
+public class ReportStageEvent extends FlowBoardEvent {
+
+    public static final String NAME = "flowboard.ReportStage";
+
+    @Label("Report Type")
+    String reportType;
+
+    @Label("Project Type")
+    String projectType;
+
+    @Label("Stage")
+    String stage;
+}
@@ -0,0 +1,19 @@
+package szte.flowboard.configuration;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name(RepositoryCallEvent.NAME)
+@Label("Repository Call")
+@Description("A call to a Spring Data repository method, without consuming a returned stream")
+public class RepositoryCallEvent extends FlowBoardEvent {
+
+    public static final String NAME = "flowboard.RepositoryCall";
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+}
@@ -0,0 +1,61 @@
+package szte.flowboard.configuration;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Records every repository call as a {@link RepositoryCallEvent}, added as the outermost advice of the repository
+ * proxies. When Flight Recorder does not record the event the call goes straight through.
+ */
+public class RepositoryCallRecorder implements MethodInterceptor {
+
+    private final String repository;
+
+    public RepositoryCallRecorder(Class<?> repositoryInterface) {
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    /**
+     * Adds the recorder to every repository created by a Spring Data repository factory bean.
+     *
+     * @return the post processor customizing the repository factories
+     */
+    public static BeanPostProcessor postProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(0,
+                                    new RepositoryCallRecorder(information.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        var event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+
+        event.begin();
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            event.error = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.repository = repository;
+                event.method = invocation.getMethod().getName();
+                event.commit();
+            }
+        }
+    }
+}
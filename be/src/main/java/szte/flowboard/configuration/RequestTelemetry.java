@@ -0,0 +1,136 @@
+package szte.flowboard.configuration;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The database work of one HTTP request: the SQL statements sent through the data source with their JDBC time, and
+ * the entities Hibernate loaded, from the database or the second-level cache.
+ * The telemetry of the request being handled is bound to its thread, and carried over to the thread that writes a
+ * streamed response body, so the statements of both are counted.
+ */
+public final class RequestTelemetry {
+
+    /**
+     * Statements beyond this many distinct SQL strings of one request are counted under {@link #OTHER_STATEMENTS}.
+     */
+    static final int MAX_DISTINCT_STATEMENTS = 100;
+    static final String OTHER_STATEMENTS = "(other statements)";
+
+    private static final ThreadLocal<RequestTelemetry> CURRENT = new ThreadLocal<>();
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder jdbcNanos = new LongAdder();
+    private final LongAdder entityLoads = new LongAdder();
+    private final Map<String, Statement> statementsBySql = new ConcurrentHashMap<>();
+
+    /**
+     * @return the telemetry of the request handled by the current thread, or null outside of a request
+     */
+    public static RequestTelemetry current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds the telemetry to the current thread until the returned binding is closed, which restores the previous one.
+     *
+     * @param telemetry the telemetry to bind, may be null
+     * @return the binding
+     */
+    static Binding bind(RequestTelemetry telemetry) {
+        var previous = CURRENT.get();
+        CURRENT.set(telemetry);
+
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Records a statement sent to the database. A batch counts as one statement.
+     *
+     * @param sql the SQL of the statement
+     * @param nanos the time the driver took to execute it
+     */
+    void statementExecuted(String sql, long nanos) {
+        statements.increment();
+        jdbcNanos.add(nanos);
+
+        var key = statementsBySql.containsKey(sql) || statementsBySql.size() < MAX_DISTINCT_STATEMENTS ? sql : OTHER_STATEMENTS;
+        statementsBySql.computeIfAbsent(key, Statement::new).executed(nanos);
+    }
+
+    /**
+     * Records an entity loaded by Hibernate.
+     */
+    void entityLoaded() {
+        entityLoads.increment();
+    }
+
+    long statements() {
+        return statements.sum();
+    }
+
+    long jdbcNanos() {
+        return jdbcNanos.sum();
+    }
+
+    long entityLoads() {
+        return entityLoads.sum();
+    }
+
+    /**
+     * @return the distinct statements of the request, the most executed first
+     */
+    List<Statement> statementSummary() {
+        return statementsBySql.values().stream()
+                .sorted(Comparator.comparingLong(Statement::executions).reversed().thenComparing(Statement::sql))
+                .toList();
+    }
+
+    /**
+     * The executions of one SQL string within the request.
+     */
+    static final class Statement {
+
+        private final String sql;
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        private Statement(String sql) {
+            this.sql = sql;
+        }
+
+        private void executed(long nanos) {
+            executions.increment();
+            this.nanos.add(nanos);
+        }
+
+        String sql() {
+            return sql;
+        }
+
+        long executions() {
+            return executions.sum();
+        }
+
+        long nanos() {
+            return nanos.sum();
+        }
+    }
+
+    /**
+     * Binds a telemetry to a thread while open.
+     */
+    interface Binding extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
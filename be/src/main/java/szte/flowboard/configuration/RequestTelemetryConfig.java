@@ -0,0 +1,156 @@
+package szte.flowboard.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.TaskDecorator;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Collects the {@link RequestTelemetry} of every HTTP request when {@code flowboard.request-telemetry.enabled} is set.
+ * The application data source is wrapped in a datasource-proxy that counts and times every statement, including
+ * those of {@code JdbcTemplate}, and a Hibernate post-load listener counts the loaded entities. Both add to the
+ * telemetry bound to the current thread, so work outside of a request is not counted.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "flowboard.request-telemetry", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RequestTelemetryConfig {
+
+    private static final String DATA_SOURCE = "dataSource";
+    private static final String STATEMENT_START = "flowboard.statement-start";
+
+    /**
+     * Wraps the application data source, the one JPA, Flyway and the repositories use. With the read replica
+     * enabled that is the lazy routing proxy, so a statement is counted once whichever pool runs it.
+     *
+     * @return the post processor wrapping the data source
+     */
+    @Bean
+    public static BeanPostProcessor requestTelemetryDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && DATA_SOURCE.equals(beanName)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(DATA_SOURCE)
+                            .listener(new StatementListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public RequestTelemetryStatistics requestTelemetryStatistics(MeterRegistry meterRegistry, RequestTelemetryProperties properties) {
+        return new RequestTelemetryStatistics(meterRegistry, properties);
+    }
+
+    @Bean
+    public SlowRequestsEndpoint slowRequestsEndpoint(RequestTelemetryStatistics statistics) {
+        return new SlowRequestsEndpoint(statistics);
+    }
+
+    /**
+     * Runs right after the HTTP observation filter and before Spring Security, so the statements of the
+     * authentication and user synchronization are counted as well.
+     *
+     * @param statistics the statistics the requests are recorded in
+     * @return the registration of the filter
+     */
+    @Bean
+    public FilterRegistrationBean<RequestTelemetryFilter> requestTelemetryFilter(RequestTelemetryStatistics statistics) {
+        var registration = new FilterRegistrationBean<>(new RequestTelemetryFilter(statistics));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    /**
+     * Carries the telemetry of a request over to the tasks it submits to the application task executor,
+     * which writes the streamed response bodies.
+     *
+     * @return the task decorator
+     */
+    @Bean
+    public TaskDecorator requestTelemetryTaskDecorator() {
+        return task -> {
+            var telemetry = RequestTelemetry.current();
+
+            return () -> {
+                try (var ignored = RequestTelemetry.bind(telemetry)) {
+                    task.run();
+                }
+            };
+        };
+    }
+
+    /**
+     * Registers the post-load listener counting the entities Hibernate loads.
+     *
+     * @return the customizer adding the integrator of the listener
+     */
+    @Bean
+    public HibernatePropertiesCustomizer requestTelemetryHibernateCustomizer() {
+        return properties -> properties.put(JpaSettings.INTEGRATOR_PROVIDER, (IntegratorProvider) () -> List.of(new EntityLoadIntegrator()));
+    }
+
+    private static final class StatementListener implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> queries) {
+            if (RequestTelemetry.current() != null) {
+                executionInfo.addCustomValue(STATEMENT_START, System.nanoTime());
+            }
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queries) {
+            var telemetry = RequestTelemetry.current();
+            var start = executionInfo.getCustomValue(STATEMENT_START, Long.class);
+
+            if (telemetry != null && start != null && !queries.isEmpty()) {
+                telemetry.statementExecuted(queries.getFirst().getQuery(), System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static final class EntityLoadIntegrator implements Integrator {
+
+        @Override
+        public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+            sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class)
+                    .appendListeners(EventType.POST_LOAD, (PostLoadEventListener) event -> {
+                        var telemetry = RequestTelemetry.current();
+
+                        if (telemetry != null) {
+                            telemetry.entityLoaded();
+                        }
+                    });
+        }
+
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        }
+    }
+}
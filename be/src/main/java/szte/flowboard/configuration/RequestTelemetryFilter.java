@@ -0,0 +1,97 @@
+package szte.flowboard.configuration;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Collects the {@link RequestTelemetry} of every request and records it when the response is complete.
+ * A request that starts asynchronous processing, e.g. for a streamed list, is recorded when the asynchronous
+ * processing ends, so its latency and statements include writing the body.
+ */
+public class RequestTelemetryFilter extends OncePerRequestFilter {
+
+    private final RequestTelemetryStatistics statistics;
+
+    public RequestTelemetryFilter(RequestTelemetryStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var telemetry = new RequestTelemetry();
+        var start = System.nanoTime();
+        var failed = true;
+
+        try (var ignored = RequestTelemetry.bind(telemetry)) {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new RecordingListener(request, response, telemetry, start));
+            } else {
+                record(request, failed ? HttpStatus.INTERNAL_SERVER_ERROR.value() : response.getStatus(), telemetry, start);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, int status, RequestTelemetry telemetry, long start) {
+        statistics.record(request.getMethod(), uri(request, status), status, System.nanoTime() - start, telemetry);
+    }
+
+    /**
+     * Returns the URI pattern of the handler, or the outcome like the {@code uri} tag of {@code http.server.requests}
+     * when no handler matched, so the number of distinct values stays bounded.
+     */
+    private static String uri(HttpServletRequest request, int status) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String pattern) {
+            return pattern;
+        } else if (status == HttpStatus.NOT_FOUND.value()) {
+            return "NOT_FOUND";
+        } else if (status >= 300 && status < 400) {
+            return "REDIRECTION";
+        }
+        return "UNKNOWN";
+    }
+
+    private final class RecordingListener implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final RequestTelemetry telemetry;
+        private final long start;
+
+        private RecordingListener(HttpServletRequest request, HttpServletResponse response, RequestTelemetry telemetry, long start) {
+            this.request = request;
+            this.response = response;
+            this.telemetry = telemetry;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            record(request, response.getStatus(), telemetry, start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
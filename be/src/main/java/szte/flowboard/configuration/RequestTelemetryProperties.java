@@ -0,0 +1,17 @@
+package szte.flowboard.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "flowboard.request-telemetry")
+public class RequestTelemetryProperties {
+    private boolean enabled = true;
+    private Duration slowThreshold = Duration.ofMillis(500);
+    private int repeatedStatementThreshold = 10;
+    private int top = 10;
+}
@@ -0,0 +1,201 @@
+package szte.flowboard.configuration;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Records the telemetry of every finished request.
+ * The statements, JDBC time and entity loads of a request are published in {@code flowboard.request.statements},
+ * {@code flowboard.request.jdbc} and {@code flowboard.request.entity-loads}, tagged with the method, URI pattern and
+ * status like {@code http.server.requests}, which holds the request latency. Requests slower than
+ * {@code flowboard.request-telemetry.slow-threshold} are logged with their most executed statements.
+ * Since startup the latency and statements of every endpoint are summed up, and for every endpoint the statement
+ * executed the most times within a single request is kept when it reached
+ * {@code flowboard.request-telemetry.repeated-statement-threshold}, the typical trace of an N+1 query.
+ */
+@Slf4j
+public class RequestTelemetryStatistics {
+
+    public static final String STATEMENTS_SUMMARY = "flowboard.request.statements";
+    public static final String JDBC_TIMER = "flowboard.request.jdbc";
+    public static final String ENTITY_LOADS_SUMMARY = "flowboard.request.entity-loads";
+
+    private static final int LOGGED_STATEMENTS = 5;
+
+    private final MeterRegistry meterRegistry;
+    private final RequestTelemetryProperties properties;
+    private final Map<String, EndpointTotals> endpoints = new ConcurrentHashMap<>();
+
+    public RequestTelemetryStatistics(MeterRegistry meterRegistry, RequestTelemetryProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    /**
+     * Records a finished request.
+     *
+     * @param method the HTTP method
+     * @param uri the URI pattern of the handler, or the outcome when no handler matched
+     * @param status the response status
+     * @param nanos the time the request took
+     * @param telemetry the database work of the request
+     */
+    void record(String method, String uri, int status, long nanos, RequestTelemetry telemetry) {
+        var tags = Tags.of("method", method, "uri", uri, "status", Integer.toString(status));
+        var summary = telemetry.statementSummary();
+
+        DistributionSummary.builder(STATEMENTS_SUMMARY)
+                .description("Number of SQL statements a request sent to the database")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(telemetry.statements());
+        Timer.builder(JDBC_TIMER)
+                .description("Time a request spent executing SQL statements")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(telemetry.jdbcNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder(ENTITY_LOADS_SUMMARY)
+                .description("Number of entities Hibernate loaded for a request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(telemetry.entityLoads());
+
+        var slow = nanos > properties.getSlowThreshold().toNanos();
+        var endpoint = endpoints.computeIfAbsent(method + " " + uri, EndpointTotals::new);
+        endpoint.record(nanos, slow, telemetry.statements());
+
+        summary.stream()
+                .filter(statement -> !RequestTelemetry.OTHER_STATEMENTS.equals(statement.sql()))
+                .findFirst()
+                .filter(statement -> statement.executions() >= properties.getRepeatedStatementThreshold())
+                .ifPresent(endpoint::repeated);
+
+        if (slow) {
+            log.warn("Slow request {} {} answered {} in {} ms: {} statements in {} ms, {} entity loads\n{}",
+                    method, uri, status, TimeUnit.NANOSECONDS.toMillis(nanos), telemetry.statements(),
+                    TimeUnit.NANOSECONDS.toMillis(telemetry.jdbcNanos()), telemetry.entityLoads(),
+                    summary.stream()
+                            .limit(LOGGED_STATEMENTS)
+                            .map(statement -> "\t" + statement.executions() + "x, " + TimeUnit.NANOSECONDS.toMillis(statement.nanos())
+                                    + " ms: " + statement.sql())
+                            .collect(Collectors.joining("\n")));
+        }
+    }
+
+    /**
+     * @return the endpoints with the highest mean latency since startup, at most {@code top} of them
+     */
+    public List<SlowEndpoint> slowestEndpoints() {
+        return endpoints.values().stream()
+                .map(EndpointTotals::toSlowEndpoint)
+                .sorted(Comparator.comparingDouble(SlowEndpoint::meanMillis).reversed())
+                .limit(properties.getTop())
+                .toList();
+    }
+
+    /**
+     * @return the endpoints that executed a single statement the most times within one request since startup,
+     * at most {@code top} of them
+     */
+    public List<RepeatedStatement> repeatedStatements() {
+        return endpoints.values().stream()
+                .map(EndpointTotals::toRepeatedStatement)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingLong(RepeatedStatement::executions).reversed())
+                .limit(properties.getTop())
+                .toList();
+    }
+
+    /**
+     * The latency and statements of an endpoint since startup.
+     *
+     * @param endpoint the method and URI pattern
+     * @param requests the number of requests
+     * @param slowRequests the number of requests slower than the threshold
+     * @param meanMillis the mean latency
+     * @param maxMillis the highest latency
+     * @param meanStatements the mean number of statements per request
+     * @param maxStatements the highest number of statements of a request
+     */
+    public record SlowEndpoint(String endpoint, long requests, long slowRequests, double meanMillis, double maxMillis,
+                               double meanStatements, long maxStatements) {
+    }
+
+    /**
+     * The statement an endpoint executed the most times within one request.
+     *
+     * @param endpoint the method and URI pattern
+     * @param statement the SQL of the statement
+     * @param executions the highest number of executions within one request
+     * @param requests the number of requests that executed it at least threshold times
+     */
+    public record RepeatedStatement(String endpoint, String statement, long executions, long requests) {
+    }
+
+    private static final class EndpointTotals {
+
+        private final String endpoint;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder slowRequests = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder statements = new LongAdder();
+        private final AtomicLong maxStatements = new AtomicLong();
+        private final AtomicReference<RepeatedStatement> repeated = new AtomicReference<>();
+
+        private EndpointTotals(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        private void record(long nanos, boolean slow, long statements) {
+            requests.increment();
+            this.nanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            this.statements.add(statements);
+            maxStatements.accumulateAndGet(statements, Math::max);
+
+            if (slow) {
+                slowRequests.increment();
+            }
+        }
+
+        private void repeated(RequestTelemetry.Statement statement) {
+            repeated.accumulateAndGet(new RepeatedStatement(endpoint, statement.sql(), statement.executions(), 1), (worst, current) -> {
+                if (worst == null) {
+                    return current;
+                }
+                return current.executions() > worst.executions()
+                        ? new RepeatedStatement(endpoint, current.statement(), current.executions(), worst.requests() + 1)
+                        : new RepeatedStatement(endpoint, worst.statement(), worst.executions(), worst.requests() + 1);
+            });
+        }
+
+        private SlowEndpoint toSlowEndpoint() {
+            var count = Math.max(1, requests.sum());
+            return new SlowEndpoint(endpoint, requests.sum(), slowRequests.sum(), millis(nanos.sum()) / count,
+                    millis(maxNanos.get()), statements.sum() / (double) count, maxStatements.get());
+        }
+
+        private RepeatedStatement toRepeatedStatement() {
+            return repeated.get();
+        }
+
+        private static double millis(long nanos) {
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+}
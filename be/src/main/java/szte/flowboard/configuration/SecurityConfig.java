@@ -2,6 +2,9 @@ package szte.flowboard.configuration;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.info.InfoEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
@@ -29,7 +32,10 @@ public class SecurityConfig {
     @Value("${security.allowedOrigins}")
     List<String> allowedOrigins;
 
-    private static final String ACTUATOR = "/actuator/**";
+    // Keycloak client role of the operators, the other actuator endpoints expose metrics, SQL and JVM internals
+    private static final String ACTUATOR_ROLE = "admin";
+    // The STOMP CONNECT frame is authenticated instead of the handshake, see StompAuthorizationInterceptor
+    private static final String WEBSOCKET = "/ws";
     private static final String SWAGGER_API_DOC = "/v3/api-docs";
     private static final String SWAGGER_API_DOC_ALL = "/v3/api-docs/**";
     private static final String SWAGGER_UI = "/swagger-ui.html";
@@ -44,7 +50,9 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(
                         auth -> auth
-                                .requestMatchers(ACTUATOR, SWAGGER_API_DOC, SWAGGER_API_DOC_ALL,
+                                .requestMatchers(EndpointRequest.to(HealthEndpoint.class, InfoEndpoint.class)).permitAll()
+                                .requestMatchers(EndpointRequest.toAnyEndpoint()).hasRole(ACTUATOR_ROLE)
+                                .requestMatchers(WEBSOCKET, SWAGGER_API_DOC, SWAGGER_API_DOC_ALL,
                                         SWAGGER_UI, SWAGGER_UI_DEPENDENCIES, SWAGGER_UI_RESOURCES,
                                         SWAGGER_UI_RESOURCES_ALL)
                                 .permitAll().anyRequest().authenticated())
@@ -67,7 +75,8 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(allowedOrigins);
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "Origin", "Access-Control-Allow-Origin",
-                "Access-Control-Allow-Methods", "Access-Control-Allow-Headers", "Access-Control-Allow-Credentials", "Cookie"));
+                "Access-Control-Allow-Methods", "Access-Control-Allow-Headers", "Access-Control-Allow-Credentials", "Cookie", "If-Match", "If-None-Match"));
+        configuration.setExposedHeaders(List.of("ETag", "Link"));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
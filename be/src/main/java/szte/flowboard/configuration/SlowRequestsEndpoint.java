@@ -0,0 +1,34 @@
+package szte.flowboard.configuration;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint {@code /actuator/slowrequests} listing the endpoints with the highest mean latency and the worst
+ * N+1 offenders since startup, the endpoints that executed a single statement the most times within one request.
+ * The statements are listed with their placeholders, without parameter values.
+ */
+@Endpoint(id = "slowrequests")
+public class SlowRequestsEndpoint {
+
+    private final RequestTelemetryStatistics statistics;
+
+    public SlowRequestsEndpoint(RequestTelemetryStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @ReadOperation
+    public SlowRequests slowRequests() {
+        return new SlowRequests(statistics.slowestEndpoints(), statistics.repeatedStatements());
+    }
+
+    /**
+     * @param slowestEndpoints the endpoints with the highest mean latency
+     * @param repeatedStatements the endpoints with the most executions of a single statement within one request
+     */
+    public record SlowRequests(List<RequestTelemetryStatistics.SlowEndpoint> slowestEndpoints,
+                               List<RequestTelemetryStatistics.RepeatedStatement> repeatedStatements) {
+    }
+}
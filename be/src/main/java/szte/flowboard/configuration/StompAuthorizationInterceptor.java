@@ -0,0 +1,138 @@
+package szte.flowboard.configuration;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import szte.flowboard.repository.ProjectRepository;
+import szte.flowboard.service.ProjectEventRelay;
+import szte.flowboard.service.UserService;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Authenticates the STOMP sessions and authorizes their subscriptions.
+ * Browsers can not send headers with the WebSocket handshake, so the client sends its access token in the
+ * {@code Authorization} header of the STOMP {@code CONNECT} frame, which is validated like the one of a REST request.
+ * A session may only subscribe to the topics of the projects its user is a member of. Membership is checked when
+ * subscribing, and again for every event delivered to the session by the {@link #deliveryInterceptor()} of the
+ * outbound channel, so a user removed from a project stops receiving its events while still subscribed.
+ * Clients only receive, every frame they send to a destination is rejected.
+ */
+public class StompAuthorizationInterceptor implements ChannelInterceptor {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtDecoder jwtDecoder;
+    private final JwtConverter jwtConverter;
+    private final UserService userService;
+    private final ProjectRepository projectRepository;
+    private final Map<String, UUID> sessionUserIds = new ConcurrentHashMap<>();
+    private final ChannelInterceptor deliveryInterceptor = new DeliveryInterceptor();
+
+    public StompAuthorizationInterceptor(JwtDecoder jwtDecoder, JwtConverter jwtConverter, UserService userService,
+                                         ProjectRepository projectRepository) {
+        this.jwtDecoder = jwtDecoder;
+        this.jwtConverter = jwtConverter;
+        this.userService = userService;
+        this.projectRepository = projectRepository;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        var accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        switch (accessor.getCommand()) {
+            case CONNECT -> accessor.setUser(authenticate(accessor.getFirstNativeHeader("Authorization")));
+            case SUBSCRIBE -> authorize(accessor.getSessionId(), accessor.getUser(), accessor.getDestination());
+            case SEND -> throw new AccessDeniedException("Sending to " + accessor.getDestination() + " is not allowed");
+            case DISCONNECT -> sessionUserIds.remove(accessor.getSessionId());
+            default -> {
+            }
+        }
+
+        return message;
+    }
+
+    private Authentication authenticate(String authorization) {
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            throw new BadCredentialsException("Missing bearer token");
+        }
+
+        try {
+            return jwtConverter.convert(jwtDecoder.decode(authorization.substring(BEARER_PREFIX.length())));
+        } catch (JwtException e) {
+            throw new BadCredentialsException("Invalid bearer token", e);
+        }
+    }
+
+    /**
+     * The interceptor of the client outbound channel, which drops the project events sent to a session whose user is
+     * no longer a member of the project.
+     *
+     * @return the interceptor of the outbound channel
+     */
+    public ChannelInterceptor deliveryInterceptor() {
+        return deliveryInterceptor;
+    }
+
+    private void authorize(String sessionId, Object principal, String destination) {
+        if (!(principal instanceof Authentication authentication)) {
+            throw new AccessDeniedException("Not authenticated");
+        }
+
+        var projectId = projectId(destination);
+        var user = userService.getUserByAuthentication(authentication);
+
+        if (user.isEmpty() || !projectRepository.existsByIdAndProjectUsersUserId(projectId, user.get().getId())) {
+            throw new AccessDeniedException("Not a member of project " + projectId);
+        }
+
+        sessionUserIds.put(sessionId, user.get().getId());
+    }
+
+    private static UUID projectId(String destination) {
+        if (destination == null || !destination.startsWith(ProjectEventRelay.TOPIC_PREFIX)) {
+            throw new AccessDeniedException("Unknown destination " + destination);
+        }
+
+        try {
+            return UUID.fromString(destination.substring(ProjectEventRelay.TOPIC_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new AccessDeniedException("Unknown destination " + destination);
+        }
+    }
+
+    private class DeliveryInterceptor implements ChannelInterceptor {
+
+        @Override
+        public Message<?> preSend(Message<?> message, MessageChannel channel) {
+            var headers = message.getHeaders();
+            var destination = SimpMessageHeaderAccessor.getDestination(headers);
+
+            if (SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.MESSAGE
+                    || destination == null || !destination.startsWith(ProjectEventRelay.TOPIC_PREFIX)) {
+                return message;
+            }
+
+            var userId = sessionUserIds.get(SimpMessageHeaderAccessor.getSessionId(headers));
+            var projectId = projectId(destination);
+
+            return userId != null && projectRepository.existsByIdAndProjectUsersUserId(projectId, userId) ? message : null;
+        }
+    }
+}
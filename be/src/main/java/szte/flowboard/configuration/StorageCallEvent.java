@@ -0,0 +1,16 @@
+package szte.flowboard.configuration;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name(StorageCallEvent.NAME)
+@Label("Storage Call")
+@Description("A call to the report storage")
+public class StorageCallEvent extends FlowBoardEvent {
+
+    public static final String NAME = "flowboard.StorageCall";
+
+    @Label("Operation")
+    String operation;
+}
@@ -0,0 +1,17 @@
+package szte.flowboard.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Period;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "flowboard.time-logs.partitions")
+public class TimeLogPartitionProperties {
+    private boolean maintenanceEnabled = true;
+    private int monthsAhead = 3;
+    private String maintenanceCron = "0 0 3 * * *";
+    private Period detachAfter;
+}
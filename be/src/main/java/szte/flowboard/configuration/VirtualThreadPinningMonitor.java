@@ -0,0 +1,120 @@
+package szte.flowboard.configuration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Detects virtual threads that stay pinned to their carrier thread.
+ * A virtual thread that blocks inside a {@code synchronized} block or a native frame keeps its carrier thread
+ * blocked as well, so a few pinned request threads can stall every other request. The JFR
+ * {@code jdk.VirtualThreadPinned} events longer than {@code flowboard.virtual-threads.pinning-threshold} are
+ * counted in {@code flowboard.virtual-threads.pinned}, tagged with the innermost frame outside of the JDK where the
+ * pinned thread blocked, and the stack trace of every new pinning site is logged once.
+ * For a local diagnosis the JVM prints the same stack traces with {@code -Djdk.tracePinnedThreads=full}.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(prefix = "flowboard.virtual-threads", name = "pinning-monitor-enabled", havingValue = "true", matchIfMissing = true)
+public class VirtualThreadPinningMonitor {
+
+    public static final String PINNED_COUNTER = "flowboard.virtual-threads.pinned";
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int LOGGED_FRAMES = 12;
+
+    private final MeterRegistry meterRegistry;
+    private final VirtualThreadProperties properties;
+    private final Set<String> loggedSites = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, VirtualThreadProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    /**
+     * Starts streaming the pinning events of the running JVM.
+     */
+    @PostConstruct
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(properties.getPinningThreshold()).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::pinned);
+        recordingStream.startAsync();
+        log.info("Monitoring virtual threads pinned for more than {}", properties.getPinningThreshold());
+    }
+
+    /**
+     * Stops the event stream.
+     */
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    /**
+     * Records a pinning event.
+     *
+     * @param event the {@code jdk.VirtualThreadPinned} event
+     */
+    void pinned(RecordedEvent event) {
+        var site = pinningSite(event);
+
+        Counter.builder(PINNED_COUNTER)
+                .description("Number of virtual threads that blocked while pinned to their carrier thread")
+                .tag("site", site)
+                .register(meterRegistry)
+                .increment();
+
+        if (loggedSites.add(site)) {
+            log.warn("Virtual thread pinned for {} ms at {}:\n{}", event.getDuration().toMillis(), site, stackTrace(event));
+        }
+    }
+
+    /**
+     * Returns the innermost frame outside of the JDK, the application or library code that blocked while pinned.
+     */
+    private static String pinningSite(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "unknown";
+        }
+
+        return event.getStackTrace().getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+                .filter(method -> !method.startsWith("java.") && !method.startsWith("jdk.") && !method.startsWith("sun."))
+                .findFirst()
+                .orElse("jdk");
+    }
+
+    private static String stackTrace(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "";
+        }
+
+        return event.getStackTrace().getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,15 @@
+package szte.flowboard.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "flowboard.virtual-threads")
+public class VirtualThreadProperties {
+    private boolean pinningMonitorEnabled = true;
+    private Duration pinningThreshold = Duration.ofMillis(20);
+}
@@ -0,0 +1,57 @@
+package szte.flowboard.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import szte.flowboard.repository.ProjectRepository;
+import szte.flowboard.service.UserService;
+
+import java.util.List;
+
+/**
+ * STOMP over WebSocket on {@code /ws}, pushing the changes of a project to {@code /topic/projects/{projectId}}.
+ * Every node runs its own in-memory broker for the clients connected to it, the events reach all nodes through
+ * PostgreSQL notifications, see {@link szte.flowboard.service.ProjectEventRelay}.
+ */
+@Configuration
+@EnableWebSocketMessageBroker
+@ConditionalOnProperty(prefix = "flowboard.realtime", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    private final StompAuthorizationInterceptor stompAuthorizationInterceptor;
+
+    @Value("${security.allowedOrigins}")
+    List<String> allowedOrigins;
+
+    public WebSocketConfig(JwtDecoder jwtDecoder, JwtConverter jwtConverter, UserService userService,
+                           ProjectRepository projectRepository) {
+        this.stompAuthorizationInterceptor = new StompAuthorizationInterceptor(jwtDecoder, jwtConverter, userService, projectRepository);
+    }
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint("/ws").setAllowedOrigins(allowedOrigins.toArray(String[]::new));
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.enableSimpleBroker("/topic");
+        registry.setApplicationDestinationPrefixes("/app");
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompAuthorizationInterceptor);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompAuthorizationInterceptor.deliveryInterceptor());
+    }
+}
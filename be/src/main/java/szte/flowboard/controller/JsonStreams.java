@@ -0,0 +1,148 @@
+package szte.flowboard.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import szte.flowboard.configuration.PaginationProperties;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Streams whole lists to the client row by row.
+ * The rows are read in chunks of {@code flowboard.pagination.stream-chunk-size} and each row is written to the
+ * response as soon as it is read, so a list is never held in memory as a whole, neither as objects nor as bytes.
+ * The body is a JSON, Smile or CBOR array, chosen by the Accept header like the other responses,
+ * with the same object mappers as the message converters.
+ */
+@Component
+class JsonStreams {
+
+    private final List<AbstractJackson2HttpMessageConverter> converters;
+    private final PaginationProperties properties;
+
+    JsonStreams(MappingJackson2HttpMessageConverter jsonConverter, MappingJackson2SmileHttpMessageConverter smileConverter,
+                MappingJackson2CborHttpMessageConverter cborConverter, PaginationProperties properties) {
+        // JSON comes first, it is the format of wildcard Accept headers
+        this.converters = List.of(jsonConverter, smileConverter, cborConverter);
+        this.properties = properties;
+    }
+
+    /**
+     * Source of the rows of a streamed list.
+     *
+     * @param <T> the row type
+     */
+    @FunctionalInterface
+    interface Rows<T> {
+
+        /**
+         * Passes every row of the list to the consumer.
+         *
+         * @param chunkSize the number of rows to read at once
+         * @param consumer the consumer writing the rows to the response
+         */
+        void forEach(int chunkSize, Consumer<? super T> consumer);
+    }
+
+    /**
+     * Returns the response streaming a whole list in the format accepted by the current request.
+     * The rows are read after the handler method returned, on the thread writing the response.
+     *
+     * @param response the response builder with the status and headers
+     * @param rows the source of the rows
+     * @param <T> the row type
+     * @return the response with the streamed list as body, or 406 if the request accepts none of the formats
+     */
+    <T> ResponseEntity<StreamingResponseBody> body(ResponseEntity.BodyBuilder response, Rows<T> rows) {
+        var accept = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest().getHeader(HttpHeaders.ACCEPT);
+        var format = negotiate(accept);
+
+        if (format.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+        }
+
+        var objectMapper = format.get().objectMapper();
+        var chunkSize = properties.getStreamChunkSize();
+
+        return response.contentType(format.get().mediaType()).body(outputStream -> {
+            try (var generator = objectMapper.createGenerator(outputStream)) {
+                // The servlet container closes the response stream
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.writeStartArray();
+                rows.forEach(chunkSize, row -> write(generator, row));
+                generator.writeEndArray();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    /**
+     * Chooses the format of the body, preferring the accepted media types with the higher quality.
+     *
+     * @param accept the Accept header, or null if the request has none
+     * @return the format, or empty if none of the formats is accepted or the header is invalid
+     */
+    Optional<Format> negotiate(String accept) {
+        List<MediaType> acceptedTypes;
+
+        try {
+            acceptedTypes = new ArrayList<>(accept == null ? List.of(MediaType.ALL) : MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return Optional.empty();
+        }
+
+        acceptedTypes.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+
+        for (var acceptedType : acceptedTypes) {
+            if (acceptedType.getQualityValue() == 0) {
+                continue;
+            }
+
+            for (var converter : converters) {
+                for (var mediaType : converter.getSupportedMediaTypes()) {
+                    if (mediaType.isConcrete() && acceptedType.isCompatibleWith(mediaType)) {
+                        return Optional.of(new Format(mediaType, converter.getObjectMapper()));
+                    }
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private static void write(JsonGenerator generator, Object row) {
+        try {
+            generator.writeObject(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Format of a streamed body.
+     *
+     * @param mediaType the content type of the body
+     * @param objectMapper the object mapper writing the rows
+     */
+    record Format(MediaType mediaType, ObjectMapper objectMapper) {
+    }
+}
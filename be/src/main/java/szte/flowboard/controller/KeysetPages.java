@@ -0,0 +1,95 @@
+package szte.flowboard.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import szte.flowboard.configuration.PaginationProperties;
+import szte.flowboard.dto.KeysetCursor;
+import szte.flowboard.dto.KeysetPage;
+import szte.flowboard.dto.KeysetRequest;
+import szte.flowboard.dto.request.PageRequestDto;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keyset pagination of the list endpoints.
+ * A list is only paged when the request has a cursor or a limit, so existing clients keep receiving the whole list.
+ * The body of a page is the plain array of its rows, the following page is linked in a
+ * {@code Link: <...>; rel="next"} header that repeats the request with the cursor of the last row.
+ */
+@Component
+class KeysetPages {
+
+    private final PaginationProperties properties;
+
+    KeysetPages(PaginationProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Resolves the page query parameters of a request.
+     *
+     * @param page the page query parameters
+     * @return the requested page with its size capped at the maximum, or empty if the cursor is invalid
+     */
+    Optional<KeysetRequest> resolve(PageRequestDto page) {
+        if (page.getCursor() == null && page.getLimit() == null) {
+            return Optional.of(KeysetRequest.UNPAGED);
+        }
+
+        var size = Math.min(page.getLimit() == null ? properties.getDefaultLimit() : page.getLimit(), properties.getMaxLimit());
+
+        if (page.getCursor() == null) {
+            return Optional.of(new KeysetRequest(KeysetCursor.START, size));
+        }
+
+        try {
+            return Optional.of(new KeysetRequest(KeysetCursor.decode(page.getCursor()), size));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns the query string of the current request, which selects the rows of a filtered or paged list.
+     *
+     * @return the query string, or an empty string if the request has none
+     */
+    static String currentQuery() {
+        var query = ServletUriComponentsBuilder.fromCurrentRequest().build().getQuery();
+
+        return query == null ? "" : query;
+    }
+
+    /**
+     * Returns the 200 OK response builder of a page, with the link to the following page if there is one.
+     *
+     * @param page the page
+     * @return the response builder, the caller adds the body
+     */
+    static ResponseEntity.BodyBuilder ok(KeysetPage<?> page) {
+        var response = ResponseEntity.ok();
+
+        if (page.next() != null) {
+            var next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", page.next().encode())
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+
+        return response;
+    }
+
+    /**
+     * Returns the 200 OK response of a page, with the link to the following page if there is one.
+     *
+     * @param page the page
+     * @param <T> the row type
+     * @return the response with the rows of the page as body
+     */
+    static <T> ResponseEntity<List<T>> okPage(KeysetPage<T> page) {
+        return ok(page).body(page.items());
+    }
+}
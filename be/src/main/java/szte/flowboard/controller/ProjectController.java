@@ -1,12 +1,15 @@
 package szte.flowboard.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -58,18 +61,26 @@ public class ProjectController {
     /**
      * Retrieves all projects accessible by the current user.
      *
+     * @param ifNoneMatch the ETag of the list the client already has, if any
      * @param authentication the authentication object containing the current user's information
-     * @return ResponseEntity containing a list of project DTOs with HTTP status 200
+     * @return ResponseEntity containing a list of project DTOs with HTTP status 200 and the list version as ETag, or 304 if the client already has the list
      */
     @Operation(operationId = "getAllProjects", summary = "Get all projects", description = "Retrieves all projects for the current user")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Projects retrieved successfully", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProjectDto.class))))
+            @ApiResponse(responseCode = "200", description = "Projects retrieved successfully", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProjectDto.class)))),
+            @ApiResponse(responseCode = "304", description = "The list has not changed since the ETag in If-None-Match")
     })
     @GetMapping
-    public ResponseEntity<List<ProjectDto>> findAll(Authentication authentication) {
-        List<ProjectEntity> projects = projectService.findAllByUser(authentication);
-        List<ProjectDto> projectDtos = projectMapper.toDtoList(projects);
-        return ResponseEntity.ok(projectDtos);
+    public ResponseEntity<List<ProjectDto>> findAll(@Parameter(description = "ETag of the list the client already has") @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                    Authentication authentication) {
+        String eTag = VersionETags.ofList(projectService.findListVersionByUser(authentication), authentication.getName());
+
+        if (VersionETags.isNotModified(ifNoneMatch, eTag)) {
+            return VersionETags.notModified(eTag);
+        }
+
+        List<ProjectDto> projectDtos = projectService.findAllByUser(authentication);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(VersionETags.LIST_CACHE_CONTROL).body(projectDtos);
     }
 
     /**
@@ -77,7 +88,7 @@ public class ProjectController {
      *
      * @param id the unique identifier of the project
      * @param authentication the authentication object containing the current user's information
-     * @return ResponseEntity containing the project DTO with HTTP status 200 if found, or 404 if not found or no access
+     * @return ResponseEntity containing the project DTO with HTTP status 200 and its version as ETag if found, or 404 if not found or no access
      */
     @Operation(operationId = "getProjectById", summary = "Get project by ID", description = "Retrieves a project by its ID for the current user")
     @ApiResponses(value = {
@@ -86,35 +97,55 @@ public class ProjectController {
     })
     @GetMapping("/{id}")
     public ResponseEntity<ProjectDto> findById(@PathVariable UUID id, Authentication authentication) {
-        Optional<ProjectEntity> project = projectService.findByIdAndUser(id, authentication);
-        return project.map(p -> ResponseEntity.ok(projectMapper.toDto(p)))
+        Optional<ProjectDto> project = projectService.findByIdAndUser(id, authentication);
+        return project.map(projectDto -> ResponseEntity.ok().eTag(VersionETags.of(projectDto.getVersion())).body(projectDto))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     /**
      * Updates an existing project if the current user has access to it.
+     * The project is only updated if it still has the version of the ETag in the If-Match header.
      *
      * @param id the unique identifier of the project to update
+     * @param ifMatch the ETag of the project version the update is based on
      * @param projectRequest the project update request containing updated project details
      * @param authentication the authentication object containing the current user's information
-     * @return ResponseEntity containing the updated project DTO with HTTP status 200, 404 if not found, or 400 if input is invalid
+     * @return ResponseEntity containing the updated project DTO with HTTP status 200 and its new version as ETag, 404 if not found,
+     *         412 if the project has been updated since the If-Match version, 428 if the If-Match header is missing,
+     *         or 400 if input is invalid
      */
     @Operation(operationId = "updateProject", summary = "Update project", description = "Updates an existing project for the current user")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Project updated successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectDto.class))),
             @ApiResponse(responseCode = "404", description = "Project not found"),
+            @ApiResponse(responseCode = "412", description = "Project has been updated since the If-Match version"),
+            @ApiResponse(responseCode = "428", description = "If-Match header with the project ETag is missing"),
             @ApiResponse(responseCode = "400", description = "Invalid input data")
     })
     @PutMapping("/{id}")
-    public ResponseEntity<ProjectDto> update(@PathVariable UUID id, @Valid @RequestBody ProjectUpdateRequestDto projectRequest, Authentication authentication) {
+    public ResponseEntity<ProjectDto> update(@PathVariable UUID id,
+                                             @Parameter(description = "ETag of the version the update is based on", required = true) @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                             @Valid @RequestBody ProjectUpdateRequestDto projectRequest, Authentication authentication) {
+        Long expectedVersion = VersionETags.expectedVersion(ifMatch);
+        if (expectedVersion == null) {
+            return VersionETags.preconditionRequired();
+        }
         if (!projectService.existsByIdAndUser(id, authentication)) {
             return ResponseEntity.notFound().build();
         }
         ProjectEntity project = projectMapper.toEntity(projectRequest);
         project.setId(id);
-        ProjectEntity updatedProject = projectService.update(project);
+        ProjectEntity updatedProject;
+        try {
+            updatedProject = projectService.update(project, expectedVersion);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        if (updatedProject == null) {
+            return ResponseEntity.notFound().build();
+        }
         ProjectDto projectDto = projectMapper.toDto(updatedProject);
-        return ResponseEntity.ok(projectDto);
+        return ResponseEntity.ok().eTag(VersionETags.of(projectDto.getVersion())).body(projectDto);
     }
 
     /**
@@ -7,12 +7,17 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import szte.flowboard.dto.KeysetPage;
+import szte.flowboard.dto.KeysetRequest;
 import szte.flowboard.dto.ProjectUserDto;
+import szte.flowboard.dto.request.PageRequestDto;
 import szte.flowboard.dto.request.ProjectUserCreateRequestDto;
+import szte.flowboard.dto.request.ProjectUserFilterDto;
 import szte.flowboard.dto.request.ProjectUserUpdateRequestDto;
 import szte.flowboard.entity.ProjectUserEntity;
 import szte.flowboard.mapper.ProjectUserMapper;
@@ -34,6 +39,7 @@ public class ProjectUserController {
 
     private final ProjectUserService projectUserService;
     private final ProjectUserMapper projectUserMapper;
+    private final KeysetPages keysetPages;
 
     /**
      * Creates a new project-user relationship, assigning a user to a project with a specific role.
@@ -56,19 +62,29 @@ public class ProjectUserController {
     }
 
     /**
-     * Retrieves all project-user relationships in the system.
+     * Retrieves the project-user relationships in the system, newest first.
+     * Without cursor and limit the whole list is returned, otherwise a page of it with the following page in the Link header.
      *
-     * @return ResponseEntity containing a list of project-user DTOs with HTTP status 200
+     * @param filter the optional project and user of the relationships
+     * @param page the cursor and limit of the page, if any
+     * @return ResponseEntity containing a list of project-user DTOs with HTTP status 200, or 400 if the cursor is invalid
      */
     @Operation(operationId = "getAllProjectUsers", summary = "Get all project-user relationships", description = "Retrieves all project-user relationships")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Project-user relationships retrieved successfully", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProjectUserDto.class))))
+            @ApiResponse(responseCode = "200", description = "Project-user relationships retrieved successfully", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProjectUserDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or limit")
     })
     @GetMapping
-    public ResponseEntity<List<ProjectUserDto>> findAll() {
-        List<ProjectUserEntity> projectUsers = projectUserService.findAll();
-        List<ProjectUserDto> projectUserDtos = projectUserMapper.toDtoList(projectUsers);
-        return ResponseEntity.ok(projectUserDtos);
+    public ResponseEntity<List<ProjectUserDto>> findAll(@ParameterObject ProjectUserFilterDto filter,
+                                                        @Valid @ParameterObject PageRequestDto page) {
+        Optional<KeysetRequest> keysetRequest = keysetPages.resolve(page);
+
+        if (keysetRequest.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        KeysetPage<ProjectUserDto> projectUsers = projectUserService.findAll(filter, keysetRequest.get()).map(projectUserMapper::toDto);
+        return KeysetPages.okPage(projectUsers);
     }
 
     /**
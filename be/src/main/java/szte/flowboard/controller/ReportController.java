@@ -1,6 +1,7 @@
 package szte.flowboard.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -8,6 +9,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -15,8 +18,9 @@ import szte.flowboard.dto.*;
 import szte.flowboard.dto.request.CreateCOCReportRequestDto;
 import szte.flowboard.dto.request.CreateEmployeeMatrixReportRequestDto;
 import szte.flowboard.dto.request.CreateProjectActivityReportRequestDto;
+import szte.flowboard.dto.request.PageRequestDto;
+import szte.flowboard.dto.request.ReportFilterDto;
 import szte.flowboard.dto.response.DownloadReportDto;
-import szte.flowboard.mapper.ReportMapper;
 import szte.flowboard.service.ReportService;
 
 import java.io.IOException;
@@ -35,21 +39,45 @@ import java.util.UUID;
 public class ReportController {
 
     private final ReportService reportService;
-    private final ReportMapper reportMapper;
+    private final KeysetPages keysetPages;
 
     /**
-     * Lists all reports accessible by the current user.
+     * Lists the reports accessible by the current user, newest first.
+     * Without cursor and limit the whole list is returned, otherwise a page of it with the following page in the Link header.
      *
+     * @param filter the optional project and creation date range of the reports
+     * @param page the cursor and limit of the page, if any
+     * @param ifNoneMatch the ETag of the list the client already has, if any
      * @param authentication the authentication object containing the current user's information
-     * @return ResponseEntity containing a list of report DTOs with HTTP status 200
+     * @return ResponseEntity containing a list of report DTOs with HTTP status 200 and the list version as ETag, 304 if the client already has the list,
+     *         or 400 if the cursor is invalid
      */
     @Operation(operationId = "listReportsForUser", summary = "Lists the reports for the user", description = "Lists the available reports for the user")
-    @ApiResponse(responseCode = "200", description = "Reports were successfully retrieved", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ReportDto.class))))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reports were successfully retrieved", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ReportDto.class)))),
+            @ApiResponse(responseCode = "304", description = "The list has not changed since the ETag in If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or limit")
+    })
     @GetMapping
-    public ResponseEntity<List<ReportDto>> list(Authentication authentication) {
-        var reports = reportService.findAllByUser(authentication);
+    public ResponseEntity<List<ReportDto>> list(@ParameterObject ReportFilterDto filter,
+                                                @Valid @ParameterObject PageRequestDto page,
+                                                @Parameter(description = "ETag of the list the client already has") @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                Authentication authentication) {
+        var keysetRequest = keysetPages.resolve(page);
+
+        if (keysetRequest.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        var eTag = VersionETags.ofList(reportService.findListVersionByUser(authentication), authentication.getName(), KeysetPages.currentQuery());
+
+        if (VersionETags.isNotModified(ifNoneMatch, eTag)) {
+            return VersionETags.notModified(eTag);
+        }
+
+        var reports = reportService.findAllByUser(authentication, filter, keysetRequest.get());
 
-        return ResponseEntity.ok(reportMapper.toDto(reports));
+        return KeysetPages.ok(reports).eTag(eTag).cacheControl(VersionETags.LIST_CACHE_CONTROL).body(reports.items());
     }
 
     /**
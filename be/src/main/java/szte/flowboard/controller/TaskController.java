@@ -1,18 +1,26 @@
 package szte.flowboard.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import szte.flowboard.dto.KeysetPage;
+import szte.flowboard.dto.KeysetRequest;
 import szte.flowboard.dto.TaskDto;
+import szte.flowboard.dto.request.PageRequestDto;
 import szte.flowboard.dto.request.TaskCreateRequestDto;
+import szte.flowboard.dto.request.TaskFilterDto;
 import szte.flowboard.dto.request.TaskUpdateRequestDto;
 import szte.flowboard.entity.TaskEntity;
 import szte.flowboard.mapper.TaskMapper;
@@ -34,6 +42,8 @@ public class TaskController {
 
     private final TaskService taskService;
     private final TaskMapper taskMapper;
+    private final KeysetPages keysetPages;
+    private final JsonStreams jsonStreams;
 
     /**
      * Creates a new task for a project that the current user has access to.
@@ -56,37 +66,74 @@ public class TaskController {
     }
 
     /**
-     * Retrieves all tasks accessible by the current user.
+     * Retrieves the tasks accessible by the current user, newest first.
+     * Without cursor and limit the whole list is streamed, otherwise a page of it is returned with the following page in the Link header.
      *
+     * @param filter the optional status, assignee and project of the tasks
+     * @param page the cursor and limit of the page, if any
+     * @param ifNoneMatch the ETag of the list the client already has, if any
      * @param authentication the authentication object containing the current user's information
-     * @return ResponseEntity containing a list of task DTOs with HTTP status 200
+     * @return ResponseEntity containing a list of task DTOs with HTTP status 200 and the list version as ETag, 304 if the client already has the list,
+     *         400 if the cursor is invalid, or 406 if the Accept header allows none of JSON, Smile and CBOR
      */
     @Operation(operationId = "getAllTasks", summary = "Get all tasks", description = "Retrieves all tasks for the current user")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = TaskDto.class))))
+            @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = TaskDto.class)))),
+            @ApiResponse(responseCode = "304", description = "The list has not changed since the ETag in If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or limit"),
+            @ApiResponse(responseCode = "406", description = "None of the accepted media types can be produced")
     })
     @GetMapping
-    public ResponseEntity<List<TaskDto>> findAll(Authentication authentication) {
-        List<TaskEntity> tasks = taskService.findAllByUser(authentication);
-        List<TaskDto> taskDtos = taskMapper.toDtoList(tasks);
-        return ResponseEntity.ok(taskDtos);
+    public ResponseEntity<?> findAll(@ParameterObject TaskFilterDto filter,
+                                     @Valid @ParameterObject PageRequestDto page,
+                                     @Parameter(description = "ETag of the list the client already has") @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                     Authentication authentication) {
+        Optional<KeysetRequest> keysetRequest = keysetPages.resolve(page);
+
+        if (keysetRequest.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String eTag = VersionETags.ofList(taskService.findListVersionByUser(authentication), authentication.getName(), KeysetPages.currentQuery());
+
+        if (VersionETags.isNotModified(ifNoneMatch, eTag)) {
+            return VersionETags.notModified(eTag);
+        }
+
+        if (keysetRequest.get().isUnpaged()) {
+            return jsonStreams.body(ResponseEntity.ok().eTag(eTag).cacheControl(VersionETags.LIST_CACHE_CONTROL),
+                    (chunkSize, consumer) -> taskService.forEachByUser(authentication, filter, chunkSize, consumer));
+        }
+
+        KeysetPage<TaskDto> tasks = taskService.findAllByUser(authentication, filter, keysetRequest.get());
+        return KeysetPages.ok(tasks).eTag(eTag).cacheControl(VersionETags.LIST_CACHE_CONTROL).body(tasks.items());
     }
 
     /**
      * Retrieves all tasks for a specific project.
      *
      * @param projectId the unique identifier of the project
-     * @return ResponseEntity containing a list of task DTOs with HTTP status 200
+     * @param ifNoneMatch the ETag of the list the client already has, if any
+     * @param authentication the authentication object containing the current user's information
+     * @return ResponseEntity containing a list of task DTOs with HTTP status 200 and the list version as ETag, or 304 if the client already has the list
      */
     @Operation(operationId = "getTasksByProject", summary = "Get tasks by project", description = "Retrieves all tasks for a specific project")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = TaskDto.class))))
+            @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = TaskDto.class)))),
+            @ApiResponse(responseCode = "304", description = "The list has not changed since the ETag in If-None-Match")
     })
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<List<TaskDto>> findByProject(@PathVariable UUID projectId) {
-        List<TaskEntity> tasks = taskService.findAllByProject(projectId);
-        List<TaskDto> taskDtos = taskMapper.toDtoList(tasks);
-        return ResponseEntity.ok(taskDtos);
+    public ResponseEntity<List<TaskDto>> findByProject(@PathVariable UUID projectId,
+                                                       @Parameter(description = "ETag of the list the client already has") @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                       Authentication authentication) {
+        String eTag = VersionETags.ofList(taskService.findListVersionByProject(projectId), authentication.getName());
+
+        if (VersionETags.isNotModified(ifNoneMatch, eTag)) {
+            return VersionETags.notModified(eTag);
+        }
+
+        List<TaskDto> taskDtos = taskService.findAllByProject(projectId);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(VersionETags.LIST_CACHE_CONTROL).body(taskDtos);
     }
 
     /**
@@ -94,7 +141,7 @@ public class TaskController {
      *
      * @param id the unique identifier of the task
      * @param authentication the authentication object containing the current user's information
-     * @return ResponseEntity containing the task DTO with HTTP status 200 if found, or 404 if not found or no access
+     * @return ResponseEntity containing the task DTO with HTTP status 200 and its version as ETag if found, or 404 if not found or no access
      */
     @Operation(operationId = "getTaskById", summary = "Get task by ID", description = "Retrieves a task by its ID for the current user")
     @ApiResponses(value = {
@@ -103,35 +150,55 @@ public class TaskController {
     })
     @GetMapping("/{id}")
     public ResponseEntity<TaskDto> findById(@PathVariable UUID id, Authentication authentication) {
-        Optional<TaskEntity> task = taskService.findByIdAndUser(id, authentication);
-        return task.map(t -> ResponseEntity.ok(taskMapper.toDto(t)))
+        Optional<TaskDto> task = taskService.findByIdAndUser(id, authentication);
+        return task.map(taskDto -> ResponseEntity.ok().eTag(VersionETags.of(taskDto.getVersion())).body(taskDto))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     /**
      * Updates an existing task if the current user has access to it.
+     * The task is only updated if it still has the version of the ETag in the If-Match header.
      *
      * @param id the unique identifier of the task to update
+     * @param ifMatch the ETag of the task version the update is based on
      * @param taskRequest the task update request containing updated task details
      * @param authentication the authentication object containing the current user's information
-     * @return ResponseEntity containing the updated task DTO with HTTP status 200, 404 if not found, or 400 if input is invalid
+     * @return ResponseEntity containing the updated task DTO with HTTP status 200 and its new version as ETag, 404 if not found,
+     *         412 if the task has been updated since the If-Match version, 428 if the If-Match header is missing,
+     *         or 400 if input is invalid
      */
     @Operation(operationId = "updateTask", summary = "Update task", description = "Updates an existing task for the current user")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Task updated successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = TaskDto.class))),
             @ApiResponse(responseCode = "404", description = "Task not found"),
+            @ApiResponse(responseCode = "412", description = "Task has been updated since the If-Match version"),
+            @ApiResponse(responseCode = "428", description = "If-Match header with the task ETag is missing"),
             @ApiResponse(responseCode = "400", description = "Invalid input data")
     })
     @PutMapping("/{id}")
-    public ResponseEntity<TaskDto> update(@PathVariable UUID id, @Valid @RequestBody TaskUpdateRequestDto taskRequest, Authentication authentication) {
+    public ResponseEntity<TaskDto> update(@PathVariable UUID id,
+                                          @Parameter(description = "ETag of the version the update is based on", required = true) @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                          @Valid @RequestBody TaskUpdateRequestDto taskRequest, Authentication authentication) {
+        Long expectedVersion = VersionETags.expectedVersion(ifMatch);
+        if (expectedVersion == null) {
+            return VersionETags.preconditionRequired();
+        }
         if (!taskService.existsById(id, authentication)) {
             return ResponseEntity.notFound().build();
         }
         TaskEntity task = taskMapper.toEntity(taskRequest);
         task.setId(id);
-        TaskEntity updatedTask = taskService.update(task);
+        TaskEntity updatedTask;
+        try {
+            updatedTask = taskService.update(task, expectedVersion);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        if (updatedTask == null) {
+            return ResponseEntity.notFound().build();
+        }
         TaskDto taskDto = taskMapper.toDto(updatedTask);
-        return ResponseEntity.ok(taskDto);
+        return ResponseEntity.ok().eTag(VersionETags.of(taskDto.getVersion())).body(taskDto);
     }
 
     /**
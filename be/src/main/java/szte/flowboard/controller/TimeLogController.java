@@ -1,17 +1,25 @@
 package szte.flowboard.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import szte.flowboard.dto.KeysetPage;
+import szte.flowboard.dto.KeysetRequest;
 import szte.flowboard.dto.TimeLogDto;
+import szte.flowboard.dto.request.PageRequestDto;
+import szte.flowboard.dto.request.TimeLogFilterDto;
 import szte.flowboard.dto.request.TimeLogUpdateRequestDto;
 import szte.flowboard.entity.TimeLogEntity;
 import szte.flowboard.mapper.TimeLogMapper;
@@ -33,6 +41,8 @@ public class TimeLogController {
 
     private final TimeLogService timeLogService;
     private final TimeLogMapper timeLogMapper;
+    private final KeysetPages keysetPages;
+    private final JsonStreams jsonStreams;
 
     /**
      * Creates a new time log entry for a task that the current user has access to.
@@ -55,38 +65,74 @@ public class TimeLogController {
     }
 
     /**
-     * Retrieves all time log entries accessible by the current user.
+     * Retrieves the time log entries accessible by the current user, newest first.
+     * Without cursor and limit the whole list is streamed, otherwise a page of it is returned with the following page in the Link header.
      *
+     * @param filter the optional log date range of the time logs
+     * @param page the cursor and limit of the page, if any
+     * @param ifNoneMatch the ETag of the list the client already has, if any
      * @param authentication the authentication object containing the current user's information
-     * @return ResponseEntity containing a list of time log DTOs with HTTP status 200
+     * @return ResponseEntity containing a list of time log DTOs with HTTP status 200 and the list version as ETag, 304 if the client already has the list,
+     *         400 if the cursor is invalid, or 406 if the Accept header allows none of JSON, Smile and CBOR
      */
     @Operation(operationId = "getAllTimeLogs", summary = "Get all time logs", description = "Retrieves all time log entries for the current user")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Time logs retrieved successfully", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = TimeLogDto.class))))
+            @ApiResponse(responseCode = "200", description = "Time logs retrieved successfully", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = TimeLogDto.class)))),
+            @ApiResponse(responseCode = "304", description = "The list has not changed since the ETag in If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or limit"),
+            @ApiResponse(responseCode = "406", description = "None of the accepted media types can be produced")
     })
     @GetMapping
-    public ResponseEntity<List<TimeLogDto>> findAll(Authentication authentication) {
-        List<TimeLogEntity> timeLogs = timeLogService.findAllByUser(authentication);
-        List<TimeLogDto> timeLogDtos = timeLogMapper.toDtoList(timeLogs);
-        return ResponseEntity.ok(timeLogDtos);
+    public ResponseEntity<?> findAll(@ParameterObject TimeLogFilterDto filter,
+                                     @Valid @ParameterObject PageRequestDto page,
+                                     @Parameter(description = "ETag of the list the client already has") @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                     Authentication authentication) {
+        Optional<KeysetRequest> keysetRequest = keysetPages.resolve(page);
+
+        if (keysetRequest.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String eTag = VersionETags.ofList(timeLogService.findListVersionByUser(authentication), authentication.getName(), KeysetPages.currentQuery());
+
+        if (VersionETags.isNotModified(ifNoneMatch, eTag)) {
+            return VersionETags.notModified(eTag);
+        }
+
+        if (keysetRequest.get().isUnpaged()) {
+            return jsonStreams.body(ResponseEntity.ok().eTag(eTag).cacheControl(VersionETags.LIST_CACHE_CONTROL),
+                    (chunkSize, consumer) -> timeLogService.forEachByUser(authentication, filter, chunkSize, consumer));
+        }
+
+        KeysetPage<TimeLogDto> timeLogs = timeLogService.findAllByUser(authentication, filter, keysetRequest.get());
+        return KeysetPages.ok(timeLogs).eTag(eTag).cacheControl(VersionETags.LIST_CACHE_CONTROL).body(timeLogs.items());
     }
 
     /**
      * Retrieves all time log entries for a specific task if the current user has access to it.
      *
      * @param taskId the unique identifier of the task
+     * @param ifNoneMatch the ETag of the list the client already has, if any
      * @param authentication the authentication object containing the current user's information
-     * @return ResponseEntity containing a list of time log DTOs with HTTP status 200
+     * @return ResponseEntity containing a list of time log DTOs with HTTP status 200 and the list version as ETag, or 304 if the client already has the list
      */
     @Operation(operationId = "getAllTimeLogsByTask", summary = "Get all time logs for a task", description = "Retrieves all time log entries for the current user")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Time logs retrieved successfully", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = TimeLogDto.class))))
+            @ApiResponse(responseCode = "200", description = "Time logs retrieved successfully", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = TimeLogDto.class)))),
+            @ApiResponse(responseCode = "304", description = "The list has not changed since the ETag in If-None-Match")
     })
     @GetMapping("task/{taskId}")
-    public ResponseEntity<List<TimeLogDto>> findAllByTask(@PathVariable UUID taskId, Authentication authentication) {
-        List<TimeLogEntity> timeLogs = timeLogService.findAllByTaskId(taskId, authentication);
-        List<TimeLogDto> timeLogDtos = timeLogMapper.toDtoList(timeLogs);
-        return ResponseEntity.ok(timeLogDtos);
+    public ResponseEntity<List<TimeLogDto>> findAllByTask(@PathVariable UUID taskId,
+                                                          @Parameter(description = "ETag of the list the client already has") @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                          Authentication authentication) {
+        String eTag = VersionETags.ofList(timeLogService.findListVersionByTaskId(taskId, authentication), authentication.getName());
+
+        if (VersionETags.isNotModified(ifNoneMatch, eTag)) {
+            return VersionETags.notModified(eTag);
+        }
+
+        List<TimeLogDto> timeLogDtos = timeLogService.findAllByTaskId(taskId, authentication);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(VersionETags.LIST_CACHE_CONTROL).body(timeLogDtos);
     }
 
     /**
@@ -94,7 +140,7 @@ public class TimeLogController {
      *
      * @param id the unique identifier of the time log
      * @param authentication the authentication object containing the current user's information
-     * @return ResponseEntity containing the time log DTO with HTTP status 200 if found, or 404 if not found or no access
+     * @return ResponseEntity containing the time log DTO with HTTP status 200 and its version as ETag if found, or 404 if not found or no access
      */
     @Operation(operationId = "getTimeLogById", summary = "Get time log by ID", description = "Retrieves a time log by its ID for the current user")
     @ApiResponses(value = {
@@ -103,35 +149,55 @@ public class TimeLogController {
     })
     @GetMapping("/{id}")
     public ResponseEntity<TimeLogDto> findById(@PathVariable UUID id, Authentication authentication) {
-        Optional<TimeLogEntity> timeLog = timeLogService.findByIdAndUser(id, authentication);
-        return timeLog.map(tl -> ResponseEntity.ok(timeLogMapper.toDto(tl)))
+        Optional<TimeLogDto> timeLog = timeLogService.findByIdAndUser(id, authentication);
+        return timeLog.map(timeLogDto -> ResponseEntity.ok().eTag(VersionETags.of(timeLogDto.getVersion())).body(timeLogDto))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     /**
      * Updates an existing time log if the current user has access to it.
+     * The time log is only updated if it still has the version of the ETag in the If-Match header.
      *
      * @param id the unique identifier of the time log to update
+     * @param ifMatch the ETag of the time log version the update is based on
      * @param timeLogRequest the time log update request containing updated time log details
      * @param authentication the authentication object containing the current user's information
-     * @return ResponseEntity containing the updated time log DTO with HTTP status 200, 404 if not found, or 400 if input is invalid
+     * @return ResponseEntity containing the updated time log DTO with HTTP status 200 and its new version as ETag, 404 if not found,
+     *         412 if the time log has been updated since the If-Match version, 428 if the If-Match header is missing,
+     *         or 400 if input is invalid
      */
     @Operation(operationId = "updateTimeLog", summary = "Update time log", description = "Updates an existing time log for the current user")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Time log updated successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = TimeLogDto.class))),
             @ApiResponse(responseCode = "404", description = "Time log not found"),
+            @ApiResponse(responseCode = "412", description = "Time log has been updated since the If-Match version"),
+            @ApiResponse(responseCode = "428", description = "If-Match header with the time log ETag is missing"),
             @ApiResponse(responseCode = "400", description = "Invalid input data")
     })
     @PutMapping("/{id}")
-    public ResponseEntity<TimeLogDto> update(@PathVariable UUID id, @Valid @RequestBody TimeLogUpdateRequestDto timeLogRequest, Authentication authentication) {
+    public ResponseEntity<TimeLogDto> update(@PathVariable UUID id,
+                                             @Parameter(description = "ETag of the version the update is based on", required = true) @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                             @Valid @RequestBody TimeLogUpdateRequestDto timeLogRequest, Authentication authentication) {
+        Long expectedVersion = VersionETags.expectedVersion(ifMatch);
+        if (expectedVersion == null) {
+            return VersionETags.preconditionRequired();
+        }
         if (!timeLogService.existsByIdAndUser(id, authentication)) {
             return ResponseEntity.notFound().build();
         }
         TimeLogEntity timeLog = timeLogMapper.toEntity(timeLogRequest);
         timeLog.setId(id);
-        TimeLogEntity updatedTimeLog = timeLogService.update(timeLog, authentication);
+        TimeLogEntity updatedTimeLog;
+        try {
+            updatedTimeLog = timeLogService.update(timeLog, expectedVersion, authentication);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        if (updatedTimeLog == null) {
+            return ResponseEntity.notFound().build();
+        }
         TimeLogDto timeLogDto = timeLogMapper.toDto(updatedTimeLog);
-        return ResponseEntity.ok(timeLogDto);
+        return ResponseEntity.ok().eTag(VersionETags.of(timeLogDto.getVersion())).body(timeLogDto);
     }
 
     /**
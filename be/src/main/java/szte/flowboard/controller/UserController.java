@@ -6,13 +6,16 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import szte.flowboard.dto.request.PageRequestDto;
 import szte.flowboard.dto.response.UserResponse;
 import szte.flowboard.entity.UserEntity;
 import szte.flowboard.service.UserService;
@@ -31,6 +34,7 @@ public class UserController {
 
     private final UserService userService;
     private final UserSyncService userSyncService;
+    private final KeysetPages keysetPages;
 
     /**
      * Retrieves the current authenticated user's information.
@@ -69,17 +73,21 @@ public class UserController {
     }
 
     /**
-     * Retrieves all users in the system.
+     * Retrieves the users in the system, newest first.
+     * Without cursor and limit the whole list is returned, otherwise a page of it with the following page in the Link header.
      *
-     * @return ResponseEntity containing a list of user responses with HTTP status 200
+     * @param page the cursor and limit of the page, if any
+     * @return ResponseEntity containing a list of user responses with HTTP status 200, or 400 if the cursor is invalid
      */
     @Operation(operationId = "getAllUsers", summary = "Get all users", description = "Retrieves all users")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Users retrieved successfully", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = UserResponse.class))))
+            @ApiResponse(responseCode = "200", description = "Users retrieved successfully", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = UserResponse.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or limit")
     })
     @GetMapping
-    public ResponseEntity<List<UserResponse>> findAll() {
-        List<UserResponse> users = userService.findAll();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<List<UserResponse>> findAll(@Valid @ParameterObject PageRequestDto page) {
+        return keysetPages.resolve(page)
+                .map(keysetRequest -> KeysetPages.okPage(userService.findAll(keysetRequest)))
+                .orElse(ResponseEntity.badRequest().build());
     }
 }
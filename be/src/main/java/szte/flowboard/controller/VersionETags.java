@@ -0,0 +1,145 @@
+package szte.flowboard.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import szte.flowboard.dto.ListVersion;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * ETags of the single entity responses, derived from the optimistic lock version of the entity.
+ * The update endpoints take the ETag back in the If-Match header and reject the update with 412 Precondition Failed
+ * when the entity has a newer version, and with 428 Precondition Required when the header is missing, so an update
+ * never silently overwrites a version the client has not seen.
+ * The list endpoints derive their ETag from the {@link ListVersion} of the list and answer a matching If-None-Match
+ * with 304 Not Modified before the list is loaded.
+ */
+final class VersionETags {
+
+    /**
+     * Lets the browser keep the lists, but only for the current user and only after revalidating them.
+     */
+    static final CacheControl LIST_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    /**
+     * No entity has a negative version, so an If-Match header that is not a version ETag never matches.
+     */
+    static final long UNMATCHED_VERSION = -1;
+
+    private VersionETags() {
+    }
+
+    /**
+     * Returns the ETag of an entity version.
+     *
+     * @param version the version of the entity
+     * @return the quoted strong ETag
+     */
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Returns the version an update is based on.
+     *
+     * @param ifMatch the If-Match header of the request, or null if the request has none
+     * @return null if the header is missing or {@code *}, which names no version, the version of a single strong ETag,
+     *         or {@link #UNMATCHED_VERSION} for anything else, including weak ETags and lists of ETags
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        var eTag = ifMatch.trim();
+
+        if (eTag.length() < 3 || !eTag.startsWith("\"") || !eTag.endsWith("\"")) {
+            return UNMATCHED_VERSION;
+        }
+
+        try {
+            return Long.parseLong(eTag.substring(1, eTag.length() - 1));
+        } catch (NumberFormatException e) {
+            return UNMATCHED_VERSION;
+        }
+    }
+
+    /**
+     * Returns the 428 Precondition Required response of an update without a version ETag in its If-Match header.
+     *
+     * @param <T> the body type of the endpoint
+     * @return the response without body
+     */
+    static <T> ResponseEntity<T> preconditionRequired() {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).build();
+    }
+
+    /**
+     * Returns the ETag of a list.
+     * The list version is computed before the list is loaded, so a list changed in between is sent with the older
+     * ETag and only revalidated once more, it is never mistaken for an unchanged one.
+     *
+     * @param version the version of the list
+     * @param user the name of the current user, lists of different users never share an ETag
+     * @return the quoted strong ETag
+     */
+    static String ofList(ListVersion version, String user) {
+        return ofList(version, user, "");
+    }
+
+    /**
+     * Returns the ETag of a filtered or paged list.
+     * The version of the whole list changes with every row of it, so it also versions every selection of its rows;
+     * the query that selects the rows only keeps the ETags of different selections apart.
+     *
+     * @param version the version of the whole list
+     * @param user the name of the current user, lists of different users never share an ETag
+     * @param query the query string selecting the rows of the list
+     * @return the quoted strong ETag
+     */
+    static String ofList(ListVersion version, String user, String query) {
+        var key = user + ":" + version.count() + ":" + version.versionSum() + ":" + version.lastModifiedAt() + ":" + query;
+
+        return "\"" + UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Checks whether the client already has the current list.
+     *
+     * @param ifNoneMatch the If-None-Match header of the request, or null if the request has none
+     * @param eTag the ETag of the current list
+     * @return true if the header lists the ETag, compared weakly as If-None-Match requires, or is {@code *}
+     */
+    static boolean isNotModified(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        for (var candidate : ifNoneMatch.split(",")) {
+            var tag = candidate.trim();
+
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+
+            if (tag.equals("*") || tag.equals(eTag)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the 304 Not Modified response of a list the client already has.
+     *
+     * @param eTag the ETag of the current list
+     * @param <T> the body type of the endpoint
+     * @return the response without body
+     */
+    static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(LIST_CACHE_CONTROL).build();
+    }
+}
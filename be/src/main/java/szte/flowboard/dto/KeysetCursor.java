@@ -0,0 +1,54 @@
+package szte.flowboard.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a list ordered by creation time and id, newest first.
+ * A page continues with the rows that come strictly after the cursor, so rows inserted or deleted meanwhile
+ * never shift the following pages. Clients receive the cursor as an opaque token and send it back unchanged.
+ *
+ * @param createdAt the creation time of the last row of the previous page
+ * @param id the id of the last row of the previous page, orders the rows created at the same time
+ */
+public record KeysetCursor(LocalDateTime createdAt, UUID id) {
+
+    /** Position before the first row, every row comes after it */
+    public static final KeysetCursor START = new KeysetCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), new UUID(-1, -1));
+
+    /**
+     * Encodes the cursor as a URL-safe token.
+     *
+     * @return the opaque cursor token
+     */
+    public String encode() {
+        var value = createdAt + "|" + id;
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token returned by {@link #encode()}.
+     *
+     * @param token the opaque cursor token
+     * @return the cursor
+     * @throws IllegalArgumentException if the token is not a cursor token
+     */
+    public static KeysetCursor decode(String token) {
+        try {
+            var value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var separator = value.indexOf('|');
+
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+
+            return new KeysetCursor(LocalDateTime.parse(value.substring(0, separator)), UUID.fromString(value.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
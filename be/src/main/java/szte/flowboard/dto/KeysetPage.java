@@ -0,0 +1,25 @@
+package szte.flowboard.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a list ordered by creation time and id, newest first.
+ *
+ * @param items the rows of the page
+ * @param next the cursor of the following page, or null if this is the last page
+ * @param <T> the row type
+ */
+public record KeysetPage<T>(List<T> items, KeysetCursor next) {
+
+    /**
+     * Maps the rows of the page, keeping its cursor.
+     *
+     * @param mapper the mapping of a row
+     * @param <R> the mapped row type
+     * @return the page of the mapped rows
+     */
+    public <R> KeysetPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new KeysetPage<>(items.stream().<R>map(mapper).toList(), next);
+    }
+}
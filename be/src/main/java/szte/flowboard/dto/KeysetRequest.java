@@ -0,0 +1,53 @@
+package szte.flowboard.dto;
+
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Requested page of a list ordered by creation time and id, newest first.
+ * The page queries fetch one row more than the page size, that row only tells whether a following page exists.
+ *
+ * @param after the cursor the page starts after, {@link KeysetCursor#START} for the first page
+ * @param size the page size, or null for every row after the cursor
+ */
+public record KeysetRequest(KeysetCursor after, Integer size) {
+
+    /** Every row of the list in a single page */
+    public static final KeysetRequest UNPAGED = new KeysetRequest(KeysetCursor.START, null);
+
+    /**
+     * @return true if every row after the cursor is requested
+     */
+    public boolean isUnpaged() {
+        return size == null;
+    }
+
+    /**
+     * Returns the number of rows the page query fetches.
+     *
+     * @return one more than the page size, or unlimited for an unpaged request
+     */
+    public Limit limit() {
+        return size == null ? Limit.unlimited() : Limit.of(size + 1);
+    }
+
+    /**
+     * Cuts the rows fetched with {@link #limit()} to the page.
+     *
+     * @param rows the rows fetched by the page query
+     * @param cursorOf the cursor of a row
+     * @param <T> the row type
+     * @return the page, with the cursor of its last row if a following page exists
+     */
+    public <T> KeysetPage<T> toPage(List<T> rows, Function<T, KeysetCursor> cursorOf) {
+        if (size == null || rows.size() <= size) {
+            return new KeysetPage<>(rows, null);
+        }
+
+        var items = rows.subList(0, size);
+
+        return new KeysetPage<>(List.copyOf(items), cursorOf.apply(items.get(size - 1)));
+    }
+}
@@ -0,0 +1,31 @@
+package szte.flowboard.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fingerprint of the rows behind a list endpoint, aggregated in the database without loading the rows.
+ * Adding or removing a row changes the count, updating one changes the version sum, so a list whose
+ * fingerprint is unchanged has the same content and the client can keep its copy.
+ *
+ * @param count the number of rows the list is built from
+ * @param versionSum the sum of the optimistic lock versions of the rows
+ * @param lastModifiedAt the latest modification time of the rows, or null if there are none
+ */
+public record ListVersion(long count, long versionSum, LocalDateTime lastModifiedAt) {
+
+    /** Fingerprint of a list without any rows */
+    public static final ListVersion EMPTY = new ListVersion(0, 0, null);
+
+    /**
+     * Fingerprints the rows of both lists together, for a list read from the hot and the archive table.
+     *
+     * @param other the fingerprint of the other rows
+     * @return the fingerprint of all rows
+     */
+    public ListVersion plus(ListVersion other) {
+        var latest = lastModifiedAt == null || (other.lastModifiedAt != null && other.lastModifiedAt.isAfter(lastModifiedAt))
+                ? other.lastModifiedAt : lastModifiedAt;
+
+        return new ListVersion(count + other.count, versionSum + other.versionSum, latest);
+    }
+}
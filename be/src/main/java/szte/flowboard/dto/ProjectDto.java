@@ -1,5 +1,6 @@
 package szte.flowboard.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -57,5 +58,20 @@ public class ProjectDto {
     
     /** The contractor company information */
     private CompanyDto contractor;
+
+    /** The version of the project, sent as the ETag header instead of a property */
+    @JsonIgnore
+    private long version;
+
+    /**
+     * Creates a project from the flat columns of a JPQL constructor expression.
+     * The story point time mappings are not part of the row and are set separately.
+     */
+    public ProjectDto(UUID id, String name, ProjectStatus status, ProjectType type, Double storyPointFee,
+                      String createdBy, LocalDateTime createdAt, String lastModifiedBy, LocalDateTime lastModifiedAt,
+                      String customerName, String customerAddress, String contractorName, String contractorAddress, long version) {
+        this(id, name, status, type, storyPointFee, List.of(), createdBy, createdAt, lastModifiedBy, lastModifiedAt,
+                new CompanyDto(customerName, customerAddress), new CompanyDto(contractorName, contractorAddress), version);
+    }
 }
 
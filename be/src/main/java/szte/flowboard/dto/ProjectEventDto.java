@@ -0,0 +1,17 @@
+package szte.flowboard.dto;
+
+import szte.flowboard.enums.ProjectEventType;
+
+import java.util.UUID;
+
+/**
+ * A change in a project, published after the change is committed and pushed to the subscribers of the project topic.
+ * It only names the changed row, the client fetches the row itself when it needs it, so the row is never sent to a
+ * subscriber who may no longer see it and the message fits into a PostgreSQL notification.
+ *
+ * @param projectId the project the change belongs to
+ * @param type what changed
+ * @param id the id of the task, time log or report that changed
+ */
+public record ProjectEventDto(UUID projectId, ProjectEventType type, UUID id) {
+}
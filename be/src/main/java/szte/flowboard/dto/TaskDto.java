@@ -1,10 +1,12 @@
 package szte.flowboard.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import szte.flowboard.enums.TaskStatus;
+import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -27,7 +29,7 @@ public class TaskDto {
     /** The name of the task */
     private String name;
     
-    /** The description of the task */
+    /** The description of the task, left empty in the task lists */
     private String description;
     
     /** The unique identifier of the project this task belongs to */
@@ -59,5 +61,30 @@ public class TaskDto {
     
     /** The timestamp when the task was last modified */
     private LocalDateTime lastModifiedAt;
+
+    /** The version of the task, sent as the ETag header instead of a property */
+    @JsonIgnore
+    private long version;
+
+    /**
+     * Creates a task without its description from the columns of a JPQL constructor expression, for the task lists.
+     */
+    public TaskDto(UUID id, String name, UUID projectId, UUID assignedToId, String assignedToName,
+                   BigDecimal bookedNanos, UUID storyPointMappingId, TaskStatus status,
+                   String createdBy, LocalDateTime createdAt, String lastModifiedBy, LocalDateTime lastModifiedAt, long version) {
+        this(id, name, null, projectId, assignedToId, assignedToName, bookedNanos, storyPointMappingId, status,
+                createdBy, createdAt, lastModifiedBy, lastModifiedAt, version);
+    }
+
+    /**
+     * Creates a task from the columns of a JPQL constructor expression.
+     * The booked time arrives as the sum of the logged time column, which stores durations in nanoseconds.
+     */
+    public TaskDto(UUID id, String name, String description, UUID projectId, UUID assignedToId, String assignedToName,
+                   BigDecimal bookedNanos, UUID storyPointMappingId, TaskStatus status,
+                   String createdBy, LocalDateTime createdAt, String lastModifiedBy, LocalDateTime lastModifiedAt, long version) {
+        this(id, name, description, projectId, assignedToId, assignedToName, Duration.ofNanos(bookedNanos.longValueExact()),
+                storyPointMappingId, status, createdBy, createdAt, lastModifiedBy, lastModifiedAt, version);
+    }
 }
 
@@ -1,5 +1,6 @@
 package szte.flowboard.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -48,5 +49,9 @@ public class TimeLogDto {
     
     /** The timestamp when the time log entry was last modified */
     private LocalDateTime lastModifiedAt;
+
+    /** The version of the time log, sent as the ETag header instead of a property */
+    @JsonIgnore
+    private long version;
 }
 
@@ -0,0 +1,39 @@
+package szte.flowboard.dto.request;
+
+import java.time.LocalDate;
+
+/**
+ * Filter of a list by an optional, inclusive date range.
+ * An open end is replaced by a date outside of any stored one, so the queries always compare against both ends
+ * and PostgreSQL can prune the partitions and use the indexes of the range.
+ */
+public interface DateRangeFilter {
+
+    /** Stands in for a missing start date */
+    LocalDate EARLIEST = LocalDate.of(1, 1, 1);
+
+    /** Stands in for a missing end date */
+    LocalDate LATEST = LocalDate.of(9999, 12, 31);
+
+    LocalDate getFrom();
+
+    LocalDate getTo();
+
+    /**
+     * Returns the first date of the range.
+     *
+     * @return the start date, or {@link #EARLIEST} if the range has no start
+     */
+    default LocalDate startDate() {
+        return getFrom() == null ? EARLIEST : getFrom();
+    }
+
+    /**
+     * Returns the last date of the range.
+     *
+     * @return the end date, or {@link #LATEST} if the range has no end
+     */
+    default LocalDate endDate() {
+        return getTo() == null ? LATEST : getTo();
+    }
+}
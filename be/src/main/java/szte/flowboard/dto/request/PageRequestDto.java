@@ -0,0 +1,28 @@
+package szte.flowboard.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Query parameters selecting a page of a list endpoint.
+ * Without both parameters the endpoint returns the whole list.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PageRequestDto {
+
+    /** The cursor of the page, taken from the next link of the previous page */
+    @Schema(description = "Cursor of the page, taken from the rel=\"next\" Link header of the previous page")
+    private String cursor;
+
+    /** The maximum number of rows of the page */
+    @Schema(description = "Maximum number of rows of the page, capped by the server")
+    @Positive(message = "Limit must be positive")
+    private Integer limit;
+}
@@ -0,0 +1,24 @@
+package szte.flowboard.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * Query parameters filtering the project-user list, every parameter is optional.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProjectUserFilterDto {
+
+    /** Only memberships of this project */
+    private UUID projectId;
+
+    /** Only memberships of this user */
+    private UUID userId;
+}
@@ -0,0 +1,31 @@
+package szte.flowboard.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Query parameters filtering the report list, every parameter is optional.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReportFilterDto implements DateRangeFilter {
+
+    /** Only reports of this project */
+    private UUID projectId;
+
+    /** Only reports created on or after this date */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    /** Only reports created on or before this date */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+}
@@ -0,0 +1,28 @@
+package szte.flowboard.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import szte.flowboard.enums.TaskStatus;
+
+import java.util.UUID;
+
+/**
+ * Query parameters filtering the task list, every parameter is optional.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskFilterDto {
+
+    /** Only tasks with this status */
+    private TaskStatus status;
+
+    /** Only tasks assigned to this user */
+    private UUID assigneeId;
+
+    /** Only tasks of this project */
+    private UUID projectId;
+}
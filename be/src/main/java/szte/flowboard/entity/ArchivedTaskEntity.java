@@ -0,0 +1,48 @@
+package szte.flowboard.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import szte.flowboard.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * A task of an ARCHIVED or COMPLETED project, moved to the archive table by the archival job.
+ * Mapped on its own rather than as a subtype of {@link TaskEntity}, so the queries of the hot table never read the
+ * archive. Archived tasks are read-only, they are only changed by the archival job moving them between the tables.
+ */
+@Entity
+@Immutable
+@Getter
+@Table(name = "tasks_archive")
+@NoArgsConstructor
+public class ArchivedTaskEntity extends AuditEntity {
+
+    @Column(nullable = false)
+    private String name;
+
+    @Basic(fetch = FetchType.LAZY)
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskStatus status;
+
+    @Column
+    private LocalDateTime finishedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "project_id", referencedColumnName = "id")
+    private ProjectEntity project;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "assigned_to_id", referencedColumnName = "id")
+    private UserEntity assignedTo;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "story_point_mapping_id", referencedColumnName = "id")
+    private StoryPointTimeMappingEntity storyPointMapping;
+}
@@ -0,0 +1,39 @@
+package szte.flowboard.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * A time log of an archived task, moved to the archive table together with its task by the archival job.
+ * Mapped on its own rather than as a subtype of {@link TimeLogEntity}, so the queries of the hot table never read
+ * the archive. Archived time logs are read-only.
+ */
+@Entity
+@Immutable
+@Getter
+@Table(name = "time_logs_archive")
+@NoArgsConstructor
+public class ArchivedTimeLogEntity extends AuditEntity {
+
+    @Column(name = "logged_time", nullable = false)
+    private Duration loggedTime;
+
+    @Column(name = "is_billable", nullable = false)
+    private Boolean isBillable;
+
+    @Column(name = "log_date", nullable = false)
+    private LocalDate logDate;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", referencedColumnName = "id")
+    private UserEntity user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "task_id", referencedColumnName = "id")
+    private ArchivedTaskEntity task;
+}
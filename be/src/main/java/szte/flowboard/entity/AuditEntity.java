@@ -3,6 +3,7 @@ package szte.flowboard.entity;
 import jakarta.persistence.Column;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -28,7 +29,7 @@ public class AuditEntity extends BaseEntity {
     private String createdBy;
 
     @CreatedDate
-    @Column(name = "created_at", updatable = false)
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @LastModifiedBy
@@ -36,4 +37,9 @@ public class AuditEntity extends BaseEntity {
 
     @LastModifiedDate
     private LocalDateTime lastModifiedAt;
+
+    // Optimistic lock, an update of a stale version fails instead of overwriting the newer row
+    @Version
+    @Column(nullable = false)
+    private long version;
 }
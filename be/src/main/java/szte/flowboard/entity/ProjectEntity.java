@@ -6,12 +6,18 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import szte.flowboard.configuration.EntityCacheConfig;
 import szte.flowboard.enums.ProjectStatus;
 import szte.flowboard.enums.ProjectType;
 
 import java.util.List;
 
 @Entity
+@NamedEntityGraph(name = ProjectEntity.DETAILS_GRAPH, attributeNodes = @NamedAttributeNode("storyPointTimeMappings"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.PROJECTS)
 @Getter
 @Setter
 @Table(name = "projects")
@@ -19,6 +25,11 @@ import java.util.List;
 @NoArgsConstructor
 public class ProjectEntity extends AuditEntity {
 
+    /**
+     * Fetches everything a project DTO reads: the story point time mappings.
+     */
+    public static final String DETAILS_GRAPH = "ProjectEntity.details";
+
     @Column(nullable = false)
     private String name;
 
@@ -35,9 +46,11 @@ public class ProjectEntity extends AuditEntity {
     private Double storyPointFee;
 
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.PROJECT_STORY_POINT_TIME_MAPPINGS)
     private List<StoryPointTimeMappingEntity> storyPointTimeMappings;
 
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.PROJECT_PROJECT_USERS)
     private List<ProjectUserEntity> projectUsers;
 
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
@@ -15,6 +15,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.UUID;
 
 @Entity
+@NamedEntityGraph(name = ReportEntity.DETAILS_GRAPH, attributeNodes = @NamedAttributeNode("project"))
 @Getter
 @Setter
 @Table(name = "reports")
@@ -22,6 +23,11 @@ import java.util.UUID;
 @NoArgsConstructor
 public class ReportEntity extends AuditEntity {
 
+    /**
+     * Fetches everything a report DTO reads: the project name.
+     */
+    public static final String DETAILS_GRAPH = "ReportEntity.details";
+
     @Column(name = "start_date", nullable = false)
     private LocalDate start;
 
@@ -31,11 +37,11 @@ public class ReportEntity extends AuditEntity {
     @Column(name = "name")
     private String name;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", referencedColumnName = "id")
     private ProjectEntity project;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", referencedColumnName = "id")
     private UserEntity user;
 
@@ -5,10 +5,15 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import szte.flowboard.configuration.EntityCacheConfig;
 import java.time.Duration;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.STORY_POINT_TIME_MAPPINGS)
 @Getter
 @Setter
 @Table(name = "story_point_time_mappings")
@@ -22,7 +27,7 @@ public class StoryPointTimeMappingEntity extends AuditEntity {
     @Column(name = "time_value", nullable = false)
     private Duration timeValue;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", referencedColumnName = "id")
     private ProjectEntity project;
 
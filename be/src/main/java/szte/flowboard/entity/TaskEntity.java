@@ -12,6 +12,15 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@NamedEntityGraph(name = TaskEntity.DETAILS_GRAPH, attributeNodes = {
+        @NamedAttributeNode("assignedTo"),
+        @NamedAttributeNode("timeLogs")
+})
+@NamedEntityGraph(name = TaskEntity.DETAILS_WITH_DESCRIPTION_GRAPH, attributeNodes = {
+        @NamedAttributeNode("description"),
+        @NamedAttributeNode("assignedTo"),
+        @NamedAttributeNode("timeLogs")
+})
 @Getter
 @Setter
 @Table(name = "tasks")
@@ -19,9 +28,21 @@ import java.util.List;
 @NoArgsConstructor
 public class TaskEntity extends AuditEntity {
 
+    /**
+     * Fetches everything a task DTO reads: the assignee name and the logged time.
+     */
+    public static final String DETAILS_GRAPH = "TaskEntity.details";
+
+    /**
+     * Fetches the details and the lazily loaded description, for the single task views.
+     */
+    public static final String DETAILS_WITH_DESCRIPTION_GRAPH = "TaskEntity.detailsWithDescription";
+
     @Column(nullable = false)
     private String name;
 
+    // Loaded on first access, task lists and reports never read it
+    @Basic(fetch = FetchType.LAZY)
     @Column(columnDefinition = "TEXT")
     private String description;
 
@@ -32,18 +53,18 @@ public class TaskEntity extends AuditEntity {
     @Column
     private LocalDateTime finishedAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", referencedColumnName = "id")
     private ProjectEntity project;
 
     @OneToMany(mappedBy = "task", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<TimeLogEntity> timeLogs;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_to_id", referencedColumnName = "id")
     private UserEntity assignedTo;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "story_point_mapping_id", referencedColumnName = "id")
     private StoryPointTimeMappingEntity storyPointMapping;
 }
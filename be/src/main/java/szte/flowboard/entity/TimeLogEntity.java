@@ -26,11 +26,11 @@ public class TimeLogEntity extends AuditEntity {
     @Column(name = "log_date", nullable = false)
     private LocalDate logDate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", referencedColumnName = "id")
     private UserEntity user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "task_id", referencedColumnName = "id")
     private TaskEntity task;
 }
@@ -0,0 +1,11 @@
+package szte.flowboard.enums;
+
+public enum ProjectEventType {
+    TASK_CREATED,
+    TASK_UPDATED,
+    TASK_DELETED,
+    TIME_LOG_CREATED,
+    TIME_LOG_UPDATED,
+    TIME_LOG_DELETED,
+    REPORT_CREATED
+}
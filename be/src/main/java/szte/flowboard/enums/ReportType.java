@@ -0,0 +1,7 @@
+package szte.flowboard.enums;
+
+public enum ReportType {
+    COC,
+    EMPLOYEE_MATRIX,
+    PROJECT_ACTIVITY
+}
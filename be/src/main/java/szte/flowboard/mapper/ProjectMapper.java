@@ -37,6 +37,7 @@ public class ProjectMapper implements EntityMapper<ProjectEntity, ProjectDto> {
         dto.setCreatedAt(entity.getCreatedAt());
         dto.setLastModifiedBy(entity.getLastModifiedBy());
         dto.setLastModifiedAt(entity.getLastModifiedAt());
+        dto.setVersion(entity.getVersion());
         dto.setCustomer(companyMapper.toDto(entity.getCustomer()));
         dto.setContractor(companyMapper.toDto(entity.getContractor()));
 
@@ -57,6 +58,7 @@ public class ProjectMapper implements EntityMapper<ProjectEntity, ProjectDto> {
 
         ProjectEntity entity = new ProjectEntity();
         entity.setId(dto.getId());
+        entity.setVersion(dto.getVersion());
         entity.setName(dto.getName());
         entity.setStatus(dto.getStatus());
         entity.setType(dto.getType());
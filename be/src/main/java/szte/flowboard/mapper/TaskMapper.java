@@ -49,6 +49,7 @@ public class TaskMapper implements EntityMapper<TaskEntity, TaskDto> {
         dto.setCreatedAt(entity.getCreatedAt());
         dto.setLastModifiedBy(entity.getLastModifiedBy());
         dto.setLastModifiedAt(entity.getLastModifiedAt());
+        dto.setVersion(entity.getVersion());
 
         return dto;
     }
@@ -61,6 +62,7 @@ public class TaskMapper implements EntityMapper<TaskEntity, TaskDto> {
 
         TaskEntity entity = new TaskEntity();
         entity.setId(dto.getId());
+        entity.setVersion(dto.getVersion());
         entity.setName(dto.getName());
         entity.setDescription(dto.getDescription());
         entity.setProject(entityManager.getReference(ProjectEntity.class, dto.getProjectId()));
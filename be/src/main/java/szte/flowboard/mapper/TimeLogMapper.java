@@ -36,6 +36,7 @@ public class TimeLogMapper implements EntityMapper<TimeLogEntity, TimeLogDto> {
         dto.setCreatedAt(entity.getCreatedAt());
         dto.setLastModifiedBy(entity.getLastModifiedBy());
         dto.setLastModifiedAt(entity.getLastModifiedAt());
+        dto.setVersion(entity.getVersion());
         dto.setBillable(entity.getIsBillable());
 
         return dto;
@@ -49,6 +50,7 @@ public class TimeLogMapper implements EntityMapper<TimeLogEntity, TimeLogDto> {
 
         TimeLogEntity entity = new TimeLogEntity();
         entity.setId(dto.getId());
+        entity.setVersion(dto.getVersion());
         entity.setTask(entityManager.getReference(TaskEntity.class, dto.getTaskId()));
         entity.setUser(entityManager.getReference(UserEntity.class, dto.getUserId()));
         entity.setLoggedTime(dto.getLoggedTime());
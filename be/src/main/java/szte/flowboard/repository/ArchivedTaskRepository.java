@@ -0,0 +1,66 @@
+package szte.flowboard.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.RepositoryDefinition;
+import org.springframework.stereotype.Repository;
+import szte.flowboard.dto.ListVersion;
+import szte.flowboard.dto.TaskDto;
+import szte.flowboard.entity.ArchivedTaskEntity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Read-only queries of the archived tasks, the counterparts of the {@link TaskRepository} queries that keep the
+ * tasks of archived projects readable. The services only run them for the projects and tasks that may be archived.
+ */
+@Repository
+@RepositoryDefinition(domainClass = ArchivedTaskEntity.class, idClass = UUID.class)
+public interface ArchivedTaskRepository {
+    /**
+     * The columns of archived tasks in {@link TaskDto} like {@link TaskRepository#TASK_DTO_COLUMNS}.
+     */
+    String TASK_DTO_COLUMNS = "t.project.id, a.id, " +
+            "CASE WHEN a.id IS NULL THEN NULL ELSE CONCAT(a.firstName, ' ', a.lastName) END, " +
+            "(SELECT COALESCE(SUM(tl.loggedTime), 0) FROM ArchivedTimeLogEntity tl WHERE tl.task.id = t.id), " +
+            "t.storyPointMapping.id, t.status, t.createdBy, t.createdAt, t.lastModifiedBy, t.lastModifiedAt, t.version) " +
+            "FROM ArchivedTaskEntity t LEFT JOIN t.assignedTo a ";
+
+    String SELECT_TASK_DTO = "SELECT new szte.flowboard.dto.TaskDto(t.id, t.name, " + TASK_DTO_COLUMNS;
+
+    String SELECT_TASK_DETAILS_DTO = "SELECT new szte.flowboard.dto.TaskDto(t.id, t.name, t.description, " + TASK_DTO_COLUMNS;
+
+    @Query(SELECT_TASK_DTO + "WHERE t.project.id = :projectId")
+    List<TaskDto> findTaskDtosByProjectId(UUID projectId);
+
+    @Query(SELECT_TASK_DETAILS_DTO +
+            "WHERE t.id = :id AND t.project.id IN (SELECT pu.project.id FROM ProjectUserEntity pu WHERE pu.user.id = :userId)")
+    Optional<TaskDto> findTaskDtoByIdAndUserId(UUID id, UUID userId);
+
+    /**
+     * Fingerprints the same rows as {@link TaskRepository#findListVersionByProjectId(UUID)} in the archive.
+     */
+    @Query("SELECT new szte.flowboard.dto.ListVersion(COUNT(t) + COUNT(tl), " +
+            "COALESCE(SUM(t.version + COALESCE(a.version, 0) + COALESCE(tl.version, 0)), 0), " +
+            "MAX(GREATEST(t.lastModifiedAt, a.lastModifiedAt, tl.lastModifiedAt))) " +
+            "FROM ArchivedTaskEntity t LEFT JOIN t.assignedTo a LEFT JOIN ArchivedTimeLogEntity tl ON tl.task.id = t.id " +
+            "WHERE t.project.id = :projectId")
+    ListVersion findListVersionByProjectId(UUID projectId);
+
+    @Query("SELECT t.project.id FROM ArchivedTaskEntity t WHERE t.id = :id")
+    Optional<UUID> findProjectIdById(UUID id);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ReportQueryHints.FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM ArchivedTaskEntity t JOIN FETCH t.storyPointMapping " +
+            "WHERE t.project.id = :projectId AND t.finishedAt BETWEEN :startDate AND :endDate")
+    Stream<ArchivedTaskEntity> streamAllByProjectIdAndFinishedAtBetween(UUID projectId, LocalDateTime startDate, LocalDateTime endDate);
+}
@@ -0,0 +1,68 @@
+package szte.flowboard.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.RepositoryDefinition;
+import org.springframework.stereotype.Repository;
+import szte.flowboard.dto.ListVersion;
+import szte.flowboard.dto.TimeLogDto;
+import szte.flowboard.entity.ArchivedTimeLogEntity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Read-only queries of the archived time logs, the counterparts of the {@link TimeLogRepository} queries that keep
+ * the time logs of archived projects readable.
+ */
+@Repository
+@RepositoryDefinition(domainClass = ArchivedTimeLogEntity.class, idClass = UUID.class)
+public interface ArchivedTimeLogRepository {
+    /**
+     * Selects archived time logs into {@link TimeLogDto} like {@link TimeLogRepository#SELECT_TIME_LOG_DTO}.
+     */
+    String SELECT_TIME_LOG_DTO = "SELECT new szte.flowboard.dto.TimeLogDto(tl.id, tl.task.id, tl.user.id, tl.loggedTime, " +
+            "tl.isBillable, tl.logDate, tl.createdBy, tl.createdAt, tl.lastModifiedBy, tl.lastModifiedAt, tl.version) " +
+            "FROM ArchivedTimeLogEntity tl ";
+
+    @Query(SELECT_TIME_LOG_DTO + "WHERE tl.task.id = :taskId")
+    List<TimeLogDto> findTimeLogDtosByTaskId(UUID taskId);
+
+    @Query(SELECT_TIME_LOG_DTO + "WHERE tl.id = :id AND tl.user.id = :userId")
+    Optional<TimeLogDto> findTimeLogDtoByIdAndUserId(UUID id, UUID userId);
+
+    @Query("SELECT new szte.flowboard.dto.ListVersion(COUNT(tl), COALESCE(SUM(tl.version), 0), MAX(tl.lastModifiedAt)) " +
+            "FROM ArchivedTimeLogEntity tl WHERE tl.task.id = :taskId")
+    ListVersion findListVersionByTaskId(UUID taskId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ReportQueryHints.FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT tl FROM ArchivedTimeLogEntity tl JOIN FETCH tl.user JOIN FETCH tl.task t " +
+            "WHERE t.project.id = :projectId AND tl.logDate BETWEEN :startDate AND :endDate")
+    Stream<ArchivedTimeLogEntity> streamAllByTaskProjectIdAndLogDateBetween(UUID projectId, LocalDate startDate, LocalDate endDate);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ReportQueryHints.FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT tl FROM ArchivedTimeLogEntity tl JOIN FETCH tl.user JOIN FETCH tl.task t " +
+            "WHERE t.project.id IN :projectIds AND tl.logDate BETWEEN :startDate AND :endDate")
+    Stream<ArchivedTimeLogEntity> streamAllByTaskProjectIdInAndLogDateBetween(Set<UUID> projectIds, LocalDate startDate, LocalDate endDate);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ReportQueryHints.FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT tl FROM ArchivedTimeLogEntity tl JOIN FETCH tl.task t " +
+            "WHERE t.project.id = :projectId AND t.finishedAt BETWEEN :startDate AND :endDate")
+    Stream<ArchivedTimeLogEntity> streamAllByTaskProjectIdAndTaskFinishedAtBetween(UUID projectId, LocalDateTime startDate, LocalDateTime endDate);
+}
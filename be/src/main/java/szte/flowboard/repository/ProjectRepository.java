@@ -1,15 +1,60 @@
 package szte.flowboard.repository;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import szte.flowboard.dto.ListVersion;
+import szte.flowboard.dto.ProjectDto;
 import szte.flowboard.entity.ProjectEntity;
 import szte.flowboard.enums.UserRole;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<ProjectEntity, UUID> {
+    /**
+     * Selects the projects a user is a member of straight into {@link ProjectDto}, without the story point time mappings.
+     */
+    String SELECT_PROJECT_DTO = "SELECT new szte.flowboard.dto.ProjectDto(p.id, p.name, p.status, p.type, p.storyPointFee, " +
+            "p.createdBy, p.createdAt, p.lastModifiedBy, p.lastModifiedAt, " +
+            "p.customer.name, p.customer.address, p.contractor.name, p.contractor.address, p.version) " +
+            "FROM ProjectEntity p " +
+            "WHERE p.id IN (SELECT pu.project.id FROM ProjectUserEntity pu WHERE pu.user.id = :userId)";
+
     boolean existsByIdAndProjectUsersUserId(UUID projectId, UUID userId);
     List<ProjectEntity> findAllByProjectUsersUserIdAndProjectUsersRole(UUID userId, UserRole role);
+
+    @EntityGraph(ProjectEntity.DETAILS_GRAPH)
+    List<ProjectEntity> findAllByProjectUsersUserId(UUID userId);
+
+    @EntityGraph(ProjectEntity.DETAILS_GRAPH)
+    Optional<ProjectEntity> findDetailedById(UUID id);
+
+    /**
+     * Loads a project for an update. Its version is incremented when the transaction commits, even if only its
+     * story point time mappings changed, so the version covers the whole project.
+     * The mappings are not fetched here on purpose, the lock mode would increment their versions as well.
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    Optional<ProjectEntity> findWithVersionIncrementById(UUID id);
+
+    @Query(SELECT_PROJECT_DTO)
+    List<ProjectDto> findProjectDtosByUserId(UUID userId);
+
+    @Query(SELECT_PROJECT_DTO + " AND p.id = :id")
+    Optional<ProjectDto> findProjectDtoByIdAndUserId(UUID id, UUID userId);
+
+    /**
+     * Fingerprints the project list of a user. The memberships are part of it, so joining or leaving a project
+     * changes it; the story point time mappings are covered by the project version an update increments.
+     */
+    @Query("SELECT new szte.flowboard.dto.ListVersion(COUNT(p), COALESCE(SUM(p.version + pu.version), 0), " +
+            "MAX(GREATEST(p.lastModifiedAt, pu.lastModifiedAt))) " +
+            "FROM ProjectUserEntity pu JOIN pu.project p WHERE pu.user.id = :userId")
+    ListVersion findListVersionByUserId(UUID userId);
 }
@@ -1,19 +1,36 @@
 package szte.flowboard.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import szte.flowboard.entity.ProjectUserEntity;
 import szte.flowboard.enums.UserRole;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * The membership queries authorize nearly every request, so they are never served from the query cache: a cached
+ * answer would keep a removed member authorized on the other application instances until it expired.
+ */
 @Repository
 public interface ProjectUserRepository extends JpaRepository<ProjectUserEntity, UUID> {
     List<ProjectUserEntity> findByUserId(UUID userId);
+
     Optional<ProjectUserEntity> findByUserIdAndProjectId(UUID userId, UUID projectId);
+
     boolean existsByUserIdAndProjectId(UUID userId, UUID projectId);
+
     boolean existsByUserIdAndProjectIdAndRole(UUID userId, UUID projectId, UserRole role);
+
+    @Query("SELECT pu FROM ProjectUserEntity pu WHERE (:projectId IS NULL OR pu.project.id = :projectId) " +
+            "AND (:userId IS NULL OR pu.user.id = :userId) " +
+            "AND (pu.createdAt, pu.id) < (:afterCreatedAt, :afterId) ORDER BY pu.createdAt DESC, pu.id DESC")
+    List<ProjectUserEntity> findPage(UUID projectId, UUID userId, LocalDateTime afterCreatedAt, UUID afterId, Limit limit);
+
     void deleteByProjectId(UUID projectId);
 }
+
@@ -0,0 +1,20 @@
+package szte.flowboard.repository;
+
+/**
+ * Shared settings for the streaming queries that read report data.
+ */
+public final class ReportQueryHints {
+
+    /**
+     * Number of rows the JDBC driver fetches per round trip while a report query is streamed.
+     */
+    public static final String FETCH_SIZE = "500";
+
+    /**
+     * Number of streamed rows after which the persistence context is cleared, so it stays bounded.
+     */
+    public static final int CLEAR_INTERVAL = 500;
+
+    private ReportQueryHints() {
+    }
+}
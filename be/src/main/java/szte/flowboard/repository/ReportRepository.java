@@ -1,22 +1,44 @@
 package szte.flowboard.repository;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.NativeQuery;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import szte.flowboard.dto.ListVersion;
+import szte.flowboard.dto.ReportDto;
 import szte.flowboard.entity.ReportEntity;
+
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface ReportRepository extends JpaRepository<ReportEntity, UUID> {
+    @EntityGraph(ReportEntity.DETAILS_GRAPH)
     List<ReportEntity> findByUserId(UUID userId);
+
+    @Query("SELECT new szte.flowboard.dto.ReportDto(r.id, r.name, r.start, r.end, p.name, r.createdAt) " +
+            "FROM ReportEntity r LEFT JOIN r.project p WHERE r.user.id = :userId " +
+            "AND (:projectId IS NULL OR r.project.id = :projectId) " +
+            "AND r.createdAt >= :createdFrom AND r.createdAt < :createdBefore " +
+            "AND (r.createdAt, r.id) < (:afterCreatedAt, :afterId) ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReportDto> findReportDtoPageByUserId(UUID userId, UUID projectId, LocalDateTime createdFrom, LocalDateTime createdBefore,
+                                              LocalDateTime afterCreatedAt, UUID afterId, Limit limit);
+
+    // The project version covers the project name of the list
+    @Query("SELECT new szte.flowboard.dto.ListVersion(COUNT(r), COALESCE(SUM(r.version + COALESCE(p.version, 0)), 0), " +
+            "MAX(GREATEST(r.lastModifiedAt, p.lastModifiedAt))) " +
+            "FROM ReportEntity r LEFT JOIN r.project p WHERE r.user.id = :userId")
+    ListVersion findListVersionByUserId(UUID userId);
+
     Optional<ReportEntity> findByIdAndUserId(UUID id, UUID userId);
     Integer deleteByIdAndUserId(UUID id, UUID userId);
     @Modifying
-    @Query("update ReportEntity r set r.name = ?1 where r.id = ?2 AND r.user.id = ?3")
+    @Query("update ReportEntity r set r.name = ?1, r.version = r.version + 1 where r.id = ?2 AND r.user.id = ?3")
     Integer renameReportByIdAndUserId(String name, UUID id, UUID userId);
     void deleteByProjectId(UUID projectId);
 }
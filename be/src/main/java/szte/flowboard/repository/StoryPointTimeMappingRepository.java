@@ -4,8 +4,11 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import szte.flowboard.dto.StoryPointTimeMappingDto;
 import szte.flowboard.entity.StoryPointTimeMappingEntity;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
@@ -13,4 +16,8 @@ public interface StoryPointTimeMappingRepository extends JpaRepository<StoryPoin
     @Modifying
     @Query("DELETE FROM StoryPointTimeMappingEntity sptm WHERE sptm.project.id = :projectId AND sptm.id NOT IN :ids")
     void deleteAllForProjectNotInIds(UUID projectId, UUID[] ids);
+
+    @Query("SELECT new szte.flowboard.dto.StoryPointTimeMappingDto(sptm.id, sptm.project.id, sptm.storyPoints, sptm.timeValue) " +
+            "FROM StoryPointTimeMappingEntity sptm WHERE sptm.project.id IN :projectIds")
+    List<StoryPointTimeMappingDto> findDtosByProjectIdIn(Collection<UUID> projectIds);
 }
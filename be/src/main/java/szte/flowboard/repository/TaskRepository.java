@@ -1,20 +1,111 @@
 package szte.flowboard.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import szte.flowboard.dto.ListVersion;
+import szte.flowboard.dto.TaskDto;
 import szte.flowboard.entity.TaskEntity;
+import szte.flowboard.enums.TaskStatus;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<TaskEntity, UUID> {
+    /**
+     * The columns of {@link TaskDto} after the name and the description, with the assignee name. The booked time is
+     * summed per task in a correlated subquery, so the tasks are neither grouped nor multiplied by their time logs.
+     */
+    String TASK_DTO_COLUMNS = "t.project.id, a.id, " +
+            "CASE WHEN a.id IS NULL THEN NULL ELSE CONCAT(a.firstName, ' ', a.lastName) END, " +
+            "(SELECT COALESCE(SUM(tl.loggedTime), 0) FROM TimeLogEntity tl WHERE tl.task.id = t.id), " +
+            "t.storyPointMapping.id, t.status, t.createdBy, t.createdAt, t.lastModifiedBy, t.lastModifiedAt, t.version) " +
+            "FROM TaskEntity t LEFT JOIN t.assignedTo a ";
+
+    /**
+     * Selects tasks straight into {@link TaskDto} for the task lists. The description is left out, it is only
+     * returned for a single task.
+     */
+    String SELECT_TASK_DTO = "SELECT new szte.flowboard.dto.TaskDto(t.id, t.name, " + TASK_DTO_COLUMNS;
+
+    /**
+     * Selects a task with its description into {@link TaskDto}.
+     */
+    String SELECT_TASK_DETAILS_DTO = "SELECT new szte.flowboard.dto.TaskDto(t.id, t.name, t.description, " + TASK_DTO_COLUMNS;
+
+    /**
+     * Selects one page of the tasks of the projects of a user, newest first, after the cursor and with the optional
+     * filters. The page is read in the order of the (created_at, id) indexes and the scan stops at the limit.
+     */
+    @Query(SELECT_TASK_DTO +
+            "WHERE t.project.id IN (SELECT pu.project.id FROM ProjectUserEntity pu WHERE pu.user.id = :userId) " +
+            "AND (:status IS NULL OR t.status = :status) " +
+            "AND (:assigneeId IS NULL OR t.assignedTo.id = :assigneeId) " +
+            "AND (:projectId IS NULL OR t.project.id = :projectId) " +
+            "AND (t.createdAt, t.id) < (:afterCreatedAt, :afterId) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskDto> findTaskDtoPageByUserId(UUID userId, TaskStatus status, UUID assigneeId, UUID projectId,
+                                          LocalDateTime afterCreatedAt, UUID afterId, Limit limit);
+
+    @Query(SELECT_TASK_DTO + "WHERE t.project.id = :projectId")
+    List<TaskDto> findTaskDtosByProjectId(UUID projectId);
+
+    /**
+     * Fingerprints the same rows {@link #SELECT_TASK_DTO} reads: the tasks, their assignees for the assignee name
+     * and their time logs for the booked time.
+     */
+    String SELECT_TASK_LIST_VERSION = "SELECT new szte.flowboard.dto.ListVersion(COUNT(t) + COUNT(tl), " +
+            "COALESCE(SUM(t.version + COALESCE(a.version, 0) + COALESCE(tl.version, 0)), 0), " +
+            "MAX(GREATEST(t.lastModifiedAt, a.lastModifiedAt, tl.lastModifiedAt))) " +
+            "FROM TaskEntity t LEFT JOIN t.assignedTo a LEFT JOIN t.timeLogs tl ";
+
+    // Joins the memberships instead of filtering by them, so a newly joined project changes the latest modification
+    @Query("SELECT new szte.flowboard.dto.ListVersion(COUNT(t) + COUNT(tl), " +
+            "COALESCE(SUM(t.version + COALESCE(a.version, 0) + COALESCE(tl.version, 0)), 0), " +
+            "MAX(GREATEST(pu.lastModifiedAt, t.lastModifiedAt, a.lastModifiedAt, tl.lastModifiedAt))) " +
+            "FROM TaskEntity t JOIN ProjectUserEntity pu ON pu.project.id = t.project.id " +
+            "LEFT JOIN t.assignedTo a LEFT JOIN t.timeLogs tl WHERE pu.user.id = :userId")
+    ListVersion findListVersionByUserId(UUID userId);
+
+    @Query(SELECT_TASK_LIST_VERSION + "WHERE t.project.id = :projectId")
+    ListVersion findListVersionByProjectId(UUID projectId);
+
+    @Query(SELECT_TASK_DETAILS_DTO +
+            "WHERE t.id = :id AND t.project.id IN (SELECT pu.project.id FROM ProjectUserEntity pu WHERE pu.user.id = :userId)")
+    Optional<TaskDto> findTaskDtoByIdAndUserId(UUID id, UUID userId);
+
+    @EntityGraph(TaskEntity.DETAILS_GRAPH)
     List<TaskEntity> findByProjectProjectUsersUserId(UUID userId);
+
+    @EntityGraph(TaskEntity.DETAILS_GRAPH)
     List<TaskEntity> findByProjectId(UUID projectId);
+
+    @EntityGraph(TaskEntity.DETAILS_GRAPH)
     Optional<TaskEntity> findByIdAndProjectProjectUsersUserId(UUID id, UUID userId);
+
+    @EntityGraph(TaskEntity.DETAILS_WITH_DESCRIPTION_GRAPH)
+    Optional<TaskEntity> findDetailedById(UUID id);
+
+    @Query("SELECT t.project.id FROM TaskEntity t WHERE t.id = :id")
+    Optional<UUID> findProjectIdById(UUID id);
+
     boolean existsByIdAndProjectProjectUsersUserId(UUID id, UUID userId);
-    List<TaskEntity> findByProjectIdAndFinishedAtBetween(UUID projectId, LocalDateTime startDate, LocalDateTime endDate);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ReportQueryHints.FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM TaskEntity t JOIN FETCH t.storyPointMapping " +
+            "WHERE t.project.id = :projectId AND t.finishedAt BETWEEN :startDate AND :endDate")
+    Stream<TaskEntity> streamAllByProjectIdAndFinishedAtBetween(UUID projectId, LocalDateTime startDate, LocalDateTime endDate);
 }
@@ -1,20 +1,87 @@
 package szte.flowboard.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import szte.flowboard.dto.ListVersion;
+import szte.flowboard.dto.TimeLogDto;
 import szte.flowboard.entity.TimeLogEntity;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface TimeLogRepository extends JpaRepository<TimeLogEntity, UUID> {
+    /**
+     * Selects time logs straight into {@link TimeLogDto}, the task and user ids are read from the foreign keys.
+     */
+    String SELECT_TIME_LOG_DTO = "SELECT new szte.flowboard.dto.TimeLogDto(tl.id, tl.task.id, tl.user.id, tl.loggedTime, " +
+            "tl.isBillable, tl.logDate, tl.createdBy, tl.createdAt, tl.lastModifiedBy, tl.lastModifiedAt, tl.version) " +
+            "FROM TimeLogEntity tl ";
+
+    // Both ends of the log date range are always bound, so only the partitions of the range are scanned
+    @Query(SELECT_TIME_LOG_DTO + "WHERE tl.user.id = :userId AND tl.logDate BETWEEN :startDate AND :endDate " +
+            "AND (tl.createdAt, tl.id) < (:afterCreatedAt, :afterId) ORDER BY tl.createdAt DESC, tl.id DESC")
+    List<TimeLogDto> findTimeLogDtoPageByUserId(UUID userId, LocalDate startDate, LocalDate endDate,
+                                                LocalDateTime afterCreatedAt, UUID afterId, Limit limit);
+
+    @Query(SELECT_TIME_LOG_DTO + "WHERE tl.task.id = :taskId")
+    List<TimeLogDto> findTimeLogDtosByTaskId(UUID taskId);
+
+    /**
+     * Fingerprints the time logs {@link #SELECT_TIME_LOG_DTO} reads under the same condition.
+     */
+    String SELECT_TIME_LOG_LIST_VERSION = "SELECT new szte.flowboard.dto.ListVersion(COUNT(tl), " +
+            "COALESCE(SUM(tl.version), 0), MAX(tl.lastModifiedAt)) FROM TimeLogEntity tl ";
+
+    @Query(SELECT_TIME_LOG_LIST_VERSION + "WHERE tl.user.id = :userId")
+    ListVersion findListVersionByUserId(UUID userId);
+
+    @Query(SELECT_TIME_LOG_LIST_VERSION + "WHERE tl.task.id = :taskId")
+    ListVersion findListVersionByTaskId(UUID taskId);
+
+    @Query(SELECT_TIME_LOG_DTO + "WHERE tl.id = :id AND tl.user.id = :userId")
+    Optional<TimeLogDto> findTimeLogDtoByIdAndUserId(UUID id, UUID userId);
+
     List<TimeLogEntity> findByUserId(UUID userId);
+    List<TimeLogEntity> findByTaskId(UUID taskId);
     Optional<TimeLogEntity> findByIdAndUserId(UUID id, UUID userId);
+
+    @Query("SELECT tl.task.project.id FROM TimeLogEntity tl WHERE tl.id = :id")
+    Optional<UUID> findProjectIdById(UUID id);
+
     boolean existsByIdAndUserId(UUID id, UUID userId);
-    List<TimeLogEntity> findAllByTaskProjectIdAndLogDateBetween(UUID projectId, LocalDate startDate, LocalDate endDate);
-    List<TimeLogEntity> findByTaskProjectIdInAndLogDateBetween(Set<UUID> projectId, LocalDate startDate, LocalDate endDate);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ReportQueryHints.FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT tl FROM TimeLogEntity tl JOIN FETCH tl.user JOIN FETCH tl.task t " +
+            "WHERE t.project.id = :projectId AND tl.logDate BETWEEN :startDate AND :endDate")
+    Stream<TimeLogEntity> streamAllByTaskProjectIdAndLogDateBetween(UUID projectId, LocalDate startDate, LocalDate endDate);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ReportQueryHints.FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT tl FROM TimeLogEntity tl JOIN FETCH tl.user JOIN FETCH tl.task t " +
+            "WHERE t.project.id IN :projectIds AND tl.logDate BETWEEN :startDate AND :endDate")
+    Stream<TimeLogEntity> streamAllByTaskProjectIdInAndLogDateBetween(Set<UUID> projectIds, LocalDate startDate, LocalDate endDate);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ReportQueryHints.FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT tl FROM TimeLogEntity tl JOIN FETCH tl.task t " +
+            "WHERE t.project.id = :projectId AND t.finishedAt BETWEEN :startDate AND :endDate")
+    Stream<TimeLogEntity> streamAllByTaskProjectIdAndTaskFinishedAtBetween(UUID projectId, LocalDateTime startDate, LocalDateTime endDate);
 }
@@ -1,13 +1,29 @@
 package szte.flowboard.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import szte.flowboard.configuration.EntityCacheConfig;
 import szte.flowboard.entity.UserEntity;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<UserEntity, UUID> {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = EntityCacheConfig.USER_QUERIES)
+    })
     Optional<UserEntity> findByKeycloakId(String keycloakId);
-}
\ No newline at end of file
+
+    @Query("SELECT u FROM UserEntity u WHERE (u.createdAt, u.id) < (:afterCreatedAt, :afterId) " +
+            "ORDER BY u.createdAt DESC, u.id DESC")
+    List<UserEntity> findPage(LocalDateTime afterCreatedAt, UUID afterId, Limit limit);
+}
@@ -1,5 +1,7 @@
 package szte.flowboard.service;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.keycloak.admin.client.Keycloak;
@@ -22,12 +24,17 @@ import java.util.Optional;
  * Service for interacting with Keycloak admin API.
  * Handles user retrieval from Keycloak using the admin client.
  * Initializes the Keycloak admin client on startup.
+ * Every admin API call is observed as {@code flowboard.keycloak}, tagged with the operation.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class KeycloakService {
 
+    public static final String KEYCLOAK_OBSERVATION = "flowboard.keycloak";
+
+    private final ObservationRegistry observationRegistry;
+
     @Value("${keycloak.auth-server-url}")
     private String serverUrl;
 
@@ -78,13 +85,21 @@ public class KeycloakService {
      * @return an Optional containing the user representation if found, empty otherwise
      */
     public Optional<UserRepresentation> getUserById(String userId) {
-        try {
+        var observation = Observation.createNotStarted(KEYCLOAK_OBSERVATION, observationRegistry)
+                .contextualName("keycloak get-user")
+                .lowCardinalityKeyValue("operation", "get-user")
+                .start();
+
+        try (var scope = observation.openScope()) {
             UserResource userResource = realmResource.users().get(userId);
             UserRepresentation user = userResource.toRepresentation();
             return Optional.of(user);
         } catch (Exception e) {
+            observation.error(e);
             log.error("Error finding user by ID: {}", userId, e);
             return Optional.empty();
+        } finally {
+            observation.stop();
         }
     }
 }
@@ -0,0 +1,50 @@
+package szte.flowboard.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import szte.flowboard.configuration.ArchiveProperties;
+
+import java.time.LocalDateTime;
+
+/**
+ * Runs the archival job nightly: archives the tasks and time logs of the ARCHIVED and COMPLETED projects, restores
+ * the ones of reactivated projects, and purges the expired reports of archived projects when
+ * {@code flowboard.archive.report-retention} is set. Enabled with {@code flowboard.archive.enabled}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "flowboard.archive", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ProjectArchiveMaintenance {
+
+    private final ProjectArchiveService projectArchiveService;
+    private final ArchiveProperties properties;
+
+    public ProjectArchiveMaintenance(ProjectArchiveService projectArchiveService, ArchiveProperties properties) {
+        this.projectArchiveService = projectArchiveService;
+        this.properties = properties;
+    }
+
+    /**
+     * Moves the rows between the hot and the archive tables and purges the expired reports. A failure, e.g. a lock
+     * timeout, is logged and the remaining rows are moved on the next run; the chunks moved so far stay committed.
+     */
+    @Scheduled(cron = "${flowboard.archive.cron:0 30 2 * * *}")
+    public void maintain() {
+        try {
+            var restored = projectArchiveService.restoreTasks();
+            var archived = projectArchiveService.archiveTasks();
+            log.info("Archived {} tasks with {} time logs, restored {} tasks with {} time logs",
+                    archived.tasks(), archived.timeLogs(), restored.tasks(), restored.timeLogs());
+
+            if (properties.getReportRetention() != null) {
+                var purged = projectArchiveService.purgeExpiredReports(LocalDateTime.now().minus(properties.getReportRetention()));
+                log.info("Purged {} expired reports of archived projects", purged);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Project archival failed, retrying on the next run", e);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package szte.flowboard.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import szte.flowboard.configuration.ArchiveProperties;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves the tasks and time logs of ARCHIVED and COMPLETED projects between the hot tables and the archive tables.
+ * Rows are moved in chunks of {@code flowboard.archive.chunk-size} tasks, each chunk in its own short transaction
+ * that skips the tasks locked by other transactions and gives up after {@code flowboard.archive.lock-timeout},
+ * so the hot tables are never locked for long. Archived rows stay readable through the read-only archive
+ * repositories, and are moved back when their project becomes ACTIVE again.
+ */
+@Slf4j
+@Service
+public class ProjectArchiveService {
+
+    private static final String ARCHIVED_PROJECT = "p.status IN ('ARCHIVED', 'COMPLETED')";
+
+    private static final String ARCHIVABLE_TASKS_QUERY = """
+            SELECT t.id FROM tasks t JOIN projects p ON p.id = t.project_id
+            WHERE %s ORDER BY t.id LIMIT ? FOR UPDATE OF t SKIP LOCKED""".formatted(ARCHIVED_PROJECT);
+
+    private static final String RESTORABLE_TASKS_QUERY = """
+            SELECT t.id FROM tasks_archive t JOIN projects p ON p.id = t.project_id
+            WHERE NOT %s ORDER BY t.id LIMIT ? FOR UPDATE OF t SKIP LOCKED""".formatted(ARCHIVED_PROJECT);
+
+    private static final String EXPIRED_REPORTS_QUERY = """
+            SELECT r.id FROM reports r JOIN projects p ON p.id = r.project_id
+            WHERE %s AND r.created_at < ? AND r.id > ? ORDER BY r.id LIMIT ?""".formatted(ARCHIVED_PROJECT);
+
+    private static final UUID MIN_UUID = new UUID(0, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final S3Service s3Service;
+    private final ArchiveProperties properties;
+
+    public ProjectArchiveService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                 S3Service s3Service, ArchiveProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.s3Service = s3Service;
+        this.properties = properties;
+    }
+
+    /**
+     * The number of rows moved by an archival or restore run.
+     *
+     * @param tasks the number of moved tasks
+     * @param timeLogs the number of moved time logs
+     */
+    public record MovedRows(int tasks, int timeLogs) {
+
+        public static final MovedRows NONE = new MovedRows(0, 0);
+
+        MovedRows plus(MovedRows other) {
+            return new MovedRows(tasks + other.tasks, timeLogs + other.timeLogs);
+        }
+    }
+
+    /**
+     * Moves every task of the ARCHIVED and COMPLETED projects, with its time logs, to the archive tables.
+     *
+     * @return the number of archived rows
+     */
+    public MovedRows archiveTasks() {
+        return moveInChunks(this::archiveChunk);
+    }
+
+    /**
+     * Moves the archived tasks of the projects that are ACTIVE again, with their time logs, back to the hot tables.
+     *
+     * @return the number of restored rows
+     */
+    public MovedRows restoreTasks() {
+        return moveInChunks(this::restoreChunk);
+    }
+
+    /**
+     * Deletes the reports of the ARCHIVED and COMPLETED projects created before the cutoff, together with their
+     * files. A report whose file cannot be deleted from the storage is kept, so it is retried on the next run.
+     *
+     * @param cutoff the creation time before which reports are expired
+     * @return the number of deleted reports
+     */
+    public int purgeExpiredReports(LocalDateTime cutoff) {
+        var purged = 0;
+        var after = MIN_UUID;
+
+        while (true) {
+            var reportIds = jdbcTemplate.queryForList(EXPIRED_REPORTS_QUERY, UUID.class, cutoff, after, properties.getChunkSize());
+
+            if (reportIds.isEmpty()) {
+                return purged;
+            }
+
+            for (var reportId : reportIds) {
+                if (s3Service.deleteReport(reportId)) {
+                    purged += jdbcTemplate.update("DELETE FROM reports WHERE id = ?", reportId);
+                } else {
+                    log.warn("Could not delete the file of expired report {}, keeping the report", reportId);
+                }
+            }
+
+            after = reportIds.get(reportIds.size() - 1);
+        }
+    }
+
+    private MovedRows moveInChunks(ChunkMove chunkMove) {
+        var moved = MovedRows.NONE;
+
+        while (true) {
+            var chunk = transactionTemplate.execute(status -> {
+                jdbcTemplate.queryForObject("SELECT set_config('lock_timeout', ?, true)", String.class,
+                        properties.getLockTimeout().toMillis() + "ms");
+                return chunkMove.move(properties.getChunkSize());
+            });
+
+            if (chunk == null || chunk.tasks() == 0) {
+                return moved;
+            }
+
+            moved = moved.plus(chunk);
+
+            if (!pause()) {
+                return moved;
+            }
+        }
+    }
+
+    private MovedRows archiveChunk(int chunkSize) {
+        var taskIds = lockTasks(ARCHIVABLE_TASKS_QUERY, chunkSize);
+
+        if (taskIds.length == 0) {
+            return MovedRows.NONE;
+        }
+
+        // The archived time logs reference the archived tasks, so the tasks are copied first and deleted last
+        var tasks = jdbcTemplate.update("INSERT INTO tasks_archive SELECT * FROM tasks WHERE id = ANY(?)", (Object) taskIds);
+        var timeLogs = jdbcTemplate.update("""
+                WITH moved AS (DELETE FROM time_logs WHERE task_id = ANY(?) RETURNING *)
+                INSERT INTO time_logs_archive SELECT * FROM moved""", (Object) taskIds);
+        jdbcTemplate.update("DELETE FROM tasks WHERE id = ANY(?)", (Object) taskIds);
+
+        return new MovedRows(tasks, timeLogs);
+    }
+
+    private MovedRows restoreChunk(int chunkSize) {
+        var taskIds = lockTasks(RESTORABLE_TASKS_QUERY, chunkSize);
+
+        if (taskIds.length == 0) {
+            return MovedRows.NONE;
+        }
+
+        var tasks = jdbcTemplate.update("INSERT INTO tasks SELECT * FROM tasks_archive WHERE id = ANY(?)", (Object) taskIds);
+        var timeLogs = jdbcTemplate.update("""
+                WITH moved AS (DELETE FROM time_logs_archive WHERE task_id = ANY(?) RETURNING *)
+                INSERT INTO time_logs SELECT * FROM moved""", (Object) taskIds);
+        jdbcTemplate.update("DELETE FROM tasks_archive WHERE id = ANY(?)", (Object) taskIds);
+
+        return new MovedRows(tasks, timeLogs);
+    }
+
+    private UUID[] lockTasks(String query, int chunkSize) {
+        List<UUID> taskIds = jdbcTemplate.queryForList(query, UUID.class, chunkSize);
+        return taskIds.toArray(UUID[]::new);
+    }
+
+    /**
+     * Gives the other transactions room between two chunks.
+     *
+     * @return false if the thread was interrupted and the run has to stop
+     */
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getChunkPause());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkMove {
+        MovedRows move(int chunkSize);
+    }
+}
@@ -0,0 +1,167 @@
+package szte.flowboard.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import szte.flowboard.configuration.RealtimeProperties;
+import szte.flowboard.dto.ProjectEventDto;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Pushes the {@link ProjectEventDto}s to the STOMP topic of their project on every backend node.
+ * A committed event is sent as a PostgreSQL notification on {@value #CHANNEL}, and every node, the sending one
+ * included, listens on the channel with a dedicated connection of the primary database and forwards the events to the
+ * subscribers of {@code /topic/projects/{projectId}} connected to it, so no message broker is needed between the
+ * nodes. Events committed while a node reconnects are not delivered to it, the clients re-fetch on reconnect anyway.
+ * The forwarded events are counted in {@code flowboard.realtime.events}, tagged with the event type.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "flowboard.realtime", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ProjectEventRelay implements SmartLifecycle {
+
+    public static final String CHANNEL = "flowboard_project_events";
+    public static final String TOPIC_PREFIX = "/topic/projects/";
+    public static final String EVENT_COUNTER = "flowboard.realtime.events";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DataSource listenerDataSource;
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final RealtimeProperties properties;
+
+    private volatile boolean running;
+    private Thread listener;
+
+    public ProjectEventRelay(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             DataSourceProperties dataSourceProperties, SimpMessageSendingOperations messagingTemplate,
+                             ObjectMapper objectMapper, MeterRegistry meterRegistry, RealtimeProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.listenerDataSource = dataSourceProperties.initializeDataSourceBuilder().type(SimpleDriverDataSource.class).build();
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    /**
+     * Sends a project event to every node once the transaction that published it has committed, or right away
+     * when it was published outside of a transaction. The notification is sent in a transaction of its own, the one
+     * of the change is already over. A failed notification is logged, the change itself stays committed.
+     *
+     * @param event the committed change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publish(ProjectEventDto event) {
+        try {
+            var payload = objectMapper.writeValueAsString(event);
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.query("SELECT pg_notify(?, ?)", (ResultSetExtractor<Void>) resultSet -> null, CHANNEL, payload));
+        } catch (JsonProcessingException | DataAccessException e) {
+            log.warn("Could not send the project event {}", event, e);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listener = Thread.ofPlatform().name("project-event-listener").daemon().start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+
+        try {
+            listener.join(properties.getPollTimeout().multipliedBy(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Listens on the channel until the relay is stopped, reconnecting after {@code flowboard.realtime.reconnect-delay}
+     * when the connection is lost.
+     */
+    private void listen() {
+        while (running) {
+            try (var connection = listenerDataSource.getConnection(); var statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+                var pgConnection = connection.unwrap(PGConnection.class);
+                log.info("Listening for project events on {}", CHANNEL);
+
+                while (running) {
+                    var notifications = pgConnection.getNotifications((int) properties.getPollTimeout().toMillis());
+
+                    if (notifications != null) {
+                        for (var notification : notifications) {
+                            relay(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Lost the project event listener connection, reconnecting in {}", properties.getReconnectDelay(), e);
+                    sleep(properties.getReconnectDelay());
+                }
+            }
+        }
+    }
+
+    /**
+     * Forwards a notification to the subscribers of the project connected to this node.
+     *
+     * @param payload the JSON of the {@link ProjectEventDto}
+     */
+    void relay(String payload) {
+        try {
+            var event = objectMapper.readValue(payload, ProjectEventDto.class);
+            messagingTemplate.convertAndSend(TOPIC_PREFIX + event.projectId(), event);
+
+            Counter.builder(EVENT_COUNTER)
+                    .description("Number of project events pushed to the subscribers connected to this node")
+                    .tag("type", event.type().name())
+                    .register(meterRegistry)
+                    .increment();
+        } catch (JsonProcessingException | MessagingException e) {
+            log.warn("Could not relay the project event {}", payload, e);
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
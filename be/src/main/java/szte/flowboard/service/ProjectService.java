@@ -1,19 +1,28 @@
 package szte.flowboard.service;
 
+import org.hibernate.Hibernate;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import szte.flowboard.dto.ListVersion;
+import szte.flowboard.dto.ProjectDto;
+import szte.flowboard.dto.StoryPointTimeMappingDto;
 import szte.flowboard.entity.BaseEntity;
 import szte.flowboard.entity.ProjectEntity;
 import szte.flowboard.entity.ProjectUserEntity;
+import szte.flowboard.entity.StoryPointTimeMappingEntity;
 import szte.flowboard.entity.UserEntity;
 import szte.flowboard.repository.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Service for managing projects.
@@ -28,17 +37,20 @@ public class ProjectService {
     private final ProjectUserRepository projectUserRepository;
     private final UserService userService;
     private final StoryPointTimeMappingRepository storyPointTimeMappingRepository;
+    private final UpdateConflictMetrics updateConflictMetrics;
 
     public ProjectService(ReportRepository reportRepository,
                           ProjectRepository projectRepository,
                           ProjectUserRepository projectUserRepository,
                           UserService userService,
-                          StoryPointTimeMappingRepository storyPointTimeMappingRepository) {
+                          StoryPointTimeMappingRepository storyPointTimeMappingRepository,
+                          UpdateConflictMetrics updateConflictMetrics) {
         this.reportRepository = reportRepository;
         this.projectRepository = projectRepository;
         this.projectUserRepository = projectUserRepository;
         this.userService = userService;
         this.storyPointTimeMappingRepository = storyPointTimeMappingRepository;
+        this.updateConflictMetrics = updateConflictMetrics;
     }
 
     /**
@@ -69,22 +81,38 @@ public class ProjectService {
 
     /**
      * Retrieves all projects accessible by the current user.
+     * The projects and their story point time mappings are selected straight into DTOs, without loading the entities.
      *
      * @param authentication the authentication object containing the current user's information
-     * @return a list of project entities accessible by the user, or an empty list if user not found
+     * @return a list of project DTOs accessible by the user, or an empty list if user not found
      */
-    public List<ProjectEntity> findAllByUser(Authentication authentication) {
+    @Transactional(readOnly = true)
+    public List<ProjectDto> findAllByUser(Authentication authentication) {
         var user = userService.getUserByAuthentication(authentication);
         
         if (user.isEmpty()) {
             return List.of();
         }
         
-        List<ProjectUserEntity> projectUsers = projectUserRepository.findByUserId(user.get().getId());
+        return withStoryPointTimeMappings(projectRepository.findProjectDtosByUserId(user.get().getId()));
+    }
+
+    /**
+     * Fingerprints the project list of the current user, see {@link #findAllByUser(Authentication)}.
+     * A single aggregate query, the projects themselves are not loaded.
+     *
+     * @param authentication the authentication object containing the current user's information
+     * @return the version of the project list, or {@link ListVersion#EMPTY} if user not found
+     */
+    @Transactional(readOnly = true)
+    public ListVersion findListVersionByUser(Authentication authentication) {
+        var user = userService.getUserByAuthentication(authentication);
+
+        if (user.isEmpty()) {
+            return ListVersion.EMPTY;
+        }
 
-        return projectUsers.stream()
-                .map(ProjectUserEntity::getProject)
-                .toList();
+        return projectRepository.findListVersionByUserId(user.get().getId());
     }
 
     /**
@@ -92,22 +120,19 @@ public class ProjectService {
      *
      * @param id the unique identifier of the project
      * @param authentication the authentication object containing the current user's information
-     * @return an Optional containing the project if found and accessible, empty otherwise
+     * @return an Optional containing the project DTO if found and accessible, empty otherwise
      */
-    public Optional<ProjectEntity> findByIdAndUser(UUID id, Authentication authentication) {
+    @Transactional(readOnly = true)
+    public Optional<ProjectDto> findByIdAndUser(UUID id, Authentication authentication) {
         var user = userService.getUserByAuthentication(authentication);
         
         if (user.isEmpty()) {
             return Optional.empty();
         }
         
-        // Check if user has access to this project
-        Optional<ProjectUserEntity> projectUser = projectUserRepository.findByUserIdAndProjectId(user.get().getId(), id);
-        if (projectUser.isEmpty()) {
-            return Optional.empty();
-        }
-        
-        return projectRepository.findById(id);
+        // The query only returns the project if the user has access to it
+        return projectRepository.findProjectDtoByIdAndUserId(id, user.get().getId())
+                .map(project -> withStoryPointTimeMappings(List.of(project)).get(0));
     }
 
     /**
@@ -129,12 +154,40 @@ public class ProjectService {
     /**
      * Updates an existing project and manages story point time mappings.
      * Removes any story point time mappings that are not in the updated project.
+     * The update is applied only if the project still has the expected version, a project updated in the meantime
+     * is not overwritten. Every update increments the version of the project, also when only its story point time
+     * mappings change. The story point time mappings of the saved project are loaded, so it can be mapped outside
+     * the transaction.
      *
      * @param project the project entity with updated information
-     * @return the updated project entity
+     * @param expectedVersion the version the update is based on
+     * @return the updated project entity, or null if the project doesn't exist
+     * @throws OptimisticLockingFailureException if the project has a newer version than the expected one
      */
     @Transactional
-    public ProjectEntity update(ProjectEntity project) {
+    public ProjectEntity update(ProjectEntity project, long expectedVersion) {
+        var existingProject = projectRepository.findWithVersionIncrementById(project.getId());
+
+        if (existingProject.isEmpty()) {
+            return null;
+        }
+
+        var currentVersion = existingProject.get().getVersion();
+
+        if (expectedVersion != currentVersion) {
+            updateConflictMetrics.conflict("project", UpdateConflictMetrics.Reason.STALE);
+            throw new ObjectOptimisticLockingFailureException(ProjectEntity.class, project.getId());
+        }
+
+        project.setVersion(currentVersion);
+
+        // The mappings arrive without versions, they are part of the project and guarded by its version
+        Map<UUID, Long> mappingVersions = existingProject.get().getStoryPointTimeMappings().stream()
+                .collect(Collectors.toMap(BaseEntity::getId, StoryPointTimeMappingEntity::getVersion));
+        project.getStoryPointTimeMappings().stream()
+                .filter(mapping -> mappingVersions.containsKey(mapping.getId()))
+                .forEach(mapping -> mapping.setVersion(mappingVersions.get(mapping.getId())));
+
         UUID[] ids = project.getStoryPointTimeMappings().stream()
                 .map(BaseEntity::getId)
                 .filter(Objects::nonNull)
@@ -142,7 +195,15 @@ public class ProjectService {
 
         this.storyPointTimeMappingRepository.deleteAllForProjectNotInIds(project.getId(), ids);
 
-        return projectRepository.save(project);
+        try {
+            ProjectEntity savedProject = projectRepository.saveAndFlush(project);
+            Hibernate.initialize(savedProject.getStoryPointTimeMappings());
+
+            return savedProject;
+        } catch (OptimisticLockingFailureException e) {
+            updateConflictMetrics.conflict("project", UpdateConflictMetrics.Reason.CONCURRENT);
+            throw e;
+        }
     }
 
     /**
@@ -159,4 +220,25 @@ public class ProjectService {
         // Then delete the project
         projectRepository.deleteById(id);
     }
+
+    /**
+     * Loads the story point time mappings of the projects with one query and attaches them to their projects.
+     *
+     * @param projects the projects selected without their story point time mappings
+     * @return the same projects with their story point time mappings set
+     */
+    private List<ProjectDto> withStoryPointTimeMappings(List<ProjectDto> projects) {
+        if (projects.isEmpty()) {
+            return projects;
+        }
+
+        Map<UUID, List<StoryPointTimeMappingDto>> mappings = storyPointTimeMappingRepository
+                .findDtosByProjectIdIn(projects.stream().map(ProjectDto::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(StoryPointTimeMappingDto::getProjectId));
+
+        projects.forEach(project -> project.setStoryPointTimeMappings(mappings.getOrDefault(project.getId(), List.of())));
+
+        return projects;
+    }
 }
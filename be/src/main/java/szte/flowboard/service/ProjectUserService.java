@@ -2,13 +2,17 @@ package szte.flowboard.service;
 
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import szte.flowboard.dto.KeysetCursor;
+import szte.flowboard.dto.KeysetPage;
+import szte.flowboard.dto.KeysetRequest;
+import szte.flowboard.dto.request.ProjectUserFilterDto;
 import szte.flowboard.entity.ProjectUserEntity;
 import szte.flowboard.enums.UserRole;
 import szte.flowboard.repository.ProjectRepository;
 import szte.flowboard.repository.ProjectUserRepository;
 import szte.flowboard.repository.UserRepository;
 
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -51,12 +55,18 @@ public class ProjectUserService {
     }
 
     /**
-     * Retrieves all project-user relationships in the system.
+     * Retrieves a page of the project-user relationships in the system, newest first.
      *
-     * @return a list of all project-user entities
+     * @param filter the optional project and user of the relationships
+     * @param page the requested page
+     * @return a page of project-user entities
      */
-    public List<ProjectUserEntity> findAll() {
-        return projectUserRepository.findAll();
+    @Transactional(readOnly = true)
+    public KeysetPage<ProjectUserEntity> findAll(ProjectUserFilterDto filter, KeysetRequest page) {
+        var projectUsers = projectUserRepository.findPage(filter.getProjectId(), filter.getUserId(),
+                page.after().createdAt(), page.after().id(), page.limit());
+
+        return page.toPage(projectUsers, projectUser -> new KeysetCursor(projectUser.getCreatedAt(), projectUser.getId()));
     }
 
     /**
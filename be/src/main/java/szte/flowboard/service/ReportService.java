@@ -1,15 +1,26 @@
 package szte.flowboard.service;
 
 import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import szte.flowboard.dto.KeysetCursor;
+import szte.flowboard.dto.KeysetPage;
+import szte.flowboard.dto.KeysetRequest;
+import szte.flowboard.dto.ListVersion;
+import szte.flowboard.dto.ProjectEventDto;
+import szte.flowboard.dto.ReportDto;
 import szte.flowboard.dto.request.CreateCOCReportRequestDto;
 import szte.flowboard.dto.request.CreateEmployeeMatrixReportRequestDto;
 import szte.flowboard.dto.request.CreateProjectActivityReportRequestDto;
+import szte.flowboard.dto.request.ReportFilterDto;
 import szte.flowboard.entity.ProjectEntity;
 import szte.flowboard.entity.ReportEntity;
 import szte.flowboard.entity.UserEntity;
+import szte.flowboard.enums.ProjectEventType;
+import szte.flowboard.enums.ProjectType;
+import szte.flowboard.enums.ReportType;
 import szte.flowboard.enums.UserRole;
 import szte.flowboard.repository.*;
 import szte.flowboard.service.report.*;
@@ -24,6 +35,7 @@ import java.util.UUID;
  * Service for managing reports.
  * Handles report generation (COC, Employee Matrix, Project Activity), storage in S3,
  * retrieval, renaming, and deletion. Reports are generated as PDFs and stored in AWS S3.
+ * A stored report of a project is published as a {@link ProjectEventDto} of the project.
  */
 @Service
 public class ReportService {
@@ -37,6 +49,8 @@ public class ReportService {
     private final EmployeeMatrixReportGenerator employeeMatrixReportGenerator;
     private final ProjectActivityReportGenerator projectActivityReportGenerator;
     private final COCReportGenerator cocReportGenerator;
+    private final ReportMetrics reportMetrics;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ReportService(
             ReportRepository reportRepository,
@@ -47,7 +61,9 @@ public class ReportService {
             S3Service s3Service,
             EmployeeMatrixReportGenerator employeeMatrixReportGenerator,
             ProjectActivityReportGenerator projectActivityReportGenerator,
-            COCReportGenerator cocReportGenerator) {
+            COCReportGenerator cocReportGenerator,
+            ReportMetrics reportMetrics,
+            ApplicationEventPublisher eventPublisher) {
         this.reportRepository = reportRepository;
         this.userService = userService;
         this.projectUserRepository = projectUserRepository;
@@ -57,6 +73,8 @@ public class ReportService {
         this.employeeMatrixReportGenerator = employeeMatrixReportGenerator;
         this.projectActivityReportGenerator = projectActivityReportGenerator;
         this.cocReportGenerator = cocReportGenerator;
+        this.reportMetrics = reportMetrics;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -75,13 +93,17 @@ public class ReportService {
             return null;
         }
 
-        var data = employeeMatrixReportGenerator.generate(report, user.get().getId());
+        return reportMetrics.observeReport(ReportType.EMPLOYEE_MATRIX, null, () -> {
+            var data = employeeMatrixReportGenerator.generate(report, user.get().getId());
 
-        if (data == null) {
-            return null;
-        }
+            if (data == null) {
+                return null;
+            }
+
+            reportMetrics.recordSize(ReportType.EMPLOYEE_MATRIX, null, data);
 
-        return persistReport(null, user.get().getId(), report.getStartDate(), report.getEndDate(), "munkavallaloi_matrix", data);
+            return persistReport(ReportType.EMPLOYEE_MATRIX, null, user.get().getId(), report.getStartDate(), report.getEndDate(), "munkavallaloi_matrix", data);
+        });
     }
 
     /**
@@ -107,15 +129,20 @@ public class ReportService {
             return null;
         }
 
-        var data = projectActivityReportGenerator.generate(report, project);
+        return reportMetrics.observeReport(ReportType.PROJECT_ACTIVITY, project.getType(), () -> {
+            var data = projectActivityReportGenerator.generate(report, project);
 
-        return persistReport(
-                project.getId(),
-                user.getId(),
-                report.getStartDate(),
-                report.getEndDate(),
-                "projekt_aktivitas",
-                data);
+            reportMetrics.recordSize(ReportType.PROJECT_ACTIVITY, project.getType(), data);
+
+            return persistReport(
+                    ReportType.PROJECT_ACTIVITY,
+                    project,
+                    user.getId(),
+                    report.getStartDate(),
+                    report.getEndDate(),
+                    "projekt_aktivitas",
+                    data);
+        });
     }
 
     /**
@@ -141,25 +168,56 @@ public class ReportService {
             return null;
         }
 
-        var data = cocReportGenerator.generate(report, project);
+        return reportMetrics.observeReport(ReportType.COC, project.getType(), () -> {
+            var data = cocReportGenerator.generate(report, project);
+
+            reportMetrics.recordSize(ReportType.COC, project.getType(), data);
+
+            return persistReport(ReportType.COC, project, user.getId(), report.getStartDate(), report.getEndDate(), "teljesitesi_igazolas", data);
+        });
+    }
+
+    /**
+     * Retrieves a page of the reports created by the current user, newest first.
+     * The reports are selected straight into DTOs, without loading the entities.
+     *
+     * @param authentication the authentication object containing the current user's information
+     * @param filter the optional project and creation date range of the reports
+     * @param page the requested page
+     * @return a page of report DTOs for the user, or an empty page if user not found
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<ReportDto> findAllByUser(Authentication authentication, ReportFilterDto filter, KeysetRequest page) {
+        var user = userService.getUserByAuthentication(authentication);
+
+        if (user.isEmpty()) {
+            return new KeysetPage<>(List.of(), null);
+        }
+
+        var reports = reportRepository.findReportDtoPageByUserId(user.get().getId(), filter.getProjectId(),
+                filter.startDate().atStartOfDay(), filter.endDate().plusDays(1).atStartOfDay(),
+                page.after().createdAt(), page.after().id(), page.limit());
 
-        return persistReport(project.getId(), user.getId(), report.getStartDate(), report.getEndDate(), "teljesitesi_igazolas", data);
+        return page.toPage(reports, report -> new KeysetCursor(report.getCreatedAt(), report.getId()));
     }
 
     /**
-     * Retrieves all reports created by the current user.
+     * Fingerprints the report list of the current user, see {@link #findAllByUser(Authentication, ReportFilterDto, KeysetRequest)}.
+     * It covers the whole list, so it changes whenever a filtered list or a page of it changes.
+     * A single aggregate query, the reports themselves are not loaded.
      *
      * @param authentication the authentication object containing the current user's information
-     * @return a list of report entities for the user, or an empty list if user not found
+     * @return the version of the report list, or {@link ListVersion#EMPTY} if user not found
      */
-    public List<ReportEntity> findAllByUser(Authentication authentication) {
+    @Transactional(readOnly = true)
+    public ListVersion findListVersionByUser(Authentication authentication) {
         var user = userService.getUserByAuthentication(authentication);
 
         if (user.isEmpty()) {
-            return List.of();
+            return ListVersion.EMPTY;
         }
 
-        return reportRepository.findByUserId(user.get().getId());
+        return reportRepository.findListVersionByUserId(user.get().getId());
     }
 
     /**
@@ -249,19 +307,24 @@ public class ReportService {
     /**
      * Persists a report entity and uploads the PDF data to S3.
      *
-     * @param projectId the unique identifier of the project (can be null for employee matrix reports)
+     * @param reportType the type of the report, used to tag the upload metrics
+     * @param project the project of the report (can be null for employee matrix reports)
      * @param userId the unique identifier of the user creating the report
      * @param start the start date of the report period
      * @param end the end date of the report period
      * @param name the name of the report
      * @param data the PDF data to upload to S3
      * @return the UUID of the created report, or null if S3 upload fails
+     * @throws IOException if the observed upload fails with an I/O error
      */
-    protected UUID persistReport(UUID projectId, UUID userId, LocalDate start, LocalDate end, String name, byte[] data) {
+    protected UUID persistReport(ReportType reportType, ProjectEntity project, UUID userId, LocalDate start, LocalDate end,
+                                 String name, byte[] data) throws IOException {
         var entity = new ReportEntity();
+        ProjectType projectType = null;
 
-        if (projectId != null) {
-            entity.setProject(entityManager.getReference(ProjectEntity.class, projectId));
+        if (project != null) {
+            entity.setProject(entityManager.getReference(ProjectEntity.class, project.getId()));
+            projectType = project.getType();
         }
 
         entity.setUser(entityManager.getReference(UserEntity.class, userId));
@@ -271,10 +334,17 @@ public class ReportService {
 
         reportRepository.save(entity);
 
-        if (!s3Service.uploadReport(entity.getId(), data)) {
+        var uploaded = reportMetrics.observeStage(reportType, projectType, ReportMetrics.Stage.UPLOAD,
+                () -> s3Service.uploadReport(entity.getId(), data));
+
+        if (!uploaded) {
             return null;
         }
 
+        if (project != null) {
+            eventPublisher.publishEvent(new ProjectEventDto(project.getId(), ProjectEventType.REPORT_CREATED, entity.getId()));
+        }
+
         return entity.getId();
     }
 }
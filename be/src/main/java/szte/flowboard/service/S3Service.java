@@ -1,5 +1,9 @@
 package szte.flowboard.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.core.sync.RequestBody;
@@ -16,16 +20,29 @@ import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignReques
 import java.net.URL;
 import java.time.Duration;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 /**
  * Service for interacting with AWS S3 for report storage.
  * Handles uploading, deleting, and generating presigned download URLs for report PDFs.
  * Uses the flowboard-report-bucket for storing reports.
+ * Every storage operation is observed as {@code flowboard.storage} and failures are counted in {@code flowboard.storage.errors}.
  */
 @Service
 public class S3Service {
 
+    public static final String STORAGE_OBSERVATION = "flowboard.storage";
+
     private static final String BUCKET_NAME = "flowboard-report-bucket";
+    private static final String ERROR_COUNTER = "flowboard.storage.errors";
+
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+
+    public S3Service(MeterRegistry meterRegistry, ObservationRegistry observationRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.observationRegistry = observationRegistry;
+    }
 
     /**
      * Uploads a report PDF to S3.
@@ -35,17 +52,17 @@ public class S3Service {
      * @return true if upload succeeds, false otherwise
      */
     public boolean uploadReport(UUID reportId, byte[] data) {
-        try (var s3Client = getS3ClientBuilder().build()) {
-            PutObjectRequest objectRequest = PutObjectRequest.builder()
-                    .bucket(BUCKET_NAME)
-                    .key(reportId.toString())
-                    .build();
-
-            s3Client.putObject(objectRequest, RequestBody.fromBytes(data));
-            return true;
-        } catch (S3Exception e) {
-            return false;
-        }
+        return observe("upload", false, () -> {
+            try (var s3Client = getS3ClientBuilder().build()) {
+                PutObjectRequest objectRequest = PutObjectRequest.builder()
+                        .bucket(BUCKET_NAME)
+                        .key(reportId.toString())
+                        .build();
+
+                s3Client.putObject(objectRequest, RequestBody.fromBytes(data));
+                return true;
+            }
+        });
     }
 
     /**
@@ -55,17 +72,17 @@ public class S3Service {
      * @return true if deletion succeeds, false otherwise
      */
     public boolean deleteReport(UUID reportId) {
-        try (var s3Client = getS3ClientBuilder().build()) {
-            var deleteObject = DeleteObjectRequest.builder()
-                    .bucket(BUCKET_NAME)
-                    .key(reportId.toString())
-                    .build();
-
-            s3Client.deleteObject(deleteObject);
-            return true;
-        } catch (S3Exception e) {
-            return false;
-        }
+        return observe("delete", false, () -> {
+            try (var s3Client = getS3ClientBuilder().build()) {
+                var deleteObject = DeleteObjectRequest.builder()
+                        .bucket(BUCKET_NAME)
+                        .key(reportId.toString())
+                        .build();
+
+                s3Client.deleteObject(deleteObject);
+                return true;
+            }
+        });
     }
 
     /**
@@ -78,23 +95,54 @@ public class S3Service {
      * @return a presigned URL for downloading the report, or null if generation fails
      */
     public URL getDownloadUrl(UUID reportId, String contentDisposition, String contentType) {
-        try (var s3Presigner = getS3Presigner()) {
-            var objectRequest = GetObjectRequest.builder()
-                    .bucket(BUCKET_NAME)
-                    .key(reportId.toString())
-                    .responseContentDisposition(contentDisposition)
-                    .responseContentType(contentType)
-                    .build();
-
-            var presignRequest = GetObjectPresignRequest.builder()
-                    .signatureDuration(Duration.ofMinutes(5))
-                    .getObjectRequest(objectRequest)
-                    .build();
-
-            var result = s3Presigner.presignGetObject(presignRequest);
-            return result.url();
+        return observe("presign", null, () -> {
+            try (var s3Presigner = getS3Presigner()) {
+                var objectRequest = GetObjectRequest.builder()
+                        .bucket(BUCKET_NAME)
+                        .key(reportId.toString())
+                        .responseContentDisposition(contentDisposition)
+                        .responseContentType(contentType)
+                        .build();
+
+                var presignRequest = GetObjectPresignRequest.builder()
+                        .signatureDuration(Duration.ofMinutes(5))
+                        .getObjectRequest(objectRequest)
+                        .build();
+
+                var result = s3Presigner.presignGetObject(presignRequest);
+                return result.url();
+            }
+        });
+    }
+
+    /**
+     * Runs a storage operation inside a {@code flowboard.storage} observation.
+     * S3 failures are recorded on the observation and the error counter, then mapped to the fallback value.
+     *
+     * @param operation the name of the operation, used as the operation tag
+     * @param fallback the value to return if the operation fails
+     * @param action the storage operation
+     * @return the result of the operation, or the fallback value if it fails
+     */
+    private <T> T observe(String operation, T fallback, Supplier<T> action) {
+        var observation = Observation.createNotStarted(STORAGE_OBSERVATION, observationRegistry)
+                .contextualName("storage " + operation)
+                .lowCardinalityKeyValue("operation", operation)
+                .start();
+
+        try (var scope = observation.openScope()) {
+            return action.get();
         } catch (S3Exception e) {
-            return null;
+            observation.error(e);
+            Counter.builder(ERROR_COUNTER)
+                    .description("Number of failed report storage operations")
+                    .tag("operation", operation)
+                    .tag("status", String.valueOf(e.statusCode()))
+                    .register(meterRegistry)
+                    .increment();
+            return fallback;
+        } finally {
+            observation.stop();
         }
     }
 
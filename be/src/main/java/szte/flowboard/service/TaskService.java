@@ -1,36 +1,62 @@
 package szte.flowboard.service;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import szte.flowboard.dto.KeysetCursor;
+import szte.flowboard.dto.KeysetPage;
+import szte.flowboard.dto.KeysetRequest;
+import szte.flowboard.dto.ListVersion;
+import szte.flowboard.dto.ProjectEventDto;
+import szte.flowboard.dto.TaskDto;
+import szte.flowboard.dto.request.TaskFilterDto;
 import szte.flowboard.entity.TaskEntity;
 import szte.flowboard.entity.UserEntity;
+import szte.flowboard.enums.ProjectEventType;
+import szte.flowboard.repository.ArchivedTaskRepository;
 import szte.flowboard.repository.ProjectRepository;
 import szte.flowboard.repository.TaskRepository;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Service for managing tasks.
  * Handles task creation, retrieval, updates, and deletion with project access control.
  * All operations verify that the user has access to the project containing the task.
+ * Created, updated and deleted tasks are published as {@link ProjectEventDto}s of their project.
+ * Tasks of archived projects are read from the archive by the project and single task reads, and are read-only.
  */
 @Service
 public class TaskService {
 
     private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
     private final ProjectRepository projectRepository;
     private final UserService userService;
+    private final UpdateConflictMetrics updateConflictMetrics;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TaskService(TaskRepository taskRepository, ProjectRepository projectRepository, UserService userService) {
+    public TaskService(TaskRepository taskRepository, ArchivedTaskRepository archivedTaskRepository,
+                       ProjectRepository projectRepository, UserService userService,
+                       UpdateConflictMetrics updateConflictMetrics, ApplicationEventPublisher eventPublisher) {
         this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
         this.projectRepository = projectRepository;
         this.userService = userService;
+        this.updateConflictMetrics = updateConflictMetrics;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * Creates a new task for a project that the current user has access to.
+     * The saved task is read back with its details, so it can be mapped outside the transaction.
      *
      * @param task the task entity to create
      * @param authentication the authentication object containing the current user's information
@@ -49,49 +75,112 @@ public class TaskService {
             return null;
         }
 
-        return taskRepository.save(task);
+        var created = taskRepository.findDetailedById(taskRepository.save(task).getId()).orElse(null);
+        publish(created, ProjectEventType.TASK_CREATED);
+
+        return created;
     }
 
     /**
-     * Retrieves all tasks accessible by the current user (tasks from projects the user has access to).
+     * Retrieves a page of the tasks accessible by the current user (tasks from projects the user has access to),
+     * newest first. The tasks are selected straight into DTOs, without loading the entities.
      *
      * @param authentication the authentication object containing the current user's information
-     * @return a list of task entities accessible by the user, or an empty list if user not found
+     * @param filter the optional status, assignee and project the tasks must have
+     * @param page the requested page
+     * @return a page of task DTOs accessible by the user, or an empty page if user not found
      */
-    public List<TaskEntity> findAllByUser(Authentication authentication) {
+    @Transactional(readOnly = true)
+    public KeysetPage<TaskDto> findAllByUser(Authentication authentication, TaskFilterDto filter, KeysetRequest page) {
         Optional<UserEntity> user = userService.getUserByAuthentication(authentication);
         
         if (user.isEmpty()) {
-            return List.of();
+            return new KeysetPage<>(List.of(), null);
         }
-        
-        // Get tasks assigned to the user and unassigned tasks
-        return taskRepository.findByProjectProjectUsersUserId(user.get().getId());
+
+        var tasks = taskRepository.findTaskDtoPageByUserId(user.get().getId(), filter.getStatus(), filter.getAssigneeId(),
+                filter.getProjectId(), page.after().createdAt(), page.after().id(), page.limit());
+
+        return page.toPage(tasks, task -> new KeysetCursor(task.getCreatedAt(), task.getId()));
+    }
+
+    /**
+     * Passes every task accessible by the current user to the consumer, newest first, with the same filter as
+     * {@link #findAllByUser(Authentication, TaskFilterDto, KeysetRequest)}. The list is read page by page in
+     * short read-only transactions, so neither the whole list nor a database connection is held while the consumer
+     * writes the rows to a slow client.
+     *
+     * @param authentication the authentication object containing the current user's information
+     * @param filter the optional filter of the tasks
+     * @param chunkSize the number of rows read at once
+     * @param consumer the consumer of the rows, nothing is passed if user not found
+     */
+    public void forEachByUser(Authentication authentication, TaskFilterDto filter, int chunkSize, Consumer<? super TaskDto> consumer) {
+        Optional<UserEntity> user = userService.getUserByAuthentication(authentication);
+
+        if (user.isEmpty()) {
+            return;
+        }
+
+        var page = new KeysetRequest(KeysetCursor.START, chunkSize);
+
+        while (page != null) {
+            var after = page.after();
+            var rows = taskRepository.findTaskDtoPageByUserId(user.get().getId(), filter.getStatus(), filter.getAssigneeId(),
+                    filter.getProjectId(), after.createdAt(), after.id(), page.limit());
+            var chunk = page.toPage(rows, row -> new KeysetCursor(row.getCreatedAt(), row.getId()));
+
+            chunk.items().forEach(consumer);
+            page = chunk.next() == null ? null : new KeysetRequest(chunk.next(), chunkSize);
+        }
+    }
+
+    /**
+     * Fingerprints the task list of the current user, see {@link #findAllByUser(Authentication, TaskFilterDto, KeysetRequest)}.
+     * It covers the whole list, so it changes whenever a filtered list or a page of it changes.
+     * A single aggregate query, the tasks themselves are not loaded.
+     *
+     * @param authentication the authentication object containing the current user's information
+     * @return the version of the task list, or {@link ListVersion#EMPTY} if user not found
+     */
+    @Transactional(readOnly = true)
+    public ListVersion findListVersionByUser(Authentication authentication) {
+        Optional<UserEntity> user = userService.getUserByAuthentication(authentication);
+
+        if (user.isEmpty()) {
+            return ListVersion.EMPTY;
+        }
+
+        return taskRepository.findListVersionByUserId(user.get().getId());
     }
 
     /**
      * Finds a task by ID if the current user has access to the project containing the task.
+     * A task not found in the hot table is looked up in the archive.
      *
      * @param id the unique identifier of the task
      * @param authentication the authentication object containing the current user's information
-     * @return an Optional containing the task if found and accessible, empty otherwise
+     * @return an Optional containing the task DTO if found and accessible, empty otherwise
      */
-    public Optional<TaskEntity> findByIdAndUser(UUID id, Authentication authentication) {
+    @Transactional(readOnly = true)
+    public Optional<TaskDto> findByIdAndUser(UUID id, Authentication authentication) {
         Optional<UserEntity> user = userService.getUserByAuthentication(authentication);
         
         if (user.isEmpty()) {
             return Optional.empty();
         }
         
-        return taskRepository.findByIdAndProjectProjectUsersUserId(id, user.get().getId());
+        return taskRepository.findTaskDtoByIdAndUserId(id, user.get().getId())
+                .or(() -> archivedTaskRepository.findTaskDtoByIdAndUserId(id, user.get().getId()));
     }
 
     /**
      * Checks if a task exists and the current user has access to the project containing the task.
+     * Archived tasks are read-only, so they do not count as existing here.
      *
      * @param id the unique identifier of the task
      * @param authentication the authentication object containing the current user's information
-     * @return true if the task exists and the user has access, false otherwise
+     * @return true if the task exists in the hot table and the user has access, false otherwise
      */
     public boolean existsById(UUID id, Authentication authentication) {
         Optional<UserEntity> user = userService.getUserByAuthentication(authentication);
@@ -101,20 +190,40 @@ public class TaskService {
 
     /**
      * Updates an existing task, preserving the project association.
+     * The update is applied only if the task still has the expected version, a task updated in the meantime is
+     * not overwritten. The saved task is read back with its details, so it can be mapped outside the transaction.
      *
      * @param task the task entity with updated information
+     * @param expectedVersion the version the update is based on
      * @return the updated task entity, or null if the task doesn't exist
+     * @throws OptimisticLockingFailureException if the task has a newer version than the expected one
      */
-    public TaskEntity update(TaskEntity task) {
+    public TaskEntity update(TaskEntity task, long expectedVersion) {
         var existingTask = taskRepository.findById(task.getId());
 
         if (existingTask.isEmpty()) {
             return null;
         }
 
+        var currentVersion = existingTask.get().getVersion();
+
+        if (expectedVersion != currentVersion) {
+            updateConflictMetrics.conflict("task", UpdateConflictMetrics.Reason.STALE);
+            throw new ObjectOptimisticLockingFailureException(TaskEntity.class, task.getId());
+        }
+
         task.setProject(existingTask.get().getProject());
+        task.setVersion(currentVersion);
 
-        return taskRepository.save(task);
+        try {
+            var updated = taskRepository.findDetailedById(taskRepository.save(task).getId()).orElse(null);
+            publish(updated, ProjectEventType.TASK_UPDATED);
+
+            return updated;
+        } catch (OptimisticLockingFailureException e) {
+            updateConflictMetrics.conflict("task", UpdateConflictMetrics.Reason.CONCURRENT);
+            throw e;
+        }
     }
 
     /**
@@ -123,16 +232,42 @@ public class TaskService {
      * @param id the unique identifier of the task to delete
      */
     public void delete(UUID id) {
+        var projectId = taskRepository.findProjectIdById(id);
+
         taskRepository.deleteById(id);
+        projectId.ifPresent(project -> eventPublisher.publishEvent(new ProjectEventDto(project, ProjectEventType.TASK_DELETED, id)));
     }
 
     /**
-     * Retrieves all tasks for a specific project.
+     * Retrieves all tasks for a specific project, the ones in the hot table followed by the archived ones.
+     * The archival job moves the tasks of a project in chunks, so both tables may hold some of them.
      *
      * @param projectId the unique identifier of the project
-     * @return a list of task entities for the project
+     * @return a list of task DTOs for the project
      */
-    public List<TaskEntity> findAllByProject(UUID projectId) {
-        return taskRepository.findByProjectId(projectId);
+    @Transactional(readOnly = true)
+    public List<TaskDto> findAllByProject(UUID projectId) {
+        var tasks = new ArrayList<>(taskRepository.findTaskDtosByProjectId(projectId));
+        tasks.addAll(archivedTaskRepository.findTaskDtosByProjectId(projectId));
+
+        return tasks;
+    }
+
+    /**
+     * Fingerprints the task list of a project, see {@link #findAllByProject(UUID)}.
+     *
+     * @param projectId the unique identifier of the project
+     * @return the version of the task list of the project
+     */
+    @Transactional(readOnly = true)
+    public ListVersion findListVersionByProject(UUID projectId) {
+        return taskRepository.findListVersionByProjectId(projectId)
+                .plus(archivedTaskRepository.findListVersionByProjectId(projectId));
+    }
+
+    private void publish(TaskEntity task, ProjectEventType type) {
+        if (task != null) {
+            eventPublisher.publishEvent(new ProjectEventDto(task.getProject().getId(), type, task.getId()));
+        }
     }
 }
@@ -0,0 +1,55 @@
+package szte.flowboard.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import szte.flowboard.configuration.TimeLogPartitionProperties;
+
+import java.time.YearMonth;
+
+/**
+ * Keeps the time_logs partitions ahead of the calendar.
+ * Runs once at startup and then daily: creates the partitions of the current and the upcoming months, and
+ * detaches the partitions older than {@code flowboard.time-logs.partitions.detach-after} when it is set.
+ * Enabled with {@code flowboard.time-logs.partitions.maintenance-enabled}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "flowboard.time-logs.partitions", name = "maintenance-enabled", havingValue = "true", matchIfMissing = true)
+public class TimeLogPartitionMaintenance {
+
+    private final TimeLogPartitionService timeLogPartitionService;
+    private final TimeLogPartitionProperties properties;
+
+    public TimeLogPartitionMaintenance(TimeLogPartitionService timeLogPartitionService, TimeLogPartitionProperties properties) {
+        this.timeLogPartitionService = timeLogPartitionService;
+        this.properties = properties;
+    }
+
+    /**
+     * Creates the upcoming partitions and detaches the expired ones. A failure is logged and retried on the next run,
+     * time logs of months without a partition are kept in the default partition meanwhile.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${flowboard.time-logs.partitions.maintenance-cron:0 0 3 * * *}")
+    public void maintain() {
+        try {
+            var partitions = timeLogPartitionService.createUpcomingPartitions(properties.getMonthsAhead());
+            log.debug("Time log partitions up to {} are in place", partitions.get(partitions.size() - 1));
+
+            if (properties.getDetachAfter() != null) {
+                var detached = timeLogPartitionService.detachPartitionsBefore(YearMonth.now().minus(properties.getDetachAfter()));
+
+                if (!detached.isEmpty()) {
+                    log.info("Detached the time log partitions of {}", detached);
+                }
+            }
+        } catch (DataAccessException e) {
+            log.warn("Time log partition maintenance failed, retrying on the next run", e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package szte.flowboard.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Manages the monthly partitions of the time_logs table.
+ * Every month of log dates has its own partition named {@code time_logs_yYYYYmMM}; log dates without a monthly
+ * partition are stored in {@code time_logs_default} until their partition is created. Detached partitions stay
+ * in the database as standalone tables, so they can be archived and dropped independently of the live data.
+ */
+@Slf4j
+@Service
+public class TimeLogPartitionService {
+
+    public static final String DEFAULT_PARTITION = "time_logs_default";
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("time_logs_y(\\d{4})m(\\d{2})");
+
+    private static final String PARTITIONS_QUERY = """
+            SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'time_logs'::regclass ORDER BY c.relname""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TimeLogPartitionService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns the name of the partition that holds the time logs of a month.
+     *
+     * @param month the month of the log dates
+     * @return the partition table name
+     */
+    public static String partitionName(YearMonth month) {
+        return "time_logs_y%04dm%02d".formatted(month.getYear(), month.getMonthValue());
+    }
+
+    /**
+     * Creates the partition of a month if it does not exist yet, moving its rows out of the default partition.
+     *
+     * @param month the month of the log dates
+     * @return the partition table name
+     */
+    public String createPartition(YearMonth month) {
+        return jdbcTemplate.queryForObject("SELECT create_time_log_partition(?)", String.class, month.atDay(1));
+    }
+
+    /**
+     * Creates the partitions from the current month up to the given number of months ahead.
+     *
+     * @param monthsAhead the number of months after the current one that get a partition
+     * @return the names of the partitions
+     */
+    public List<String> createUpcomingPartitions(int monthsAhead) {
+        var current = YearMonth.now();
+        var partitions = new ArrayList<String>();
+
+        for (int i = 0; i <= monthsAhead; i++) {
+            partitions.add(createPartition(current.plusMonths(i)));
+        }
+
+        return partitions;
+    }
+
+    /**
+     * Lists the months that have a partition attached to the time_logs table.
+     *
+     * @return the months in ascending order
+     */
+    public List<YearMonth> findPartitionMonths() {
+        return jdbcTemplate.queryForList(PARTITIONS_QUERY, String.class).stream()
+                .map(PARTITION_NAME::matcher)
+                .filter(Matcher::matches)
+                .map(matcher -> YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))))
+                .toList();
+    }
+
+    /**
+     * Detaches the partition of a month from the time_logs table.
+     * The partition is kept as a standalone table with its rows, which no longer appear in time log queries.
+     *
+     * @param month the month of the log dates
+     * @return true if the partition was attached and has been detached, false if it was not attached
+     */
+    public boolean detachPartition(YearMonth month) {
+        if (!findPartitionMonths().contains(month)) {
+            return false;
+        }
+
+        var partition = partitionName(month);
+        jdbcTemplate.execute("ALTER TABLE time_logs DETACH PARTITION " + partition);
+        log.info("Detached time log partition {} for archival", partition);
+
+        return true;
+    }
+
+    /**
+     * Detaches every partition of a month before the given month.
+     *
+     * @param month the first month whose partition stays attached
+     * @return the detached months
+     */
+    public List<YearMonth> detachPartitionsBefore(YearMonth month) {
+        return findPartitionMonths().stream()
+                .filter(partitionMonth -> partitionMonth.isBefore(month))
+                .filter(this::detachPartition)
+                .toList();
+    }
+}
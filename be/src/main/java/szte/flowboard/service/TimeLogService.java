@@ -1,10 +1,24 @@
 package szte.flowboard.service;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import szte.flowboard.dto.KeysetCursor;
+import szte.flowboard.dto.KeysetPage;
+import szte.flowboard.dto.KeysetRequest;
+import szte.flowboard.dto.ListVersion;
+import szte.flowboard.dto.ProjectEventDto;
+import szte.flowboard.dto.TimeLogDto;
+import szte.flowboard.dto.request.TimeLogFilterDto;
 import szte.flowboard.entity.TimeLogEntity;
 import szte.flowboard.entity.UserEntity;
+import szte.flowboard.enums.ProjectEventType;
+import szte.flowboard.repository.ArchivedTaskRepository;
+import szte.flowboard.repository.ArchivedTimeLogRepository;
 import szte.flowboard.repository.ProjectRepository;
 import szte.flowboard.repository.ProjectUserRepository;
 import szte.flowboard.repository.TaskRepository;
@@ -13,25 +27,39 @@ import szte.flowboard.repository.TimeLogRepository;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Service for managing time log entries.
  * Handles time log creation, retrieval, updates, and deletion with user and project access control.
  * Time logs track the time spent by users on specific tasks.
+ * Created, updated and deleted time logs are published as {@link ProjectEventDto}s of the project of their task.
+ * Time logs of archived tasks are read from the archive by the task and single time log reads, and are read-only.
  */
 @Service
 public class TimeLogService {
 
     private final TimeLogRepository timeLogRepository;
+    private final ArchivedTimeLogRepository archivedTimeLogRepository;
     private final UserService userService;
     private final ProjectUserRepository projectUserRepository;
     private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final UpdateConflictMetrics updateConflictMetrics;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TimeLogService(TimeLogRepository timeLogRepository, UserService userService, ProjectUserRepository projectUserRepository, TaskRepository taskRepository) {
+    public TimeLogService(TimeLogRepository timeLogRepository, ArchivedTimeLogRepository archivedTimeLogRepository,
+                          UserService userService, ProjectUserRepository projectUserRepository,
+                          TaskRepository taskRepository, ArchivedTaskRepository archivedTaskRepository,
+                          UpdateConflictMetrics updateConflictMetrics, ApplicationEventPublisher eventPublisher) {
         this.timeLogRepository = timeLogRepository;
+        this.archivedTimeLogRepository = archivedTimeLogRepository;
         this.userService = userService;
         this.projectUserRepository = projectUserRepository;
         this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.updateConflictMetrics = updateConflictMetrics;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -49,90 +77,211 @@ public class TimeLogService {
         }
         
         timeLog.setUser(user.get());
-        
-        return timeLogRepository.save(timeLog);
+
+        var created = timeLogRepository.save(timeLog);
+        publish(created, ProjectEventType.TIME_LOG_CREATED);
+
+        return created;
     }
 
     /**
-     * Retrieves all time log entries for the current user.
+     * Retrieves a page of the time log entries of the current user, newest first.
+     * The time logs are selected straight into DTOs, without loading the entities.
      *
      * @param authentication the authentication object containing the current user's information
-     * @return a list of time log entities for the user, or an empty list if user not found
+     * @param filter the optional log date range of the time logs
+     * @param page the requested page
+     * @return a page of time log DTOs for the user, or an empty page if user not found
      */
-    public List<TimeLogEntity> findAllByUser(Authentication authentication) {
+    @Transactional(readOnly = true)
+    public KeysetPage<TimeLogDto> findAllByUser(Authentication authentication, TimeLogFilterDto filter, KeysetRequest page) {
         Optional<UserEntity> user = userService.getUserByAuthentication(authentication);
         
         if (user.isEmpty()) {
-            return List.of();
+            return new KeysetPage<>(List.of(), null);
         }
-        
-        return timeLogRepository.findByUserId(user.get().getId());
+
+        var timeLogs = timeLogRepository.findTimeLogDtoPageByUserId(user.get().getId(), filter.startDate(), filter.endDate(),
+                page.after().createdAt(), page.after().id(), page.limit());
+
+        return page.toPage(timeLogs, timeLog -> new KeysetCursor(timeLog.getCreatedAt(), timeLog.getId()));
+    }
+
+    /**
+     * Passes every time log of the current user to the consumer, newest first, with the same filter as
+     * {@link #findAllByUser(Authentication, TimeLogFilterDto, KeysetRequest)}. The list is read page by page in
+     * short read-only transactions, so neither the whole list nor a database connection is held while the consumer
+     * writes the rows to a slow client.
+     *
+     * @param authentication the authentication object containing the current user's information
+     * @param filter the optional filter of the time logs
+     * @param chunkSize the number of rows read at once
+     * @param consumer the consumer of the rows, nothing is passed if user not found
+     */
+    public void forEachByUser(Authentication authentication, TimeLogFilterDto filter, int chunkSize, Consumer<? super TimeLogDto> consumer) {
+        Optional<UserEntity> user = userService.getUserByAuthentication(authentication);
+
+        if (user.isEmpty()) {
+            return;
+        }
+
+        var page = new KeysetRequest(KeysetCursor.START, chunkSize);
+
+        while (page != null) {
+            var after = page.after();
+            var rows = timeLogRepository.findTimeLogDtoPageByUserId(user.get().getId(), filter.startDate(), filter.endDate(),
+                    after.createdAt(), after.id(), page.limit());
+            var chunk = page.toPage(rows, row -> new KeysetCursor(row.getCreatedAt(), row.getId()));
+
+            chunk.items().forEach(consumer);
+            page = chunk.next() == null ? null : new KeysetRequest(chunk.next(), chunkSize);
+        }
+    }
+
+    /**
+     * Fingerprints the time log list of the current user, see {@link #findAllByUser(Authentication, TimeLogFilterDto, KeysetRequest)}.
+     * It covers the whole list, so it changes whenever a filtered list or a page of it changes.
+     * A single aggregate query, the time logs themselves are not loaded.
+     *
+     * @param authentication the authentication object containing the current user's information
+     * @return the version of the time log list, or {@link ListVersion#EMPTY} if user not found
+     */
+    @Transactional(readOnly = true)
+    public ListVersion findListVersionByUser(Authentication authentication) {
+        Optional<UserEntity> user = userService.getUserByAuthentication(authentication);
+
+        if (user.isEmpty()) {
+            return ListVersion.EMPTY;
+        }
+
+        return timeLogRepository.findListVersionByUserId(user.get().getId());
     }
 
     /**
      * Finds a time log by ID if it belongs to the current user.
+     * A time log not found in the hot table is looked up in the archive.
      *
      * @param id the unique identifier of the time log
      * @param authentication the authentication object containing the current user's information
-     * @return an Optional containing the time log if found and belongs to the user, empty otherwise
+     * @return an Optional containing the time log DTO if found and belongs to the user, empty otherwise
      */
-    public Optional<TimeLogEntity> findByIdAndUser(UUID id, Authentication authentication) {
+    @Transactional(readOnly = true)
+    public Optional<TimeLogDto> findByIdAndUser(UUID id, Authentication authentication) {
         Optional<UserEntity> user = userService.getUserByAuthentication(authentication);
         
         if (user.isEmpty()) {
             return Optional.empty();
         }
         
-        return timeLogRepository.findByIdAndUserId(id, user.get().getId());
+        return timeLogRepository.findTimeLogDtoByIdAndUserId(id, user.get().getId())
+                .or(() -> archivedTimeLogRepository.findTimeLogDtoByIdAndUserId(id, user.get().getId()));
     }
 
     /**
      * Retrieves all time log entries for a specific task if the current user has access to the project.
+     * The time logs of a task are moved together with it, so they are read from the table the task is in.
      *
      * @param taskId the unique identifier of the task
      * @param authentication the authentication object containing the current user's information
-     * @return a list of time log entities for the task, or an empty list if user not found or no access
+     * @return a list of time log DTOs for the task, or an empty list if user not found or no access
      */
-    public List<TimeLogEntity> findAllByTaskId(UUID taskId, Authentication authentication) {
+    @Transactional(readOnly = true)
+    public List<TimeLogDto> findAllByTaskId(UUID taskId, Authentication authentication) {
         Optional<UserEntity> user = userService.getUserByAuthentication(authentication);
 
         if (user.isEmpty()) {
             return List.of();
         }
 
-        var task = taskRepository.findById(taskId);
+        return findArchivedFlagOfTask(user.get(), taskId)
+                .map(archived -> archived
+                        ? archivedTimeLogRepository.findTimeLogDtosByTaskId(taskId)
+                        : timeLogRepository.findTimeLogDtosByTaskId(taskId))
+                .orElse(List.of());
+    }
+
+    /**
+     * Fingerprints the time log list of a task, see {@link #findAllByTaskId(UUID, Authentication)}.
+     * A list the user has no access to is empty, so its version is {@link ListVersion#EMPTY}.
+     *
+     * @param taskId the unique identifier of the task
+     * @param authentication the authentication object containing the current user's information
+     * @return the version of the time log list of the task, or {@link ListVersion#EMPTY} if user not found or no access
+     */
+    @Transactional(readOnly = true)
+    public ListVersion findListVersionByTaskId(UUID taskId, Authentication authentication) {
+        Optional<UserEntity> user = userService.getUserByAuthentication(authentication);
 
-        if (task.isEmpty()) {
-            return List.of();
+        if (user.isEmpty()) {
+            return ListVersion.EMPTY;
         }
 
-        var userExists = projectUserRepository.existsByUserIdAndProjectId(user.get().getId(), task.get().getProject().getId());
+        return findArchivedFlagOfTask(user.get(), taskId)
+                .map(archived -> archived
+                        ? archivedTimeLogRepository.findListVersionByTaskId(taskId)
+                        : timeLogRepository.findListVersionByTaskId(taskId))
+                .orElse(ListVersion.EMPTY);
+    }
 
-        if (!userExists) {
-            return List.of();
-        }
+    /**
+     * Finds out whether a task the user has access to is in the hot or in the archive table.
+     *
+     * @param user the current user
+     * @param taskId the unique identifier of the task
+     * @return true if the task is archived, false if it is in the hot table, empty if not found or no access
+     */
+    private Optional<Boolean> findArchivedFlagOfTask(UserEntity user, UUID taskId) {
+        var hotProjectId = taskRepository.findProjectIdById(taskId);
 
-        return task.get().getTimeLogs();
+        return hotProjectId.or(() -> archivedTaskRepository.findProjectIdById(taskId))
+                .filter(projectId -> projectUserRepository.existsByUserIdAndProjectId(user.getId(), projectId))
+                .map(projectId -> hotProjectId.isEmpty());
     }
 
     /**
      * Updates an existing time log entry and associates it with the current user.
+     * The update is applied only if the time log still has the expected version, a time log updated in the
+     * meantime is not overwritten.
      *
      * @param timeLog the time log entity with updated information
+     * @param expectedVersion the version the update is based on
      * @param authentication the authentication object containing the current user's information
-     * @return the updated time log entity
+     * @return the updated time log entity, or null if the time log doesn't exist
      * @throws RuntimeException if the user is not found
+     * @throws OptimisticLockingFailureException if the time log has a newer version than the expected one
      */
-    public TimeLogEntity update(TimeLogEntity timeLog, Authentication authentication) {
+    public TimeLogEntity update(TimeLogEntity timeLog, long expectedVersion, Authentication authentication) {
         Optional<UserEntity> user = userService.getUserByAuthentication(authentication);
         
         if (user.isEmpty()) {
             throw new RuntimeException("User not found");
         }
-        
+
+        var existingTimeLog = timeLogRepository.findById(timeLog.getId());
+
+        if (existingTimeLog.isEmpty()) {
+            return null;
+        }
+
+        var currentVersion = existingTimeLog.get().getVersion();
+
+        if (expectedVersion != currentVersion) {
+            updateConflictMetrics.conflict("time_log", UpdateConflictMetrics.Reason.STALE);
+            throw new ObjectOptimisticLockingFailureException(TimeLogEntity.class, timeLog.getId());
+        }
+
         timeLog.setUser(user.get());
-        
-        return timeLogRepository.save(timeLog);
+        timeLog.setVersion(currentVersion);
+
+        try {
+            var updated = timeLogRepository.save(timeLog);
+            publish(updated, ProjectEventType.TIME_LOG_UPDATED);
+
+            return updated;
+        } catch (OptimisticLockingFailureException e) {
+            updateConflictMetrics.conflict("time_log", UpdateConflictMetrics.Reason.CONCURRENT);
+            throw e;
+        }
     }
 
     /**
@@ -141,19 +290,30 @@ public class TimeLogService {
      * @param id the unique identifier of the time log to delete
      */
     public void delete(UUID id) {
+        var projectId = timeLogRepository.findProjectIdById(id);
+
         timeLogRepository.deleteById(id);
+        projectId.ifPresent(project -> eventPublisher.publishEvent(new ProjectEventDto(project, ProjectEventType.TIME_LOG_DELETED, id)));
     }
 
     /**
      * Checks if a time log exists and belongs to the current user.
+     * Archived time logs are read-only, so they do not count as existing here.
      *
      * @param id the unique identifier of the time log
      * @param authentication the authentication object containing the current user's information
-     * @return true if the time log exists and belongs to the user, false otherwise
+     * @return true if the time log exists in the hot table and belongs to the user, false otherwise
      */
     public boolean existsByIdAndUser(UUID id, Authentication authentication) {
         Optional<UserEntity> user = userService.getUserByAuthentication(authentication);
 
         return user.filter(userEntity -> timeLogRepository.existsByIdAndUserId(id, userEntity.getId())).isPresent();
     }
+
+    private void publish(TimeLogEntity timeLog, ProjectEventType type) {
+        if (timeLog.getTask() != null) {
+            taskRepository.findProjectIdById(timeLog.getTask().getId())
+                    .ifPresent(projectId -> eventPublisher.publishEvent(new ProjectEventDto(projectId, type, timeLog.getId())));
+        }
+    }
 }
@@ -0,0 +1,49 @@
+package szte.flowboard.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the updates rejected by the optimistic locking in {@code flowboard.update.conflicts}, tagged with the
+ * updated entity and the reason: {@code stale} when the If-Match version of the request is already outdated,
+ * {@code concurrent} when another transaction updated the row between the read and the write of the update.
+ */
+@Component
+public class UpdateConflictMetrics {
+
+    public static final String CONFLICT_COUNTER = "flowboard.update.conflicts";
+
+    /**
+     * Why an update was rejected.
+     */
+    public enum Reason {
+        STALE,
+        CONCURRENT;
+
+        String tag() {
+            return name().toLowerCase();
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    public UpdateConflictMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Records a rejected update.
+     *
+     * @param entity the name of the updated entity, e.g. {@code task}
+     * @param reason why the update was rejected
+     */
+    public void conflict(String entity, Reason reason) {
+        Counter.builder(CONFLICT_COUNTER)
+                .description("Number of updates rejected because the entity has a newer version")
+                .tag("entity", entity)
+                .tag("reason", reason.tag())
+                .register(meterRegistry)
+                .increment();
+    }
+}
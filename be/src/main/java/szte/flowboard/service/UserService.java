@@ -5,12 +5,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import szte.flowboard.dto.KeysetCursor;
+import szte.flowboard.dto.KeysetPage;
+import szte.flowboard.dto.KeysetRequest;
 import szte.flowboard.dto.response.UserResponse;
 import szte.flowboard.entity.UserEntity;
 import szte.flowboard.repository.UserRepository;
-import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Service for managing users.
@@ -37,20 +39,23 @@ public class UserService {
     }
 
     /**
-     * Retrieves all users in the system and converts them to UserResponse DTOs.
+     * Retrieves a page of the users in the system, newest first, and converts them to UserResponse DTOs.
      *
-     * @return a list of UserResponse DTOs for all users
+     * @param page the requested page
+     * @return a page of UserResponse DTOs
      */
-    public List<UserResponse> findAll() {
-        return userRepository.findAll().stream()
+    @Transactional(readOnly = true)
+    public KeysetPage<UserResponse> findAll(KeysetRequest page) {
+        var users = userRepository.findPage(page.after().createdAt(), page.after().id(), page.limit());
+
+        return page.toPage(users, user -> new KeysetCursor(user.getCreatedAt(), user.getId()))
                 .map(user -> new UserResponse(
                         user.getId(),
                         user.getKeycloakId(),
                         user.getFirstName(),
                         user.getLastName(),
                         user.getEmailAddress()
-                ))
-                .collect(Collectors.toList());
+                ));
     }
 
     /**
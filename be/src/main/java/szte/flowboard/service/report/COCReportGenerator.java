@@ -1,11 +1,18 @@
 package szte.flowboard.service.report;
 
+import jakarta.persistence.EntityManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import szte.flowboard.dto.COCReportDto;
 import szte.flowboard.dto.COCReportLineItemDto;
 import szte.flowboard.dto.request.CreateCOCReportRequestDto;
 import szte.flowboard.entity.ProjectEntity;
+import szte.flowboard.entity.StoryPointTimeMappingEntity;
 import szte.flowboard.enums.ProjectType;
+import szte.flowboard.enums.ReportType;
+import szte.flowboard.repository.ArchivedTaskRepository;
+import szte.flowboard.repository.ArchivedTimeLogRepository;
 import szte.flowboard.repository.ProjectUserRepository;
 import szte.flowboard.repository.TaskRepository;
 import szte.flowboard.repository.TimeLogRepository;
@@ -13,33 +20,55 @@ import szte.flowboard.repository.TimeLogRepository;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.stream.Collectors;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 /**
  * Service for generating Certificate of Completion (COC) reports.
  * Creates billing reports for projects, supporting both time-based and story-point-based projects.
  * Calculates net, VAT, and gross prices based on project type and user fees.
+ * Report data is streamed in a read-only transaction, so memory use does not grow with the date range.
+ * The transaction only spans the queries, it is committed before the report is rendered and laid out.
+ * The rows of the archive tables are read as well, so completed projects can still be billed.
  */
 @Service
 public class COCReportGenerator {
 
     private final TimeLogRepository timeLogRepository;
+    private final ArchivedTimeLogRepository archivedTimeLogRepository;
     private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
     private final ProjectUserRepository projectUserRepository;
     private final HTMLGenerator htmlGenerator;
     private final PDFGenerator pdfGenerator;
+    private final ReportMetrics reportMetrics;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
 
     public COCReportGenerator(
             TimeLogRepository timeLogRepository,
+            ArchivedTimeLogRepository archivedTimeLogRepository,
             TaskRepository taskRepository,
+            ArchivedTaskRepository archivedTaskRepository,
             ProjectUserRepository projectUserRepository,
             HTMLGenerator htmlGenerator,
-            PDFGenerator pdfGenerator) {
+            PDFGenerator pdfGenerator,
+            ReportMetrics reportMetrics,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager) {
         this.timeLogRepository = timeLogRepository;
+        this.archivedTimeLogRepository = archivedTimeLogRepository;
         this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
         this.projectUserRepository = projectUserRepository;
         this.htmlGenerator = htmlGenerator;
         this.pdfGenerator = pdfGenerator;
+        this.reportMetrics = reportMetrics;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     /**
@@ -69,18 +98,34 @@ public class COCReportGenerator {
      * @throws IOException if report generation fails
      */
     private byte[] generateTimeBased(CreateCOCReportRequestDto report, ProjectEntity project) throws IOException {
-        var timeLogs = timeLogRepository
-                .findAllByTaskProjectIdAndLogDateBetween(
-                        report.getProjectId(),
-                        report.getStartDate(),
-                        report.getEndDate());
-        var userTimeLogs = timeLogs.stream()
-                .collect(Collectors.groupingBy(t -> t.getUser().getId()));
+        var cocLineItems = reportMetrics.observeStage(ReportType.COC, project.getType(), ReportMetrics.Stage.QUERY,
+                () -> readOnlyTransaction.execute(status -> timeBasedLineItems(report)));
+
+        var cocReport = new COCReportDto(
+                report.getStartDate(),
+                report.getEndDate(),
+                LocalDateTime.now(),
+                project.getCustomer(),
+                project.getContractor(),
+                cocLineItems,
+                report.getDescription());
+
+        return render(cocReport, project.getType());
+    }
 
+    /**
+     * Sums the logged time of the reported period per user and creates a billing line for each project member
+     * with their fee, followed by a summary line.
+     *
+     * @param report the COC report request containing project and date range
+     * @return the billing lines including the summary line
+     */
+    private List<COCReportLineItemDto> timeBasedLineItems(CreateCOCReportRequestDto report) {
+        var userMinutes = sumLoggedMinutesByUser(report);
         var cocSummary = new COCReportLineItemDto("Összesen", null, null, 0.0, 0.0, 0.0, null);
         var cocLineItems = new ArrayList<COCReportLineItemDto>();
 
-        for (var entry : userTimeLogs.entrySet()) {
+        for (var entry : userMinutes.entrySet()) {
             var projectUser = projectUserRepository
                     .findByUserIdAndProjectId(entry.getKey(), report.getProjectId());
 
@@ -88,8 +133,7 @@ public class COCReportGenerator {
                 continue;
             }
 
-            var timeLog = entry.getValue();
-            var hours = timeLog.stream().mapToDouble(t -> t.getLoggedTime().toMinutes()).sum() / 60.0;
+            var hours = entry.getValue() / 60.0;
             var unitPrice = projectUser.get().getFee();
             var netPrice = unitPrice * hours;
             var grossPrice = netPrice * 1.27;
@@ -108,6 +152,22 @@ public class COCReportGenerator {
 
         cocLineItems.add(cocSummary);
 
+        return cocLineItems;
+    }
+
+    /**
+     * Generates a COC report for a story-point-based project.
+     * Calculates billing based on completed tasks' story points and the project's story point fee.
+     *
+     * @param report the COC report request containing project and date range
+     * @param project the story-point-based project entity
+     * @return the PDF as a byte array
+     * @throws IOException if report generation fails
+     */
+    private byte[] generateStoryBased(CreateCOCReportRequestDto report, ProjectEntity project) throws IOException {
+        var cocLineItems = reportMetrics.observeStage(ReportType.COC, project.getType(), ReportMetrics.Stage.QUERY,
+                () -> readOnlyTransaction.execute(status -> storyPointLineItems(report, project.getStoryPointFee())));
+
         var cocReport = new COCReportDto(
                 report.getStartDate(),
                 report.getEndDate(),
@@ -117,62 +177,107 @@ public class COCReportGenerator {
                 cocLineItems,
                 report.getDescription());
 
-        var html = htmlGenerator.generateFromCOC(cocReport);
-        return pdfGenerator.generatePdf(html);
+        return render(cocReport, project.getType());
     }
 
     /**
-     * Generates a COC report for a story-point-based project.
-     * Calculates billing based on completed tasks' story points and the project's story point fee.
+     * Renders the COC report to HTML and lays it out as a PDF.
      *
-     * @param report the COC report request containing project and date range
-     * @param project the story-point-based project entity
+     * @param cocReport the assembled COC report
+     * @param projectType the type of the reported project
      * @return the PDF as a byte array
      * @throws IOException if report generation fails
      */
-    private byte[] generateStoryBased(CreateCOCReportRequestDto report, ProjectEntity project) throws IOException {
-        var tasks = taskRepository
-                .findByProjectIdAndFinishedAtBetween(
+    private byte[] render(COCReportDto cocReport, ProjectType projectType) throws IOException {
+        var html = reportMetrics.observeStage(ReportType.COC, projectType, ReportMetrics.Stage.RENDER,
+                () -> htmlGenerator.generateFromCOC(cocReport));
+
+        return reportMetrics.observeStage(ReportType.COC, projectType, ReportMetrics.Stage.LAYOUT,
+                () -> pdfGenerator.generatePdf(html));
+    }
+
+    /**
+     * Streams the time logs of the reported period and sums the logged minutes per user.
+     *
+     * @param report the COC report request containing project and date range
+     * @return the logged minutes keyed by user ID, in the order the users first appear
+     */
+    private Map<UUID, Long> sumLoggedMinutesByUser(CreateCOCReportRequestDto report) {
+        var userMinutes = new LinkedHashMap<UUID, Long>();
+
+        StreamingReads.forEach(
+                timeLogRepository.streamAllByTaskProjectIdAndLogDateBetween(
+                        report.getProjectId(),
+                        report.getStartDate(),
+                        report.getEndDate()),
+                entityManager,
+                t -> userMinutes.merge(t.getUser().getId(), t.getLoggedTime().toMinutes(), Long::sum));
+
+        StreamingReads.forEach(
+                archivedTimeLogRepository.streamAllByTaskProjectIdAndLogDateBetween(
                         report.getProjectId(),
-                        report.getStartDate().atStartOfDay(),
-                        report.getEndDate().atStartOfDay().plusDays(1).minusSeconds(1));
+                        report.getStartDate(),
+                        report.getEndDate()),
+                entityManager,
+                t -> userMinutes.merge(t.getUser().getId(), t.getLoggedTime().toMinutes(), Long::sum));
+
+        return userMinutes;
+    }
 
+    /**
+     * Streams the tasks finished in the reported period and creates a billing line for each, followed by a summary line.
+     *
+     * @param report the COC report request containing project and date range
+     * @param unitPrice the story point fee of the project
+     * @return the billing lines including the summary line
+     */
+    private List<COCReportLineItemDto> storyPointLineItems(CreateCOCReportRequestDto report, Double unitPrice) {
         var cocSummary = new COCReportLineItemDto("Összesen", null, null, 0.0, 0.0, 0.0, null);
         var cocLineItems = new ArrayList<COCReportLineItemDto>();
-        var unitPrice = project.getStoryPointFee();
+        var start = report.getStartDate().atStartOfDay();
+        var end = report.getEndDate().atStartOfDay().plusDays(1).minusSeconds(1);
 
-        for (var entry : tasks) {
-            var storyPoints = entry.getStoryPointMapping().getStoryPoints();
-            var netPrice = unitPrice * storyPoints;
-            var grossPrice = netPrice * 1.27;
-            var vatPrice = grossPrice - netPrice;
-
-            var result = new COCReportLineItemDto(
-                    entry.getName(),
-                    storyPoints.doubleValue(),
-                    "story pont",
-                    netPrice,
-                    vatPrice,
-                    grossPrice,
-                    unitPrice);
+        StreamingReads.forEach(
+                taskRepository.streamAllByProjectIdAndFinishedAtBetween(report.getProjectId(), start, end),
+                entityManager,
+                entry -> addStoryPointLineItem(entry.getName(), entry.getStoryPointMapping(), unitPrice, cocSummary, cocLineItems));
 
-            cocSummary.summarize(result);
-            cocLineItems.add(result);
-        }
+        StreamingReads.forEach(
+                archivedTaskRepository.streamAllByProjectIdAndFinishedAtBetween(report.getProjectId(), start, end),
+                entityManager,
+                entry -> addStoryPointLineItem(entry.getName(), entry.getStoryPointMapping(), unitPrice, cocSummary, cocLineItems));
 
         cocLineItems.add(cocSummary);
 
-        var cocReport = new COCReportDto(
-                report.getStartDate(),
-                report.getEndDate(),
-                LocalDateTime.now(),
-                project.getCustomer(),
-                project.getContractor(),
-                cocLineItems,
-                report.getDescription());
+        return cocLineItems;
+    }
 
-        var html = htmlGenerator.generateFromCOC(cocReport);
-        return pdfGenerator.generatePdf(html);
+    /**
+     * Creates the billing line of a finished task and adds it to the lines and the summary.
+     *
+     * @param taskName the name of the task
+     * @param storyPointMapping the story point mapping of the task
+     * @param unitPrice the story point fee of the project
+     * @param cocSummary the summary line
+     * @param cocLineItems the billing lines
+     */
+    private static void addStoryPointLineItem(String taskName, StoryPointTimeMappingEntity storyPointMapping, Double unitPrice,
+                                              COCReportLineItemDto cocSummary, List<COCReportLineItemDto> cocLineItems) {
+        var storyPoints = storyPointMapping.getStoryPoints();
+        var netPrice = unitPrice * storyPoints;
+        var grossPrice = netPrice * 1.27;
+        var vatPrice = grossPrice - netPrice;
+
+        var result = new COCReportLineItemDto(
+                taskName,
+                storyPoints.doubleValue(),
+                "story pont",
+                netPrice,
+                vatPrice,
+                grossPrice,
+                unitPrice);
+
+        cocSummary.summarize(result);
+        cocLineItems.add(result);
     }
 }
-
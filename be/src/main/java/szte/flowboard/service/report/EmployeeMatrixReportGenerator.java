@@ -1,14 +1,20 @@
 package szte.flowboard.service.report;
 
+import jakarta.persistence.EntityManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import szte.flowboard.dto.request.CreateEmployeeMatrixReportRequestDto;
 import szte.flowboard.entity.ProjectEntity;
-import szte.flowboard.entity.TimeLogEntity;
+import szte.flowboard.entity.UserEntity;
+import szte.flowboard.enums.ReportType;
+import szte.flowboard.repository.ArchivedTimeLogRepository;
 import szte.flowboard.repository.ProjectRepository;
 import szte.flowboard.repository.TimeLogRepository;
 import szte.flowboard.enums.UserRole;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -16,24 +22,40 @@ import java.util.stream.Collectors;
  * Service for generating employee matrix reports.
  * Creates a matrix showing time logged by employees across projects managed by the user.
  * Only includes projects where the user has MAINTAINER role.
+ * Time logs are streamed and summed per project and user, so memory use does not grow with the number of time logs.
+ * The queries run in a read-only transaction that is committed before the report is rendered and laid out.
+ * The archived time logs are summed as well.
  */
 @Service
 public class EmployeeMatrixReportGenerator {
 
     private final TimeLogRepository timeLogRepository;
+    private final ArchivedTimeLogRepository archivedTimeLogRepository;
     private final ProjectRepository projectRepository;
     private final HTMLGenerator htmlGenerator;
     private final PDFGenerator pdfGenerator;
+    private final ReportMetrics reportMetrics;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
 
     public EmployeeMatrixReportGenerator(
             TimeLogRepository timeLogRepository,
+            ArchivedTimeLogRepository archivedTimeLogRepository,
             ProjectRepository projectRepository,
             HTMLGenerator htmlGenerator,
-            PDFGenerator pdfGenerator) {
+            PDFGenerator pdfGenerator,
+            ReportMetrics reportMetrics,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager) {
         this.timeLogRepository = timeLogRepository;
+        this.archivedTimeLogRepository = archivedTimeLogRepository;
         this.projectRepository = projectRepository;
         this.htmlGenerator = htmlGenerator;
         this.pdfGenerator = pdfGenerator;
+        this.reportMetrics = reportMetrics;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     /**
@@ -46,6 +68,28 @@ public class EmployeeMatrixReportGenerator {
      * @throws IOException if report generation fails
      */
     public byte[] generate(CreateEmployeeMatrixReportRequestDto report, UUID userId) throws IOException {
+        var result = reportMetrics.observeStage(ReportType.EMPLOYEE_MATRIX, null, ReportMetrics.Stage.QUERY,
+                () -> readOnlyTransaction.execute(status -> loadMatrix(report, userId)));
+
+        if (result == null) {
+            return null;
+        }
+
+        var html = reportMetrics.observeStage(ReportType.EMPLOYEE_MATRIX, null, ReportMetrics.Stage.RENDER,
+                () -> htmlGenerator.generateFromMatrix(result));
+
+        return reportMetrics.observeStage(ReportType.EMPLOYEE_MATRIX, null, ReportMetrics.Stage.LAYOUT,
+                () -> pdfGenerator.generatePdf(html));
+    }
+
+    /**
+     * Loads the projects the user maintains, streams their time logs of the reported period and builds the matrix.
+     *
+     * @param report the employee matrix report request containing date range
+     * @param userId the unique identifier of the user generating the report
+     * @return the employee matrix, or null if user has no projects with MAINTAINER role
+     */
+    private ArrayList<ArrayList<String>> loadMatrix(CreateEmployeeMatrixReportRequestDto report, UUID userId) {
         var optionalProjects = projectRepository
                 .findAllByProjectUsersUserIdAndProjectUsersRole(userId, UserRole.MAINTAINER);
 
@@ -56,13 +100,53 @@ public class EmployeeMatrixReportGenerator {
         var projectIds = optionalProjects.stream()
                 .map(ProjectEntity::getId)
                 .collect(Collectors.toSet());
-        var timeLogs = timeLogRepository
-                .findByTaskProjectIdInAndLogDateBetween(projectIds, report.getStartDate(), report.getEndDate());
-        var projectTimeLogs = timeLogs.stream()
-                .collect(Collectors.groupingBy(t -> t.getTask().getProject().getId()));
-        var users = timeLogs.stream()
-                .map(TimeLogEntity::getUser)
-                .distinct().toList();
+        var projectUserMinutes = new HashMap<UUID, Map<UUID, Long>>();
+        var users = new LinkedHashMap<UUID, String>();
+
+        StreamingReads.forEach(
+                timeLogRepository.streamAllByTaskProjectIdInAndLogDateBetween(projectIds, report.getStartDate(), report.getEndDate()),
+                entityManager,
+                t -> addMinutes(t.getUser(), t.getTask().getProject().getId(), t.getLoggedTime(), users, projectUserMinutes));
+        StreamingReads.forEach(
+                archivedTimeLogRepository.streamAllByTaskProjectIdInAndLogDateBetween(projectIds, report.getStartDate(), report.getEndDate()),
+                entityManager,
+                t -> addMinutes(t.getUser(), t.getTask().getProject().getId(), t.getLoggedTime(), users, projectUserMinutes));
+
+        return buildMatrix(optionalProjects, projectIds, users, projectUserMinutes);
+    }
+
+    /**
+     * Adds the logged time of a time log to the minutes of its user in its project.
+     *
+     * @param user the user who logged the time
+     * @param projectId the unique identifier of the project of the task
+     * @param loggedTime the logged time
+     * @param users the names of the users who logged time, in row order
+     * @param projectUserMinutes the logged minutes per project and user
+     */
+    private static void addMinutes(UserEntity user, UUID projectId, Duration loggedTime, Map<UUID, String> users,
+                                   Map<UUID, Map<UUID, Long>> projectUserMinutes) {
+        users.putIfAbsent(user.getId(), user.getFullName());
+        projectUserMinutes.computeIfAbsent(projectId, id -> new HashMap<>())
+                .merge(user.getId(), loggedTime.toMinutes(), Long::sum);
+    }
+
+    /**
+     * Builds the employee matrix from the minutes summed per project and user.
+     * The matrix is column-major: a name column, one column per project and a sum column, each with a header cell,
+     * a cell per user and a total cell.
+     *
+     * @param projects the projects the user maintains
+     * @param projectIds the identifiers of the projects, in column order
+     * @param users the names of the users who logged time, in row order
+     * @param projectUserMinutes the logged minutes per project and user
+     * @return the employee matrix
+     */
+    static ArrayList<ArrayList<String>> buildMatrix(
+            List<ProjectEntity> projects,
+            Set<UUID> projectIds,
+            Map<UUID, String> users,
+            Map<UUID, Map<UUID, Long>> projectUserMinutes) {
         var result = new ArrayList<ArrayList<String>>();
         var userHours = new HashMap<UUID, Double>();
 
@@ -72,17 +156,15 @@ public class EmployeeMatrixReportGenerator {
             }
         };
 
-        for (var projectUser : users) {
-            nameColumn.add(projectUser.getFullName());
-        }
+        nameColumn.addAll(users.values());
 
         nameColumn.add("Összesen");
         result.add(nameColumn);
 
         for (var projectId : projectIds) {
-            var entry = projectTimeLogs.get(projectId);
+            var userMinutes = projectUserMinutes.getOrDefault(projectId, Map.of());
             var projectColumn = new ArrayList<String>();
-            var project = optionalProjects.stream()
+            var project = projects.stream()
                     .filter(p -> p.getId().equals(projectId))
                     .findFirst();
 
@@ -94,19 +176,11 @@ public class EmployeeMatrixReportGenerator {
 
             var projectHours = 0.0;
 
-            for (var projectUser : users) {
-                Double hours;
-
-                if (entry == null || entry.isEmpty()) {
-                    hours = 0.0;
-                } else {
-                    hours = entry.stream()
-                            .filter(t -> t.getUser().getId() == projectUser.getId())
-                            .mapToDouble(t -> t.getLoggedTime().toMinutes()).sum() / 60.0;
-                }
+            for (var projectUserId : users.keySet()) {
+                var hours = userMinutes.getOrDefault(projectUserId, 0L) / 60.0;
 
-                var userHour = userHours.getOrDefault(projectUser.getId(), 0.0);
-                userHours.put(projectUser.getId(), userHour + hours);
+                var userHour = userHours.getOrDefault(projectUserId, 0.0);
+                userHours.put(projectUserId, userHour + hours);
                 projectHours += hours;
 
                 if (hours == 0) {
@@ -132,8 +206,8 @@ public class EmployeeMatrixReportGenerator {
         };
         var sumTotal = 0.0;
 
-        for (var projectUser : users) {
-            var userHour = userHours.getOrDefault(projectUser.getId(), 0.0);
+        for (var projectUserId : users.keySet()) {
+            var userHour = userHours.getOrDefault(projectUserId, 0.0);
 
             if (userHour == 0) {
                 sumColumn.add("-");
@@ -152,8 +226,6 @@ public class EmployeeMatrixReportGenerator {
 
         result.add(sumColumn);
 
-        var html = htmlGenerator.generateFromMatrix(result);
-        return pdfGenerator.generatePdf(html);
+        return result;
     }
 }
-
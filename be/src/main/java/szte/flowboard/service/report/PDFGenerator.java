@@ -1,29 +1,59 @@
 package szte.flowboard.service.report;
 
-import com.openhtmltopdf.extend.FSSupplier;
+import com.openhtmltopdf.outputdevice.helper.BaseRendererBuilder;
 import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
+import org.apache.pdfbox.filter.Filter;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
-import org.springframework.util.ResourceUtils;
+import szte.flowboard.configuration.ReportProperties;
 
+import java.awt.color.ColorSpace;
+import java.awt.color.ICC_Profile;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
+import java.io.UncheckedIOException;
 
 /**
  * Service for generating PDF documents from HTML content.
  * Uses OpenHTMLToPDF library to convert HTML strings to PDF byte arrays.
  * Includes PT Mono font for proper character rendering.
+ * Only the glyphs used by a document are embedded from the font, content streams are deflated at the level
+ * set once when the application starts, and documents can optionally be produced in PDF/A-2u conformance for archival.
  */
 @Service
 public class PDFGenerator {
 
+    /**
+     * The deflate level of the content streams of the reports.
+     */
+    public static final int DEFLATE_LEVEL = 9;
+
+    private static final String FONT_FAMILY = "PT Mono";
+
+    private final byte[] font;
+    private final boolean pdfA;
+
+    public PDFGenerator(ReportProperties reportProperties) {
+        this.font = loadFont();
+        this.pdfA = reportProperties.getPdf().isPdfA();
+    }
+
+    /**
+     * Sets the deflate level of the reports for the whole JVM, unless a -D option to the JVM already set it.
+     * PDFBox reads the level of its Flate filter from this system property, it has no per document setting, so it is
+     * set once before anything renders.
+     */
+    public static void configureDeflateLevel() {
+        if (System.getProperty(Filter.SYSPROP_DEFLATELEVEL) == null) {
+            System.setProperty(Filter.SYSPROP_DEFLATELEVEL, String.valueOf(DEFLATE_LEVEL));
+        }
+    }
+
     /**
      * Generates a PDF document from HTML content.
-     * Loads the PT Mono font from classpath resources and embeds it in the PDF.
+     * Embeds the subset of the PT Mono font used by the document.
      *
      * @param html the HTML content to convert to PDF
      * @return the PDF as a byte array
@@ -34,16 +64,13 @@ public class PDFGenerator {
             ByteArrayOutputStream os = new ByteArrayOutputStream();
             PdfRendererBuilder builder = new PdfRendererBuilder();
             builder.withHtmlContent(html, null);
+            builder.useFont(this::openFont, FONT_FAMILY, 400, BaseRendererBuilder.FontStyle.NORMAL, true);
 
-            FSSupplier<InputStream> fontSupplier = () -> {
-                try {
-                    return new ClassPathResource("fonts/PTMono-Regular.ttf").getInputStream();
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
-            };
+            if (pdfA) {
+                builder.usePdfAConformance(PdfRendererBuilder.PdfAConformance.PDFA_2_U);
+                builder.useColorProfile(ICC_Profile.getInstance(ColorSpace.CS_sRGB).getData());
+            }
 
-            builder.useFont(fontSupplier, "PT Mono");
             builder.toStream(os);
             builder.run();
 
@@ -52,5 +79,21 @@ public class PDFGenerator {
             throw new RuntimeException("Error generating PDF from report", e);
         }
     }
-}
 
+    private InputStream openFont() {
+        return new ByteArrayInputStream(font);
+    }
+
+    /**
+     * Reads the PT Mono font from the classpath once, so it is not re-read for every document.
+     *
+     * @return the font file contents
+     */
+    private static byte[] loadFont() {
+        try (var stream = new ClassPathResource("fonts/PTMono-Regular.ttf").getInputStream()) {
+            return stream.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the report font", e);
+        }
+    }
+}
@@ -1,35 +1,69 @@
 package szte.flowboard.service.report;
 
+import jakarta.persistence.EntityManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import szte.flowboard.dto.ProjectActivityReportDto;
 import szte.flowboard.dto.ProjectActivityReportLineItemDto;
 import szte.flowboard.dto.request.CreateProjectActivityReportRequestDto;
 import szte.flowboard.entity.ProjectEntity;
+import szte.flowboard.enums.ReportType;
+import szte.flowboard.entity.StoryPointTimeMappingEntity;
+import szte.flowboard.repository.ArchivedTaskRepository;
+import szte.flowboard.repository.ArchivedTimeLogRepository;
 import szte.flowboard.repository.TaskRepository;
+import szte.flowboard.repository.TimeLogRepository;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 /**
  * Service for generating project activity reports.
  * Creates a report showing task completion activity for a specific project,
  * including time spent, estimated time, and deviation.
+ * Report data is streamed in a read-only transaction, so memory use does not grow with the date range.
+ * The transaction only spans the queries, it is committed before the report is rendered and laid out.
+ * The rows of the archive tables are read as well, so the activity of archived projects stays reportable.
  */
 @Service
 public class ProjectActivityReportGenerator {
 
     private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TimeLogRepository timeLogRepository;
+    private final ArchivedTimeLogRepository archivedTimeLogRepository;
     private final HTMLGenerator htmlGenerator;
     private final PDFGenerator pdfGenerator;
+    private final ReportMetrics reportMetrics;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
 
     public ProjectActivityReportGenerator(
             TaskRepository taskRepository,
+            ArchivedTaskRepository archivedTaskRepository,
+            TimeLogRepository timeLogRepository,
+            ArchivedTimeLogRepository archivedTimeLogRepository,
             HTMLGenerator htmlGenerator,
-            PDFGenerator pdfGenerator) {
+            PDFGenerator pdfGenerator,
+            ReportMetrics reportMetrics,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager) {
         this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.timeLogRepository = timeLogRepository;
+        this.archivedTimeLogRepository = archivedTimeLogRepository;
         this.htmlGenerator = htmlGenerator;
         this.pdfGenerator = pdfGenerator;
+        this.reportMetrics = reportMetrics;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     /**
@@ -42,43 +76,89 @@ public class ProjectActivityReportGenerator {
      * @throws IOException if report generation fails
      */
     public byte[] generate(CreateProjectActivityReportRequestDto report, ProjectEntity project) throws IOException {
-        var finishedTasks = taskRepository
-                .findByProjectIdAndFinishedAtBetween(
-                        report.getProjectId(),
-                        report.getStartDate().atStartOfDay(),
-                        report.getEndDate().atStartOfDay().plusDays(1).minusSeconds(1));
+        var projectActivityLineItems = reportMetrics.observeStage(ReportType.PROJECT_ACTIVITY, project.getType(), ReportMetrics.Stage.QUERY,
+                () -> readOnlyTransaction.execute(status -> activityLineItems(report)));
+
+        var activityReport = new ProjectActivityReportDto(
+                project.getName(),
+                report.getStartDate(),
+                report.getEndDate(),
+                LocalDateTime.now(),
+                projectActivityLineItems);
+
+        var html = reportMetrics.observeStage(ReportType.PROJECT_ACTIVITY, project.getType(), ReportMetrics.Stage.RENDER,
+                () -> htmlGenerator.generateFromProjectActivity(activityReport));
+
+        return reportMetrics.observeStage(ReportType.PROJECT_ACTIVITY, project.getType(), ReportMetrics.Stage.LAYOUT,
+                () -> pdfGenerator.generatePdf(html));
+    }
+
+    /**
+     * Streams the tasks finished in the reported period and creates an activity line for each, followed by a summary line.
+     * The time spent on the tasks is summed from a separate time log stream, so the time log collections of the tasks are never loaded.
+     *
+     * @param report the project activity report request containing project and date range
+     * @return the activity lines including the summary line
+     */
+    private List<ProjectActivityReportLineItemDto> activityLineItems(CreateProjectActivityReportRequestDto report) {
+        var start = report.getStartDate().atStartOfDay();
+        var end = report.getEndDate().atStartOfDay().plusDays(1).minusSeconds(1);
+        var spentMinutes = new HashMap<UUID, Long>();
+
+        StreamingReads.forEach(
+                timeLogRepository.streamAllByTaskProjectIdAndTaskFinishedAtBetween(report.getProjectId(), start, end),
+                entityManager,
+                t -> spentMinutes.merge(t.getTask().getId(), t.getLoggedTime().toMinutes(), Long::sum));
+
+        StreamingReads.forEach(
+                archivedTimeLogRepository.streamAllByTaskProjectIdAndTaskFinishedAtBetween(report.getProjectId(), start, end),
+                entityManager,
+                t -> spentMinutes.merge(t.getTask().getId(), t.getLoggedTime().toMinutes(), Long::sum));
 
         var projectActivitySummary = new ProjectActivityReportLineItemDto("Összesen", 0L, 0L, 0L);
         var projectActivityLineItems = new ArrayList<ProjectActivityReportLineItemDto>();
 
-        for (var entry : finishedTasks) {
-            var spentHours = entry.getTimeLogs()
-                    .stream()
-                    .mapToLong(t -> t.getLoggedTime().toMinutes())
-                    .sum();
-            var estimatedHours = entry.getStoryPointMapping()
-                    .getTimeValue()
-                    .toMinutes();
-            var deviation = spentHours - estimatedHours;
+        StreamingReads.forEach(
+                taskRepository.streamAllByProjectIdAndFinishedAtBetween(report.getProjectId(), start, end),
+                entityManager,
+                entry -> addActivityLineItem(entry.getId(), entry.getName(), entry.getStoryPointMapping(),
+                        spentMinutes, projectActivitySummary, projectActivityLineItems));
 
-            var line = new ProjectActivityReportLineItemDto(entry.getName(), spentHours, estimatedHours, deviation);
+        StreamingReads.forEach(
+                archivedTaskRepository.streamAllByProjectIdAndFinishedAtBetween(report.getProjectId(), start, end),
+                entityManager,
+                entry -> addActivityLineItem(entry.getId(), entry.getName(), entry.getStoryPointMapping(),
+                        spentMinutes, projectActivitySummary, projectActivityLineItems));
 
-            projectActivitySummary.summarize(line);
+        projectActivityLineItems.add(projectActivitySummary);
 
-            projectActivityLineItems.add(line);
-        }
+        return projectActivityLineItems;
+    }
 
-        projectActivityLineItems.add(projectActivitySummary);
+    /**
+     * Creates the activity line of a finished task and adds it to the lines and the summary.
+     *
+     * @param taskId the unique identifier of the task
+     * @param taskName the name of the task
+     * @param storyPointMapping the story point mapping of the task
+     * @param spentMinutes the logged minutes per task
+     * @param projectActivitySummary the summary line
+     * @param projectActivityLineItems the activity lines
+     */
+    private static void addActivityLineItem(UUID taskId, String taskName, StoryPointTimeMappingEntity storyPointMapping,
+                                            Map<UUID, Long> spentMinutes,
+                                            ProjectActivityReportLineItemDto projectActivitySummary,
+                                            List<ProjectActivityReportLineItemDto> projectActivityLineItems) {
+        var spentHours = spentMinutes.getOrDefault(taskId, 0L);
+        var estimatedHours = storyPointMapping
+                .getTimeValue()
+                .toMinutes();
+        var deviation = spentHours - estimatedHours;
 
-        var activityReport = new ProjectActivityReportDto(
-                project.getName(),
-                report.getStartDate(),
-                report.getEndDate(),
-                LocalDateTime.now(),
-                projectActivityLineItems);
+        var line = new ProjectActivityReportLineItemDto(taskName, spentHours, estimatedHours, deviation);
+
+        projectActivitySummary.summarize(line);
 
-        var html = htmlGenerator.generateFromProjectActivity(activityReport);
-        return pdfGenerator.generatePdf(html);
+        projectActivityLineItems.add(line);
     }
 }
-
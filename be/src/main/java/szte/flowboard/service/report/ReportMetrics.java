@@ -0,0 +1,165 @@
+package szte.flowboard.service.report;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.stereotype.Component;
+import szte.flowboard.enums.ProjectType;
+import szte.flowboard.enums.ReportType;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Instrumentation for the report generation pipeline.
+ * Every report is wrapped in a {@code flowboard.report} observation and each of its stages
+ * (data query, HTML rendering, PDF layout, storage upload) in a nested {@code flowboard.report.stage}
+ * observation, so the stages of one report share a parent. Observations are turned into timers by the
+ * actuator's observation handler; failures and output sizes are recorded as separate meters.
+ * All meters are tagged with the report type and the project type.
+ * The first report of each type after startup is additionally recorded in {@code flowboard.report.first},
+ * tagged with whether the startup warm-up ran, to measure the effect of the warm-up on first-request latency.
+ */
+@Component
+public class ReportMetrics {
+
+    public static final String REPORT_OBSERVATION = "flowboard.report";
+    public static final String STAGE_OBSERVATION = "flowboard.report.stage";
+    public static final String ERROR_COUNTER = "flowboard.report.errors";
+    public static final String SIZE_SUMMARY = "flowboard.report.size";
+    public static final String FIRST_REPORT_TIMER = "flowboard.report.first";
+
+    private static final String NO_PROJECT_TYPE = "none";
+
+    /**
+     * The instrumented stages of a report.
+     */
+    public enum Stage {
+        QUERY,
+        RENDER,
+        LAYOUT,
+        UPLOAD;
+
+        String tag() {
+            return name().toLowerCase();
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+    private final Set<ReportType> observedReportTypes = ConcurrentHashMap.newKeySet();
+    private volatile boolean warmedUp;
+
+    public ReportMetrics(MeterRegistry meterRegistry, ObservationRegistry observationRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.observationRegistry = observationRegistry;
+    }
+
+    /**
+     * Observes the generation of a whole report. Stages observed inside the callable become children of this observation.
+     *
+     * @param reportType the type of the report
+     * @param projectType the type of the project, or null if the report is not bound to a single project
+     * @param callable the work producing the report
+     * @return the result of the callable
+     * @throws IOException if the callable fails with an I/O error
+     */
+    public <T> T observeReport(ReportType reportType, ProjectType projectType,
+                               Observation.CheckedCallable<T, IOException> callable) throws IOException {
+        var observation = Observation.createNotStarted(REPORT_OBSERVATION, observationRegistry)
+                .contextualName("report " + reportType.name().toLowerCase())
+                .lowCardinalityKeyValue("report.type", reportType.name())
+                .lowCardinalityKeyValue("project.type", projectTypeTag(projectType));
+
+        var first = observedReportTypes.add(reportType);
+        var start = System.nanoTime();
+
+        try {
+            return observe(observation, reportType, projectType, "total", callable);
+        } finally {
+            if (first) {
+                Timer.builder(FIRST_REPORT_TIMER)
+                        .description("Duration of the first report of a type after startup")
+                        .tag("report.type", reportType.name())
+                        .tag("warmup", String.valueOf(warmedUp))
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Observes a single stage of a report.
+     *
+     * @param reportType the type of the report
+     * @param projectType the type of the project, or null if the report is not bound to a single project
+     * @param stage the stage being executed
+     * @param callable the work of the stage
+     * @return the result of the callable
+     * @throws IOException if the callable fails with an I/O error
+     */
+    public <T> T observeStage(ReportType reportType, ProjectType projectType, Stage stage,
+                              Observation.CheckedCallable<T, IOException> callable) throws IOException {
+        var observation = Observation.createNotStarted(STAGE_OBSERVATION, observationRegistry)
+                .contextualName("report " + reportType.name().toLowerCase() + " " + stage.tag())
+                .lowCardinalityKeyValue("report.type", reportType.name())
+                .lowCardinalityKeyValue("project.type", projectTypeTag(projectType))
+                .lowCardinalityKeyValue("stage", stage.tag());
+
+        return observe(observation, reportType, projectType, stage.tag(), callable);
+    }
+
+    /**
+     * Marks that the startup warm-up has rendered every report type.
+     */
+    public void markWarmedUp() {
+        warmedUp = true;
+    }
+
+    /**
+     * Records the size of a generated report document.
+     *
+     * @param reportType the type of the report
+     * @param projectType the type of the project, or null if the report is not bound to a single project
+     * @param data the generated document, ignored if null
+     */
+    public void recordSize(ReportType reportType, ProjectType projectType, byte[] data) {
+        if (data == null) {
+            return;
+        }
+
+        DistributionSummary.builder(SIZE_SUMMARY)
+                .description("Size of the generated report documents")
+                .baseUnit("bytes")
+                .tag("report.type", reportType.name())
+                .tag("project.type", projectTypeTag(projectType))
+                .register(meterRegistry)
+                .record(data.length);
+    }
+
+    private <T> T observe(Observation observation, ReportType reportType, ProjectType projectType, String stage,
+                          Observation.CheckedCallable<T, IOException> callable) throws IOException {
+        try {
+            return observation.observeChecked(callable);
+        } catch (IOException | RuntimeException e) {
+            Counter.builder(ERROR_COUNTER)
+                    .description("Number of failed report stages")
+                    .tag("report.type", reportType.name())
+                    .tag("project.type", projectTypeTag(projectType))
+                    .tag("stage", stage)
+                    .tag("exception", e.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .increment();
+            throw e;
+        }
+    }
+
+    private static String projectTypeTag(ProjectType projectType) {
+        return projectType == null ? NO_PROJECT_TYPE : projectType.name();
+    }
+}
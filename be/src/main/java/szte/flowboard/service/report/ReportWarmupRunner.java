@@ -0,0 +1,134 @@
+package szte.flowboard.service.report;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import szte.flowboard.configuration.ReportProperties;
+import szte.flowboard.enums.ReportType;
+import szte.flowboard.enums.UserRole;
+import szte.flowboard.repository.ProjectRepository;
+import szte.flowboard.repository.ProjectUserRepository;
+import szte.flowboard.repository.TaskRepository;
+import szte.flowboard.repository.TimeLogRepository;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms up the report path at startup, before the application reports readiness.
+ * Application runners complete before the readiness state switches to accepting traffic, so the first
+ * real report does not pay for class loading, font parsing, Mustache compilation, interpreted PDF layout
+ * and Hibernate query plan compilation. Synthetic reports of every type are rendered in memory only;
+ * nothing is written to the report storage. Enabled with {@code flowboard.report.warmup.enabled}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "flowboard.report.warmup", name = "enabled", havingValue = "true")
+public class ReportWarmupRunner implements ApplicationRunner {
+
+    public static final String WARMUP_TIMER = "flowboard.report.warmup";
+
+    private final TimeLogRepository timeLogRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectUserRepository projectUserRepository;
+    private final HTMLGenerator htmlGenerator;
+    private final PDFGenerator pdfGenerator;
+    private final ReportMetrics reportMetrics;
+    private final MeterRegistry meterRegistry;
+    private final ReportProperties reportProperties;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ReportWarmupRunner(
+            TimeLogRepository timeLogRepository,
+            TaskRepository taskRepository,
+            ProjectRepository projectRepository,
+            ProjectUserRepository projectUserRepository,
+            HTMLGenerator htmlGenerator,
+            PDFGenerator pdfGenerator,
+            ReportMetrics reportMetrics,
+            MeterRegistry meterRegistry,
+            ReportProperties reportProperties,
+            PlatformTransactionManager transactionManager) {
+        this.timeLogRepository = timeLogRepository;
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.projectUserRepository = projectUserRepository;
+        this.htmlGenerator = htmlGenerator;
+        this.pdfGenerator = pdfGenerator;
+        this.reportMetrics = reportMetrics;
+        this.meterRegistry = meterRegistry;
+        this.reportProperties = reportProperties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        var start = System.nanoTime();
+
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> warmUpQueries());
+
+            for (int i = 0; i < reportProperties.getWarmup().getIterations(); i++) {
+                warmUp(ReportType.COC, () -> htmlGenerator.generateFromCOC(SyntheticReportData.coc(20)));
+                warmUp(ReportType.PROJECT_ACTIVITY, () -> htmlGenerator.generateFromProjectActivity(SyntheticReportData.projectActivity(20)));
+                warmUp(ReportType.EMPLOYEE_MATRIX, () -> htmlGenerator.generateFromMatrix(SyntheticReportData.employeeMatrix(5, 20)));
+            }
+
+            reportMetrics.markWarmedUp();
+            log.info("Report warm-up finished in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception e) {
+            log.warn("Report warm-up failed, continuing without it", e);
+        }
+    }
+
+    /**
+     * Runs the report data queries once with identifiers that match nothing, so their query plans are compiled.
+     */
+    private void warmUpQueries() {
+        var id = UUID.randomUUID();
+        var today = LocalDate.now();
+
+        try (var timeLogs = timeLogRepository.streamAllByTaskProjectIdAndLogDateBetween(id, today, today);
+             var projectTimeLogs = timeLogRepository.streamAllByTaskProjectIdInAndLogDateBetween(Set.of(id), today, today);
+             var taskTimeLogs = timeLogRepository.streamAllByTaskProjectIdAndTaskFinishedAtBetween(id, today.atStartOfDay(), today.atStartOfDay());
+             var tasks = taskRepository.streamAllByProjectIdAndFinishedAtBetween(id, today.atStartOfDay(), today.atStartOfDay())) {
+            timeLogs.findAny();
+            projectTimeLogs.findAny();
+            taskTimeLogs.findAny();
+            tasks.findAny();
+        }
+
+        projectRepository.findAllByProjectUsersUserIdAndProjectUsersRole(id, UserRole.MAINTAINER);
+        projectUserRepository.findByUserIdAndProjectId(id, id);
+    }
+
+    /**
+     * Renders one synthetic report to HTML and lays it out as a PDF, recording the duration per report type.
+     *
+     * @param reportType the type of the rendered report
+     * @param html the renderer of the synthetic report
+     * @throws IOException if a template cannot be read
+     */
+    private void warmUp(ReportType reportType, Observation.CheckedCallable<String, IOException> html) throws IOException {
+        var sample = Timer.start(meterRegistry);
+
+        pdfGenerator.generatePdf(html.call());
+
+        sample.stop(Timer.builder(WARMUP_TIMER)
+                .description("Duration of one synthetic report render during startup warm-up")
+                .tag("report.type", reportType.name())
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,40 @@
+package szte.flowboard.service.report;
+
+import jakarta.persistence.EntityManager;
+import szte.flowboard.repository.ReportQueryHints;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Consumes streamed report query results while keeping the persistence context bounded.
+ * Consumers must only keep scalar values from the rows, because every {@link ReportQueryHints#CLEAR_INTERVAL}
+ * rows the persistence context is cleared and the entities read so far are detached.
+ */
+final class StreamingReads {
+
+    private StreamingReads() {
+    }
+
+    /**
+     * Passes every row of the stream to the consumer and closes the stream afterwards.
+     *
+     * @param rows the streamed query result
+     * @param entityManager the entity manager the stream was opened with
+     * @param consumer the consumer of the rows
+     */
+    static <T> void forEach(Stream<T> rows, EntityManager entityManager, Consumer<T> consumer) {
+        try (rows) {
+            var iterator = rows.iterator();
+            var count = 0;
+
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+
+                if (++count % ReportQueryHints.CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package szte.flowboard.service.report;
+
+import szte.flowboard.dto.COCReportDto;
+import szte.flowboard.dto.COCReportLineItemDto;
+import szte.flowboard.dto.ProjectActivityReportDto;
+import szte.flowboard.dto.ProjectActivityReportLineItemDto;
+import szte.flowboard.entity.CompanyEntity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+/**
+ * Builds synthetic, deterministic report data for every report template.
+ * Used to exercise the rendering path without touching the database or the report storage.
+ */
+public final class SyntheticReportData {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final LocalDate END = LocalDate.of(2025, 1, 31);
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 2, 1, 8, 0);
+
+    private SyntheticReportData() {
+    }
+
+    /**
+     * Creates a COC report with the given number of billed lines and a summary line.
+     *
+     * @param lineCount the number of billed lines
+     * @return the synthetic COC report
+     */
+    public static COCReportDto coc(int lineCount) {
+        var summary = new COCReportLineItemDto("Összesen", null, null, 0.0, 0.0, 0.0, null);
+        var lines = new ArrayList<COCReportLineItemDto>();
+
+        for (int i = 0; i < lineCount; i++) {
+            var hours = 8.0 + i % 40;
+            var unitPrice = 12000.0;
+            var netPrice = hours * unitPrice;
+            var grossPrice = netPrice * 1.27;
+            var line = new COCReportLineItemDto("Munkatárs " + i, hours, "óra", netPrice, grossPrice - netPrice, grossPrice, unitPrice);
+
+            summary.summarize(line);
+            lines.add(line);
+        }
+
+        lines.add(summary);
+
+        return new COCReportDto(
+                START,
+                END,
+                CREATED_AT,
+                new CompanyEntity("Megrendelő Kft.", "6720 Szeged, Dugonics tér 13."),
+                new CompanyEntity("Vállalkozó Kft.", "6720 Szeged, Árpád tér 2."),
+                lines,
+                "Szoftverfejlesztési szolgáltatás");
+    }
+
+    /**
+     * Creates a project activity report with the given number of tasks and a summary line.
+     *
+     * @param taskCount the number of finished tasks
+     * @return the synthetic project activity report
+     */
+    public static ProjectActivityReportDto projectActivity(int taskCount) {
+        var summary = new ProjectActivityReportLineItemDto("Összesen", 0L, 0L, 0L);
+        var lines = new ArrayList<ProjectActivityReportLineItemDto>();
+
+        for (int i = 0; i < taskCount; i++) {
+            var spent = 60L + (i * 37L) % 600;
+            var estimated = 60L * (1 + i % 8);
+            var line = new ProjectActivityReportLineItemDto("Feladat " + i, spent, estimated, spent - estimated);
+
+            summary.summarize(line);
+            lines.add(line);
+        }
+
+        lines.add(summary);
+
+        return new ProjectActivityReportDto("Szintetikus projekt", START, END, CREATED_AT, lines);
+    }
+
+    /**
+     * Creates an employee matrix in the column-major layout produced by {@link EmployeeMatrixReportGenerator}:
+     * a name column, one column per project and a sum column.
+     *
+     * @param projectCount the number of projects
+     * @param userCount the number of users
+     * @return the synthetic employee matrix
+     */
+    public static ArrayList<ArrayList<String>> employeeMatrix(int projectCount, int userCount) {
+        var matrix = new ArrayList<ArrayList<String>>();
+        var nameColumn = new ArrayList<String>();
+
+        nameColumn.add("Név");
+
+        for (int u = 0; u < userCount; u++) {
+            nameColumn.add("Munkatárs " + u);
+        }
+
+        nameColumn.add("Összesen");
+        matrix.add(nameColumn);
+
+        var userHours = new double[userCount];
+        var total = 0.0;
+
+        for (int p = 0; p < projectCount; p++) {
+            var projectColumn = new ArrayList<String>();
+            var projectHours = 0.0;
+
+            projectColumn.add("Projekt " + p);
+
+            for (int u = 0; u < userCount; u++) {
+                var hours = (double) ((p + u) % 5 * 4);
+
+                userHours[u] += hours;
+                projectHours += hours;
+                projectColumn.add(hours == 0 ? "-" : hours + " óra");
+            }
+
+            total += projectHours;
+            projectColumn.add(projectHours == 0 ? "-" : projectHours + " óra");
+            matrix.add(projectColumn);
+        }
+
+        var sumColumn = new ArrayList<String>();
+
+        sumColumn.add("Összesen");
+
+        for (var hours : userHours) {
+            sumColumn.add(hours == 0 ? "-" : hours + " óra");
+        }
+
+        sumColumn.add(total == 0 ? "-" : total + " óra");
+        matrix.add(sumColumn);
+
+        return matrix;
+    }
+}
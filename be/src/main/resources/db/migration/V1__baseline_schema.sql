@@ -0,0 +1,131 @@
+-- Baseline schema, identical to the schema Hibernate generated with ddl-auto=update.
+-- Databases created that way are baselined at this version and skip this script.
+
+create table project_users (
+    fee float(53),
+    created_at timestamp(6),
+    last_modified_at timestamp(6),
+    id uuid not null,
+    project_id uuid,
+    user_id uuid,
+    created_by varchar(255),
+    last_modified_by varchar(255),
+    role varchar(255) not null check (role in ('MAINTAINER','MEMBER','REPORTER')),
+    primary key (id)
+);
+
+create table projects (
+    story_point_fee float(53) check (story_point_fee>=0),
+    created_at timestamp(6),
+    last_modified_at timestamp(6),
+    id uuid not null,
+    contractor_address varchar(255) not null,
+    contractor_name varchar(255) not null,
+    created_by varchar(255),
+    customer_address varchar(255) not null,
+    customer_name varchar(255) not null,
+    last_modified_by varchar(255),
+    name varchar(255) not null,
+    status varchar(255) not null check (status in ('ACTIVE','ARCHIVED','COMPLETED')),
+    type varchar(255) not null check (type in ('TIME_BASED','STORY_POINT_BASED')),
+    primary key (id)
+);
+
+create table reports (
+    end_date date not null,
+    start_date date not null,
+    created_at timestamp(6),
+    last_modified_at timestamp(6),
+    id uuid not null,
+    project_id uuid,
+    user_id uuid,
+    created_by varchar(255),
+    last_modified_by varchar(255),
+    name varchar(255),
+    primary key (id)
+);
+
+create table story_point_time_mappings (
+    story_points integer not null,
+    time_value numeric(21,0) not null,
+    created_at timestamp(6),
+    last_modified_at timestamp(6),
+    id uuid not null,
+    project_id uuid,
+    created_by varchar(255),
+    last_modified_by varchar(255),
+    primary key (id)
+);
+
+create table tasks (
+    created_at timestamp(6),
+    finished_at timestamp(6),
+    last_modified_at timestamp(6),
+    assigned_to_id uuid,
+    id uuid not null,
+    project_id uuid,
+    story_point_mapping_id uuid,
+    created_by varchar(255),
+    description text,
+    last_modified_by varchar(255),
+    name varchar(255) not null,
+    status varchar(255) not null check (status in ('OPEN','IN_PROGRESS','DONE','CANCELED')),
+    primary key (id)
+);
+
+create table time_logs (
+    is_billable boolean not null,
+    log_date date not null,
+    logged_time numeric(21,0) not null,
+    created_at timestamp(6),
+    last_modified_at timestamp(6),
+    id uuid not null,
+    task_id uuid,
+    user_id uuid,
+    created_by varchar(255),
+    last_modified_by varchar(255),
+    primary key (id)
+);
+
+create table users (
+    created_at timestamp(6),
+    last_modified_at timestamp(6),
+    id uuid not null,
+    created_by varchar(255),
+    email_address varchar(255) not null unique,
+    first_name varchar(255) not null,
+    keycloak_id varchar(255) not null unique,
+    last_modified_by varchar(255),
+    last_name varchar(255) not null,
+    primary key (id)
+);
+
+alter table project_users
+    add constraint FKn2d9w5xxgord5j4k2963p8o1g foreign key (project_id) references projects;
+
+alter table project_users
+    add constraint FK8w55cu3qmg4yo0vy0b8e3ivk4 foreign key (user_id) references users;
+
+alter table reports
+    add constraint FKhylt1smy93ix3b4bh51tbf9ij foreign key (project_id) references projects;
+
+alter table reports
+    add constraint FK2o32rer9hfweeylg7x8ut8rj2 foreign key (user_id) references users;
+
+alter table story_point_time_mappings
+    add constraint FKawpg7oba1ieexdb3lnfuxg5w0 foreign key (project_id) references projects;
+
+alter table tasks
+    add constraint FK4516wfa828r15k9u3iw5er4vi foreign key (assigned_to_id) references users;
+
+alter table tasks
+    add constraint FKsfhn82y57i3k9uxww1s007acc foreign key (project_id) references projects;
+
+alter table tasks
+    add constraint FK3nmqscftfawm8xhvueaed0s2j foreign key (story_point_mapping_id) references story_point_time_mappings;
+
+alter table time_logs
+    add constraint FKoun22vhbya8md711x7gbqv5j6 foreign key (task_id) references tasks;
+
+alter table time_logs
+    add constraint FKpa0td7bk535jt0143oslckvxj foreign key (user_id) references users;
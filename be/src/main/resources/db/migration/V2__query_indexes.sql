@@ -0,0 +1,13 @@
+-- Composite indexes for the report, membership and lookup queries.
+-- Built concurrently so existing tables stay writable while the indexes are created.
+-- users(keycloak_id) is already covered by the index of its unique constraint.
+
+create index concurrently if not exists idx_time_logs_task_id_log_date on time_logs (task_id, log_date);
+
+create index concurrently if not exists idx_time_logs_user_id_log_date on time_logs (user_id, log_date);
+
+create index concurrently if not exists idx_project_users_user_id_project_id_role on project_users (user_id, project_id, role);
+
+create index concurrently if not exists idx_tasks_project_id_finished_at on tasks (project_id, finished_at);
+
+create index concurrently if not exists idx_reports_user_id on reports (user_id);
@@ -0,0 +1,80 @@
+-- Time logs are range partitioned by month of log_date, so the report queries that filter a log_date range
+-- only scan the partitions of the requested months and old months can be detached for archival.
+-- Partitions are named time_logs_yYYYYmMM. Rows outside every monthly partition land in time_logs_default,
+-- create_time_log_partition moves them into their partition once it is created.
+-- A primary key of a partitioned table has to contain the partition key, so it becomes (id, log_date).
+
+alter table time_logs rename to time_logs_legacy;
+alter table time_logs_legacy rename constraint time_logs_pkey to time_logs_legacy_pkey;
+
+create table time_logs (
+    is_billable boolean not null,
+    log_date date not null,
+    logged_time numeric(21,0) not null,
+    created_at timestamp(6),
+    last_modified_at timestamp(6),
+    id uuid not null,
+    task_id uuid,
+    user_id uuid,
+    created_by varchar(255),
+    last_modified_by varchar(255),
+    primary key (id, log_date)
+) partition by range (log_date);
+
+create table time_logs_default partition of time_logs default;
+
+create function create_time_log_partition(month date) returns text
+language plpgsql as $$
+declare
+    partition_start date := date_trunc('month', month)::date;
+    partition_end date := (date_trunc('month', month) + interval '1 month')::date;
+    partition_name text := 'time_logs_' || to_char(partition_start, '"y"YYYY"m"MM');
+begin
+    -- Serializes concurrent callers, e.g. several application instances running the maintenance at once
+    perform pg_advisory_xact_lock(hashtext('create_time_log_partition'));
+
+    if to_regclass(partition_name) is not null then
+        return partition_name;
+    end if;
+
+    -- A partition cannot be created while the default partition holds rows of its range
+    create temporary table moved_time_logs on commit drop as
+        with moved as (
+            delete from time_logs_default where log_date >= partition_start and log_date < partition_end returning *
+        )
+        select * from moved;
+
+    execute format('create table %I partition of time_logs for values from (%L) to (%L)',
+                   partition_name, partition_start, partition_end);
+
+    insert into time_logs select * from moved_time_logs;
+    drop table moved_time_logs;
+
+    return partition_name;
+end;
+$$;
+
+-- Partitions for every month that has time logs, up to three months ahead; later months are created by the application
+select create_time_log_partition(month::date)
+from generate_series(
+        date_trunc('month', coalesce((select min(log_date) from time_logs_legacy), current_date)),
+        date_trunc('month', current_date) + interval '3 months',
+        interval '1 month') as month;
+
+insert into time_logs (is_billable, log_date, logged_time, created_at, last_modified_at, id, task_id, user_id,
+                       created_by, last_modified_by)
+select is_billable, log_date, logged_time, created_at, last_modified_at, id, task_id, user_id, created_by, last_modified_by
+from time_logs_legacy;
+
+drop table time_logs_legacy;
+
+alter table time_logs
+    add constraint fk_time_logs_task_id foreign key (task_id) references tasks;
+
+alter table time_logs
+    add constraint fk_time_logs_user_id foreign key (user_id) references users;
+
+-- Created on the partitioned table, so every existing and future partition gets them
+create index idx_time_logs_task_id_log_date on time_logs (task_id, log_date);
+
+create index idx_time_logs_user_id_log_date on time_logs (user_id, log_date);
@@ -0,0 +1,35 @@
+-- Archive tier for the tasks and time logs of ARCHIVED and COMPLETED projects, filled by the archival job.
+-- Keeping their rows out of the hot tables keeps the hot indexes sized by the active projects only.
+-- An archive table has the columns of its hot table in the same order, rows are moved with SELECT *;
+-- a column added to a hot table has to be added to its archive table in the same migration.
+
+create table tasks_archive (like tasks including defaults including constraints);
+
+alter table tasks_archive
+    add primary key (id);
+
+alter table tasks_archive
+    add constraint fk_tasks_archive_project_id foreign key (project_id) references projects;
+
+alter table tasks_archive
+    add constraint fk_tasks_archive_assigned_to_id foreign key (assigned_to_id) references users;
+
+alter table tasks_archive
+    add constraint fk_tasks_archive_story_point_mapping_id foreign key (story_point_mapping_id) references story_point_time_mappings;
+
+create index idx_tasks_archive_project_id_finished_at on tasks_archive (project_id, finished_at);
+
+create table time_logs_archive (like time_logs including defaults including constraints);
+
+alter table time_logs_archive
+    add primary key (id);
+
+alter table time_logs_archive
+    add constraint fk_time_logs_archive_task_id foreign key (task_id) references tasks_archive;
+
+alter table time_logs_archive
+    add constraint fk_time_logs_archive_user_id foreign key (user_id) references users;
+
+create index idx_time_logs_archive_task_id_log_date on time_logs_archive (task_id, log_date);
+
+create index idx_time_logs_archive_user_id_log_date on time_logs_archive (user_id, log_date);
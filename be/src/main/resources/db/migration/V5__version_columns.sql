@@ -0,0 +1,21 @@
+-- Version columns for the optimistic locking of every audited entity. Adding a column with a constant default
+-- only changes the catalog, the existing rows are not rewritten.
+-- The archive tables get the column too, they have to keep the columns of their hot tables in the same order.
+
+alter table project_users add column version bigint not null default 0;
+
+alter table projects add column version bigint not null default 0;
+
+alter table reports add column version bigint not null default 0;
+
+alter table story_point_time_mappings add column version bigint not null default 0;
+
+alter table tasks add column version bigint not null default 0;
+
+alter table tasks_archive add column version bigint not null default 0;
+
+alter table time_logs add column version bigint not null default 0;
+
+alter table time_logs_archive add column version bigint not null default 0;
+
+alter table users add column version bigint not null default 0;
@@ -0,0 +1,38 @@
+-- The list endpoints page by keyset over (created_at, id), so every listed row needs a creation time.
+-- Rows without one are backfilled with their last modification, or with the epoch when that is missing too,
+-- which places them after every dated row. The JPA auditing sets the creation time of new rows,
+-- the default covers rows inserted by SQL.
+
+update project_users set created_at = coalesce(last_modified_at, timestamp '1970-01-01') where created_at is null;
+
+alter table project_users alter column created_at set default localtimestamp, alter column created_at set not null;
+
+update reports set created_at = coalesce(last_modified_at, timestamp '1970-01-01') where created_at is null;
+
+alter table reports alter column created_at set default localtimestamp, alter column created_at set not null;
+
+update tasks set created_at = coalesce(last_modified_at, timestamp '1970-01-01') where created_at is null;
+
+alter table tasks alter column created_at set default localtimestamp, alter column created_at set not null;
+
+update tasks_archive set created_at = coalesce(last_modified_at, timestamp '1970-01-01') where created_at is null;
+
+alter table tasks_archive alter column created_at set default localtimestamp, alter column created_at set not null;
+
+update time_logs set created_at = coalesce(last_modified_at, timestamp '1970-01-01') where created_at is null;
+
+alter table time_logs alter column created_at set default localtimestamp, alter column created_at set not null;
+
+update time_logs_archive set created_at = coalesce(last_modified_at, timestamp '1970-01-01') where created_at is null;
+
+alter table time_logs_archive alter column created_at set default localtimestamp, alter column created_at set not null;
+
+update users set created_at = coalesce(last_modified_at, timestamp '1970-01-01') where created_at is null;
+
+alter table users alter column created_at set default localtimestamp, alter column created_at set not null;
+
+-- Indexes of the partitioned time_logs are created on every partition and cannot be built concurrently,
+-- the indexes of the other tables are built concurrently in V7
+create index idx_time_logs_user_id_created_at_id on time_logs (user_id, created_at, id);
+
+create index idx_time_logs_archive_user_id_created_at_id on time_logs_archive (user_id, created_at, id);
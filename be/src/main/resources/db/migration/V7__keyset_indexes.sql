@@ -0,0 +1,22 @@
+-- Keyset indexes of the list endpoints: the filter column first, then the (created_at, id) page order,
+-- so a page is read in index order and the scan stops at the page size.
+-- Built concurrently so existing tables stay writable while the indexes are created.
+
+create index concurrently if not exists idx_tasks_project_id_created_at_id on tasks (project_id, created_at, id);
+
+create index concurrently if not exists idx_tasks_assigned_to_id_created_at_id on tasks (assigned_to_id, created_at, id);
+
+create index concurrently if not exists idx_tasks_archive_project_id_created_at_id on tasks_archive (project_id, created_at, id);
+
+create index concurrently if not exists idx_tasks_archive_assigned_to_id_created_at_id on tasks_archive (assigned_to_id, created_at, id);
+
+create index concurrently if not exists idx_reports_user_id_created_at_id on reports (user_id, created_at, id);
+
+-- Covered by the leading column of idx_reports_user_id_created_at_id
+drop index concurrently if exists idx_reports_user_id;
+
+create index concurrently if not exists idx_users_created_at_id on users (created_at, id);
+
+create index concurrently if not exists idx_project_users_created_at_id on project_users (created_at, id);
+
+create index concurrently if not exists idx_project_users_project_id_created_at_id on project_users (project_id, created_at, id);
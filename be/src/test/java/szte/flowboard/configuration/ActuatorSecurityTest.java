@@ -0,0 +1,125 @@
+package szte.flowboard.configuration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.endpoint.EndpointAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.endpoint.web.WebEndpointAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.health.HealthContributorAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.health.HealthEndpointAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.info.InfoEndpointAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsEndpointAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementContextAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.web.servlet.ServletManagementContextAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the security filter chain in front of the actuator endpoints, only health and info are public.
+ */
+@SpringBootTest(classes = {SecurityConfig.class, JwtConverter.class, ActuatorSecurityTest.Endpoints.class})
+@ImportAutoConfiguration({DispatcherServletAutoConfiguration.class, WebMvcAutoConfiguration.class,
+        HttpMessageConvertersAutoConfiguration.class, JacksonAutoConfiguration.class, EndpointAutoConfiguration.class,
+        WebEndpointAutoConfiguration.class, ManagementContextAutoConfiguration.class,
+        ServletManagementContextAutoConfiguration.class, HealthContributorAutoConfiguration.class,
+        HealthEndpointAutoConfiguration.class, InfoEndpointAutoConfiguration.class, MetricsAutoConfiguration.class,
+        SimpleMetricsExportAutoConfiguration.class, MetricsEndpointAutoConfiguration.class})
+@AutoConfigureMockMvc
+class ActuatorSecurityTest {
+
+    @MockitoBean
+    private JwtDecoder jwtDecoder;
+
+    @MockitoBean
+    private ClientRegistrationRepository clientRegistrationRepository;
+
+    @MockitoBean
+    private RequestTelemetryStatistics requestTelemetryStatistics;
+
+    @MockitoBean
+    private ContinuousFlightRecording continuousFlightRecording;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testHealth_Anonymous_Allowed() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+
+    @Test
+    void testMetrics_Anonymous_Unauthorized() throws Exception {
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testMetrics_WithoutAdminRole_Forbidden() throws Exception {
+        mockMvc.perform(get("/actuator/metrics").with(jwt().authorities(new SimpleGrantedAuthority("ROLE_user"))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testMetrics_WithAdminRole_Allowed() throws Exception {
+        mockMvc.perform(get("/actuator/metrics").with(jwt().authorities(new SimpleGrantedAuthority("ROLE_admin"))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testSlowRequests_Anonymous_Unauthorized() throws Exception {
+        mockMvc.perform(get("/actuator/slowrequests")).andExpect(status().isUnauthorized());
+        verifyNoInteractions(requestTelemetryStatistics);
+    }
+
+    @Test
+    void testSlowRequests_WithAdminRole_Allowed() throws Exception {
+        // Given
+        when(requestTelemetryStatistics.slowestEndpoints()).thenReturn(List.of());
+        when(requestTelemetryStatistics.repeatedStatements()).thenReturn(List.of());
+
+        // When & Then
+        mockMvc.perform(get("/actuator/slowrequests").with(jwt().authorities(new SimpleGrantedAuthority("ROLE_admin"))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testFlightRecording_WithoutAdminRole_NotDumped() throws Exception {
+        mockMvc.perform(get("/actuator/flightrecording")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/flightrecording").with(jwt().authorities(new SimpleGrantedAuthority("ROLE_user"))))
+                .andExpect(status().isForbidden());
+        verifyNoInteractions(continuousFlightRecording);
+    }
+
+    @TestConfiguration
+    static class Endpoints {
+        @Bean
+        SlowRequestsEndpoint slowRequestsEndpoint(RequestTelemetryStatistics statistics) {
+            return new SlowRequestsEndpoint(statistics);
+        }
+
+        @Bean
+        FlightRecordingEndpoint flightRecordingEndpoint(ContinuousFlightRecording recording) {
+            return new FlightRecordingEndpoint(recording);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package szte.flowboard.configuration;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import szte.flowboard.enums.ProjectType;
+import szte.flowboard.enums.ReportType;
+import szte.flowboard.service.KeycloakService;
+import szte.flowboard.service.S3Service;
+import szte.flowboard.service.report.ReportMetrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderEventsTest {
+
+    private FlightRecorderObservationHandler handler;
+    private ObservationRegistry observationRegistry;
+    private Recording recording;
+
+    @BeforeEach
+    void setUp() {
+        handler = new FlightRecorderObservationHandler();
+        observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(handler);
+
+        recording = new Recording();
+        List.of(ReportStageEvent.class, StorageCallEvent.class, KeycloakCallEvent.class, RepositoryCallEvent.class)
+                .forEach(event -> recording.enable(event).withThreshold(Duration.ZERO));
+        recording.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        recording.close();
+    }
+
+    @Test
+    void testReportObservation_WithStage_RecordsTotalAndStageEvents() throws IOException {
+        // When
+        Observation.createNotStarted(ReportMetrics.REPORT_OBSERVATION, observationRegistry)
+                .lowCardinalityKeyValue("report.type", ReportType.COC.name())
+                .lowCardinalityKeyValue("project.type", ProjectType.TIME_BASED.name())
+                .observe(() -> Observation.createNotStarted(ReportMetrics.STAGE_OBSERVATION, observationRegistry)
+                        .lowCardinalityKeyValue("report.type", ReportType.COC.name())
+                        .lowCardinalityKeyValue("project.type", ProjectType.TIME_BASED.name())
+                        .lowCardinalityKeyValue("stage", "render")
+                        .observe(() -> {
+                        }));
+
+        // Then
+        var events = events(ReportStageEvent.NAME);
+        assertEquals(List.of("render", "total"), events.stream().map(event -> event.getString("stage")).sorted().toList());
+        events.forEach(event -> {
+            assertEquals(ReportType.COC.name(), event.getString("reportType"));
+            assertEquals(ProjectType.TIME_BASED.name(), event.getString("projectType"));
+            assertNull(event.getString("error"));
+        });
+    }
+
+    @Test
+    void testStorageObservation_Failed_RecordsErrorOnEvent() throws IOException {
+        // When
+        var observation = Observation.createNotStarted(S3Service.STORAGE_OBSERVATION, observationRegistry)
+                .lowCardinalityKeyValue("operation", "upload")
+                .start();
+        observation.error(new IllegalStateException("unavailable"));
+        observation.stop();
+
+        // Then
+        var event = events(StorageCallEvent.NAME).getFirst();
+        assertEquals("upload", event.getString("operation"));
+        assertEquals("IllegalStateException", event.getString("error"));
+    }
+
+    @Test
+    void testKeycloakObservation_RecordsOperation() throws IOException {
+        // When
+        Observation.createNotStarted(KeycloakService.KEYCLOAK_OBSERVATION, observationRegistry)
+                .lowCardinalityKeyValue("operation", "get-user")
+                .observe(() -> {
+                });
+
+        // Then
+        assertEquals("get-user", events(KeycloakCallEvent.NAME).getFirst().getString("operation"));
+    }
+
+    @Test
+    void testOtherObservation_IsNotRecorded() throws IOException {
+        // When
+        Observation.createNotStarted("http.server.requests", observationRegistry).observe(() -> {
+        });
+
+        // Then
+        assertTrue(events(ReportStageEvent.NAME).isEmpty());
+    }
+
+    @Test
+    void testReportsRunning_DuringAndAfterReport() {
+        // Given
+        var before = Instant.now().minusSeconds(1);
+        var observation = Observation.createNotStarted(ReportMetrics.REPORT_OBSERVATION, observationRegistry).start();
+
+        // When
+        var running = handler.reportsRunning(Instant.now());
+        observation.stop();
+
+        // Then
+        assertTrue(running);
+        assertTrue(handler.reportsRunning(before));
+        assertFalse(handler.reportsRunning(Instant.now().plusSeconds(1)));
+    }
+
+    @Test
+    void testRepositoryCall_RecordsRepositoryAndMethod() throws IOException {
+        // Given
+        var proxyFactory = new ProxyFactory(new Lookup() {
+            @Override
+            public String find(String key) {
+                return key;
+            }
+        });
+        proxyFactory.addInterface(Lookup.class);
+        proxyFactory.addAdvice(new RepositoryCallRecorder(Lookup.class));
+        var lookup = (Lookup) proxyFactory.getProxy();
+
+        // When
+        var result = lookup.find("key");
+
+        // Then
+        assertEquals("key", result);
+        var event = events(RepositoryCallEvent.NAME).getFirst();
+        assertEquals("Lookup", event.getString("repository"));
+        assertEquals("find", event.getString("method"));
+    }
+
+    private List<RecordedEvent> events(String name) throws IOException {
+        recording.stop();
+        var file = Files.createTempFile("flight-recorder-events-", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals(name))
+                    .toList();
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    interface Lookup {
+        String find(String key);
+    }
+}
@@ -0,0 +1,95 @@
+package szte.flowboard.configuration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderMetricsTest {
+
+    private final ContendedMonitor monitor = new ContendedMonitor();
+
+    private SimpleMeterRegistry meterRegistry;
+    private FlightRecorderMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        var properties = new FlightRecorderProperties();
+        properties.setLockThreshold(Duration.ofMillis(10));
+        metrics = new FlightRecorderMetrics(meterRegistry, properties, new FlightRecorderObservationHandler());
+        metrics.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        metrics.stop();
+    }
+
+    @Test
+    void testGarbageCollection_RecordsPauseTaggedWithCollector() throws InterruptedException {
+        // When
+        System.gc();
+
+        // Then
+        await(() -> !meterRegistry.find(FlightRecorderMetrics.GC_PAUSE_TIMER).timers().isEmpty());
+        var timer = meterRegistry.find(FlightRecorderMetrics.GC_PAUSE_TIMER).tag("reports", "idle").timer();
+        assertNotNull(timer);
+        assertNotNull(timer.getId().getTag("gc"));
+    }
+
+    @Test
+    void testContendedMonitor_RecordsBlockedTimeTaggedWithMonitorClass() throws InterruptedException {
+        // Given
+        var locked = new CountDownLatch(1);
+        var holder = Thread.ofPlatform().start(() -> {
+            synchronized (monitor) {
+                locked.countDown();
+                sleep(Duration.ofMillis(100));
+            }
+        });
+        locked.await();
+
+        // When
+        var waiter = Thread.ofPlatform().start(() -> {
+            synchronized (monitor) {
+                monitor.entered++;
+            }
+        });
+        holder.join();
+        waiter.join();
+
+        // Then
+        var monitorClass = ContendedMonitor.class.getName();
+        await(() -> meterRegistry.find(FlightRecorderMetrics.MONITOR_BLOCKED_TIMER).tag("monitor", monitorClass).timer() != null);
+        var timer = meterRegistry.find(FlightRecorderMetrics.MONITOR_BLOCKED_TIMER).tag("monitor", monitorClass).timer();
+        assertEquals(1, timer.count());
+        assertTrue(timer.totalTime(TimeUnit.MILLISECONDS) >= 10);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        var deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class ContendedMonitor {
+        private int entered;
+    }
+}
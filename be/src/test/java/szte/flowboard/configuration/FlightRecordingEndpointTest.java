@@ -0,0 +1,95 @@
+package szte.flowboard.configuration;
+
+import jdk.jfr.EventType;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecordingEndpointTest {
+
+    private ContinuousFlightRecording recording;
+    private FlightRecordingEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        var properties = new FlightRecorderProperties();
+        properties.setEventThreshold(Duration.ZERO);
+        recording = new ContinuousFlightRecording(properties);
+        recording.start();
+        endpoint = new FlightRecordingEndpoint(recording);
+    }
+
+    @AfterEach
+    void tearDown() {
+        recording.stop();
+    }
+
+    @Test
+    void testFlightRecording_DumpsRingBufferAndDeletesFileAfterDownload() throws Exception {
+        // Given
+        var event = new StorageCallEvent();
+        event.begin();
+        event.operation = "upload";
+        event.commit();
+
+        // When
+        var response = endpoint.flightRecording();
+
+        // Then
+        assertEquals(200, response.getStatus());
+        var dumped = response.getBody().getFile().toPath();
+        var downloaded = Files.createTempFile("flight-recording-download-", ".jfr");
+        try {
+            try (var body = response.getBody().getInputStream()) {
+                Files.copy(body, downloaded, StandardCopyOption.REPLACE_EXISTING);
+            }
+            assertFalse(Files.exists(dumped));
+
+            var names = RecordingFile.readAllEvents(downloaded).stream()
+                    .map(RecordedEvent::getEventType)
+                    .map(EventType::getName)
+                    .distinct()
+                    .toList();
+            assertTrue(names.contains(StorageCallEvent.NAME), () -> "Recorded events: " + names);
+            assertTrue(names.contains("jdk.ActiveSetting"), () -> "Recorded events: " + names);
+            ContinuousFlightRecording.EXCLUDED_EVENTS.forEach(excluded -> assertFalse(names.contains(excluded), excluded));
+        } finally {
+            Files.deleteIfExists(downloaded);
+        }
+    }
+
+    @Test
+    void testFlightRecording_RecordingKeepsRunningAfterDump() throws Exception {
+        // Given
+        var first = endpoint.flightRecording();
+        first.getBody().getInputStream().close();
+
+        // When
+        var event = new KeycloakCallEvent();
+        event.begin();
+        event.operation = "get-user";
+        event.commit();
+        var second = endpoint.flightRecording();
+
+        // Then
+        var downloaded = Files.createTempFile("flight-recording-download-", ".jfr");
+        try {
+            try (var body = second.getBody().getInputStream()) {
+                Files.copy(body, downloaded, StandardCopyOption.REPLACE_EXISTING);
+            }
+            List<RecordedEvent> events = RecordingFile.readAllEvents(downloaded);
+            assertTrue(events.stream().anyMatch(recorded -> recorded.getEventType().getName().equals(KeycloakCallEvent.NAME)));
+        } finally {
+            Files.deleteIfExists(downloaded);
+        }
+    }
+}
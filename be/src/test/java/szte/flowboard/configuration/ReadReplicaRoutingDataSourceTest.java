@@ -0,0 +1,161 @@
+package szte.flowboard.configuration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaStatus replicaStatus;
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        replicaStatus = new ReplicaStatus(replica, Duration.ofSeconds(5));
+        routingDataSource = new ReadReplicaRoutingDataSource(primary, replica, replicaStatus,
+                new ReadYourWritesTracker(Duration.ofSeconds(10)), meterRegistry);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user", null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testGetConnection_NoTransaction_UsesPrimary() throws SQLException {
+        // Given
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        // When
+        var connection = routingDataSource.getConnection();
+
+        // Then
+        assertSame(primaryConnection, connection);
+        verifyNoInteractions(replica);
+    }
+
+    @Test
+    void testGetConnection_ReadOnlyTransaction_UsesReplica() throws SQLException {
+        // Given
+        beginTransaction(true);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+
+        // When
+        var connection = routingDataSource.getConnection();
+
+        // Then
+        assertSame(replicaConnection, connection);
+        assertEquals(1.0, meterRegistry.get(ReadReplicaRoutingDataSource.ROUTE_COUNTER)
+                .tag("target", "replica").tag("reason", "read-only").counter().count());
+    }
+
+    @Test
+    void testGetConnection_ReplicaLagging_UsesPrimary() throws SQLException {
+        // Given
+        beginTransaction(true);
+        replicaStatus.update(6.0);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        // When
+        var connection = routingDataSource.getConnection();
+
+        // Then
+        assertSame(primaryConnection, connection);
+        assertEquals(1.0, meterRegistry.get(ReadReplicaRoutingDataSource.ROUTE_COUNTER)
+                .tag("target", "primary").tag("reason", "replica-unavailable").counter().count());
+    }
+
+    @Test
+    void testGetConnection_ReplicaUnreachable_FallsBackToPrimary() throws SQLException {
+        // Given
+        beginTransaction(true);
+        when(replica.getConnection()).thenThrow(new SQLTransientConnectionException("replica down"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        // When
+        var connection = routingDataSource.getConnection();
+
+        // Then
+        assertSame(primaryConnection, connection);
+        assertFalse(replicaStatus.isUsable());
+    }
+
+    @Test
+    void testGetConnection_AfterCommittedWrite_ReadsFromPrimary() throws SQLException {
+        // Given
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        beginTransaction(false);
+        routingDataSource.getConnection();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clear();
+        beginTransaction(true);
+
+        // When
+        var connection = routingDataSource.getConnection();
+
+        // Then
+        assertSame(primaryConnection, connection);
+        verifyNoInteractions(replica);
+        assertEquals(1.0, meterRegistry.get(ReadReplicaRoutingDataSource.ROUTE_COUNTER)
+                .tag("target", "primary").tag("reason", "recent-write").counter().count());
+    }
+
+    @Test
+    void testGetConnection_WriteByOtherUser_ReadsFromReplica() throws SQLException {
+        // Given
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        beginTransaction(false);
+        routingDataSource.getConnection();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clear();
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("other", null));
+        beginTransaction(true);
+
+        // When
+        var connection = routingDataSource.getConnection();
+
+        // Then
+        assertSame(replicaConnection, connection);
+    }
+
+    private static void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+}
@@ -0,0 +1,115 @@
+package szte.flowboard.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import szte.flowboard.entity.UserEntity;
+import szte.flowboard.repository.PostgresRepositoryTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the statement counting data source proxy and the entity load listener against PostgreSQL.
+ */
+@Import({RequestTelemetryConfig.class, RequestTelemetryProperties.class, RequestTelemetryConfigTest.Metrics.class})
+class RequestTelemetryConfigTest extends PostgresRepositoryTest {
+
+    private static final int USERS = 3;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskDecorator taskDecorator;
+
+    private final List<UUID> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (var i = 0; i < USERS; i++) {
+            var user = user();
+            entityManager.persist(user);
+            userIds.add(user.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testQuery_WithinRequest_CountsStatementAndLoadedEntities() {
+        // Given
+        var telemetry = new RequestTelemetry();
+
+        // When
+        try (var ignored = RequestTelemetry.bind(telemetry)) {
+            entityManager.createQuery("select u from UserEntity u where u.id in :ids", UserEntity.class)
+                    .setParameter("ids", userIds)
+                    .getResultList();
+        }
+
+        // Then
+        assertEquals(1, telemetry.statements());
+        assertEquals(USERS, telemetry.entityLoads());
+        assertTrue(telemetry.jdbcNanos() > 0);
+        assertTrue(telemetry.statementSummary().getFirst().sql().contains("users"));
+    }
+
+    @Test
+    void testJdbcTemplate_RepeatedStatement_CountsEveryExecution() {
+        // Given
+        var telemetry = new RequestTelemetry();
+
+        // When
+        try (var ignored = RequestTelemetry.bind(telemetry)) {
+            userIds.forEach(id -> jdbcTemplate.queryForObject("select first_name from users where id = ?", String.class, id));
+        }
+
+        // Then
+        assertEquals(USERS, telemetry.statements());
+        assertEquals(0, telemetry.entityLoads());
+        var statement = telemetry.statementSummary().getFirst();
+        assertEquals("select first_name from users where id = ?", statement.sql());
+        assertEquals(USERS, statement.executions());
+    }
+
+    @Test
+    void testTaskDecorator_TaskOnAnotherThread_CountsForSubmittingRequest() throws InterruptedException {
+        // Given
+        var telemetry = new RequestTelemetry();
+        Runnable task;
+        try (var ignored = RequestTelemetry.bind(telemetry)) {
+            task = taskDecorator.decorate(() -> jdbcTemplate.queryForObject("select count(*) from users", Long.class));
+        }
+
+        // When
+        var thread = Thread.ofPlatform().start(task);
+        thread.join();
+
+        // Then
+        assertEquals(1, telemetry.statements());
+        assertNull(RequestTelemetry.current());
+    }
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package szte.flowboard.configuration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServlet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTelemetryFilterTest {
+
+    private static final String SELECT_TASK = "select t1_0.id from tasks t1_0 where t1_0.id=?";
+    private static final String SELECT_USER = "select u1_0.id from users u1_0 where u1_0.id=?";
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestTelemetryStatistics statistics;
+    private RequestTelemetryFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        var properties = new RequestTelemetryProperties();
+        properties.setSlowThreshold(Duration.ofMillis(20));
+        properties.setRepeatedStatementThreshold(3);
+        statistics = new RequestTelemetryStatistics(meterRegistry, properties);
+        filter = new RequestTelemetryFilter(statistics);
+    }
+
+    @Test
+    void testDoFilter_StatementsAndEntityLoads_RecordsMetersTaggedWithUriPattern() throws Exception {
+        // Given
+        var request = request("/tasks/{id}");
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), chain((req, res, chain) -> {
+            var telemetry = RequestTelemetry.current();
+            telemetry.statementExecuted(SELECT_TASK, TimeUnit.MILLISECONDS.toNanos(2));
+            telemetry.statementExecuted(SELECT_USER, TimeUnit.MILLISECONDS.toNanos(1));
+            telemetry.entityLoaded();
+            telemetry.entityLoaded();
+        }));
+
+        // Then
+        var statements = meterRegistry.get(RequestTelemetryStatistics.STATEMENTS_SUMMARY)
+                .tags("method", "GET", "uri", "/tasks/{id}", "status", "200").summary();
+        var jdbc = meterRegistry.get(RequestTelemetryStatistics.JDBC_TIMER).tags("uri", "/tasks/{id}").timer();
+        var entityLoads = meterRegistry.get(RequestTelemetryStatistics.ENTITY_LOADS_SUMMARY).tags("uri", "/tasks/{id}").summary();
+        assertEquals(2, statements.totalAmount());
+        assertEquals(3, jdbc.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(2, entityLoads.totalAmount());
+        assertNull(RequestTelemetry.current());
+    }
+
+    @Test
+    void testDoFilter_NoMatchingHandler_TaggedWithOutcome() throws Exception {
+        // Given
+        var request = new MockHttpServletRequest("GET", "/missing/42");
+        var response = new MockHttpServletResponse();
+        response.setStatus(404);
+
+        // When
+        filter.doFilter(request, response, new MockFilterChain());
+
+        // Then
+        assertNotNull(meterRegistry.find(RequestTelemetryStatistics.STATEMENTS_SUMMARY).tags("uri", "NOT_FOUND", "status", "404").summary());
+        assertEquals("GET NOT_FOUND", statistics.slowestEndpoints().getFirst().endpoint());
+    }
+
+    @Test
+    void testSlowestEndpoints_SlowAndFastRequests_OrdersByMeanLatency() throws Exception {
+        // Given
+        filter.doFilter(request("/projects"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // When
+        filter.doFilter(request("/reports/{id}"), new MockHttpServletResponse(), chain((req, res, chain) -> sleep(Duration.ofMillis(40))));
+
+        // Then
+        var endpoints = statistics.slowestEndpoints();
+        assertEquals(2, endpoints.size());
+        assertEquals("GET /reports/{id}", endpoints.getFirst().endpoint());
+        assertEquals(1, endpoints.getFirst().slowRequests());
+        assertTrue(endpoints.getFirst().meanMillis() >= 40);
+        assertEquals(0, endpoints.get(1).slowRequests());
+    }
+
+    @Test
+    void testRepeatedStatements_StatementRepeatedWithinRequest_ReportsWorstOffender() throws Exception {
+        // Given
+        filter.doFilter(request("/tasks"), new MockHttpServletResponse(), statements(SELECT_USER, 3));
+
+        // When
+        filter.doFilter(request("/tasks"), new MockHttpServletResponse(), statements(SELECT_USER, 5));
+        filter.doFilter(request("/projects"), new MockHttpServletResponse(), statements(SELECT_TASK, 2));
+
+        // Then
+        var repeated = statistics.repeatedStatements();
+        assertEquals(1, repeated.size());
+        assertEquals("GET /tasks", repeated.getFirst().endpoint());
+        assertEquals(SELECT_USER, repeated.getFirst().statement());
+        assertEquals(5, repeated.getFirst().executions());
+        assertEquals(2, repeated.getFirst().requests());
+    }
+
+    @Test
+    void testDoFilter_ChainThrows_RecordsServerError() {
+        // Given
+        var request = request("/tasks");
+
+        // When
+        assertThrows(IllegalStateException.class, () -> filter.doFilter(request, new MockHttpServletResponse(),
+                chain((req, res, chain) -> {
+                    throw new IllegalStateException("boom");
+                })));
+
+        // Then
+        assertNotNull(meterRegistry.find(RequestTelemetryStatistics.STATEMENTS_SUMMARY).tags("uri", "/tasks", "status", "500").summary());
+        assertNull(RequestTelemetry.current());
+    }
+
+    private static MockHttpServletRequest request(String pattern) {
+        var request = new MockHttpServletRequest("GET", pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+
+    private static MockFilterChain statements(String sql, int executions) {
+        return chain((req, res, chain) -> {
+            for (var i = 0; i < executions; i++) {
+                RequestTelemetry.current().statementExecuted(sql, 1000);
+            }
+        });
+    }
+
+    private static MockFilterChain chain(Filter handler) {
+        return new MockFilterChain(new HttpServlet() {
+        }, handler);
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
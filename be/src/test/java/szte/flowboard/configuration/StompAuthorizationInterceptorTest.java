@@ -0,0 +1,250 @@
+package szte.flowboard.configuration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import szte.flowboard.entity.UserEntity;
+import szte.flowboard.repository.ProjectRepository;
+import szte.flowboard.service.ProjectEventRelay;
+import szte.flowboard.service.UserService;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StompAuthorizationInterceptorTest {
+
+    private static final String SESSION_ID = "session";
+
+    @Mock
+    private JwtDecoder jwtDecoder;
+
+    @Mock
+    private JwtConverter jwtConverter;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private MessageChannel channel;
+
+    @Mock
+    private Jwt jwt;
+
+    private StompAuthorizationInterceptor interceptor;
+    private JwtAuthenticationToken authentication;
+    private UserEntity user;
+    private UUID projectId;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new StompAuthorizationInterceptor(jwtDecoder, jwtConverter, userService, projectRepository);
+        authentication = new JwtAuthenticationToken(jwt, List.of(), "user");
+        user = new UserEntity();
+        user.setId(UUID.randomUUID());
+        projectId = UUID.randomUUID();
+    }
+
+    @Test
+    void testConnect_WithValidToken_SetsUser() {
+        // Given
+        when(jwtDecoder.decode("token")).thenReturn(jwt);
+        when(jwtConverter.convert(jwt)).thenReturn(authentication);
+        var accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.addNativeHeader("Authorization", "Bearer token");
+
+        // When
+        var result = interceptor.preSend(message(accessor), channel);
+
+        // Then
+        assertSame(authentication, StompHeaderAccessor.wrap(result).getUser());
+    }
+
+    @Test
+    void testConnect_WithoutToken_Rejected() {
+        // Given
+        var accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+
+        // When & Then
+        assertThrows(BadCredentialsException.class, () -> interceptor.preSend(message(accessor), channel));
+        verifyNoInteractions(jwtDecoder);
+    }
+
+    @Test
+    void testConnect_WithInvalidToken_Rejected() {
+        // Given
+        when(jwtDecoder.decode("expired")).thenThrow(new BadJwtException("Jwt expired"));
+        var accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.addNativeHeader("Authorization", "Bearer expired");
+
+        // When & Then
+        assertThrows(BadCredentialsException.class, () -> interceptor.preSend(message(accessor), channel));
+    }
+
+    @Test
+    void testSubscribe_AsProjectMember_Allowed() {
+        // Given
+        when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.of(user));
+        when(projectRepository.existsByIdAndProjectUsersUserId(projectId, user.getId())).thenReturn(true);
+        var message = subscribe(ProjectEventRelay.TOPIC_PREFIX + projectId);
+
+        // When
+        var result = interceptor.preSend(message, channel);
+
+        // Then
+        assertSame(message, result);
+    }
+
+    @Test
+    void testSubscribe_AsNonMember_Rejected() {
+        // Given
+        when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.of(user));
+        when(projectRepository.existsByIdAndProjectUsersUserId(projectId, user.getId())).thenReturn(false);
+
+        // When & Then
+        assertThrows(AccessDeniedException.class,
+                () -> interceptor.preSend(subscribe(ProjectEventRelay.TOPIC_PREFIX + projectId), channel));
+    }
+
+    @Test
+    void testSubscribe_ToUnknownDestination_Rejected() {
+        // When & Then
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(subscribe("/topic/users"), channel));
+        assertThrows(AccessDeniedException.class,
+                () -> interceptor.preSend(subscribe(ProjectEventRelay.TOPIC_PREFIX + "not-a-uuid"), channel));
+        verifyNoInteractions(projectRepository);
+    }
+
+    @Test
+    void testSubscribe_WithoutUser_Rejected() {
+        // Given
+        var accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination(ProjectEventRelay.TOPIC_PREFIX + projectId);
+
+        // When & Then
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(message(accessor), channel));
+        verifyNoInteractions(userService, projectRepository);
+    }
+
+    @Test
+    void testSend_Rejected() {
+        // Given
+        var accessor = StompHeaderAccessor.create(StompCommand.SEND);
+        accessor.setDestination("/app/projects");
+        accessor.setUser(authentication);
+
+        // When & Then
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(message(accessor), channel));
+    }
+
+    @Test
+    void testDeliver_ToMember_Sent() {
+        // Given
+        when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.of(user));
+        when(projectRepository.existsByIdAndProjectUsersUserId(projectId, user.getId())).thenReturn(true);
+        interceptor.preSend(subscribe(ProjectEventRelay.TOPIC_PREFIX + projectId), channel);
+        var event = event(SESSION_ID);
+
+        // When
+        var result = interceptor.deliveryInterceptor().preSend(event, channel);
+
+        // Then
+        assertSame(event, result);
+        verify(projectRepository, times(2)).existsByIdAndProjectUsersUserId(projectId, user.getId());
+    }
+
+    @Test
+    void testDeliver_AfterMemberRemoved_Dropped() {
+        // Given
+        when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.of(user));
+        when(projectRepository.existsByIdAndProjectUsersUserId(projectId, user.getId())).thenReturn(true, false);
+        interceptor.preSend(subscribe(ProjectEventRelay.TOPIC_PREFIX + projectId), channel);
+
+        // When
+        var result = interceptor.deliveryInterceptor().preSend(event(SESSION_ID), channel);
+
+        // Then
+        assertNull(result);
+    }
+
+    @Test
+    void testDeliver_AfterDisconnect_Dropped() {
+        // Given
+        when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.of(user));
+        when(projectRepository.existsByIdAndProjectUsersUserId(projectId, user.getId())).thenReturn(true);
+        interceptor.preSend(subscribe(ProjectEventRelay.TOPIC_PREFIX + projectId), channel);
+        var disconnect = StompHeaderAccessor.create(StompCommand.DISCONNECT);
+        disconnect.setSessionId(SESSION_ID);
+        interceptor.preSend(message(disconnect), channel);
+
+        // When
+        var result = interceptor.deliveryInterceptor().preSend(event(SESSION_ID), channel);
+
+        // Then
+        assertNull(result);
+        verify(projectRepository, times(1)).existsByIdAndProjectUsersUserId(projectId, user.getId());
+    }
+
+    @Test
+    void testDeliver_OtherFrames_Sent() {
+        // Given
+        var accessor = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT_ACK);
+        accessor.setSessionId(SESSION_ID);
+        var connectAck = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+
+        // When
+        var result = interceptor.deliveryInterceptor().preSend(connectAck, channel);
+
+        // Then
+        assertSame(connectAck, result);
+        verifyNoInteractions(projectRepository);
+    }
+
+    private Message<byte[]> subscribe(String destination) {
+        var accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setSessionId(SESSION_ID);
+        accessor.setDestination(destination);
+        accessor.setUser(authentication);
+        return message(accessor);
+    }
+
+    /**
+     * An event of the project as the broker sends it to a subscribed session.
+     */
+    private Message<byte[]> event(String sessionId) {
+        var accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setDestination(ProjectEventRelay.TOPIC_PREFIX + projectId);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    /**
+     * Leaves the headers mutable like the STOMP decoder does, so the interceptor can set the user.
+     */
+    private static Message<byte[]> message(StompHeaderAccessor accessor) {
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
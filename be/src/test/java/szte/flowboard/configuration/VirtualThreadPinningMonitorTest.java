@@ -0,0 +1,77 @@
+package szte.flowboard.configuration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final Object monitor = new Object();
+
+    private SimpleMeterRegistry meterRegistry;
+    private VirtualThreadPinningMonitor pinningMonitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        var properties = new VirtualThreadProperties();
+        properties.setPinningThreshold(Duration.ofMillis(5));
+        pinningMonitor = new VirtualThreadPinningMonitor(meterRegistry, properties);
+        pinningMonitor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pinningMonitor.stop();
+    }
+
+    @Test
+    void testPinned_BlockingInsideSynchronized_CountsPinningSite() throws InterruptedException {
+        // When
+        Thread.ofVirtual().start(this::sleepWhileHoldingMonitor).join();
+
+        // Then
+        var site = getClass().getName() + ".sleepWhileHoldingMonitor";
+        var deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (meterRegistry.find(VirtualThreadPinningMonitor.PINNED_COUNTER).tag("site", site).counter() == null
+                && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        var counter = meterRegistry.find(VirtualThreadPinningMonitor.PINNED_COUNTER).tag("site", site).counter();
+        assertNotNull(counter, () -> "Pinning sites: " + meterRegistry.find(VirtualThreadPinningMonitor.PINNED_COUNTER).counters());
+        assertEquals(1, counter.count());
+    }
+
+    @Test
+    void testPinned_BlockingWithoutMonitor_IsNotCounted() throws InterruptedException {
+        // When
+        Thread.ofVirtual().start(() -> sleep(Duration.ofMillis(50))).join();
+        Thread.sleep(1500);
+
+        // Then
+        assertTrue(meterRegistry.find(VirtualThreadPinningMonitor.PINNED_COUNTER).counters().isEmpty());
+    }
+
+    private void sleepWhileHoldingMonitor() {
+        synchronized (monitor) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
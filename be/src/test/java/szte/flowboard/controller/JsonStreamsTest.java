@@ -0,0 +1,144 @@
+package szte.flowboard.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import szte.flowboard.configuration.PaginationProperties;
+import szte.flowboard.dto.TaskDto;
+import szte.flowboard.enums.TaskStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonStreamsTest {
+
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+    private static final MediaType CBOR = MediaType.valueOf("application/cbor");
+
+    private final ObjectMapper jsonMapper = mapper().build();
+    private final ObjectMapper smileMapper = mapper().factory(new SmileFactory()).build();
+    private final ObjectMapper cborMapper = mapper().factory(new CBORFactory()).build();
+
+    private JsonStreams jsonStreams;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new PaginationProperties();
+        properties.setStreamChunkSize(2);
+        jsonStreams = new JsonStreams(new MappingJackson2HttpMessageConverter(jsonMapper),
+                new MappingJackson2SmileHttpMessageConverter(smileMapper),
+                new MappingJackson2CborHttpMessageConverter(cborMapper), properties);
+        request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testNegotiate_PrefersJsonAndHigherQuality() {
+        assertEquals(MediaType.APPLICATION_JSON, jsonStreams.negotiate(null).orElseThrow().mediaType());
+        assertEquals(MediaType.APPLICATION_JSON, jsonStreams.negotiate("*/*").orElseThrow().mediaType());
+        assertEquals(CBOR, jsonStreams.negotiate("application/cbor").orElseThrow().mediaType());
+        assertEquals(SMILE, jsonStreams.negotiate("application/json;q=0.5, application/x-jackson-smile").orElseThrow().mediaType());
+        assertEquals(MediaType.APPLICATION_JSON, jsonStreams.negotiate("application/x-jackson-smile;q=0, */*").orElseThrow().mediaType());
+    }
+
+    @Test
+    void testNegotiate_UnsupportedOrInvalidAccept_ReturnsEmpty() {
+        assertTrue(jsonStreams.negotiate("text/html").isEmpty());
+        assertTrue(jsonStreams.negotiate("not a media type").isEmpty());
+    }
+
+    @Test
+    void testBody_Json_WritesSameArrayAsMaterializedList() throws IOException {
+        // Given
+        var tasks = List.of(task("First"), task("Second"), task("Third"));
+
+        // When
+        var response = jsonStreams.body(ResponseEntity.ok().eTag("\"1\""), (chunkSize, consumer) -> tasks.forEach(consumer));
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("\"1\"", response.getHeaders().getETag());
+        assertEquals(jsonMapper.writeValueAsString(tasks), write(response).toString());
+    }
+
+    @Test
+    void testBody_Smile_RoundTripsRows() throws IOException {
+        // Given
+        request.addHeader(HttpHeaders.ACCEPT, SMILE.toString());
+        var tasks = List.of(task("First"), task("Second"));
+
+        // When
+        var response = jsonStreams.body(ResponseEntity.ok(), (chunkSize, consumer) -> tasks.forEach(consumer));
+
+        // Then
+        assertEquals(SMILE, response.getHeaders().getContentType());
+        List<TaskDto> read = smileMapper.readValue(write(response).toByteArray(), new TypeReference<>() {
+        });
+        assertEquals(List.of("First", "Second"), read.stream().map(TaskDto::getName).toList());
+        assertEquals(Duration.ofMinutes(90), read.get(0).getBookedTime());
+    }
+
+    @Test
+    void testBody_NotAcceptable_Returns406() {
+        // Given
+        request.addHeader(HttpHeaders.ACCEPT, MediaType.TEXT_HTML_VALUE);
+
+        // When
+        var response = jsonStreams.body(ResponseEntity.ok(), (chunkSize, consumer) -> fail("Rows must not be read"));
+
+        // Then
+        assertEquals(HttpStatus.NOT_ACCEPTABLE, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    private static ByteArrayOutputStream write(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        var outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+        return outputStream;
+    }
+
+    private static Jackson2ObjectMapperBuilder mapper() {
+        return new Jackson2ObjectMapperBuilder().modulesToInstall(new BlackbirdModule());
+    }
+
+    private static TaskDto task(String name) {
+        var task = new TaskDto();
+        task.setId(UUID.randomUUID());
+        task.setName(name);
+        task.setProjectId(UUID.randomUUID());
+        task.setBookedTime(Duration.ofMinutes(90));
+        task.setStatus(TaskStatus.OPEN);
+        task.setCreatedAt(LocalDateTime.now());
+        return task;
+    }
+}
@@ -0,0 +1,34 @@
+package szte.flowboard.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersionETagsTest {
+
+    @Test
+    void testExpectedVersion_StrongETag_ReturnsVersion() {
+        assertEquals(7L, VersionETags.expectedVersion(VersionETags.of(7)));
+        assertEquals(7L, VersionETags.expectedVersion(" \"7\" "));
+    }
+
+    @Test
+    void testExpectedVersion_WithoutVersion_ReturnsNull() {
+        assertNull(VersionETags.expectedVersion(null));
+        assertNull(VersionETags.expectedVersion(""));
+        assertNull(VersionETags.expectedVersion("*"));
+    }
+
+    @Test
+    void testExpectedVersion_OtherETags_NeverMatch() {
+        assertEquals(VersionETags.UNMATCHED_VERSION, VersionETags.expectedVersion("W/\"7\""));
+        assertEquals(VersionETags.UNMATCHED_VERSION, VersionETags.expectedVersion("\"7\", \"8\""));
+        assertEquals(VersionETags.UNMATCHED_VERSION, VersionETags.expectedVersion("\"seven\""));
+    }
+
+    @Test
+    void testPreconditionRequired_Returns428() {
+        assertEquals(HttpStatus.PRECONDITION_REQUIRED, VersionETags.preconditionRequired().getStatusCode());
+    }
+}
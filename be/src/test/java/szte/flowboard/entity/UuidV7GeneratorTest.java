@@ -0,0 +1,50 @@
+package szte.flowboard.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void testGenerate_VersionAndVariant() {
+        // When
+        var uuid = UuidV7Generator.generate();
+
+        // Then
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void testGenerate_EmbedsCurrentTimestamp() {
+        // Given
+        var before = System.currentTimeMillis();
+
+        // When
+        var uuid = UuidV7Generator.generate();
+
+        // Then
+        var timestamp = uuid.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before);
+        assertTrue(timestamp <= System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void testGenerate_SameMillisecond_StrictlyIncreasingAndUnique() {
+        // Given
+        var generated = new HashSet<UUID>();
+        var previous = UuidV7Generator.generate();
+
+        // When & Then
+        for (int i = 0; i < 100_000; i++) {
+            var next = UuidV7Generator.generate();
+            assertTrue(Long.compareUnsigned(previous.getMostSignificantBits(), next.getMostSignificantBits()) < 0);
+            assertTrue(generated.add(next));
+            previous = next;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package szte.flowboard.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import szte.flowboard.service.S3Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test of the whole backend over HTTP, without Keycloak and AWS.
+ * The application runs against an embedded PostgreSQL server migrated by Flyway, trusts the tokens of a
+ * {@link FakeIdentityProvider} that also answers the Keycloak admin API, and stores the report PDFs in a
+ * {@link LocalReportStorage}.
+ * A team of users is signed up through the API: every user is synchronized from the identity provider on its first
+ * request, the first one creates a project, adds the others to it with every tenth as maintainer, and assigns each of
+ * them tasks. The scenarios then run one after the other, each after a warm-up, with every user of the scenario as a
+ * virtual user: the members log time and browse the board, the maintainers generate reports. Every request of every
+ * scenario has to succeed, and the throughput and latency percentiles of the requests are logged.
+ * The defaults keep the test short enough for the regular build. The team size, the tasks per user, the duration and
+ * warm-up of the scenarios in seconds and the latency of the Keycloak admin API can be changed with
+ * {@code -Dflowboard.load.users}, {@code -Dflowboard.load.tasks-per-user}, {@code -Dflowboard.load.duration},
+ * {@code -Dflowboard.load.warmup} and {@code -Dflowboard.load.keycloak-latency-ms}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class EndToEndLoadTest {
+
+    private static final int USERS = Integer.getInteger("flowboard.load.users", 5);
+    private static final int TASKS_PER_USER = Integer.getInteger("flowboard.load.tasks-per-user", 3);
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("flowboard.load.duration", 2));
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("flowboard.load.warmup", 1));
+    private static final Duration KEYCLOAK_LATENCY = Duration.ofMillis(Integer.getInteger("flowboard.load.keycloak-latency-ms", 20));
+    private static final int MAINTAINER_EVERY = 10;
+
+    private static EmbeddedPostgres postgres;
+    private static FakeIdentityProvider identityProvider;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void harnessProperties(DynamicPropertyRegistry registry) {
+        try {
+            postgres = EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the embedded PostgreSQL server", e);
+        }
+        identityProvider = new FakeIdentityProvider(KEYCLOAK_LATENCY);
+
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("keycloak.auth-server-url", identityProvider::url);
+        registry.add("spring.security.oauth2.resourceserver.jwt.jwk-set-uri", identityProvider::jwkSetUri);
+        registry.add("spring.security.oauth2.resourceserver.jwt.issuer-uri", identityProvider::issuer);
+        registry.add("spring.security.oauth2.client.provider.keycloak-admin-realm.issuer-uri", identityProvider::issuer);
+    }
+
+    @AfterAll
+    static void stopHarness() throws IOException {
+        identityProvider.close();
+        postgres.close();
+    }
+
+    @Test
+    void testScenarios_AllRequestsSucceed() {
+        var driver = new LoadDriver("http://localhost:" + port, objectMapper);
+        var team = signUp(driver);
+        var maintainers = team.members().stream().filter(Member::maintainer).toList();
+
+        run(driver, "log time", team.members(), (session, member) -> {
+            var taskId = member.taskIds().get(ThreadLocalRandom.current().nextInt(member.taskIds().size()));
+
+            session.post("POST /time-logs", "/time-logs", Map.of(
+                    "taskId", taskId,
+                    "loggedTime", Duration.ofMinutes(15 * ThreadLocalRandom.current().nextInt(1, 17)),
+                    "logDate", LocalDate.now().minusDays(ThreadLocalRandom.current().nextInt(28)),
+                    "billable", true));
+            session.get("GET /time-logs/task/{taskId}", "/time-logs/task/" + taskId);
+        });
+
+        run(driver, "browse board", team.members(), (session, member) -> {
+            session.get("GET /projects", "/projects");
+            var board = session.get("GET /tasks/project/{projectId}", "/tasks/project/" + team.projectId());
+            session.get("GET /tasks/{id}", "/tasks/" + board.get(ThreadLocalRandom.current().nextInt(board.size())).get("id").asText());
+        });
+
+        run(driver, "generate reports", maintainers, (session, member) -> {
+            var period = Map.of("startDate", LocalDate.now().minusDays(30), "endDate", LocalDate.now());
+
+            var cocId = session.post("POST /reports/coc", "/reports/coc", Map.of(
+                    "projectId", team.projectId(),
+                    "startDate", period.get("startDate"),
+                    "endDate", period.get("endDate"),
+                    "description", "Szoftverfejlesztési szolgáltatás"));
+            session.post("POST /reports/project-activity", "/reports/project-activity", Map.of(
+                    "projectId", team.projectId(),
+                    "startDate", period.get("startDate"),
+                    "endDate", period.get("endDate")));
+            session.post("POST /reports/employee-matrix", "/reports/employee-matrix", period);
+            session.get("GET /reports", "/reports?limit=20");
+            session.get("GET /reports/{id}/download", "/reports/" + cocId.asText() + "/download");
+        });
+    }
+
+    private static void run(LoadDriver driver, String name, List<Member> users, LoadDriver.Scenario<Member> scenario) {
+        driver.run(name, users, WARMUP, scenario);
+        var results = driver.run(name, users, DURATION, scenario);
+        results.logSummary();
+
+        assertTrue(results.iterations() > 0, name + " ran no iteration");
+        assertEquals(0, results.failures(), () -> name + " failed: " + results.firstFailures());
+    }
+
+    /**
+     * Signs the team up through the API: synchronizes every user, creates the project, adds the members and assigns
+     * them their tasks.
+     *
+     * @param driver the driver to send the requests with
+     * @return the team
+     */
+    private Team signUp(LoadDriver driver) {
+        var users = new ArrayList<Map.Entry<String, UUID>>();
+
+        for (int i = 0; i < USERS; i++) {
+            var keycloakId = UUID.randomUUID().toString();
+
+            identityProvider.register(keycloakId, "user" + i, "Load", "User " + i);
+            var user = driver.session(identityProvider.mint(keycloakId)).get("sign up", "/users/me");
+            users.add(Map.entry(keycloakId, UUID.fromString(user.get("id").asText())));
+        }
+
+        var owner = driver.session(identityProvider.mint(users.getFirst().getKey()));
+        var project = owner.post("sign up", "/projects", Map.of(
+                "name", "Load test project",
+                "status", "ACTIVE",
+                "type", "TIME_BASED",
+                "storyPointFee", 0.0,
+                "storyPointTimeMappings", List.of(
+                        Map.of("storyPoints", 1, "timeValue", Duration.ofHours(2)),
+                        Map.of("storyPoints", 3, "timeValue", Duration.ofHours(6)),
+                        Map.of("storyPoints", 5, "timeValue", Duration.ofHours(10))),
+                "customer", Map.of("name", "Megrendelő Kft.", "address", "6720 Szeged, Dugonics tér 13."),
+                "contractor", Map.of("name", "Vállalkozó Kft.", "address", "6720 Szeged, Árpád tér 2.")));
+        var projectId = UUID.fromString(project.get("id").asText());
+        // The creator joins as maintainer without a fee, which the COC report of a time based project needs
+        var ownership = owner.get("sign up", "/project-users?projectId=" + projectId + "&userId=" + users.getFirst().getValue());
+        owner.put("sign up", "/project-users/" + ownership.get(0).get("id").asText(), Map.of("role", "MAINTAINER", "fee", 12000.0));
+        var storyPointMappingIds = new ArrayList<String>();
+
+        project.get("storyPointTimeMappings").forEach(mapping -> storyPointMappingIds.add(mapping.get("id").asText()));
+
+        var members = new ArrayList<Member>();
+
+        for (int i = 0; i < users.size(); i++) {
+            var keycloakId = users.get(i).getKey();
+            var userId = users.get(i).getValue();
+            var maintainer = i % MAINTAINER_EVERY == 0;
+
+            if (i > 0) {
+                owner.post("sign up", "/project-users", Map.of(
+                        "projectId", projectId,
+                        "userId", userId,
+                        "role", maintainer ? "MAINTAINER" : "MEMBER",
+                        "fee", 12000.0));
+            }
+
+            var taskIds = new ArrayList<UUID>();
+
+            for (int t = 0; t < TASKS_PER_USER; t++) {
+                var task = owner.post("sign up", "/tasks", Map.of(
+                        "name", "Feladat " + i + "-" + t,
+                        "description", "Terheléses teszt feladat",
+                        "projectId", projectId,
+                        "assignedToId", userId,
+                        "storyPointMappingId", storyPointMappingIds.get(t % storyPointMappingIds.size()),
+                        "status", "IN_PROGRESS"));
+                taskIds.add(UUID.fromString(task.get("id").asText()));
+            }
+
+            members.add(new Member(identityProvider.mint(keycloakId), maintainer, taskIds));
+        }
+
+        return new Team(projectId, members);
+    }
+
+    private record Team(UUID projectId, List<Member> members) {
+    }
+
+    private record Member(String token, boolean maintainer, List<UUID> taskIds) implements LoadDriver.User {
+    }
+
+    @TestConfiguration
+    static class LoadHarnessConfiguration {
+
+        @Bean
+        @Primary
+        S3Service localReportStorage(MeterRegistry meterRegistry, ObservationRegistry observationRegistry) {
+            return new LocalReportStorage(meterRegistry, observationRegistry);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package szte.flowboard.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Stands in for the Keycloak server of the FlowBoard realm on a local HTTP server, for load tests without Keycloak.
+ * It serves the OpenID discovery document and the JWKS of the realm, so the resource server accepts the tokens minted
+ * here and {@link szte.flowboard.configuration.JwtConverter} reads their claims, the token endpoints of the admin
+ * and OAuth clients, and the user lookup of the admin API used by {@link szte.flowboard.service.KeycloakService}.
+ * Every admin API call can be delayed to simulate the round trip to a remote Keycloak.
+ */
+class FakeIdentityProvider implements AutoCloseable {
+
+    static final String REALM = "flowboard";
+    static final String CLIENT_ID = "flowboard";
+
+    private static final Duration TOKEN_LIFETIME = Duration.ofHours(1);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Map<String, Object>> users = new ConcurrentHashMap<>();
+    private final RSAKey signingKey;
+    private final JwtEncoder jwtEncoder;
+    private final Duration adminApiLatency;
+    private final HttpServer server;
+
+    /**
+     * Starts the identity provider on a free local port.
+     *
+     * @param adminApiLatency the delay of every admin API call
+     */
+    FakeIdentityProvider(Duration adminApiLatency) {
+        this.adminApiLatency = adminApiLatency;
+
+        try {
+            signingKey = new RSAKeyGenerator(2048).keyID("load-test").generate();
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Could not generate the signing key", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the identity provider", e);
+        }
+
+        jwtEncoder = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(signingKey)));
+
+        server.createContext(realmPath(REALM) + "/.well-known/openid-configuration", json(exchange -> discovery()));
+        server.createContext(realmPath(REALM) + "/protocol/openid-connect/certs", exchange -> respond(exchange, 200, new JWKSet(signingKey).toString(true)));
+        server.createContext(realmPath(REALM) + "/protocol/openid-connect/token", json(exchange -> tokenResponse(REALM, "service-account-" + CLIENT_ID)));
+        server.createContext(realmPath("master") + "/protocol/openid-connect/token", json(exchange -> tokenResponse("master", "admin")));
+        server.createContext("/admin/realms/" + REALM + "/users/", this::user);
+        // Platform threads, like a separate process: a virtual thread of the application pinned while it waits for the
+        // JWKS must not keep this server from answering
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    /**
+     * @return the base URL of the server, the Keycloak auth server URL of the application
+     */
+    String url() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * @return the issuer of the tokens of the FlowBoard realm
+     */
+    String issuer() {
+        return url() + realmPath(REALM);
+    }
+
+    /**
+     * @return the JWKS endpoint of the FlowBoard realm
+     */
+    String jwkSetUri() {
+        return issuer() + "/protocol/openid-connect/certs";
+    }
+
+    /**
+     * Adds a user to the realm, so the admin API finds it when the application synchronizes it on its first request.
+     *
+     * @param keycloakId the Keycloak ID of the user, the subject of its tokens
+     * @param username the username of the user
+     * @param firstName the first name of the user
+     * @param lastName the last name of the user
+     */
+    void register(String keycloakId, String username, String firstName, String lastName) {
+        users.put(keycloakId, Map.of(
+                "id", keycloakId,
+                "username", username,
+                "firstName", firstName,
+                "lastName", lastName,
+                "email", username + "@flowboard.test",
+                "enabled", true));
+    }
+
+    /**
+     * Mints an access token of the FlowBoard realm for a registered user, with the client role of a FlowBoard user.
+     *
+     * @param keycloakId the Keycloak ID of the user
+     * @return the signed access token
+     */
+    String mint(String keycloakId) {
+        var user = users.get(keycloakId);
+
+        if (user == null) {
+            throw new IllegalArgumentException("Unknown user: " + keycloakId);
+        }
+
+        return mint(REALM, keycloakId, (String) user.get("username"), Map.of(CLIENT_ID, Map.of("roles", List.of("user"))));
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        ((ExecutorService) server.getExecutor()).shutdownNow();
+    }
+
+    private String mint(String realm, String subject, String username, Map<String, Object> resourceAccess) {
+        var now = Instant.now();
+        var claims = JwtClaimsSet.builder()
+                .issuer(url() + realmPath(realm))
+                .subject(subject)
+                .issuedAt(now)
+                .expiresAt(now.plus(TOKEN_LIFETIME))
+                .claim("azp", CLIENT_ID)
+                .claim("scope", "openid profile email")
+                .claim("preferred_username", username)
+                .claim("resource_access", resourceAccess)
+                .build();
+        var header = JwsHeader.with(SignatureAlgorithm.RS256).keyId(signingKey.getKeyID()).build();
+
+        return jwtEncoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+    }
+
+    private Map<String, Object> discovery() {
+        var issuer = issuer();
+
+        return Map.of(
+                "issuer", issuer,
+                "authorization_endpoint", issuer + "/protocol/openid-connect/auth",
+                "token_endpoint", issuer + "/protocol/openid-connect/token",
+                "jwks_uri", jwkSetUri(),
+                "grant_types_supported", List.of("authorization_code", "client_credentials", "password"),
+                "response_types_supported", List.of("code"),
+                "subject_types_supported", List.of("public"),
+                "id_token_signing_alg_values_supported", List.of("RS256"),
+                "token_endpoint_auth_methods_supported", List.of("client_secret_basic", "client_secret_post"));
+    }
+
+    private Map<String, Object> tokenResponse(String realm, String username) {
+        return Map.of(
+                "access_token", mint(realm, username, username, Map.of()),
+                "token_type", "Bearer",
+                "expires_in", TOKEN_LIFETIME.toSeconds(),
+                "refresh_expires_in", TOKEN_LIFETIME.toSeconds(),
+                "refresh_token", "not-a-refresh-token",
+                "scope", "openid profile email");
+    }
+
+    private void user(HttpExchange exchange) throws IOException {
+        try {
+            Thread.sleep(adminApiLatency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        var path = exchange.getRequestURI().getPath();
+        var user = users.get(path.substring(path.lastIndexOf('/') + 1));
+
+        if (user == null) {
+            respond(exchange, 404, "{\"error\":\"User not found\"}");
+        } else {
+            respond(exchange, 200, objectMapper.writeValueAsString(user));
+        }
+    }
+
+    private HttpHandler json(JsonBody body) {
+        return exchange -> respond(exchange, 200, objectMapper.writeValueAsString(body.of(exchange)));
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        var bytes = body.getBytes(StandardCharsets.UTF_8);
+
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+
+        try (var responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+    }
+
+    private static String realmPath(String realm) {
+        return "/realms/" + realm;
+    }
+
+    private interface JsonBody {
+        Object of(HttpExchange exchange);
+    }
+}
@@ -0,0 +1,314 @@
+package szte.flowboard.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs scripted scenarios against the HTTP API of a running backend and measures every request.
+ * Each virtual user runs the scenario in a loop on its own thread and sends its next request when the previous one is
+ * answered, so the load is bounded by the number of virtual users (a closed model) and the latency of a request is the
+ * time from sending it until its response is read. The clients use platform threads, so they do not compete with the
+ * request handling of the application for the carriers of its virtual threads.
+ */
+@Slf4j
+class LoadDriver {
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+
+    LoadDriver(String baseUrl, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Opens a session that sends its requests with the token of a user, without measuring them.
+     *
+     * @param token the access token of the user
+     * @return the session
+     */
+    Session session(String token) {
+        return new Session(token, null);
+    }
+
+    /**
+     * Runs a scenario with every user as a virtual user until the duration elapses.
+     * A failed request ends the iteration of its virtual user, which starts the next one.
+     *
+     * @param name the name of the scenario
+     * @param users the virtual users
+     * @param duration how long the scenario runs
+     * @param scenario the script of one iteration
+     * @return the measured requests and iterations
+     */
+    <U extends User> Results run(String name, List<U> users, Duration duration, Scenario<U> scenario) {
+        var results = new Results(name);
+        var deadline = System.nanoTime() + duration.toNanos();
+        var start = System.nanoTime();
+
+        try (var executor = Executors.newThreadPerTaskExecutor(Thread.ofPlatform().name(name + "-", 0).factory())) {
+            for (var user : users) {
+                var session = new Session(user.token(), results);
+
+                executor.execute(() -> {
+                    while (System.nanoTime() < deadline) {
+                        var iterationStart = System.nanoTime();
+
+                        try {
+                            scenario.run(session, user);
+                            results.record(name + " (iteration)", System.nanoTime() - iterationStart, null);
+                        } catch (Exception e) {
+                            results.record(name + " (iteration)", System.nanoTime() - iterationStart, e.getMessage());
+                        }
+                    }
+                });
+            }
+        }
+
+        results.elapsedNanos = System.nanoTime() - start;
+
+        return results;
+    }
+
+    /**
+     * A virtual user, identified by its access token.
+     */
+    interface User {
+        String token();
+    }
+
+    /**
+     * One iteration of a scripted scenario of a virtual user.
+     */
+    interface Scenario<U extends User> {
+        void run(Session session, U user) throws Exception;
+    }
+
+    /**
+     * Sends the requests of one user, measuring them when the session belongs to a run.
+     */
+    class Session {
+
+        private final String token;
+        private final Results results;
+
+        private Session(String token, Results results) {
+            this.token = token;
+            this.results = results;
+        }
+
+        /**
+         * Sends a GET request.
+         *
+         * @param request the name the request is measured under
+         * @param path the path and query of the request
+         * @return the response body
+         * @throws IllegalStateException if the response is not successful
+         */
+        JsonNode get(String request, String path) {
+            return send(request, HttpRequest.newBuilder(URI.create(baseUrl + path)).GET());
+        }
+
+        /**
+         * Sends a POST request with a JSON body.
+         *
+         * @param request the name the request is measured under
+         * @param path the path of the request
+         * @param body the request body, serialized as JSON
+         * @return the response body
+         * @throws IllegalStateException if the response is not successful
+         */
+        JsonNode post(String request, String path, Object body) {
+            return send(request, HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/json")
+                    .POST(json(body)));
+        }
+
+        /**
+         * Sends a PUT request with a JSON body.
+         *
+         * @param request the name the request is measured under
+         * @param path the path of the request
+         * @param body the request body, serialized as JSON
+         * @return the response body
+         * @throws IllegalStateException if the response is not successful
+         */
+        JsonNode put(String request, String path, Object body) {
+            return send(request, HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/json")
+                    .PUT(json(body)));
+        }
+
+        private HttpRequest.BodyPublisher json(Object body) {
+            try {
+                return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private JsonNode send(String request, HttpRequest.Builder builder) {
+            var httpRequest = builder
+                    .header("Authorization", "Bearer " + token)
+                    .header("Accept", "application/json")
+                    .build();
+            var start = System.nanoTime();
+            String failure = null;
+
+            try {
+                var response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofByteArray());
+
+                if (response.statusCode() >= 400) {
+                    failure = httpRequest.method() + " " + httpRequest.uri().getPath() + " answered " + response.statusCode();
+                    throw new IllegalStateException(failure);
+                }
+
+                return response.body().length == 0 ? objectMapper.nullNode() : objectMapper.readTree(response.body());
+            } catch (IOException e) {
+                failure = httpRequest.method() + " " + httpRequest.uri().getPath() + " failed: " + e;
+                throw new UncheckedIOException(failure, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = httpRequest.method() + " " + httpRequest.uri().getPath() + " was interrupted";
+                throw new IllegalStateException(failure, e);
+            } finally {
+                if (results != null) {
+                    results.record(request, System.nanoTime() - start, failure);
+                }
+            }
+        }
+    }
+
+    /**
+     * The latencies and failures of the requests of a scenario, by request name.
+     */
+    static class Results {
+
+        private final String scenario;
+        private final Map<String, Samples> samples = Collections.synchronizedMap(new LinkedHashMap<>());
+        private long elapsedNanos;
+
+        private Results(String scenario) {
+            this.scenario = scenario;
+        }
+
+        private void record(String request, long nanos, String failure) {
+            samples.computeIfAbsent(request, name -> new Samples()).add(nanos, failure);
+        }
+
+        /**
+         * Counts the failed requests and iterations of the scenario.
+         *
+         * @return the number of failures
+         */
+        int failures() {
+            synchronized (samples) {
+                return samples.values().stream().mapToInt(requestSamples -> requestSamples.failures).sum();
+            }
+        }
+
+        /**
+         * Counts the iterations of the scenario, failed or not.
+         *
+         * @return the number of iterations
+         */
+        int iterations() {
+            var iterations = samples.get(scenario + " (iteration)");
+            return iterations == null ? 0 : iterations.sorted().length;
+        }
+
+        /**
+         * Describes the first failure of every request that failed.
+         *
+         * @return the first failures by request name
+         */
+        Map<String, String> firstFailures() {
+            var firstFailures = new LinkedHashMap<String, String>();
+
+            synchronized (samples) {
+                samples.forEach((request, requestSamples) -> {
+                    if (requestSamples.firstFailure != null) {
+                        firstFailures.put(request, requestSamples.firstFailure);
+                    }
+                });
+            }
+
+            return firstFailures;
+        }
+
+        /**
+         * Logs the throughput and the latency percentiles of every request of the scenario, and the first failure
+         * of the requests that failed.
+         */
+        void logSummary() {
+            var seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+
+            synchronized (samples) {
+                samples.forEach((request, requestSamples) -> {
+                    var latencies = requestSamples.sorted();
+
+                    log.info(String.format("%-18s %-34s %7d requests, %8.1f requests/s, p50 %8.2f ms, p95 %8.2f ms, p99 %8.2f ms, max %8.2f ms, %d failed",
+                            scenario, request, latencies.length, latencies.length / seconds,
+                            millis(percentile(latencies, 0.50)), millis(percentile(latencies, 0.95)), millis(percentile(latencies, 0.99)),
+                            millis(latencies.length == 0 ? 0 : latencies[latencies.length - 1]), requestSamples.failures));
+
+                    if (requestSamples.firstFailure != null) {
+                        log.warn("{} {} first failure: {}", scenario, request, requestSamples.firstFailure);
+                    }
+                });
+            }
+        }
+
+        private static long percentile(long[] sorted, double percentile) {
+            return sorted.length == 0 ? 0 : sorted[(int) Math.min(sorted.length - 1, Math.ceil(sorted.length * percentile) - 1)];
+        }
+
+        private static double millis(long nanos) {
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+
+    private static class Samples {
+
+        private final List<Long> latencies = new ArrayList<>();
+        private int failures;
+        private String firstFailure;
+
+        private synchronized void add(long nanos, String failure) {
+            latencies.add(nanos);
+
+            if (failure != null) {
+                failures++;
+                if (firstFailure == null) {
+                    firstFailure = failure;
+                }
+            }
+        }
+
+        private synchronized long[] sorted() {
+            var sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package szte.flowboard.load;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import szte.flowboard.service.S3Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * Keeps the report PDFs in a local directory instead of the S3 bucket, for load tests without AWS.
+ * Download URLs point at the stored files.
+ */
+class LocalReportStorage extends S3Service {
+
+    private final Path directory;
+
+    LocalReportStorage(MeterRegistry meterRegistry, ObservationRegistry observationRegistry) {
+        super(meterRegistry, observationRegistry);
+
+        try {
+            directory = Files.createTempDirectory("flowboard-reports");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create the report directory", e);
+        }
+    }
+
+    @Override
+    public boolean uploadReport(UUID reportId, byte[] data) {
+        try {
+            Files.write(path(reportId), data);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean deleteReport(UUID reportId) {
+        try {
+            return Files.deleteIfExists(path(reportId));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public URL getDownloadUrl(UUID reportId, String contentDisposition, String contentType) {
+        try {
+            return path(reportId).toUri().toURL();
+        } catch (MalformedURLException e) {
+            return null;
+        }
+    }
+
+    private Path path(UUID reportId) {
+        return directory.resolve(reportId + ".pdf");
+    }
+}
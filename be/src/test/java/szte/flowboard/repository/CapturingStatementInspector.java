@@ -0,0 +1,32 @@
+package szte.flowboard.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records the SQL that Hibernate prepares, so tests can inspect the plans of the generated statements.
+ * Registered with {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ */
+public class CapturingStatementInspector implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    /**
+     * @return the SQL prepared since the last clear, in order
+     */
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+}
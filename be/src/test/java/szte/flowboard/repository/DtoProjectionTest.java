@@ -0,0 +1,119 @@
+package szte.flowboard.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import szte.flowboard.dto.TaskDto;
+import szte.flowboard.entity.StoryPointTimeMappingEntity;
+import szte.flowboard.mapper.TaskMapper;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the task list selected straight into DTOs by the JPQL constructor expression with the same list read
+ * through managed entities and the mapper.
+ */
+@Import(TaskMapper.class)
+class DtoProjectionTest extends PostgresRepositoryTest {
+
+    private static final int TASKS = 3;
+    private static final int TIME_LOGS_PER_TASK = 2;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskMapper taskMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UUID projectId;
+
+    @BeforeEach
+    void setUp() {
+        var user = user();
+        entityManager.persist(user);
+
+        var project = project();
+        entityManager.persist(project);
+        projectId = project.getId();
+
+        var mapping = new StoryPointTimeMappingEntity();
+        mapping.setProject(project);
+        mapping.setStoryPoints(1);
+        mapping.setTimeValue(Duration.ofHours(2));
+        entityManager.persist(mapping);
+
+        for (int i = 0; i < TASKS; i++) {
+            var task = task(project, user);
+            task.setName("Task " + i);
+            task.setStoryPointMapping(mapping);
+            entityManager.persist(task);
+
+            for (int j = 0; j < TIME_LOGS_PER_TASK; j++) {
+                entityManager.persist(timeLog(task, user, Duration.ofMinutes(30), LocalDate.now()));
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testFindTaskDtosByProjectId_MatchesMappedEntities() {
+        // Given
+        var mapped = sorted(taskMapper.toDtoList(taskRepository.findByProjectId(projectId)));
+        entityManager.clear();
+
+        // When
+        var projected = sorted(taskRepository.findTaskDtosByProjectId(projectId));
+
+        // Then
+        assertEquals(TASKS, projected.size());
+        for (int i = 0; i < TASKS; i++) {
+            var expected = mapped.get(i);
+            var actual = projected.get(i);
+
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getProjectId(), actual.getProjectId());
+            assertEquals(expected.getAssignedToId(), actual.getAssignedToId());
+            assertEquals(expected.getAssignedToName(), actual.getAssignedToName());
+            assertEquals(Duration.ofMinutes(30 * TIME_LOGS_PER_TASK), actual.getBookedTime());
+            assertEquals(expected.getBookedTime(), actual.getBookedTime());
+            assertEquals(expected.getStoryPointMappingId(), actual.getStoryPointMappingId());
+            assertEquals(expected.getStatus(), actual.getStatus());
+            assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+            assertEquals(expected.getLastModifiedAt(), actual.getLastModifiedAt());
+            assertEquals(expected.getVersion(), actual.getVersion());
+        }
+    }
+
+    @Test
+    void testFindTaskDtosByProjectId_OneStatementWithoutManagedEntities() {
+        // When
+        var projected = StatementBudget.of(entityManagerFactory).assertAtMost(1, () -> taskRepository.findTaskDtosByProjectId(projectId));
+
+        // Then
+        assertEquals(TASKS, projected.size());
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    private static List<TaskDto> sorted(List<TaskDto> tasks) {
+        return tasks.stream().sorted(Comparator.comparing(TaskDto::getId)).toList();
+    }
+}
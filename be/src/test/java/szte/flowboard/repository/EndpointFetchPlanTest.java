@@ -0,0 +1,322 @@
+package szte.flowboard.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import szte.flowboard.dto.CompanyDto;
+import szte.flowboard.dto.KeysetRequest;
+import szte.flowboard.dto.request.ProjectUpdateRequestDto;
+import szte.flowboard.dto.request.ProjectUserFilterDto;
+import szte.flowboard.dto.request.ReportFilterDto;
+import szte.flowboard.dto.request.TaskCreateRequestDto;
+import szte.flowboard.dto.request.TaskFilterDto;
+import szte.flowboard.dto.request.TaskUpdateRequestDto;
+import szte.flowboard.dto.request.TimeLogFilterDto;
+import szte.flowboard.entity.ProjectEntity;
+import szte.flowboard.entity.TaskEntity;
+import szte.flowboard.enums.ProjectStatus;
+import szte.flowboard.enums.ProjectType;
+import szte.flowboard.enums.TaskStatus;
+import szte.flowboard.enums.UserRole;
+import szte.flowboard.mapper.CompanyMapper;
+import szte.flowboard.mapper.ProjectMapper;
+import szte.flowboard.mapper.ProjectUserMapper;
+import szte.flowboard.mapper.ReportMapper;
+import szte.flowboard.mapper.StoryPointTimeMappingMapper;
+import szte.flowboard.mapper.TaskMapper;
+import szte.flowboard.mapper.TimeLogMapper;
+import szte.flowboard.service.ProjectService;
+import szte.flowboard.service.ProjectUserService;
+import szte.flowboard.service.ReportService;
+import szte.flowboard.service.S3Service;
+import szte.flowboard.service.TaskService;
+import szte.flowboard.service.TimeLogService;
+import szte.flowboard.service.UpdateConflictMetrics;
+import szte.flowboard.service.UserService;
+import szte.flowboard.service.report.COCReportGenerator;
+import szte.flowboard.service.report.EmployeeMatrixReportGenerator;
+import szte.flowboard.service.report.ProjectActivityReportGenerator;
+import szte.flowboard.service.report.ReportMetrics;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the fetch plan of every endpoint against N+1 queries.
+ * Each endpoint is exercised the way its controller runs it: the service call, followed by the DTO mapping where
+ * the service still returns entities, outside of any transaction, exactly as with open-in-view disabled.
+ * The statement budgets do not depend on the number of rows, so a lazy association dereferenced per row either
+ * fails the budget or throws.
+ */
+@Import({
+        ProjectService.class, ProjectUserService.class, ReportService.class, TaskService.class, TimeLogService.class, UserService.class,
+        CompanyMapper.class, ProjectMapper.class, ProjectUserMapper.class, ReportMapper.class, StoryPointTimeMappingMapper.class,
+        TaskMapper.class, TimeLogMapper.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EndpointFetchPlanTest extends PostgresRepositoryTest {
+
+    private static final int PROJECTS = 3;
+    private static final int TASKS_PER_PROJECT = 4;
+
+    @MockitoBean
+    private S3Service s3Service;
+
+    @MockitoBean
+    private EmployeeMatrixReportGenerator employeeMatrixReportGenerator;
+
+    @MockitoBean
+    private ProjectActivityReportGenerator projectActivityReportGenerator;
+
+    @MockitoBean
+    private COCReportGenerator cocReportGenerator;
+
+    @MockitoBean
+    private ReportMetrics reportMetrics;
+
+    @MockitoBean
+    private UpdateConflictMetrics updateConflictMetrics;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProjectUserService projectUserService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TimeLogService timeLogService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ProjectMapper projectMapper;
+
+    @Autowired
+    private ProjectUserMapper projectUserMapper;
+
+    @Autowired
+    private TaskMapper taskMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private StatementBudget budget;
+    private JwtAuthenticationToken authentication;
+    private ProjectEntity project;
+    private TaskEntity task;
+
+    @BeforeEach
+    void setUp() {
+        budget = StatementBudget.of(entityManagerFactory);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            var user = persist(user());
+            var colleague = persist(user());
+            authentication = new JwtAuthenticationToken(Jwt.withTokenValue("token")
+                    .header("alg", "none")
+                    .subject(user.getKeycloakId())
+                    .build());
+
+            for (int p = 0; p < PROJECTS; p++) {
+                project = persist(storyPointProject());
+                project.getStoryPointTimeMappings().forEach(mapping -> {
+                    mapping.setProject(project);
+                    entityManager.persist(mapping);
+                });
+                persist(projectUser(project, user, UserRole.MAINTAINER));
+                persist(projectUser(project, colleague, UserRole.MEMBER));
+                persist(report(project, user));
+
+                for (int t = 0; t < TASKS_PER_PROJECT; t++) {
+                    task = task(project, t % 2 == 0 ? user : colleague);
+                    task.setStoryPointMapping(project.getStoryPointTimeMappings().get(0));
+                    persist(task);
+                    persist(timeLog(task, user, Duration.ofMinutes(90), LocalDate.of(2026, 1, 15)));
+                    persist(timeLog(task, colleague, Duration.ofMinutes(90), LocalDate.of(2026, 1, 15)));
+                }
+            }
+        });
+    }
+
+    @Test
+    void testGetProjects() {
+        var projects = budget.assertAtMost(3, () -> projectService.findAllByUser(authentication));
+
+        assertEquals(PROJECTS, projects.size());
+        projects.forEach(dto -> assertEquals(2, dto.getStoryPointTimeMappings().size()));
+    }
+
+    @Test
+    void testGetProjectById() {
+        var dto = budget.assertAtMost(3, () -> projectService.findByIdAndUser(project.getId(), authentication))
+                .orElseThrow();
+
+        assertEquals(2, dto.getStoryPointTimeMappings().size());
+    }
+
+    @Test
+    void testUpdateProject() {
+        var request = new ProjectUpdateRequestDto();
+        request.setName("Renamed project");
+        request.setStatus(ProjectStatus.ACTIVE);
+        request.setType(ProjectType.STORY_POINT_BASED);
+        request.setCustomer(new CompanyDto("Customer", "Szeged"));
+        request.setContractor(new CompanyDto("Contractor", "Szeged"));
+        var current = projectService.findByIdAndUser(project.getId(), authentication).orElseThrow();
+        request.setStoryPointTimeMappings(current.getStoryPointTimeMappings());
+
+        var dto = budget.assertAtMost(6, () -> {
+            var entity = projectMapper.toEntity(request);
+            entity.setId(project.getId());
+            return projectMapper.toDto(projectService.update(entity, current.getVersion()));
+        });
+
+        assertEquals("Renamed project", dto.getName());
+        assertEquals(2, dto.getStoryPointTimeMappings().size());
+    }
+
+    @Test
+    void testGetTasks() {
+        var tasks = budget.assertAtMost(2, () -> taskService.findAllByUser(authentication, new TaskFilterDto(), KeysetRequest.UNPAGED).items());
+
+        assertEquals(PROJECTS * TASKS_PER_PROJECT, tasks.size());
+        tasks.forEach(dto -> {
+            assertEquals("Test User", dto.getAssignedToName());
+            assertEquals(Duration.ofHours(3), dto.getBookedTime());
+        });
+    }
+
+    @Test
+    void testGetTasksByProject() {
+        // One query of the hot and one of the archive table, a project may be halfway archived
+        var tasks = budget.assertAtMost(2, () -> taskService.findAllByProject(project.getId()));
+
+        assertEquals(TASKS_PER_PROJECT, tasks.size());
+    }
+
+    @Test
+    void testGetTaskById() {
+        var dto = budget.assertAtMost(2, () -> taskService.findByIdAndUser(task.getId(), authentication))
+                .orElseThrow();
+
+        assertEquals(Duration.ofHours(3), dto.getBookedTime());
+    }
+
+    @Test
+    void testCreateTask() {
+        var request = new TaskCreateRequestDto();
+        request.setName("New task");
+        request.setProjectId(project.getId());
+        request.setAssignedToId(task.getAssignedTo().getId());
+        request.setStoryPointMappingId(project.getStoryPointTimeMappings().get(0).getId());
+        request.setStatus(TaskStatus.OPEN);
+
+        var dto = budget.assertAtMost(4, () -> taskMapper.toDto(taskService.create(taskMapper.toEntity(request), authentication)));
+
+        assertEquals("Test User", dto.getAssignedToName());
+        assertEquals(Duration.ZERO, dto.getBookedTime());
+    }
+
+    @Test
+    void testUpdateTask() {
+        var request = new TaskUpdateRequestDto();
+        request.setName("Renamed task");
+        request.setAssignedToId(task.getAssignedTo().getId());
+        request.setStoryPointMappingId(project.getStoryPointTimeMappings().get(0).getId());
+        request.setStatus(TaskStatus.IN_PROGRESS);
+
+        var dto = budget.assertAtMost(4, () -> {
+            var entity = taskMapper.toEntity(request);
+            entity.setId(task.getId());
+            return taskMapper.toDto(taskService.update(entity, task.getVersion()));
+        });
+
+        assertEquals("Renamed task", dto.getName());
+        assertEquals(Duration.ofHours(3), dto.getBookedTime());
+    }
+
+    @Test
+    void testGetTimeLogs() {
+        var timeLogs = budget.assertAtMost(2, () -> timeLogService.findAllByUser(authentication, new TimeLogFilterDto(), KeysetRequest.UNPAGED).items());
+
+        assertEquals(PROJECTS * TASKS_PER_PROJECT, timeLogs.size());
+    }
+
+    @Test
+    void testGetTimeLogsByTask() {
+        var timeLogs = budget.assertAtMost(4, () -> timeLogService.findAllByTaskId(task.getId(), authentication));
+
+        assertEquals(2, timeLogs.size());
+    }
+
+    @Test
+    void testGetProjectUsers() {
+        var projectUsers = budget.assertAtMost(1, () -> projectUserMapper.toDtoList(
+                projectUserService.findAll(new ProjectUserFilterDto(), KeysetRequest.UNPAGED).items()));
+
+        assertTrue(projectUsers.size() >= PROJECTS * 2);
+    }
+
+    @Test
+    void testGetReports() {
+        var reports = budget.assertAtMost(2, () -> reportService.findAllByUser(authentication, new ReportFilterDto(), KeysetRequest.UNPAGED).items());
+
+        assertEquals(PROJECTS, reports.size());
+        reports.forEach(dto -> assertEquals(project.getName(), dto.getProjectName()));
+    }
+
+    @Test
+    void testGetListVersions() {
+        var projects = budget.assertAtMost(2, () -> projectService.findListVersionByUser(authentication));
+        var tasks = budget.assertAtMost(2, () -> taskService.findListVersionByUser(authentication));
+        var tasksByProject = budget.assertAtMost(2, () -> taskService.findListVersionByProject(project.getId()));
+        var timeLogs = budget.assertAtMost(2, () -> timeLogService.findListVersionByUser(authentication));
+        var timeLogsByTask = budget.assertAtMost(4, () -> timeLogService.findListVersionByTaskId(task.getId(), authentication));
+        var reports = budget.assertAtMost(2, () -> reportService.findListVersionByUser(authentication));
+
+        assertEquals(PROJECTS, projects.count());
+        // Every task is counted with both of its time logs, and so are the time logs
+        assertEquals(PROJECTS * TASKS_PER_PROJECT * 4, tasks.count());
+        assertEquals(TASKS_PER_PROJECT * 4, tasksByProject.count());
+        assertEquals(PROJECTS * TASKS_PER_PROJECT, timeLogs.count());
+        assertEquals(2, timeLogsByTask.count());
+        assertEquals(PROJECTS, reports.count());
+    }
+
+    @Test
+    void testGetUsers() {
+        var users = budget.assertAtMost(1, () -> userService.findAll(KeysetRequest.UNPAGED).items());
+
+        assertTrue(users.size() >= 2);
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
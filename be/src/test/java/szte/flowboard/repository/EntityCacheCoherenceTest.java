@@ -0,0 +1,211 @@
+package szte.flowboard.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateMetrics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import szte.flowboard.configuration.EntityCacheConfig;
+import szte.flowboard.entity.ProjectEntity;
+import szte.flowboard.entity.ProjectUserEntity;
+import szte.flowboard.entity.UserEntity;
+import szte.flowboard.enums.UserRole;
+import szte.flowboard.service.ProjectService;
+import szte.flowboard.service.ProjectUserService;
+import szte.flowboard.service.UpdateConflictMetrics;
+import szte.flowboard.service.UserService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that the second-level cache serves repeated reads and stays coherent with the database
+ * after the services update cached entities. Every step runs in its own transaction, so reads can only
+ * be served by the shared cache and never by the persistence context of an earlier step.
+ */
+@Import({ProjectService.class, ProjectUserService.class, UserService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EntityCacheCoherenceTest extends PostgresRepositoryTest {
+
+    @MockitoBean
+    private UpdateConflictMetrics updateConflictMetrics;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProjectUserService projectUserService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectUserRepository projectUserRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Statistics statistics;
+    private UserEntity user;
+    private ProjectEntity project;
+    private ProjectUserEntity projectUser;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        user = transaction.execute(status -> userRepository.save(user()));
+        project = transaction.execute(status -> {
+            var saved = projectRepository.save(storyPointProject());
+            saved.getStoryPointTimeMappings().forEach(mapping -> mapping.setProject(saved));
+            return saved;
+        });
+        projectUser = transaction.execute(status ->
+                projectUserRepository.save(projectUser(project, user, UserRole.MAINTAINER)));
+    }
+
+    @Test
+    void testFindById_Repeated_ServedFromCache() {
+        // Given
+        loadProject();
+        statistics.clear();
+
+        // When
+        var mappings = loadProject().getStoryPointTimeMappings();
+
+        // Then
+        assertEquals(2, mappings.size());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getDomainDataRegionStatistics(EntityCacheConfig.PROJECTS).getHitCount() > 0);
+        assertTrue(statistics.getDomainDataRegionStatistics(EntityCacheConfig.PROJECT_STORY_POINT_TIME_MAPPINGS).getHitCount() > 0);
+    }
+
+    @Test
+    void testProjectServiceUpdate_CachedProject_ReadsUpdatedState() {
+        // Given
+        var cached = loadProject();
+        var kept = cached.getStoryPointTimeMappings().get(0);
+        kept.setTimeValue(Duration.ofHours(7));
+        cached.setName("Renamed project");
+        cached.setStoryPointTimeMappings(new ArrayList<>(List.of(kept)));
+
+        // When
+        projectService.update(cached, cached.getVersion());
+        statistics.clear();
+        var reloaded = loadProject();
+
+        // Then
+        assertEquals("Renamed project", reloaded.getName());
+        assertEquals(1, reloaded.getStoryPointTimeMappings().size());
+        assertEquals(Duration.ofHours(7), reloaded.getStoryPointTimeMappings().get(0).getTimeValue());
+        assertEquals(0, statistics.getDomainDataRegionStatistics(EntityCacheConfig.PROJECTS).getMissCount());
+    }
+
+    @Test
+    void testProjectUserServiceUpdate_MembershipQueries_ReadUpdatedState() {
+        // Given
+        assertTrue(projectUserRepository.existsByUserIdAndProjectIdAndRole(user.getId(), project.getId(), UserRole.MAINTAINER));
+        assertEquals(UserRole.MAINTAINER, projectUserRepository.findByUserIdAndProjectId(user.getId(), project.getId()).orElseThrow().getRole());
+        assertEquals(UserRole.MAINTAINER, loadProjectUserRoles().get(0));
+
+        // When
+        projectUserService.update(projectUser.getId(), UserRole.MEMBER, 12.5);
+
+        // Then
+        assertFalse(projectUserRepository.existsByUserIdAndProjectIdAndRole(user.getId(), project.getId(), UserRole.MAINTAINER));
+        var updated = projectUserRepository.findByUserIdAndProjectId(user.getId(), project.getId()).orElseThrow();
+        assertEquals(UserRole.MEMBER, updated.getRole());
+        assertEquals(12.5, updated.getFee());
+        assertEquals(List.of(UserRole.MEMBER), loadProjectUserRoles());
+    }
+
+    @Test
+    void testProjectUserRemovedByAnotherInstance_MembershipQueries_ReadDatabase() {
+        // Given
+        assertTrue(projectUserRepository.existsByUserIdAndProjectId(user.getId(), project.getId()));
+        assertTrue(projectUserRepository.findByUserIdAndProjectId(user.getId(), project.getId()).isPresent());
+        assertEquals(1, projectUserRepository.findByUserId(user.getId()).size());
+
+        // When
+        jdbcTemplate.update("DELETE FROM project_users WHERE id = ?", projectUser.getId());
+
+        // Then
+        assertFalse(projectUserRepository.existsByUserIdAndProjectId(user.getId(), project.getId()));
+        assertFalse(projectUserRepository.existsByUserIdAndProjectIdAndRole(user.getId(), project.getId(), UserRole.MAINTAINER));
+        assertTrue(projectUserRepository.findByUserIdAndProjectId(user.getId(), project.getId()).isEmpty());
+        assertTrue(projectUserRepository.findByUserId(user.getId()).isEmpty());
+    }
+
+    @Test
+    void testProjectUserCreate_CachedCollection_ContainsNewMember() {
+        // Given
+        assertEquals(1, loadProjectUserRoles().size());
+        var member = transaction.execute(status -> userRepository.save(user()));
+
+        // When
+        transaction.executeWithoutResult(status ->
+                projectUserRepository.save(projectUser(project, member, UserRole.MEMBER)));
+
+        // Then
+        assertEquals(2, loadProjectUserRoles().size());
+        assertEquals(1, projectUserRepository.findByUserId(member.getId()).size());
+    }
+
+    @Test
+    void testStatistics_ExposedPerRegion() {
+        // Given
+        var registry = new SimpleMeterRegistry();
+        new HibernateMetrics(entityManagerFactory.unwrap(SessionFactory.class), "entityManagerFactory", List.of()).bindTo(registry);
+        loadProject();
+        loadProject();
+
+        // When
+        var hits = registry.find("hibernate.second.level.cache.requests")
+                .tag("region", EntityCacheConfig.PROJECTS)
+                .tag("result", "hit")
+                .functionCounter();
+
+        // Then
+        assertNotNull(hits);
+        assertTrue(hits.count() > 0);
+    }
+
+    private ProjectEntity loadProject() {
+        return transaction.execute(status -> {
+            var loaded = projectRepository.findById(project.getId()).orElseThrow();
+            loaded.getStoryPointTimeMappings().size();
+            return loaded;
+        });
+    }
+
+    private List<UserRole> loadProjectUserRoles() {
+        return transaction.execute(status -> projectRepository.findById(project.getId()).orElseThrow()
+                .getProjectUsers().stream()
+                .map(ProjectUserEntity::getRole)
+                .toList());
+    }
+}
@@ -0,0 +1,94 @@
+package szte.flowboard.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import szte.flowboard.entity.TaskEntity;
+import szte.flowboard.entity.TimeLogEntity;
+import szte.flowboard.entity.UserEntity;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Inserts time logs through the repository with the application settings, which send the rows in JDBC batches
+ * of fifty under time-ordered keys, so new rows are appended to the right edge of the primary key index.
+ */
+class InsertBatchingTest extends PostgresRepositoryTest {
+
+    private static final int ROWS = 120;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private TimeLogRepository timeLogRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UserEntity user;
+    private TaskEntity task;
+
+    @BeforeEach
+    void setUp() {
+        user = user();
+        entityManager.persist(user);
+        var project = project();
+        entityManager.persist(project);
+        task = task(project, user);
+        entityManager.persist(task);
+        entityManager.flush();
+    }
+
+    @Test
+    void testSaveAll_SendsRowsInBatches() {
+        // Given
+        var timeLogs = timeLogs();
+
+        // When
+        StatementBudget.of(entityManagerFactory).assertAtMost((ROWS + BATCH_SIZE - 1) / BATCH_SIZE, () -> {
+            timeLogRepository.saveAll(timeLogs);
+            entityManager.flush();
+            return null;
+        });
+
+        // Then
+        assertEquals(ROWS, jdbcTemplate.queryForObject("SELECT count(*) FROM time_logs WHERE task_id = ?", Integer.class, task.getId()));
+    }
+
+    @Test
+    void testSaveAll_KeysFollowInsertOrder() {
+        // Given
+        var timeLogs = timeLogs();
+
+        // When
+        timeLogRepository.saveAll(timeLogs);
+        entityManager.flush();
+
+        // Then
+        var ids = timeLogs.stream().map(TimeLogEntity::getId).toList();
+        var indexOrder = jdbcTemplate.queryForList("SELECT id FROM time_logs WHERE task_id = ? ORDER BY id", UUID.class, task.getId());
+        assertEquals(ids, indexOrder);
+        assertEquals(ids, ids.stream().sorted(Comparator.comparing(UUID::toString)).toList());
+    }
+
+    private List<TimeLogEntity> timeLogs() {
+        return IntStream.range(0, ROWS)
+                .mapToObj(i -> timeLog(task, user, Duration.ofMinutes(30), LocalDate.now()))
+                .toList();
+    }
+}
@@ -0,0 +1,252 @@
+package szte.flowboard.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import szte.flowboard.dto.KeysetCursor;
+import szte.flowboard.dto.KeysetPage;
+import szte.flowboard.dto.KeysetRequest;
+import szte.flowboard.dto.TaskDto;
+import szte.flowboard.dto.request.DateRangeFilter;
+import szte.flowboard.dto.request.TimeLogFilterDto;
+import szte.flowboard.entity.ProjectEntity;
+import szte.flowboard.entity.TaskEntity;
+import szte.flowboard.entity.TimeLogEntity;
+import szte.flowboard.entity.UserEntity;
+import szte.flowboard.enums.TaskStatus;
+import szte.flowboard.enums.UserRole;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the keyset page queries of the list endpoints against PostgreSQL, walking the lists page by page.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=szte.flowboard.repository.CapturingStatementInspector")
+class KeysetPaginationTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TimeLogRepository timeLogRepository;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectUserRepository projectUserRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UserEntity user;
+    private UserEntity otherUser;
+    private ProjectEntity project;
+    private ProjectEntity otherProject;
+
+    @BeforeEach
+    void setUp() {
+        user = persist(user());
+        otherUser = persist(user());
+        project = persist(project());
+        otherProject = persist(project());
+        persist(projectUser(project, user, UserRole.MEMBER));
+        persist(projectUser(otherProject, user, UserRole.MEMBER));
+        persist(projectUser(project, otherUser, UserRole.MEMBER));
+    }
+
+    @Test
+    void testTaskPages_WalkEveryTaskOnceNewestFirst() {
+        // Given
+        var tasks = new ArrayList<TaskEntity>();
+        for (int i = 0; i < 7; i++) {
+            tasks.add(persist(task(i % 2 == 0 ? project : otherProject, user, TaskStatus.OPEN)));
+        }
+        persist(task(persist(project()), user, TaskStatus.OPEN));
+        entityManager.flush();
+        // Rows created at the same time are ordered by their id
+        jdbcTemplate.update("UPDATE tasks SET created_at = '2024-05-01 12:00' WHERE id IN (?, ?, ?)",
+                tasks.get(2).getId(), tasks.get(3).getId(), tasks.get(4).getId());
+        entityManager.clear();
+
+        // When
+        var pages = walk(3, request -> toPage(request, taskRepository.findTaskDtoPageByUserId(user.getId(), null, null, null,
+                request.after().createdAt(), request.after().id(), request.limit()), TaskDto::getCreatedAt, TaskDto::getId));
+
+        // Then
+        assertEquals(List.of(3, 3, 1), pages.stream().map(List::size).toList());
+        var ids = pages.stream().flatMap(List::stream).map(TaskDto::getId).toList();
+        assertEquals(tasks.size(), ids.size());
+        assertTrue(ids.containsAll(tasks.stream().map(TaskEntity::getId).toList()));
+        assertEquals(newestFirst(pages.stream().flatMap(List::stream).toList(), TaskDto::getCreatedAt, TaskDto::getId),
+                pages.stream().flatMap(List::stream).toList());
+    }
+
+    @Test
+    void testTaskPage_FiltersByStatusAssigneeAndProject() {
+        // Given
+        var open = persist(task(project, user, TaskStatus.OPEN));
+        var done = persist(task(project, otherUser, TaskStatus.DONE));
+        var otherProjectTask = persist(task(otherProject, null, TaskStatus.OPEN));
+        persist(timeLog(open, LocalDate.of(2024, 5, 1)));
+        persist(timeLog(open, LocalDate.of(2024, 5, 2)));
+        entityManager.flush();
+
+        // When
+        var byStatus = taskRepository.findTaskDtoPageByUserId(user.getId(), TaskStatus.OPEN, null, null,
+                KeysetCursor.START.createdAt(), KeysetCursor.START.id(), KeysetRequest.UNPAGED.limit());
+        var byAssignee = taskRepository.findTaskDtoPageByUserId(user.getId(), null, otherUser.getId(), null,
+                KeysetCursor.START.createdAt(), KeysetCursor.START.id(), KeysetRequest.UNPAGED.limit());
+        var byProject = taskRepository.findTaskDtoPageByUserId(user.getId(), null, null, otherProject.getId(),
+                KeysetCursor.START.createdAt(), KeysetCursor.START.id(), KeysetRequest.UNPAGED.limit());
+
+        // Then
+        assertEquals(List.of(otherProjectTask.getId(), open.getId()), byStatus.stream().map(TaskDto::getId).toList());
+        assertEquals(List.of(done.getId()), byAssignee.stream().map(TaskDto::getId).toList());
+        assertEquals(List.of(otherProjectTask.getId()), byProject.stream().map(TaskDto::getId).toList());
+        assertEquals(Duration.ofHours(2), byStatus.get(1).getBookedTime());
+        assertEquals("Test User", byStatus.get(1).getAssignedToName());
+    }
+
+    @Test
+    void testTimeLogPage_FiltersByLogDateRangeAndScansOnlyItsPartitions() {
+        // Given
+        var task = persist(task(project, user, TaskStatus.OPEN));
+        var april = persist(timeLog(task, LocalDate.of(2024, 4, 30)));
+        var may = persist(timeLog(task, LocalDate.of(2024, 5, 1)));
+        var june = persist(timeLog(task, LocalDate.of(2024, 6, 1)));
+        entityManager.flush();
+        jdbcTemplate.queryForObject("SELECT create_time_log_partition(?)", String.class, LocalDate.of(2024, 5, 1));
+        var range = new TimeLogFilterDto(LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 31));
+        CapturingStatementInspector.clear();
+
+        // When
+        var inRange = timeLogRepository.findTimeLogDtoPageByUserId(user.getId(), range.startDate(), range.endDate(),
+                KeysetCursor.START.createdAt(), KeysetCursor.START.id(), KeysetRequest.UNPAGED.limit());
+        var sql = CapturingStatementInspector.statements().stream()
+                .filter(statement -> statement.contains("time_logs"))
+                .findFirst()
+                .orElseThrow();
+        var plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class,
+                user.getId(), range.startDate(), range.endDate(), KeysetCursor.START.createdAt(), KeysetCursor.START.id()));
+        var unbounded = timeLogRepository.findTimeLogDtoPageByUserId(user.getId(), DateRangeFilter.EARLIEST, DateRangeFilter.LATEST,
+                KeysetCursor.START.createdAt(), KeysetCursor.START.id(), KeysetRequest.UNPAGED.limit());
+
+        // Then
+        assertEquals(List.of(may.getId()), inRange.stream().map(dto -> dto.getId()).toList());
+        assertTrue(plan.contains("time_logs_y2024m05"), plan);
+        assertFalse(plan.contains("time_logs_default"), plan);
+        assertEquals(List.of(june.getId(), may.getId(), april.getId()), unbounded.stream().map(dto -> dto.getId()).toList());
+    }
+
+    @Test
+    void testReportPage_FiltersByProjectAndCreationDate() {
+        // Given
+        var old = persist(report(project, user));
+        var recent = persist(report(project, user));
+        var otherProjectReport = persist(report(otherProject, user));
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE reports SET created_at = '2024-01-15 10:00' WHERE id = ?", old.getId());
+        entityManager.clear();
+
+        // When
+        var byProject = reportRepository.findReportDtoPageByUserId(user.getId(), project.getId(),
+                DateRangeFilter.EARLIEST.atStartOfDay(), DateRangeFilter.LATEST.plusDays(1).atStartOfDay(),
+                KeysetCursor.START.createdAt(), KeysetCursor.START.id(), KeysetRequest.UNPAGED.limit());
+        var january = reportRepository.findReportDtoPageByUserId(user.getId(), null,
+                LocalDate.of(2024, 1, 1).atStartOfDay(), LocalDate.of(2024, 2, 1).atStartOfDay(),
+                KeysetCursor.START.createdAt(), KeysetCursor.START.id(), KeysetRequest.UNPAGED.limit());
+        var afterRecent = reportRepository.findReportDtoPageByUserId(user.getId(), null,
+                DateRangeFilter.EARLIEST.atStartOfDay(), DateRangeFilter.LATEST.plusDays(1).atStartOfDay(),
+                recent.getCreatedAt(), recent.getId(), KeysetRequest.UNPAGED.limit());
+
+        // Then
+        assertEquals(List.of(recent.getId(), old.getId()), byProject.stream().map(dto -> dto.getId()).toList());
+        assertEquals(List.of(old.getId()), january.stream().map(dto -> dto.getId()).toList());
+        assertFalse(afterRecent.stream().anyMatch(dto -> dto.getId().equals(recent.getId()) || dto.getId().equals(otherProjectReport.getId())));
+    }
+
+    @Test
+    void testUserAndProjectUserPages() {
+        // Given
+        entityManager.flush();
+
+        // When
+        var users = userRepository.findPage(KeysetCursor.START.createdAt(), KeysetCursor.START.id(), KeysetRequest.UNPAGED.limit());
+        var page = new KeysetRequest(KeysetCursor.START, 1);
+        var newestUser = page.toPage(userRepository.findPage(KeysetCursor.START.createdAt(), KeysetCursor.START.id(), page.limit()),
+                entity -> new KeysetCursor(entity.getCreatedAt(), entity.getId()));
+        var memberships = projectUserRepository.findPage(project.getId(), null,
+                KeysetCursor.START.createdAt(), KeysetCursor.START.id(), KeysetRequest.UNPAGED.limit());
+        var userMemberships = projectUserRepository.findPage(null, user.getId(),
+                KeysetCursor.START.createdAt(), KeysetCursor.START.id(), KeysetRequest.UNPAGED.limit());
+
+        // Then
+        assertEquals(otherUser.getId(), users.get(0).getId());
+        assertEquals(List.of(otherUser), newestUser.items());
+        assertEquals(new KeysetCursor(otherUser.getCreatedAt(), otherUser.getId()), newestUser.next());
+        assertEquals(2, memberships.size());
+        assertTrue(memberships.stream().allMatch(membership -> membership.getProject().getId().equals(project.getId())));
+        assertEquals(2, userMemberships.size());
+        assertTrue(userMemberships.stream().allMatch(membership -> membership.getUser().getId().equals(user.getId())));
+    }
+
+    private <T> List<List<T>> walk(int size, Function<KeysetRequest, KeysetPage<T>> query) {
+        var pages = new ArrayList<List<T>>();
+        var request = new KeysetRequest(KeysetCursor.START, size);
+
+        while (true) {
+            var page = query.apply(request);
+            pages.add(page.items());
+
+            if (page.next() == null) {
+                return pages;
+            }
+
+            request = new KeysetRequest(page.next(), size);
+        }
+    }
+
+    private static <T> KeysetPage<T> toPage(KeysetRequest request, List<T> rows, Function<T, LocalDateTime> createdAt, Function<T, UUID> id) {
+        return request.toPage(rows, row -> new KeysetCursor(createdAt.apply(row), id.apply(row)));
+    }
+
+    private static <T> List<T> newestFirst(List<T> rows, Function<T, LocalDateTime> createdAt, Function<T, UUID> id) {
+        return rows.stream()
+                .sorted(Comparator.comparing(createdAt).thenComparing(id).reversed())
+                .toList();
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+
+    private TaskEntity task(ProjectEntity project, UserEntity assignee, TaskStatus status) {
+        var task = task(project, assignee);
+        task.setStatus(status);
+        return task;
+    }
+
+    private TimeLogEntity timeLog(TaskEntity task, LocalDate logDate) {
+        return timeLog(task, user, Duration.ofHours(1), logDate);
+    }
+}
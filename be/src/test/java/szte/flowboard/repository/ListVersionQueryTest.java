@@ -0,0 +1,154 @@
+package szte.flowboard.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import szte.flowboard.dto.ListVersion;
+import szte.flowboard.entity.ProjectEntity;
+import szte.flowboard.entity.ProjectUserEntity;
+import szte.flowboard.entity.TaskEntity;
+import szte.flowboard.entity.TimeLogEntity;
+import szte.flowboard.entity.UserEntity;
+import szte.flowboard.enums.TaskStatus;
+import szte.flowboard.enums.UserRole;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that the list versions change with every change that is visible in the lists they fingerprint.
+ */
+class ListVersionQueryTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TimeLogRepository timeLogRepository;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UserEntity user;
+    private ProjectEntity project;
+    private TaskEntity task;
+
+    @BeforeEach
+    void setUp() {
+        user = persist(user());
+        project = persist(project());
+        persist(projectUser(project, user, UserRole.MEMBER));
+        task = persist(task(project, user));
+        persist(timeLog(task));
+        entityManager.flush();
+    }
+
+    @Test
+    void testTaskListVersion_UnchangedRows_StaysEqual() {
+        // When
+        var first = taskRepository.findListVersionByUserId(user.getId());
+        var second = taskRepository.findListVersionByUserId(user.getId());
+
+        // Then
+        assertEquals(first, second);
+        assertEquals(2, first.count());
+        assertEquals(taskRepository.findListVersionByProjectId(project.getId()), first);
+        assertEquals(ListVersion.EMPTY, taskRepository.findListVersionByUserId(UUID.randomUUID()));
+    }
+
+    @Test
+    void testTaskListVersion_ChangesWithTimeLogsAndAssignee() {
+        Supplier<ListVersion> version = () -> taskRepository.findListVersionByUserId(user.getId());
+
+        assertChanges(version, () -> persist(timeLog(task)));
+        assertChanges(version, () -> user.setLastName("Renamed"));
+        assertChanges(version, () -> task.setStatus(TaskStatus.IN_PROGRESS));
+    }
+
+    @Test
+    void testTaskListVersion_ChangesWhenMembershipMovesToProjectWithSameTasks() {
+        // Given
+        var otherProject = persist(project());
+        persist(timeLog(persist(task(otherProject, user))));
+        var membership = entityManager.createQuery("SELECT pu FROM ProjectUserEntity pu WHERE pu.user.id = :userId",
+                ProjectUserEntity.class).setParameter("userId", user.getId()).getSingleResult();
+        entityManager.flush();
+        // Only the memberships can tell the two projects apart
+        for (var table : new String[]{"users", "projects", "project_users", "tasks", "time_logs"}) {
+            jdbcTemplate.update("UPDATE " + table + " SET last_modified_at = '2000-01-01'");
+        }
+
+        // When & Then
+        assertChanges(() -> taskRepository.findListVersionByUserId(user.getId()), () -> {
+            entityManager.remove(membership);
+            persist(projectUser(otherProject, user, UserRole.MEMBER));
+        });
+    }
+
+    @Test
+    void testProjectListVersion_ChangesWithProjectUpdateAndMembership() {
+        Supplier<ListVersion> version = () -> projectRepository.findListVersionByUserId(user.getId());
+
+        assertChanges(version, () -> project.setName("Renamed project"));
+        assertChanges(version, () -> persist(projectUser(persist(project()), user, UserRole.MEMBER)));
+    }
+
+    @Test
+    void testTimeLogListVersion_ChangesWithUpdateAndDelete() {
+        // Given
+        var timeLog = persist(timeLog(task));
+        entityManager.flush();
+        Supplier<ListVersion> version = () -> timeLogRepository.findListVersionByUserId(user.getId());
+
+        // When & Then
+        assertEquals(version.get(), version.get());
+        assertChanges(version, () -> timeLog.setLoggedTime(Duration.ofHours(2)));
+        assertChanges(version, () -> entityManager.remove(timeLog));
+        assertEquals(1, timeLogRepository.findListVersionByTaskId(task.getId()).count());
+    }
+
+    @Test
+    void testReportListVersion_ChangesWithRenameAndProjectName() {
+        // Given
+        var report = persist(report(project, user));
+        entityManager.flush();
+        Supplier<ListVersion> version = () -> reportRepository.findListVersionByUserId(user.getId());
+
+        // When & Then
+        assertChanges(version, () -> reportRepository.renameReportByIdAndUserId("Renamed report", report.getId(), user.getId()));
+        assertChanges(version, () -> project.setName("Renamed project"));
+    }
+
+    private void assertChanges(Supplier<ListVersion> version, Runnable change) {
+        var before = version.get();
+
+        change.run();
+        entityManager.flush();
+
+        assertNotEquals(before, version.get());
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+
+    private TimeLogEntity timeLog(TaskEntity task) {
+        return timeLog(task, user, Duration.ofMinutes(30), LocalDate.now());
+    }
+}
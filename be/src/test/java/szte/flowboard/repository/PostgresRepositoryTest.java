@@ -0,0 +1,135 @@
+package szte.flowboard.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import szte.flowboard.configuration.EntityCacheConfig;
+import szte.flowboard.configuration.EntityCacheProperties;
+import szte.flowboard.configuration.PersistenceConfig;
+import szte.flowboard.entity.CompanyEntity;
+import szte.flowboard.entity.ProjectEntity;
+import szte.flowboard.entity.ProjectUserEntity;
+import szte.flowboard.entity.ReportEntity;
+import szte.flowboard.entity.StoryPointTimeMappingEntity;
+import szte.flowboard.entity.TaskEntity;
+import szte.flowboard.entity.TimeLogEntity;
+import szte.flowboard.entity.UserEntity;
+import szte.flowboard.enums.ProjectStatus;
+import szte.flowboard.enums.ProjectType;
+import szte.flowboard.enums.TaskStatus;
+import szte.flowboard.enums.UserRole;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Base class for repository tests that run against a real PostgreSQL server.
+ * A single embedded server is started for the whole test run, and the schema is created by the Flyway
+ * migrations and validated by Hibernate exactly as in production, with the production second-level cache and auditing.
+ * The entity factories below create valid, not yet persisted entities for the tests to save.
+ */
+@DataJpaTest
+@Import({EntityCacheConfig.class, EntityCacheProperties.class, PersistenceConfig.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public abstract class PostgresRepositoryTest {
+
+    protected static final EmbeddedPostgres POSTGRES = start();
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    protected static UserEntity user() {
+        var user = new UserEntity();
+        var id = UUID.randomUUID().toString();
+        user.setKeycloakId(id);
+        user.setFirstName("Test");
+        user.setLastName("User");
+        user.setEmailAddress(id + "@flowboard.test");
+        return user;
+    }
+
+    protected static ProjectEntity project() {
+        var project = new ProjectEntity();
+        project.setName("Project");
+        project.setStatus(ProjectStatus.ACTIVE);
+        project.setType(ProjectType.TIME_BASED);
+        project.setCustomer(new CompanyEntity("Customer", "Szeged"));
+        project.setContractor(new CompanyEntity("Contractor", "Szeged"));
+        return project;
+    }
+
+    /**
+     * Creates a story-point-based project with the mappings 1 SP = 2 hours and 3 SP = 5 hours.
+     */
+    protected static ProjectEntity storyPointProject() {
+        var project = project();
+        project.setType(ProjectType.STORY_POINT_BASED);
+        project.setStoryPointFee(100.0);
+        project.setStoryPointTimeMappings(new ArrayList<>(List.of(mapping(1, 2), mapping(3, 5))));
+        return project;
+    }
+
+    protected static ProjectUserEntity projectUser(ProjectEntity project, UserEntity user, UserRole role) {
+        var projectUser = new ProjectUserEntity();
+        projectUser.setProject(project);
+        projectUser.setUser(user);
+        projectUser.setRole(role);
+        return projectUser;
+    }
+
+    protected static TaskEntity task(ProjectEntity project, UserEntity assignee) {
+        var task = new TaskEntity();
+        task.setName("Task");
+        task.setStatus(TaskStatus.OPEN);
+        task.setProject(project);
+        task.setAssignedTo(assignee);
+        return task;
+    }
+
+    protected static TimeLogEntity timeLog(TaskEntity task, UserEntity user, Duration loggedTime, LocalDate logDate) {
+        var timeLog = new TimeLogEntity();
+        timeLog.setTask(task);
+        timeLog.setUser(user);
+        timeLog.setLoggedTime(loggedTime);
+        timeLog.setIsBillable(true);
+        timeLog.setLogDate(logDate);
+        return timeLog;
+    }
+
+    protected static ReportEntity report(ProjectEntity project, UserEntity user) {
+        var report = new ReportEntity();
+        report.setName("Report");
+        report.setStart(LocalDate.now().minusMonths(1));
+        report.setEnd(LocalDate.now());
+        report.setProject(project);
+        report.setUser(user);
+        return report;
+    }
+
+    private static StoryPointTimeMappingEntity mapping(int storyPoints, int hours) {
+        var mapping = new StoryPointTimeMappingEntity();
+        mapping.setStoryPoints(storyPoints);
+        mapping.setTimeValue(Duration.ofHours(hours));
+        return mapping;
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the embedded PostgreSQL server", e);
+        }
+    }
+}
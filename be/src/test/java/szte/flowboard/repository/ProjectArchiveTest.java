@@ -0,0 +1,238 @@
+package szte.flowboard.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import szte.flowboard.configuration.ArchiveProperties;
+import szte.flowboard.entity.ProjectEntity;
+import szte.flowboard.entity.ReportEntity;
+import szte.flowboard.entity.TaskEntity;
+import szte.flowboard.entity.TimeLogEntity;
+import szte.flowboard.entity.UserEntity;
+import szte.flowboard.enums.ProjectStatus;
+import szte.flowboard.service.ProjectArchiveService;
+import szte.flowboard.service.S3Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * The chunks join the test transaction, so the moved rows are rolled back with it.
+ */
+class ProjectArchiveTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TimeLogRepository timeLogRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private ArchivedTimeLogRepository archivedTimeLogRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final S3Service s3Service = mock(S3Service.class);
+
+    private ProjectArchiveService projectArchiveService;
+
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new ArchiveProperties();
+        properties.setChunkSize(1);
+        properties.setChunkPause(Duration.ZERO);
+        projectArchiveService = new ProjectArchiveService(jdbcTemplate, transactionManager, s3Service, properties);
+
+        user = persist(user());
+    }
+
+    @Test
+    void testArchiveTasks_MovesRowsOfArchivedAndCompletedProjectsOnly() {
+        // Given
+        var archived = project(ProjectStatus.ARCHIVED);
+        var archivedTask = task(archived);
+        timeLog(archivedTask);
+        timeLog(archivedTask);
+        var completed = project(ProjectStatus.COMPLETED);
+        timeLog(task(completed));
+        var active = project(ProjectStatus.ACTIVE);
+        timeLog(task(active));
+        entityManager.flush();
+
+        // When
+        var moved = projectArchiveService.archiveTasks();
+
+        // Then
+        assertEquals(new ProjectArchiveService.MovedRows(2, 3), moved);
+        assertEquals(0, countTasks("tasks", archived) + countTasks("tasks", completed));
+        assertEquals(1, countTasks("tasks", active));
+        assertEquals(1, countTimeLogs("time_logs", active));
+        assertEquals(2, countTimeLogs("time_logs_archive", archived));
+        assertEquals(1, countTimeLogs("time_logs_archive", completed));
+        assertEquals(ProjectArchiveService.MovedRows.NONE, projectArchiveService.archiveTasks());
+    }
+
+    @Test
+    void testArchiveTasks_ArchivedRowsStayReadable() {
+        // Given
+        var project = project(ProjectStatus.ARCHIVED);
+        var task = task(project);
+        var timeLog = timeLog(task);
+        entityManager.flush();
+
+        // When
+        projectArchiveService.archiveTasks();
+        entityManager.clear();
+
+        // Then
+        assertTrue(taskRepository.findTaskDtosByProjectId(project.getId()).isEmpty());
+        var tasks = archivedTaskRepository.findTaskDtosByProjectId(project.getId());
+        assertEquals(1, tasks.size());
+        assertEquals(Duration.ofMinutes(30), tasks.get(0).getBookedTime());
+        assertEquals(project.getId(), archivedTaskRepository.findProjectIdById(task.getId()).orElseThrow());
+        assertEquals(1, archivedTimeLogRepository.findTimeLogDtosByTaskId(task.getId()).size());
+        assertTrue(archivedTimeLogRepository.findTimeLogDtoByIdAndUserId(timeLog.getId(), user.getId()).isPresent());
+        assertEquals(1, archivedTimeLogRepository.findListVersionByTaskId(task.getId()).count());
+        try (var timeLogs = archivedTimeLogRepository.streamAllByTaskProjectIdAndLogDateBetween(
+                project.getId(), LocalDate.now().minusDays(1), LocalDate.now())) {
+            assertEquals(1, timeLogs.count());
+        }
+    }
+
+    @Test
+    void testArchiveTasks_ArchivedRowsAreNotWritable() {
+        // Given
+        var project = project(ProjectStatus.ARCHIVED);
+        entityManager.flush();
+        jdbcTemplate.update("INSERT INTO project_users (id, project_id, user_id, role) VALUES (?, ?, ?, 'MEMBER')",
+                UUID.randomUUID(), project.getId(), user.getId());
+        var task = task(project);
+        var timeLog = timeLog(task);
+        entityManager.flush();
+        assertTrue(taskRepository.existsByIdAndProjectProjectUsersUserId(task.getId(), user.getId()));
+        assertTrue(timeLogRepository.existsByIdAndUserId(timeLog.getId(), user.getId()));
+
+        // When
+        projectArchiveService.archiveTasks();
+        entityManager.clear();
+
+        // Then
+        assertFalse(taskRepository.existsByIdAndProjectProjectUsersUserId(task.getId(), user.getId()));
+        assertFalse(timeLogRepository.existsByIdAndUserId(timeLog.getId(), user.getId()));
+    }
+
+    @Test
+    void testRestoreTasks_MovesRowsOfReactivatedProjectsBack() {
+        // Given
+        var project = project(ProjectStatus.COMPLETED);
+        var task = task(project);
+        timeLog(task);
+        entityManager.flush();
+        projectArchiveService.archiveTasks();
+        jdbcTemplate.update("UPDATE projects SET status = 'ACTIVE' WHERE id = ?", project.getId());
+
+        // When
+        var moved = projectArchiveService.restoreTasks();
+
+        // Then
+        assertEquals(new ProjectArchiveService.MovedRows(1, 1), moved);
+        assertEquals(0, countTasks("tasks_archive", project));
+        assertEquals(0, countTimeLogs("time_logs_archive", project));
+        assertEquals(1, countTasks("tasks", project));
+        assertEquals(1, countTimeLogs("time_logs", project));
+    }
+
+    @Test
+    void testPurgeExpiredReports_DeletesExpiredReportsOfArchivedProjects() {
+        // Given
+        var expired = report(project(ProjectStatus.ARCHIVED), LocalDateTime.now().minusYears(2));
+        var recent = report(project(ProjectStatus.ARCHIVED), LocalDateTime.now());
+        var active = report(project(ProjectStatus.ACTIVE), LocalDateTime.now().minusYears(2));
+        when(s3Service.deleteReport(any())).thenReturn(true);
+
+        // When
+        var purged = projectArchiveService.purgeExpiredReports(LocalDateTime.now().minusYears(1));
+
+        // Then
+        assertEquals(1, purged);
+        verify(s3Service).deleteReport(expired.getId());
+        verify(s3Service, never()).deleteReport(recent.getId());
+        verify(s3Service, never()).deleteReport(active.getId());
+        assertEquals(2, countReports(user));
+    }
+
+    @Test
+    void testPurgeExpiredReports_StorageFailure_KeepsReport() {
+        // Given
+        report(project(ProjectStatus.COMPLETED), LocalDateTime.now().minusYears(2));
+        when(s3Service.deleteReport(any())).thenReturn(false);
+
+        // When
+        var purged = projectArchiveService.purgeExpiredReports(LocalDateTime.now().minusYears(1));
+
+        // Then
+        assertEquals(0, purged);
+        assertEquals(1, countReports(user));
+    }
+
+    private int countTasks(String table, ProjectEntity project) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table + " WHERE project_id = ?", Integer.class, project.getId());
+    }
+
+    private int countTimeLogs(String table, ProjectEntity project) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table + " tl WHERE tl.task_id IN " +
+                "(SELECT id FROM tasks WHERE project_id = ? UNION ALL SELECT id FROM tasks_archive WHERE project_id = ?)",
+                Integer.class, project.getId(), project.getId());
+    }
+
+    private int countReports(UserEntity user) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM reports WHERE user_id = ?", Integer.class, user.getId());
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+
+    private ProjectEntity project(ProjectStatus status) {
+        var project = project();
+        project.setStatus(status);
+        return persist(project);
+    }
+
+    private TaskEntity task(ProjectEntity project) {
+        return persist(task(project, null));
+    }
+
+    private TimeLogEntity timeLog(TaskEntity task) {
+        return persist(timeLog(task, user, Duration.ofMinutes(30), LocalDate.now()));
+    }
+
+    private ReportEntity report(ProjectEntity project, LocalDateTime createdAt) {
+        var report = persist(report(project, user));
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE reports SET created_at = ? WHERE id = ?", createdAt, report.getId());
+        return report;
+    }
+}
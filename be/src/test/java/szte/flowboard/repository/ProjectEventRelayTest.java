@@ -0,0 +1,158 @@
+package szte.flowboard.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import szte.flowboard.configuration.RealtimeProperties;
+import szte.flowboard.dto.ProjectEventDto;
+import szte.flowboard.enums.ProjectEventType;
+import szte.flowboard.service.ProjectEventRelay;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the relay against a real PostgreSQL server, so the events travel through LISTEN/NOTIFY exactly as between
+ * the nodes in production. A second relay built in the test stands in for another node.
+ */
+@Import({ProjectEventRelay.class, RealtimeProperties.class, ProjectEventRelayTest.Infrastructure.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProjectEventRelayTest extends PostgresRepositoryTest {
+
+    private static final long DELIVERY_TIMEOUT = 5000;
+
+    @MockitoBean
+    private SimpMessageSendingOperations messagingTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RealtimeProperties realtimeProperties;
+
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        transaction = new TransactionTemplate(transactionManager);
+        awaitListeners(1);
+    }
+
+    @Test
+    void testCommittedEvent_PushedToProjectTopic() {
+        // Given
+        var event = new ProjectEventDto(UUID.randomUUID(), ProjectEventType.TASK_CREATED, UUID.randomUUID());
+
+        // When
+        transaction.executeWithoutResult(status -> eventPublisher.publishEvent(event));
+
+        // Then
+        verify(messagingTemplate, timeout(DELIVERY_TIMEOUT)).convertAndSend(ProjectEventRelay.TOPIC_PREFIX + event.projectId(), event);
+        var counter = meterRegistry.find(ProjectEventRelay.EVENT_COUNTER).tag("type", "TASK_CREATED").counter();
+        assertNotNull(counter);
+    }
+
+    @Test
+    void testRolledBackEvent_NotPushed() {
+        // Given
+        var event = new ProjectEventDto(UUID.randomUUID(), ProjectEventType.TASK_UPDATED, UUID.randomUUID());
+
+        // When
+        transaction.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(event);
+            status.setRollbackOnly();
+        });
+
+        // Then
+        verify(messagingTemplate, after(2 * realtimeProperties.getPollTimeout().toMillis()).never())
+                .convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    void testCommittedEvent_PushedByEveryNode() throws InterruptedException {
+        // Given
+        var otherNodeMessagingTemplate = mock(SimpMessageSendingOperations.class);
+        var otherNode = new ProjectEventRelay(jdbcTemplate, transactionManager, dataSourceProperties,
+                otherNodeMessagingTemplate, objectMapper, new SimpleMeterRegistry(), realtimeProperties);
+        otherNode.start();
+
+        try {
+            awaitListeners(2);
+            var event = new ProjectEventDto(UUID.randomUUID(), ProjectEventType.TIME_LOG_DELETED, UUID.randomUUID());
+
+            // When
+            transaction.executeWithoutResult(status -> eventPublisher.publishEvent(event));
+
+            // Then
+            var topic = ProjectEventRelay.TOPIC_PREFIX + event.projectId();
+            verify(messagingTemplate, timeout(DELIVERY_TIMEOUT)).convertAndSend(topic, event);
+            verify(otherNodeMessagingTemplate, timeout(DELIVERY_TIMEOUT)).convertAndSend(topic, event);
+        } finally {
+            otherNode.stop();
+        }
+    }
+
+    /**
+     * Waits until the given number of connections listen on the channel, notifications sent before are lost.
+     */
+    private void awaitListeners(int listeners) throws InterruptedException {
+        var deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+
+        while (countListeners() < listeners && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    private int countListeners() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM pg_stat_activity WHERE query = ?", Integer.class,
+                "LISTEN " + ProjectEventRelay.CHANNEL);
+    }
+
+    @TestConfiguration
+    static class Infrastructure {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().findAndRegisterModules();
+        }
+    }
+}
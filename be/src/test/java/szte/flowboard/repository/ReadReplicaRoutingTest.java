@@ -0,0 +1,139 @@
+package szte.flowboard.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import szte.flowboard.configuration.ReadReplicaDataSourceConfig;
+import szte.flowboard.configuration.ReplicaDataSourceProperties;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the routing against two PostgreSQL servers, the second standing in for the replica.
+ */
+@Import({ReadReplicaDataSourceConfig.class, ReplicaDataSourceProperties.class, ReadReplicaRoutingTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReadReplicaRoutingTest extends PostgresRepositoryTest {
+
+    private static final EmbeddedPostgres REPLICA = startReplica();
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("flowboard.datasource.replica.enabled", () -> "true");
+        registry.add("flowboard.datasource.replica.url", () -> REPLICA.getJdbcUrl("postgres", "postgres"));
+        registry.add("flowboard.datasource.replica.username", () -> "postgres");
+        registry.add("flowboard.datasource.replica.password", () -> "");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testReadOnlyTransaction_RunsOnReplica() {
+        assertEquals(REPLICA.getPort(), serverPort(true));
+    }
+
+    @Test
+    void testReadWriteTransaction_RunsOnPrimary() {
+        assertEquals(POSTGRES.getPort(), serverPort(false));
+    }
+
+    @Test
+    void testReadOnlyTransaction_AfterOwnWrite_RunsOnPrimary() {
+        // Given
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("writer", null));
+        userRepository.save(user());
+
+        // When & Then
+        assertEquals(POSTGRES.getPort(), serverPort(true));
+    }
+
+    @Test
+    void testSharedEntityManager_EachTransactionRoutedSeparately() {
+        // Given, a request scoped entity manager as bound by open-in-view
+        var requestEntityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(requestEntityManager));
+
+        try {
+            // When
+            var readPort = serverPort(true);
+            var saved = userRepository.save(user());
+
+            // Then
+            assertEquals(REPLICA.getPort(), readPort);
+            assertEquals(POSTGRES.getPort(), serverPort(false));
+            assertTrue(userRepository.findById(saved.getId()).isPresent());
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            requestEntityManager.close();
+        }
+    }
+
+    private int serverPort(boolean readOnly) {
+        var transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+
+        return transaction.execute(status -> ((Number) entityManager
+                .createNativeQuery("SELECT inet_server_port()")
+                .getSingleResult()).intValue());
+    }
+
+    private static EmbeddedPostgres startReplica() {
+        try {
+            var replica = EmbeddedPostgres.start();
+            Flyway.configure()
+                    .dataSource(replica.getPostgresDatabase())
+                    .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                    .load()
+                    .migrate();
+            return replica;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the embedded PostgreSQL replica", e);
+        }
+    }
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
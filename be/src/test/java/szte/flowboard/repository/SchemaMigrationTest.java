@@ -0,0 +1,136 @@
+package szte.flowboard.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaMigrationTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TimeLogRepository timeLogRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void testMigrate_CreatesQueryIndexes() {
+        // When
+        var indexes = jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE schemaname = 'public'", String.class);
+
+        // Then
+        assertTrue(indexes.containsAll(Set.of(
+                "idx_time_logs_task_id_log_date",
+                "idx_time_logs_user_id_log_date",
+                "idx_project_users_user_id_project_id_role",
+                "idx_tasks_project_id_finished_at",
+                "idx_reports_user_id_created_at_id",
+                "idx_time_logs_user_id_created_at_id",
+                "idx_tasks_project_id_created_at_id",
+                "idx_tasks_assigned_to_id_created_at_id",
+                "idx_users_created_at_id",
+                "idx_project_users_project_id_created_at_id",
+                "users_keycloak_id_key")));
+        assertFalse(indexes.contains("idx_reports_user_id"));
+    }
+
+    @Test
+    void testMigrate_ReportQueriesRunAgainstSchema() {
+        // Given
+        var id = UUID.randomUUID();
+        var today = LocalDate.now();
+        var now = LocalDateTime.now();
+
+        // When & Then
+        try (var timeLogs = timeLogRepository.streamAllByTaskProjectIdAndLogDateBetween(id, today, today);
+             var projectTimeLogs = timeLogRepository.streamAllByTaskProjectIdInAndLogDateBetween(Set.of(id), today, today);
+             var taskTimeLogs = timeLogRepository.streamAllByTaskProjectIdAndTaskFinishedAtBetween(id, now, now);
+             var tasks = taskRepository.streamAllByProjectIdAndFinishedAtBetween(id, now, now)) {
+            assertEquals(0, timeLogs.count());
+            assertEquals(0, projectTimeLogs.count());
+            assertEquals(0, taskTimeLogs.count());
+            assertEquals(0, tasks.count());
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testMigrate_ExistingHibernateSchema_IsBaselined() throws Exception {
+        // Given
+        jdbcTemplate.execute("CREATE DATABASE legacy");
+        var dataSource = new SingleConnectionDataSource(POSTGRES.getJdbcUrl("postgres", "legacy"), true);
+        new JdbcTemplate(dataSource).execute(readMigration("V1__baseline_schema.sql"));
+
+        // When
+        var result = Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+
+        // Then
+        assertEquals("7", result.targetSchemaVersion);
+        assertEquals(6, result.migrationsExecuted);
+        dataSource.destroy();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testMigrate_ExistingTimeLogs_AreMovedIntoMonthlyPartitions() throws Exception {
+        // Given
+        jdbcTemplate.execute("CREATE DATABASE legacy_time_logs");
+        var dataSource = new SingleConnectionDataSource(POSTGRES.getJdbcUrl("postgres", "legacy_time_logs"), true);
+        var legacy = new JdbcTemplate(dataSource);
+        legacy.execute(readMigration("V1__baseline_schema.sql"));
+        for (var logDate : List.of(LocalDate.of(2020, 1, 15), LocalDate.of(2020, 1, 31), LocalDate.of(2020, 3, 1))) {
+            legacy.update("INSERT INTO time_logs (id, is_billable, log_date, logged_time) VALUES (?, true, ?, 3600000000000)",
+                    UUID.randomUUID(), logDate);
+        }
+
+        // When
+        Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+
+        // Then
+        var rowsPerPartition = legacy.queryForList(
+                "SELECT tableoid::regclass::text AS partition, count(*) AS row_count FROM time_logs GROUP BY 1 ORDER BY 1");
+        assertEquals(List.of(
+                Map.of("partition", "time_logs_y2020m01", "row_count", 2L),
+                Map.of("partition", "time_logs_y2020m03", "row_count", 1L)), rowsPerPartition);
+        assertNotNull(legacy.queryForObject("SELECT to_regclass('time_logs_y2020m02')", String.class));
+        assertNull(legacy.queryForObject("SELECT to_regclass('time_logs_legacy')", String.class));
+        // Backfilled for the keyset pagination of the list endpoints
+        assertEquals(0, legacy.queryForObject("SELECT count(*) FROM time_logs WHERE created_at IS NULL", Integer.class));
+        dataSource.destroy();
+    }
+
+    private static String readMigration(String name) throws IOException {
+        return new ClassPathResource("db/migration/" + name).getContentAsString(StandardCharsets.UTF_8);
+    }
+}
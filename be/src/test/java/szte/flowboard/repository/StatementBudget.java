@@ -0,0 +1,58 @@
+package szte.flowboard.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Asserts an upper bound on the number of SQL statements an operation runs, counted by the Hibernate statistics.
+ * The second-level cache is emptied before every operation, so the bound also holds on a cold cache and an
+ * N+1 query cannot hide behind cache hits.
+ */
+public final class StatementBudget {
+
+    private final SessionFactory sessionFactory;
+    private final Statistics statistics;
+
+    private StatementBudget(SessionFactory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+        this.statistics = sessionFactory.getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    /**
+     * Creates a budget that counts the statements of the given entity manager factory.
+     *
+     * @param entityManagerFactory the entity manager factory the operations run against
+     * @return the statement budget
+     */
+    public static StatementBudget of(EntityManagerFactory entityManagerFactory) {
+        return new StatementBudget(entityManagerFactory.unwrap(SessionFactory.class));
+    }
+
+    /**
+     * Runs the operation on a cold second-level cache and fails if it prepares more statements than allowed.
+     *
+     * @param maxStatements the maximum number of statements the operation may prepare
+     * @param operation the operation to measure
+     * @param <T> the result type of the operation
+     * @return the result of the operation
+     */
+    public <T> T assertAtMost(long maxStatements, Supplier<T> operation) {
+        sessionFactory.getCache().evictAllRegions();
+        statistics.clear();
+
+        var result = operation.get();
+
+        var statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= maxStatements,
+                "Expected at most " + maxStatements + " statements but " + statements + " were prepared: "
+                        + String.join("; ", statistics.getQueries()));
+
+        return result;
+    }
+}
@@ -0,0 +1,487 @@
+package szte.flowboard.repository;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import szte.flowboard.enums.ProjectStatus;
+import szte.flowboard.enums.ProjectType;
+import szte.flowboard.enums.TaskStatus;
+import szte.flowboard.enums.UserRole;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Generates a synthetic tenant of production scale and bulk-loads it with PostgreSQL {@code COPY}, bypassing the
+ * service layer and Hibernate.
+ * The rows are derived from a seeded random generator only, so the same seed, scale and end date always load the same
+ * rows with the same identifiers, and benchmarks and query plans can be compared between runs.
+ * Activity is skewed like in a real tenant: project sizes, the memberships of users and the time logged on tasks follow
+ * Zipf distributions, most tasks get little time and a few get most of it, and the number of time logs grows towards
+ * the end of the period. Projects of both types get story point mappings, tasks are in every status, and time logs are
+ * logged in quarter hours, mostly on the tasks assigned to their user.
+ * The rows are only inserted, the tables are expected to be empty. The transaction is left to the caller.
+ */
+final class SyntheticDataset {
+
+    private static final Duration QUARTER_HOUR = Duration.ofMinutes(15);
+    private static final int[] STORY_POINTS = {1, 2, 3, 5, 8, 13};
+    private static final String[] FIRST_NAMES = {"Anna", "Bence", "Csilla", "Dániel", "Eszter", "Ferenc", "Gábor",
+            "Hanna", "István", "Judit", "Katalin", "László", "Márton", "Nóra", "Péter", "Réka", "Sándor", "Tamás",
+            "Viktória", "Zoltán"};
+    private static final String[] LAST_NAMES = {"Nagy", "Kovács", "Tóth", "Szabó", "Horváth", "Varga", "Kiss",
+            "Molnár", "Németh", "Farkas", "Balogh", "Papp", "Takács", "Juhász", "Lakatos", "Mészáros", "Oláh", "Simon",
+            "Rácz", "Fekete"};
+    private static final String[] COMPANIES = {"Alföld", "Tisza", "Délibáb", "Napfény", "Csongrád", "Mátra", "Balaton",
+            "Duna", "Bakony", "Hortobágy"};
+    private static final String[] WORDS = {"a", "felület", "adatbázis", "riport", "hiba", "javítás", "szerver",
+            "kliens", "migráció", "teszt", "lekérdezés", "jogosultság", "export", "import", "naplózás", "gyorsítás",
+            "validáció", "űrlap", "értesítés", "integráció", "beállítás", "felhasználó", "projekt", "feladat"};
+
+    private final Scale scale;
+    private final LocalDate start;
+    private final LocalDate end;
+    private final SplittableRandom random;
+
+    private UUID[] userIds;
+    private String[] usernames;
+    private UUID[] projectIds;
+    private ProjectType[] projectTypes;
+    private LocalDateTime[] projectCreatedAts;
+    private UUID[][] storyPointMappingIds;
+    private int[][] projectMembers;
+    private UUID[] taskIds;
+    private int[] taskProjects;
+    private int[] taskAssignees;
+    private LocalDate[] taskStarts;
+
+    /**
+     * @param seed the seed every row is derived from
+     * @param scale the number of rows to generate
+     * @param end the last day of the generated period, the period covers {@link Scale#months()} months up to it
+     */
+    SyntheticDataset(long seed, Scale scale, LocalDate end) {
+        this.scale = scale;
+        this.start = end.minusMonths(scale.months()).plusDays(1);
+        this.end = end;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Creates the monthly time log partitions of the period and loads every table, then analyzes the tables so the
+     * planner sees their statistics.
+     *
+     * @param connection the connection to load the rows with, its transaction is not committed
+     * @return the loaded tables in loading order
+     * @throws SQLException if a statement fails
+     */
+    List<LoadedTable> load(Connection connection) throws SQLException {
+        var copy = connection.unwrap(PGConnection.class);
+        var tables = new ArrayList<LoadedTable>();
+
+        try (var statement = connection.prepareStatement("SELECT create_time_log_partition(?)")) {
+            for (var month = start.withDayOfMonth(1); !month.isAfter(end); month = month.plusMonths(1)) {
+                statement.setObject(1, month);
+                statement.execute();
+            }
+        }
+
+        tables.add(copy(copy, "users", "id, keycloak_id, email_address, first_name, last_name, created_at, created_by", this::users));
+        tables.add(copy(copy, "projects", "id, name, status, type, story_point_fee, customer_name, customer_address, "
+                + "contractor_name, contractor_address, created_at, created_by", this::projects));
+        tables.add(copy(copy, "story_point_time_mappings", "id, project_id, story_points, time_value, created_at, created_by",
+                this::storyPointMappings));
+        tables.add(copy(copy, "project_users", "id, project_id, user_id, role, fee, created_at, created_by", this::projectUsers));
+        tables.add(copy(copy, "tasks", "id, project_id, assigned_to_id, story_point_mapping_id, name, description, status, "
+                + "finished_at, created_at, created_by", this::tasks));
+        tables.add(copy(copy, "time_logs", "id, task_id, user_id, log_date, logged_time, is_billable, created_at, created_by",
+                this::timeLogs));
+
+        try (var statement = connection.createStatement()) {
+            for (var table : tables) {
+                statement.execute("ANALYZE " + table.name());
+            }
+        }
+
+        return tables;
+    }
+
+    private LoadedTable copy(PGConnection connection, String table, String columns, Rows rows) throws SQLException {
+        var started = System.nanoTime();
+        long count;
+
+        try (var out = new CopyWriter(new BufferedWriter(new OutputStreamWriter(
+                new PGCopyOutputStream(connection, "COPY " + table + " (" + columns + ") FROM STDIN"), StandardCharsets.UTF_8), 1 << 16))) {
+            count = rows.write(out);
+        } catch (IOException e) {
+            throw new SQLException("Could not copy the rows of " + table, e);
+        }
+
+        return new LoadedTable(table, count, System.nanoTime() - started);
+    }
+
+    private long users(CopyWriter out) throws IOException {
+        userIds = new UUID[scale.users()];
+        usernames = new String[scale.users()];
+
+        for (int i = 0; i < scale.users(); i++) {
+            var firstName = pick(FIRST_NAMES);
+            var lastName = pick(LAST_NAMES);
+            var createdAt = at(start, 0).plusMinutes(random.nextInt(30 * 24 * 60));
+
+            userIds[i] = uuid(createdAt);
+            usernames[i] = ascii(firstName + "." + lastName).toLowerCase() + i;
+            out.row(userIds[i], uuid(createdAt), usernames[i] + "@flowboard.test", firstName, lastName, createdAt, usernames[i]);
+        }
+
+        return scale.users();
+    }
+
+    private long projects(CopyWriter out) throws IOException {
+        projectIds = new UUID[scale.projects()];
+        projectTypes = new ProjectType[scale.projects()];
+        projectCreatedAts = new LocalDateTime[scale.projects()];
+
+        var period = ChronoUnit.DAYS.between(start, end);
+
+        for (int i = 0; i < scale.projects(); i++) {
+            // Projects started early in the period are more likely to be finished
+            var started = random.nextDouble();
+            var createdAt = at(start.plusDays((long) (period * 0.8 * started)), 8).plusMinutes(random.nextInt(8 * 60));
+            var status = random.nextDouble() < 0.35 * (1 - started) ? (random.nextBoolean() ? ProjectStatus.COMPLETED : ProjectStatus.ARCHIVED)
+                    : ProjectStatus.ACTIVE;
+            var type = random.nextDouble() < 0.6 ? ProjectType.TIME_BASED : ProjectType.STORY_POINT_BASED;
+
+            projectIds[i] = uuid(createdAt);
+            projectTypes[i] = type;
+            projectCreatedAts[i] = createdAt;
+            out.row(projectIds[i], pick(COMPANIES) + " projekt " + i, status, type,
+                    type == ProjectType.STORY_POINT_BASED ? 5000.0 * (2 + random.nextInt(7)) : null,
+                    pick(COMPANIES) + " Kft.", (6700 + random.nextInt(100)) + " Szeged, Fő utca " + (1 + random.nextInt(99)) + ".",
+                    "FlowBoard Kft.", "6720 Szeged, Dugonics tér 13.", createdAt, usernames[random.nextInt(scale.users())]);
+        }
+
+        return scale.projects();
+    }
+
+    private long storyPointMappings(CopyWriter out) throws IOException {
+        storyPointMappingIds = new UUID[scale.projects()][];
+
+        int[] hoursPerPoint = {2, 3, 4};
+        long count = 0;
+
+        for (int p = 0; p < scale.projects(); p++) {
+            var mappings = 3 + random.nextInt(STORY_POINTS.length - 2);
+            var hours = hoursPerPoint[random.nextInt(hoursPerPoint.length)];
+
+            storyPointMappingIds[p] = new UUID[mappings];
+
+            for (int m = 0; m < mappings; m++) {
+                var createdAt = projectCreatedAts[p].plusSeconds(m);
+
+                storyPointMappingIds[p][m] = uuid(createdAt);
+                out.row(storyPointMappingIds[p][m], projectIds[p], STORY_POINTS[m], Duration.ofHours((long) STORY_POINTS[m] * hours).toNanos(),
+                        createdAt, usernames[0]);
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    private long projectUsers(CopyWriter out) throws IOException {
+        projectMembers = new int[scale.projects()][];
+
+        // Large projects have many members, and a few users are members of many projects
+        var projectSizes = new Zipf(scale.projects(), 1.0);
+        var activeUsers = new Zipf(scale.users(), 0.8);
+        var memberships = Math.max(scale.projects(), scale.users() * 3);
+        var members = new ArrayList<LinkedHashSet<Integer>>();
+        long count = 0;
+
+        for (int p = 0; p < scale.projects(); p++) {
+            members.add(new LinkedHashSet<>());
+            members.get(p).add(random.nextInt(scale.users()));
+        }
+
+        for (int i = scale.projects(); i < memberships; i++) {
+            members.get(projectSizes.sample(random)).add(activeUsers.sample(random));
+        }
+
+        for (int p = 0; p < scale.projects(); p++) {
+            projectMembers[p] = members.get(p).stream().mapToInt(Integer::intValue).toArray();
+
+            for (int m = 0; m < projectMembers[p].length; m++) {
+                var roll = random.nextDouble();
+                var role = m == 0 || roll < 0.1 ? UserRole.MAINTAINER : roll < 0.2 ? UserRole.REPORTER : UserRole.MEMBER;
+                var createdAt = projectCreatedAts[p].plusMinutes(m + random.nextInt(14 * 24 * 60));
+
+                out.row(uuid(createdAt), projectIds[p], userIds[projectMembers[p][m]], role, 500.0 * (16 + random.nextInt(25)),
+                        createdAt, usernames[projectMembers[p][0]]);
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    private long tasks(CopyWriter out) throws IOException {
+        taskIds = new UUID[scale.tasks()];
+        taskProjects = new int[scale.tasks()];
+        taskAssignees = new int[scale.tasks()];
+        taskStarts = new LocalDate[scale.tasks()];
+
+        var projectSizes = new Zipf(scale.projects(), 1.0);
+
+        for (int t = 0; t < scale.tasks(); t++) {
+            var p = projectSizes.sample(random);
+            var members = projectMembers[p];
+            var createdAt = between(projectCreatedAts[p], at(end, 0));
+            var status = status(createdAt);
+            var finishedAt = status == TaskStatus.DONE ? between(createdAt, at(end, 0).plusHours(18)) : null;
+            var assignee = random.nextDouble() < 0.1 ? -1 : members[random.nextInt(members.length)];
+            var mapping = projectTypes[p] == ProjectType.STORY_POINT_BASED
+                    ? storyPointMappingIds[p][(int) Math.min(storyPointMappingIds[p].length - 1, Math.abs(random.nextGaussian()) * 1.5)]
+                    : null;
+
+            taskIds[t] = uuid(createdAt);
+            taskProjects[t] = p;
+            taskAssignees[t] = assignee;
+            taskStarts[t] = createdAt.toLocalDate();
+            out.row(taskIds[t], projectIds[p], assignee < 0 ? null : userIds[assignee], mapping,
+                    sentence(3 + random.nextInt(6)), description(), status, finishedAt, createdAt,
+                    usernames[members[0]]);
+        }
+
+        return scale.tasks();
+    }
+
+    private long timeLogs(CopyWriter out) throws IOException {
+        // Decoupled from the task order, so the busy tasks are spread over the projects
+        var busyTasks = new Zipf(scale.tasks(), 1.1);
+        var ranks = permutation(scale.tasks());
+
+        for (long i = 0; i < scale.timeLogs(); i++) {
+            var t = ranks[busyTasks.sample(random)];
+            var members = projectMembers[taskProjects[t]];
+            var user = taskAssignees[t] >= 0 && random.nextDouble() < 0.8 ? taskAssignees[t] : members[random.nextInt(members.length)];
+            // Linearly more time logs towards the end of the period
+            var days = ChronoUnit.DAYS.between(taskStarts[t], end);
+            var logDate = taskStarts[t].plusDays((long) (days * Math.sqrt(random.nextDouble())));
+            var quarters = 1 + Math.min(31, (long) (-Math.log(1 - random.nextDouble()) * 6));
+            var createdAt = at(logDate, 8).plusMinutes(random.nextInt(12 * 60)).plusDays(random.nextDouble() < 0.1 ? random.nextInt(1, 8) : 0);
+
+            out.row(uuid(createdAt), taskIds[t], userIds[user], logDate, QUARTER_HOUR.multipliedBy(quarters).toNanos(),
+                    random.nextDouble() < 0.9, createdAt, usernames[user]);
+        }
+
+        return scale.timeLogs();
+    }
+
+    private TaskStatus status(LocalDateTime createdAt) {
+        var roll = random.nextDouble();
+        // Tasks of the last months are still open more often
+        var recent = createdAt.isAfter(at(end, 0).minusMonths(2));
+
+        if (roll < (recent ? 0.3 : 0.05)) {
+            return TaskStatus.OPEN;
+        } else if (roll < (recent ? 0.55 : 0.12)) {
+            return TaskStatus.IN_PROGRESS;
+        } else if (roll < 0.92) {
+            return TaskStatus.DONE;
+        }
+        return TaskStatus.CANCELED;
+    }
+
+    private String description() {
+        // Mostly short or missing, sometimes long enough to be stored out of line
+        var roll = random.nextDouble();
+
+        if (roll < 0.2) {
+            return null;
+        }
+
+        var paragraphs = roll < 0.95 ? 1 : 5 + random.nextInt(20);
+        var description = new StringBuilder();
+
+        for (int i = 0; i < paragraphs; i++) {
+            description.append(i == 0 ? "" : "\n\n").append(sentence(8 + random.nextInt(40))).append('.');
+        }
+
+        return description.toString();
+    }
+
+    private String sentence(int words) {
+        var sentence = new StringBuilder(WORDS[1 + random.nextInt(WORDS.length - 1)]);
+
+        sentence.setCharAt(0, Character.toUpperCase(sentence.charAt(0)));
+
+        for (int i = 1; i < words; i++) {
+            sentence.append(' ').append(pick(WORDS));
+        }
+
+        return sentence.toString();
+    }
+
+    private int[] permutation(int size) {
+        var permutation = new int[size];
+
+        Arrays.setAll(permutation, i -> i);
+
+        for (int i = size - 1; i > 0; i--) {
+            var j = random.nextInt(i + 1);
+            var swapped = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = swapped;
+        }
+
+        return permutation;
+    }
+
+    private LocalDateTime between(LocalDateTime from, LocalDateTime to) {
+        var minutes = ChronoUnit.MINUTES.between(from, to);
+        return minutes <= 0 ? from : from.plusMinutes(random.nextLong(minutes));
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * A version 7 UUID of the given creation time with seeded random bits, ordered like the keys of {@code UuidV7Generator}.
+     */
+    private UUID uuid(LocalDateTime createdAt) {
+        var millis = createdAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+        return new UUID(millis << 16 | 0x7000L | random.nextInt(0x1000), random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L);
+    }
+
+    private static LocalDateTime at(LocalDate date, int hour) {
+        return date.atTime(hour, 0);
+    }
+
+    private static String ascii(String name) {
+        return Normalizer.normalize(name, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+    }
+
+    /**
+     * The number of rows to generate.
+     *
+     * @param users the number of users
+     * @param projects the number of projects, each with story point mappings and at least one member
+     * @param tasks the number of tasks
+     * @param timeLogs the number of time logs
+     * @param months the length of the period in months
+     */
+    record Scale(int users, int projects, int tasks, long timeLogs, int months) {
+
+        Scale {
+            if (users < 1 || projects < 1 || tasks < 1 || timeLogs < 0 || months < 1) {
+                throw new IllegalArgumentException("Invalid scale: " + users + " users, " + projects + " projects, "
+                        + tasks + " tasks, " + timeLogs + " time logs, " + months + " months");
+            }
+        }
+    }
+
+    /**
+     * A loaded table.
+     *
+     * @param name the name of the table
+     * @param rows the number of loaded rows
+     * @param nanos the duration of the load
+     */
+    record LoadedTable(String name, long rows, long nanos) {
+    }
+
+    private interface Rows {
+        long write(CopyWriter out) throws IOException;
+    }
+
+    /**
+     * Samples ranks from 0 to size - 1 with probabilities proportional to 1 / (rank + 1)^exponent.
+     */
+    private static final class Zipf {
+
+        private final double[] cumulative;
+
+        private Zipf(int size, double exponent) {
+            cumulative = new double[size];
+
+            var sum = 0.0;
+
+            for (int i = 0; i < size; i++) {
+                sum += 1 / Math.pow(i + 1, exponent);
+                cumulative[i] = sum;
+            }
+        }
+
+        private int sample(SplittableRandom random) {
+            var index = Arrays.binarySearch(cumulative, random.nextDouble() * cumulative[cumulative.length - 1]);
+            return Math.min(cumulative.length - 1, index >= 0 ? index : -index - 1);
+        }
+    }
+
+    /**
+     * Writes rows in the text format of {@code COPY}.
+     */
+    private static final class CopyWriter implements AutoCloseable {
+
+        private final Writer writer;
+
+        private CopyWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        private void row(Object... values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write('\t');
+                }
+                write(values[i]);
+            }
+            writer.write('\n');
+        }
+
+        private void write(Object value) throws IOException {
+            if (value == null) {
+                writer.write("\\N");
+            } else if (value instanceof Boolean bool) {
+                writer.write(bool ? "t" : "f");
+            } else if (value instanceof String text) {
+                for (int i = 0; i < text.length(); i++) {
+                    var c = text.charAt(i);
+
+                    switch (c) {
+                        case '\\' -> writer.write("\\\\");
+                        case '\n' -> writer.write("\\n");
+                        case '\r' -> writer.write("\\r");
+                        case '\t' -> writer.write("\\t");
+                        default -> writer.write(c);
+                    }
+                }
+            } else {
+                writer.write(value.toString());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+}
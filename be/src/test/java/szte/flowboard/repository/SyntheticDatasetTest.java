@@ -0,0 +1,146 @@
+package szte.flowboard.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import szte.flowboard.enums.ProjectType;
+import szte.flowboard.enums.TaskStatus;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The dataset is loaded on the connection of the test transaction into emptied tables, so both are rolled back with
+ * the test.
+ */
+class SyntheticDatasetTest extends PostgresRepositoryTest {
+
+    private static final SyntheticDataset.Scale SCALE = new SyntheticDataset.Scale(40, 8, 300, 5_000, 6);
+    private static final LocalDate END = LocalDate.of(2025, 6, 30);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TimeLogRepository timeLogRepository;
+
+    @BeforeEach
+    void setUp() {
+        truncate();
+    }
+
+    @Test
+    void testLoad_LoadsTheScaleIntoEveryTable() throws SQLException {
+        // When
+        var tables = load(42);
+
+        // Then
+        assertEquals(List.of("users", "projects", "story_point_time_mappings", "project_users", "tasks", "time_logs"),
+                tables.stream().map(SyntheticDataset.LoadedTable::name).toList());
+        assertEquals(40, count("users"));
+        assertEquals(8, count("projects"));
+        assertEquals(300, count("tasks"));
+        assertEquals(5_000, count("time_logs"));
+        assertEquals(0, count("time_logs_default"));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM projects p WHERE NOT EXISTS (SELECT 1 FROM project_users pu WHERE pu.project_id = p.id)", Long.class));
+    }
+
+    @Test
+    void testLoad_CoversEveryProjectTypeAndTaskStatus() throws SQLException {
+        // When
+        load(42);
+
+        // Then
+        assertEquals(Arrays.stream(ProjectType.values()).map(Enum::name).sorted().toList(),
+                jdbcTemplate.queryForList("SELECT DISTINCT type FROM projects ORDER BY type", String.class));
+        assertEquals(Arrays.stream(TaskStatus.values()).map(Enum::name).sorted().toList(),
+                jdbcTemplate.queryForList("SELECT DISTINCT status FROM tasks ORDER BY status", String.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM tasks t JOIN projects p ON p.id = t.project_id "
+                        + "WHERE p.type = 'STORY_POINT_BASED' AND t.story_point_mapping_id IS NULL", Long.class));
+    }
+
+    @Test
+    void testLoad_SkewsTimeLogsTowardsFewTasks() throws SQLException {
+        // When
+        load(42);
+
+        // Then
+        var busiestTenthShare = jdbcTemplate.queryForObject("""
+                SELECT sum(logs) FILTER (WHERE rank <= 30)::float / sum(logs)
+                FROM (SELECT count(*) AS logs, row_number() OVER (ORDER BY count(*) DESC) AS rank FROM time_logs GROUP BY task_id) AS t""",
+                Double.class);
+        assertTrue(busiestTenthShare > 0.5, "The busiest tenth of the tasks has " + busiestTenthShare + " of the time logs");
+    }
+
+    @Test
+    void testLoad_RowsAreReadableByTheRepositories() throws SQLException {
+        // Given
+        load(42);
+        var taskId = jdbcTemplate.queryForObject("SELECT task_id FROM time_logs GROUP BY task_id ORDER BY count(*) DESC, task_id LIMIT 1",
+                UUID.class);
+
+        // When
+        var timeLogs = timeLogRepository.findByTaskId(taskId);
+
+        // Then
+        assertFalse(timeLogs.isEmpty());
+        assertTrue(timeLogs.stream().allMatch(timeLog -> timeLog.getLoggedTime().toMinutes() % 15 == 0
+                && timeLog.getLoggedTime().compareTo(Duration.ZERO) > 0 && !timeLog.getLogDate().isAfter(END)));
+    }
+
+    @Test
+    void testLoad_SameSeedLoadsSameRows() throws SQLException {
+        // Given
+        load(42);
+        var first = checksum();
+        truncate();
+
+        // When
+        load(42);
+        var second = checksum();
+        truncate();
+        load(7);
+        var otherSeed = checksum();
+
+        // Then
+        assertEquals(first, second);
+        assertNotEquals(first, otherSeed);
+    }
+
+    private List<SyntheticDataset.LoadedTable> load(long seed) throws SQLException {
+        return new SyntheticDataset(seed, SCALE, END).load(DataSourceUtils.getConnection(dataSource));
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class);
+    }
+
+    private String checksum() {
+        return jdbcTemplate.queryForObject("""
+                SELECT md5(string_agg(row, ',' ORDER BY row)) FROM (
+                    SELECT concat_ws('|', id, keycloak_id, email_address, created_at) AS row FROM users
+                    UNION ALL SELECT concat_ws('|', id, name, status, type, story_point_fee) FROM projects
+                    UNION ALL SELECT concat_ws('|', id, project_id, user_id, role, fee) FROM project_users
+                    UNION ALL SELECT concat_ws('|', id, project_id, assigned_to_id, status, md5(description), finished_at) FROM tasks
+                    UNION ALL SELECT concat_ws('|', id, task_id, user_id, log_date, logged_time, is_billable) FROM time_logs) AS rows""",
+                String.class);
+    }
+
+    private void truncate() {
+        jdbcTemplate.execute("TRUNCATE users, projects, story_point_time_mappings, project_users, tasks, time_logs CASCADE");
+    }
+}
@@ -0,0 +1,139 @@
+package szte.flowboard.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.TestPropertySource;
+import szte.flowboard.dto.KeysetCursor;
+import szte.flowboard.entity.TaskEntity;
+import szte.flowboard.entity.UserEntity;
+import szte.flowboard.enums.UserRole;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=szte.flowboard.repository.CapturingStatementInspector")
+class TaskDescriptionLazyLoadingTest extends PostgresRepositoryTest {
+
+    private static final String DESCRIPTION = "A long description. ".repeat(200);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TimeLogRepository timeLogRepository;
+
+    @Autowired
+    private ArchivedTimeLogRepository archivedTimeLogRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private TaskEntity task;
+
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp() {
+        user = user();
+        entityManager.persist(user);
+
+        var project = project();
+        entityManager.persist(project);
+
+        task = task(project, null);
+        task.setDescription(DESCRIPTION);
+        entityManager.persist(task);
+
+        entityManager.persist(projectUser(project, user, UserRole.MEMBER));
+        entityManager.persist(timeLog(task, user, Duration.ofHours(1), LocalDate.now()));
+
+        entityManager.flush();
+        entityManager.clear();
+        CapturingStatementInspector.clear();
+    }
+
+    @Test
+    void testReportQuery_DoesNotSelectDescription() {
+        // When
+        TaskEntity reportTask;
+        try (var timeLogs = timeLogRepository.streamAllByTaskProjectIdAndLogDateBetween(
+                task.getProject().getId(), LocalDate.now(), LocalDate.now())) {
+            reportTask = timeLogs.findFirst().orElseThrow().getTask();
+        }
+
+        // Then
+        assertFalse(Hibernate.isPropertyInitialized(reportTask, "description"));
+        assertNoDescriptionSelected();
+    }
+
+    @Test
+    void testArchivedReportQuery_DoesNotSelectDescription() {
+        // When
+        try (var timeLogs = archivedTimeLogRepository.streamAllByTaskProjectIdAndLogDateBetween(
+                task.getProject().getId(), LocalDate.now(), LocalDate.now())) {
+            timeLogs.count();
+        }
+
+        // Then
+        assertFalse(CapturingStatementInspector.statements().isEmpty());
+        assertNoDescriptionSelected();
+    }
+
+    @Test
+    void testTaskDtoLists_DoNotSelectDescription() {
+        // When
+        var tasks = taskRepository.findTaskDtosByProjectId(task.getProject().getId());
+        var page = taskRepository.findTaskDtoPageByUserId(user.getId(), null, null, null,
+                KeysetCursor.START.createdAt(), KeysetCursor.START.id(), Limit.of(10));
+
+        // Then
+        assertNull(tasks.get(0).getDescription());
+        assertNull(page.get(0).getDescription());
+        assertNoDescriptionSelected();
+    }
+
+    @Test
+    void testTaskDtoById_SelectsDescription() {
+        // When
+        var dto = taskRepository.findTaskDtoByIdAndUserId(task.getId(), user.getId()).orElseThrow();
+
+        // Then
+        assertEquals(DESCRIPTION, dto.getDescription());
+        assertEquals(1, CapturingStatementInspector.statements().size());
+    }
+
+    @Test
+    void testGetDescription_LoadsDescriptionOnDemand() {
+        // Given
+        var loadedTask = taskRepository.findById(task.getId()).orElseThrow();
+        assertFalse(Hibernate.isPropertyInitialized(loadedTask, "description"));
+
+        // When
+        var description = loadedTask.getDescription();
+
+        // Then
+        assertEquals(DESCRIPTION, description);
+        assertEquals(2, CapturingStatementInspector.statements().size());
+    }
+
+    @Test
+    void testFindDetailedById_FetchesDescription() {
+        // When
+        var detailedTask = taskRepository.findDetailedById(task.getId()).orElseThrow();
+
+        // Then
+        assertTrue(Hibernate.isPropertyInitialized(detailedTask, "description"));
+        assertEquals(1, CapturingStatementInspector.statements().size());
+        assertEquals(DESCRIPTION, detailedTask.getDescription());
+    }
+
+    private static void assertNoDescriptionSelected() {
+        assertTrue(CapturingStatementInspector.statements().stream().noneMatch(sql -> sql.matches("(?s).*\\w+\\.description\\b.*")));
+    }
+}
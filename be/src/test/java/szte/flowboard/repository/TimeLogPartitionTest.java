@@ -0,0 +1,158 @@
+package szte.flowboard.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import szte.flowboard.configuration.TimeLogPartitionProperties;
+import szte.flowboard.entity.TaskEntity;
+import szte.flowboard.entity.TimeLogEntity;
+import szte.flowboard.service.TimeLogPartitionMaintenance;
+import szte.flowboard.service.TimeLogPartitionService;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Partitions created or detached here are rolled back with the test transaction.
+ */
+@Import(TimeLogPartitionService.class)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=szte.flowboard.repository.CapturingStatementInspector")
+class TimeLogPartitionTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private TimeLogPartitionService timeLogPartitionService;
+
+    @Autowired
+    private TimeLogRepository timeLogRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void testMigrate_TimeLogsArePartitionedByMonth() {
+        // When
+        var strategy = jdbcTemplate.queryForObject(
+                "SELECT partstrat FROM pg_partitioned_table WHERE partrelid = 'time_logs'::regclass", String.class);
+
+        // Then
+        assertEquals("r", strategy);
+        assertTrue(timeLogPartitionService.findPartitionMonths().containsAll(List.of(
+                YearMonth.now(), YearMonth.now().plusMonths(1), YearMonth.now().plusMonths(2), YearMonth.now().plusMonths(3))));
+    }
+
+    @Test
+    void testCreatePartition_MovesRowsOutOfDefaultPartition() {
+        // Given
+        var timeLog = persist(timeLog(null, LocalDate.of(2001, 1, 15)));
+        entityManager.flush();
+        assertEquals(TimeLogPartitionService.DEFAULT_PARTITION, partitionOf(timeLog));
+
+        // When
+        var partition = timeLogPartitionService.createPartition(YearMonth.of(2001, 1));
+
+        // Then
+        assertEquals("time_logs_y2001m01", partition);
+        assertEquals(partition, partitionOf(timeLog));
+        assertEquals(partition, timeLogPartitionService.createPartition(YearMonth.of(2001, 1)));
+    }
+
+    @Test
+    void testReportQuery_ScansOnlyPartitionsOfDateRange() {
+        // Given
+        timeLogPartitionService.createPartition(YearMonth.of(2001, 1));
+        timeLogPartitionService.createPartition(YearMonth.of(2001, 2));
+        timeLogPartitionService.createPartition(YearMonth.of(2001, 3));
+        var task = task();
+        persist(timeLog(task, LocalDate.of(2001, 1, 31)));
+        persist(timeLog(task, LocalDate.of(2001, 2, 1)));
+        persist(timeLog(task, LocalDate.of(2001, 3, 1)));
+        entityManager.flush();
+        entityManager.clear();
+
+        var start = LocalDate.of(2001, 2, 1);
+        var end = LocalDate.of(2001, 2, 28);
+        CapturingStatementInspector.clear();
+
+        // When
+        long count;
+        try (var timeLogs = timeLogRepository.streamAllByTaskProjectIdAndLogDateBetween(task.getProject().getId(), start, end)) {
+            count = timeLogs.count();
+        }
+        var sql = CapturingStatementInspector.statements().stream()
+                .filter(statement -> statement.contains("time_logs"))
+                .findFirst()
+                .orElseThrow();
+        var plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, task.getProject().getId(), start, end));
+
+        // Then
+        assertEquals(1, count);
+        assertTrue(plan.contains("time_logs_y2001m02"), plan);
+        assertFalse(plan.contains("time_logs_y2001m01"), plan);
+        assertFalse(plan.contains("time_logs_y2001m03"), plan);
+        assertFalse(plan.contains(TimeLogPartitionService.DEFAULT_PARTITION), plan);
+    }
+
+    @Test
+    void testDetachPartition_KeepsRowsInStandaloneTable() {
+        // Given
+        timeLogPartitionService.createPartition(YearMonth.of(2000, 6));
+        var timeLog = persist(timeLog(null, LocalDate.of(2000, 6, 10)));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        var detached = timeLogPartitionService.detachPartition(YearMonth.of(2000, 6));
+
+        // Then
+        assertTrue(detached);
+        assertFalse(timeLogPartitionService.findPartitionMonths().contains(YearMonth.of(2000, 6)));
+        assertTrue(timeLogRepository.findById(timeLog.getId()).isEmpty());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM time_logs_y2000m06", Integer.class));
+        assertFalse(timeLogPartitionService.detachPartition(YearMonth.of(2000, 6)));
+    }
+
+    @Test
+    void testMaintain_CreatesUpcomingAndDetachesExpiredPartitions() {
+        // Given
+        var properties = new TimeLogPartitionProperties();
+        properties.setMonthsAhead(6);
+        properties.setDetachAfter(Period.ofYears(30));
+        timeLogPartitionService.createPartition(YearMonth.now().minusYears(31));
+
+        // When
+        new TimeLogPartitionMaintenance(timeLogPartitionService, properties).maintain();
+
+        // Then
+        var months = timeLogPartitionService.findPartitionMonths();
+        assertTrue(months.contains(YearMonth.now().plusMonths(6)));
+        assertFalse(months.contains(YearMonth.now().minusYears(31)));
+    }
+
+    private String partitionOf(TimeLogEntity timeLog) {
+        return jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM time_logs WHERE id = ?", String.class, timeLog.getId());
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+
+    private TaskEntity task() {
+        return persist(task(persist(project()), null));
+    }
+
+    private TimeLogEntity timeLog(TaskEntity task, LocalDate logDate) {
+        return timeLog(task, persist(user()), Duration.ofHours(1), logDate);
+    }
+}
@@ -6,8 +6,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
+import szte.flowboard.dto.ProjectDto;
+import szte.flowboard.dto.StoryPointTimeMappingDto;
 import szte.flowboard.entity.ProjectEntity;
 import szte.flowboard.entity.ProjectUserEntity;
 import szte.flowboard.entity.StoryPointTimeMappingEntity;
@@ -17,6 +20,7 @@ import szte.flowboard.enums.ProjectType;
 import szte.flowboard.enums.UserRole;
 import szte.flowboard.repository.*;
 
+import java.time.Duration;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -41,6 +45,9 @@ class ProjectServiceTest {
     @Mock
     private StoryPointTimeMappingRepository storyPointTimeMappingRepository;
 
+    @Mock
+    private UpdateConflictMetrics updateConflictMetrics;
+
     @Mock
     private Authentication authentication;
 
@@ -52,6 +59,7 @@ class ProjectServiceTest {
 
     private UserEntity testUser;
     private ProjectEntity testProject;
+    private ProjectDto testProjectDto;
     private UUID userId;
     private UUID projectId;
 
@@ -69,6 +77,12 @@ class ProjectServiceTest {
         testProject.setName("Test Project");
         testProject.setStatus(ProjectStatus.ACTIVE);
         testProject.setType(ProjectType.TIME_BASED);
+
+        testProjectDto = new ProjectDto();
+        testProjectDto.setId(projectId);
+        testProjectDto.setName("Test Project");
+        testProjectDto.setStatus(ProjectStatus.ACTIVE);
+        testProjectDto.setType(ProjectType.TIME_BASED);
     }
 
     @Test
@@ -116,28 +130,29 @@ class ProjectServiceTest {
         when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.empty());
 
         // When
-        List<ProjectEntity> result = projectService.findAllByUser(authentication);
+        List<ProjectDto> result = projectService.findAllByUser(authentication);
 
         // Then
         assertTrue(result.isEmpty());
-        verify(projectUserRepository, never()).findByUserId(any());
+        verify(projectRepository, never()).findProjectDtosByUserId(any());
     }
 
     @Test
     void testFindAllByUser_Success() {
         // Given
-        ProjectUserEntity projectUser = new ProjectUserEntity();
-        projectUser.setProject(testProject);
         when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.of(testUser));
-        when(projectUserRepository.findByUserId(userId)).thenReturn(List.of(projectUser));
+        var mapping = new StoryPointTimeMappingDto(UUID.randomUUID(), projectId, 3, Duration.ofHours(5));
+        when(projectRepository.findProjectDtosByUserId(userId)).thenReturn(List.of(testProjectDto));
+        when(storyPointTimeMappingRepository.findDtosByProjectIdIn(List.of(projectId))).thenReturn(List.of(mapping));
 
         // When
-        List<ProjectEntity> result = projectService.findAllByUser(authentication);
+        List<ProjectDto> result = projectService.findAllByUser(authentication);
 
         // Then
         assertEquals(1, result.size());
         assertEquals(testProject.getId(), result.get(0).getId());
-        verify(projectUserRepository, times(1)).findByUserId(userId);
+        assertEquals(List.of(mapping), result.get(0).getStoryPointTimeMappings());
+        verify(projectRepository, times(1)).findProjectDtosByUserId(userId);
     }
 
     @Test
@@ -146,38 +161,36 @@ class ProjectServiceTest {
         when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.empty());
 
         // When
-        Optional<ProjectEntity> result = projectService.findByIdAndUser(projectId, authentication);
+        Optional<ProjectDto> result = projectService.findByIdAndUser(projectId, authentication);
 
         // Then
         assertTrue(result.isEmpty());
-        verify(projectRepository, never()).findById(any());
+        verify(projectRepository, never()).findProjectDtoByIdAndUserId(any(), any());
     }
 
     @Test
     void testFindByIdAndUser_NoAccess_ReturnsEmpty() {
         // Given
         when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.of(testUser));
-        when(projectUserRepository.findByUserIdAndProjectId(userId, projectId)).thenReturn(Optional.empty());
+        when(projectRepository.findProjectDtoByIdAndUserId(projectId, userId)).thenReturn(Optional.empty());
 
         // When
-        Optional<ProjectEntity> result = projectService.findByIdAndUser(projectId, authentication);
+        Optional<ProjectDto> result = projectService.findByIdAndUser(projectId, authentication);
 
         // Then
         assertTrue(result.isEmpty());
-        verify(projectRepository, never()).findById(any());
+        verify(storyPointTimeMappingRepository, never()).findDtosByProjectIdIn(any());
     }
 
     @Test
     void testFindByIdAndUser_Success() {
         // Given
-        ProjectUserEntity projectUser = new ProjectUserEntity();
-        projectUser.setProject(testProject);
         when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.of(testUser));
-        when(projectUserRepository.findByUserIdAndProjectId(userId, projectId)).thenReturn(Optional.of(projectUser));
-        when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
+        when(projectRepository.findProjectDtoByIdAndUserId(projectId, userId)).thenReturn(Optional.of(testProjectDto));
+        when(storyPointTimeMappingRepository.findDtosByProjectIdIn(List.of(projectId))).thenReturn(List.of());
 
         // When
-        Optional<ProjectEntity> result = projectService.findByIdAndUser(projectId, authentication);
+        Optional<ProjectDto> result = projectService.findByIdAndUser(projectId, authentication);
 
         // Then
         assertTrue(result.isPresent());
@@ -213,16 +226,44 @@ class ProjectServiceTest {
     void testUpdate_Success() {
         // Given
         testProject.setStoryPointTimeMappings(new ArrayList<>());
-        when(projectRepository.save(testProject)).thenReturn(testProject);
+        when(projectRepository.findWithVersionIncrementById(projectId)).thenReturn(Optional.of(existingProject(2)));
+        when(projectRepository.saveAndFlush(testProject)).thenReturn(testProject);
 
         // When
-        ProjectEntity result = projectService.update(testProject);
+        ProjectEntity result = projectService.update(testProject, 2L);
 
         // Then
         assertNotNull(result);
+        assertEquals(2, testProject.getVersion());
         verify(storyPointTimeMappingRepository, times(1))
             .deleteAllForProjectNotInIds(eq(projectId), any(UUID[].class));
-        verify(projectRepository, times(1)).save(testProject);
+        verify(projectRepository, times(1)).saveAndFlush(testProject);
+    }
+
+    @Test
+    void testUpdate_ProjectNotFound_ReturnsNull() {
+        // Given
+        when(projectRepository.findWithVersionIncrementById(projectId)).thenReturn(Optional.empty());
+
+        // When
+        ProjectEntity result = projectService.update(testProject, 0L);
+
+        // Then
+        assertNull(result);
+        verify(projectRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testUpdate_StaleVersion_ThrowsAndRecordsConflict() {
+        // Given
+        testProject.setStoryPointTimeMappings(new ArrayList<>());
+        when(projectRepository.findWithVersionIncrementById(projectId)).thenReturn(Optional.of(existingProject(2)));
+
+        // When & Then
+        assertThrows(OptimisticLockingFailureException.class, () -> projectService.update(testProject, 1L));
+        verify(storyPointTimeMappingRepository, never()).deleteAllForProjectNotInIds(any(), any());
+        verify(projectRepository, never()).saveAndFlush(any());
+        verify(updateConflictMetrics).conflict("project", UpdateConflictMetrics.Reason.STALE);
     }
 
     @Test
@@ -233,16 +274,24 @@ class ProjectServiceTest {
         StoryPointTimeMappingEntity mapping2 = new StoryPointTimeMappingEntity();
         mapping2.setId(UUID.randomUUID());
         testProject.setStoryPointTimeMappings(List.of(mapping1, mapping2));
-        when(projectRepository.save(testProject)).thenReturn(testProject);
+        var existingMapping = new StoryPointTimeMappingEntity();
+        existingMapping.setId(mapping1.getId());
+        existingMapping.setVersion(4);
+        var existingProject = existingProject(0);
+        existingProject.setStoryPointTimeMappings(List.of(existingMapping));
+        when(projectRepository.findWithVersionIncrementById(projectId)).thenReturn(Optional.of(existingProject));
+        when(projectRepository.saveAndFlush(testProject)).thenReturn(testProject);
 
         // When
-        ProjectEntity result = projectService.update(testProject);
+        ProjectEntity result = projectService.update(testProject, 0L);
 
         // Then
         assertNotNull(result);
+        assertEquals(4, mapping1.getVersion());
+        assertEquals(0, mapping2.getVersion());
         verify(storyPointTimeMappingRepository, times(1))
             .deleteAllForProjectNotInIds(eq(projectId), any(UUID[].class));
-        verify(projectRepository, times(1)).save(testProject);
+        verify(projectRepository, times(1)).saveAndFlush(testProject);
     }
 
     @Test
@@ -253,16 +302,17 @@ class ProjectServiceTest {
         StoryPointTimeMappingEntity mapping2 = new StoryPointTimeMappingEntity();
         mapping2.setId(UUID.randomUUID());
         testProject.setStoryPointTimeMappings(List.of(mapping1, mapping2));
-        when(projectRepository.save(testProject)).thenReturn(testProject);
+        when(projectRepository.findWithVersionIncrementById(projectId)).thenReturn(Optional.of(existingProject(0)));
+        when(projectRepository.saveAndFlush(testProject)).thenReturn(testProject);
 
         // When
-        ProjectEntity result = projectService.update(testProject);
+        ProjectEntity result = projectService.update(testProject, 0L);
 
         // Then
         assertNotNull(result);
         verify(storyPointTimeMappingRepository, times(1))
             .deleteAllForProjectNotInIds(eq(projectId), any(UUID[].class));
-        verify(projectRepository, times(1)).save(testProject);
+        verify(projectRepository, times(1)).saveAndFlush(testProject);
     }
 
     @Test
@@ -280,7 +330,12 @@ class ProjectServiceTest {
         verify(projectUserRepository, times(1)).deleteByProjectId(projectId);
         verify(projectRepository, times(1)).deleteById(projectId);
     }
-}
-
-
 
+    private ProjectEntity existingProject(long version) {
+        var project = new ProjectEntity();
+        project.setId(projectId);
+        project.setVersion(version);
+        project.setStoryPointTimeMappings(new ArrayList<>());
+        return project;
+    }
+}
@@ -6,8 +6,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
+import szte.flowboard.dto.KeysetCursor;
+import szte.flowboard.dto.KeysetRequest;
+import szte.flowboard.dto.request.ProjectUserFilterDto;
 import szte.flowboard.entity.ProjectEntity;
 import szte.flowboard.entity.ProjectUserEntity;
 import szte.flowboard.entity.UserEntity;
@@ -115,10 +119,10 @@ class ProjectUserServiceTest {
     @Test
     void testFindAll_Success() {
         // Given
-        when(projectUserRepository.findAll()).thenReturn(List.of(testProjectUser));
+        when(projectUserRepository.findPage(null, null, KeysetCursor.START.createdAt(), KeysetCursor.START.id(), Limit.unlimited())).thenReturn(List.of(testProjectUser));
 
         // When
-        List<ProjectUserEntity> result = projectUserService.findAll();
+        List<ProjectUserEntity> result = projectUserService.findAll(new ProjectUserFilterDto(), KeysetRequest.UNPAGED).items();
 
         // Then
         assertEquals(1, result.size());
@@ -257,10 +261,10 @@ class ProjectUserServiceTest {
     @Test
     void testFindAll_EmptyList() {
         // Given
-        when(projectUserRepository.findAll()).thenReturn(Collections.emptyList());
+        when(projectUserRepository.findPage(null, null, KeysetCursor.START.createdAt(), KeysetCursor.START.id(), Limit.unlimited())).thenReturn(Collections.emptyList());
 
         // When
-        List<ProjectUserEntity> result = projectUserService.findAll();
+        List<ProjectUserEntity> result = projectUserService.findAll(new ProjectUserFilterDto(), KeysetRequest.UNPAGED).items();
 
         // Then
         assertTrue(result.isEmpty());
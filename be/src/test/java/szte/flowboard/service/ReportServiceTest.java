@@ -5,17 +5,30 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import szte.flowboard.dto.KeysetCursor;
+import szte.flowboard.dto.KeysetRequest;
+import szte.flowboard.dto.ProjectEventDto;
+import szte.flowboard.dto.ReportDto;
 import szte.flowboard.dto.request.CreateCOCReportRequestDto;
 import szte.flowboard.dto.request.CreateEmployeeMatrixReportRequestDto;
 import szte.flowboard.dto.request.CreateProjectActivityReportRequestDto;
+import szte.flowboard.dto.request.DateRangeFilter;
+import szte.flowboard.dto.request.ReportFilterDto;
 import szte.flowboard.entity.*;
+import szte.flowboard.enums.ProjectEventType;
 import szte.flowboard.enums.ProjectType;
 import szte.flowboard.enums.UserRole;
 import szte.flowboard.repository.*;
+import szte.flowboard.service.report.ReportMetrics;
 
 import java.io.IOException;
 import java.net.URL;
@@ -66,6 +79,12 @@ class ReportServiceTest {
     @Mock
     private Jwt jwt;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private ReportMetrics reportMetrics = new ReportMetrics(new SimpleMeterRegistry(), ObservationRegistry.NOOP);
+
     @InjectMocks
     private ReportService reportService;
 
@@ -116,26 +135,29 @@ class ReportServiceTest {
         when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.empty());
 
         // When
-        List<ReportEntity> result = reportService.findAllByUser(authentication);
+        List<ReportDto> result = reportService.findAllByUser(authentication, new ReportFilterDto(), KeysetRequest.UNPAGED).items();
 
         // Then
         assertTrue(result.isEmpty());
-        verify(reportRepository, never()).findByUserId(any());
+        verify(reportRepository, never()).findReportDtoPageByUserId(any(), any(), any(), any(), any(), any(), any());
     }
 
     @Test
     void testFindAllByUser_Success() {
         // Given
         when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.of(testUser));
-        when(reportRepository.findByUserId(userId)).thenReturn(List.of(testReport));
+        var reportDto = new ReportDto(reportId, "Test Report", testReport.getStart(), testReport.getEnd(), "Test Project", null);
+        when(reportRepository.findReportDtoPageByUserId(userId, null, DateRangeFilter.EARLIEST.atStartOfDay(), DateRangeFilter.LATEST.plusDays(1).atStartOfDay(),
+                KeysetCursor.START.createdAt(), KeysetCursor.START.id(), Limit.unlimited())).thenReturn(List.of(reportDto));
 
         // When
-        List<ReportEntity> result = reportService.findAllByUser(authentication);
+        List<ReportDto> result = reportService.findAllByUser(authentication, new ReportFilterDto(), KeysetRequest.UNPAGED).items();
 
         // Then
         assertEquals(1, result.size());
         assertEquals(testReport.getId(), result.get(0).getId());
-        verify(reportRepository, times(1)).findByUserId(userId);
+        verify(reportRepository, times(1)).findReportDtoPageByUserId(userId, null, DateRangeFilter.EARLIEST.atStartOfDay(), DateRangeFilter.LATEST.plusDays(1).atStartOfDay(),
+                KeysetCursor.START.createdAt(), KeysetCursor.START.id(), Limit.unlimited());
     }
 
     @Test
@@ -461,6 +483,7 @@ class ReportServiceTest {
         verify(projectRepository, times(1)).findById(projectId);
         verify(cocReportGenerator, times(1)).generate(request, testProject);
         verify(s3Service, times(1)).uploadReport(reportId, reportData);
+        verify(eventPublisher).publishEvent(new ProjectEventDto(projectId, ProjectEventType.REPORT_CREATED, reportId));
     }
 
     @Test
@@ -791,6 +814,7 @@ class ReportServiceTest {
         // Then
         assertNull(result);
         verify(s3Service, times(1)).uploadReport(reportId, reportData);
+        verifyNoInteractions(eventPublisher);
     }
 }
 
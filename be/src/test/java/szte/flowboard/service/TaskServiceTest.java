@@ -6,15 +6,29 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
+import szte.flowboard.dto.KeysetCursor;
+import szte.flowboard.dto.KeysetPage;
+import szte.flowboard.dto.KeysetRequest;
+import szte.flowboard.dto.ListVersion;
+import szte.flowboard.dto.ProjectEventDto;
+import szte.flowboard.dto.TaskDto;
+import szte.flowboard.dto.request.TaskFilterDto;
 import szte.flowboard.entity.ProjectEntity;
 import szte.flowboard.entity.TaskEntity;
 import szte.flowboard.entity.UserEntity;
+import szte.flowboard.enums.ProjectEventType;
 import szte.flowboard.enums.TaskStatus;
 import szte.flowboard.repository.ProjectRepository;
+import szte.flowboard.repository.ArchivedTaskRepository;
 import szte.flowboard.repository.TaskRepository;
 
+import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,12 +41,21 @@ class TaskServiceTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private ArchivedTaskRepository archivedTaskRepository;
+
     @Mock
     private ProjectRepository projectRepository;
 
     @Mock
     private UserService userService;
 
+    @Mock
+    private UpdateConflictMetrics updateConflictMetrics;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private Authentication authentication;
 
@@ -45,6 +68,7 @@ class TaskServiceTest {
     private UserEntity testUser;
     private ProjectEntity testProject;
     private TaskEntity testTask;
+    private TaskDto testTaskDto;
     private UUID userId;
     private UUID projectId;
     private UUID taskId;
@@ -68,6 +92,12 @@ class TaskServiceTest {
         testTask.setName("Test Task");
         testTask.setStatus(TaskStatus.OPEN);
         testTask.setProject(testProject);
+
+        testTaskDto = new TaskDto();
+        testTaskDto.setId(taskId);
+        testTaskDto.setName("Test Task");
+        testTaskDto.setStatus(TaskStatus.OPEN);
+        testTaskDto.setProjectId(projectId);
     }
 
     @Test
@@ -103,6 +133,7 @@ class TaskServiceTest {
         when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.of(testUser));
         when(projectRepository.existsByIdAndProjectUsersUserId(projectId, userId)).thenReturn(true);
         when(taskRepository.save(testTask)).thenReturn(testTask);
+        when(taskRepository.findDetailedById(taskId)).thenReturn(Optional.of(testTask));
 
         // When
         TaskEntity result = taskService.create(testTask, authentication);
@@ -111,6 +142,7 @@ class TaskServiceTest {
         assertNotNull(result);
         assertEquals(testTask.getId(), result.getId());
         verify(taskRepository, times(1)).save(testTask);
+        verify(eventPublisher).publishEvent(new ProjectEventDto(projectId, ProjectEventType.TASK_CREATED, taskId));
     }
 
     @Test
@@ -119,34 +151,97 @@ class TaskServiceTest {
         when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.empty());
 
         // When
-        List<TaskEntity> result = taskService.findAllByUser(authentication);
+        List<TaskDto> result = taskService.findAllByUser(authentication, new TaskFilterDto(), KeysetRequest.UNPAGED).items();
 
         // Then
         assertTrue(result.isEmpty());
-        verify(taskRepository, never()).findByProjectProjectUsersUserId(any());
+        verify(taskRepository, never()).findTaskDtoPageByUserId(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testFindListVersionByUser_UserNotFound_ReturnsEmptyVersion() {
+        // Given
+        when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.empty());
+
+        // When
+        ListVersion result = taskService.findListVersionByUser(authentication);
+
+        // Then
+        assertEquals(ListVersion.EMPTY, result);
+        verify(taskRepository, never()).findListVersionByUserId(any());
     }
 
     @Test
     void testFindAllByUser_Success() {
         // Given
         when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.of(testUser));
-        when(taskRepository.findByProjectProjectUsersUserId(userId)).thenReturn(List.of(testTask));
+        when(taskRepository.findTaskDtoPageByUserId(userId, null, null, null, KeysetCursor.START.createdAt(), KeysetCursor.START.id(), Limit.unlimited())).thenReturn(List.of(testTaskDto));
 
         // When
-        List<TaskEntity> result = taskService.findAllByUser(authentication);
+        List<TaskDto> result = taskService.findAllByUser(authentication, new TaskFilterDto(), KeysetRequest.UNPAGED).items();
 
         // Then
         assertEquals(1, result.size());
         assertEquals(testTask.getId(), result.get(0).getId());
     }
 
+    @Test
+    void testFindAllByUser_FilteredPage_ReturnsCursorOfLastTask() {
+        // Given
+        var filter = new TaskFilterDto(TaskStatus.OPEN, userId, null);
+        var cursor = new KeysetCursor(LocalDateTime.now(), UUID.randomUUID());
+        var newer = new TaskDto();
+        newer.setId(UUID.randomUUID());
+        newer.setCreatedAt(LocalDateTime.now().minusHours(1));
+        var older = new TaskDto();
+        older.setId(UUID.randomUUID());
+        older.setCreatedAt(LocalDateTime.now().minusHours(2));
+        when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.of(testUser));
+        when(taskRepository.findTaskDtoPageByUserId(userId, TaskStatus.OPEN, userId, null, cursor.createdAt(), cursor.id(), Limit.of(2)))
+                .thenReturn(List.of(newer, older));
+
+        // When
+        KeysetPage<TaskDto> result = taskService.findAllByUser(authentication, filter, new KeysetRequest(cursor, 1));
+
+        // Then
+        assertEquals(List.of(newer), result.items());
+        assertEquals(new KeysetCursor(newer.getCreatedAt(), newer.getId()), result.next());
+    }
+
+    @Test
+    void testForEachByUser_ReadsChunksUntilLastPage() {
+        // Given
+        var first = new TaskDto();
+        first.setId(UUID.randomUUID());
+        first.setCreatedAt(LocalDateTime.now().minusHours(1));
+        var second = new TaskDto();
+        second.setId(UUID.randomUUID());
+        second.setCreatedAt(LocalDateTime.now().minusHours(2));
+        var third = new TaskDto();
+        third.setId(UUID.randomUUID());
+        third.setCreatedAt(LocalDateTime.now().minusHours(3));
+        when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.of(testUser));
+        when(taskRepository.findTaskDtoPageByUserId(userId, null, null, null, KeysetCursor.START.createdAt(), KeysetCursor.START.id(), Limit.of(3)))
+                .thenReturn(List.of(first, second, third));
+        when(taskRepository.findTaskDtoPageByUserId(userId, null, null, null, second.getCreatedAt(), second.getId(), Limit.of(3)))
+                .thenReturn(List.of(third));
+        var tasks = new ArrayList<TaskDto>();
+
+        // When
+        taskService.forEachByUser(authentication, new TaskFilterDto(), 2, tasks::add);
+
+        // Then
+        assertEquals(List.of(first, second, third), tasks);
+        verify(userService, times(1)).getUserByAuthentication(authentication);
+    }
+
     @Test
     void testFindByIdAndUser_UserNotFound_ReturnsEmpty() {
         // Given
         when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.empty());
 
         // When
-        Optional<TaskEntity> result = taskService.findByIdAndUser(taskId, authentication);
+        Optional<TaskDto> result = taskService.findByIdAndUser(taskId, authentication);
 
         // Then
         assertTrue(result.isEmpty());
@@ -156,10 +251,10 @@ class TaskServiceTest {
     void testFindByIdAndUser_Success() {
         // Given
         when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.of(testUser));
-        when(taskRepository.findByIdAndProjectProjectUsersUserId(taskId, userId)).thenReturn(Optional.of(testTask));
+        when(taskRepository.findTaskDtoByIdAndUserId(taskId, userId)).thenReturn(Optional.of(testTaskDto));
 
         // When
-        Optional<TaskEntity> result = taskService.findByIdAndUser(taskId, authentication);
+        Optional<TaskDto> result = taskService.findByIdAndUser(taskId, authentication);
 
         // Then
         assertTrue(result.isPresent());
@@ -197,7 +292,7 @@ class TaskServiceTest {
         when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
 
         // When
-        TaskEntity result = taskService.update(testTask);
+        TaskEntity result = taskService.update(testTask, 0L);
 
         // Then
         assertNull(result);
@@ -210,22 +305,56 @@ class TaskServiceTest {
         TaskEntity existingTask = new TaskEntity();
         existingTask.setId(taskId);
         existingTask.setProject(testProject);
+        existingTask.setVersion(3);
         when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTask));
         when(taskRepository.save(any(TaskEntity.class))).thenReturn(testTask);
+        when(taskRepository.findDetailedById(taskId)).thenReturn(Optional.of(testTask));
 
         // When
-        TaskEntity result = taskService.update(testTask);
+        TaskEntity result = taskService.update(testTask, 3L);
 
         // Then
         assertNotNull(result);
         verify(taskRepository, times(1)).save(argThat(task -> 
-            task.getProject().getId().equals(projectId)
+            task.getProject().getId().equals(projectId) && task.getVersion() == 3
         ));
+        verify(eventPublisher).publishEvent(new ProjectEventDto(projectId, ProjectEventType.TASK_UPDATED, taskId));
+    }
+
+    @Test
+    void testUpdate_StaleVersion_ThrowsAndRecordsConflict() {
+        // Given
+        TaskEntity existingTask = new TaskEntity();
+        existingTask.setId(taskId);
+        existingTask.setProject(testProject);
+        existingTask.setVersion(3);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTask));
+
+        // When & Then
+        assertThrows(OptimisticLockingFailureException.class, () -> taskService.update(testTask, 2L));
+        verify(taskRepository, never()).save(any());
+        verify(updateConflictMetrics).conflict("task", UpdateConflictMetrics.Reason.STALE);
+    }
+
+    @Test
+    void testUpdate_ConcurrentUpdate_ThrowsAndRecordsConflict() {
+        // Given
+        TaskEntity existingTask = new TaskEntity();
+        existingTask.setId(taskId);
+        existingTask.setProject(testProject);
+        existingTask.setVersion(3);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTask));
+        when(taskRepository.save(any(TaskEntity.class))).thenThrow(new ObjectOptimisticLockingFailureException(TaskEntity.class, taskId));
+
+        // When & Then
+        assertThrows(OptimisticLockingFailureException.class, () -> taskService.update(testTask, 3L));
+        verify(updateConflictMetrics).conflict("task", UpdateConflictMetrics.Reason.CONCURRENT);
     }
 
     @Test
     void testDelete_Success() {
         // Given
+        when(taskRepository.findProjectIdById(taskId)).thenReturn(Optional.of(projectId));
         doNothing().when(taskRepository).deleteById(taskId);
 
         // When
@@ -233,15 +362,16 @@ class TaskServiceTest {
 
         // Then
         verify(taskRepository, times(1)).deleteById(taskId);
+        verify(eventPublisher).publishEvent(new ProjectEventDto(projectId, ProjectEventType.TASK_DELETED, taskId));
     }
 
     @Test
     void testFindAllByProject_Success() {
         // Given
-        when(taskRepository.findByProjectId(projectId)).thenReturn(List.of(testTask));
+        when(taskRepository.findTaskDtosByProjectId(projectId)).thenReturn(List.of(testTaskDto));
 
         // When
-        List<TaskEntity> result = taskService.findAllByProject(projectId);
+        List<TaskDto> result = taskService.findAllByProject(projectId);
 
         // Then
         assertEquals(1, result.size());
@@ -251,10 +381,10 @@ class TaskServiceTest {
     @Test
     void testFindAllByProject_EmptyList() {
         // Given
-        when(taskRepository.findByProjectId(projectId)).thenReturn(Collections.emptyList());
+        when(taskRepository.findTaskDtosByProjectId(projectId)).thenReturn(Collections.emptyList());
 
         // When
-        List<TaskEntity> result = taskService.findAllByProject(projectId);
+        List<TaskDto> result = taskService.findAllByProject(projectId);
 
         // Then
         assertTrue(result.isEmpty());
@@ -264,10 +394,10 @@ class TaskServiceTest {
     void testFindAllByUser_EmptyList() {
         // Given
         when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.of(testUser));
-        when(taskRepository.findByProjectProjectUsersUserId(userId)).thenReturn(Collections.emptyList());
+        when(taskRepository.findTaskDtoPageByUserId(userId, null, null, null, KeysetCursor.START.createdAt(), KeysetCursor.START.id(), Limit.unlimited())).thenReturn(Collections.emptyList());
 
         // When
-        List<TaskEntity> result = taskService.findAllByUser(authentication);
+        List<TaskDto> result = taskService.findAllByUser(authentication, new TaskFilterDto(), KeysetRequest.UNPAGED).items();
 
         // Then
         assertTrue(result.isEmpty());
@@ -6,18 +6,32 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
+import szte.flowboard.dto.KeysetCursor;
+import szte.flowboard.dto.KeysetRequest;
+import szte.flowboard.dto.ListVersion;
+import szte.flowboard.dto.ProjectEventDto;
+import szte.flowboard.dto.TimeLogDto;
+import szte.flowboard.dto.request.DateRangeFilter;
+import szte.flowboard.dto.request.TimeLogFilterDto;
 import szte.flowboard.entity.ProjectEntity;
 import szte.flowboard.entity.TaskEntity;
 import szte.flowboard.entity.TimeLogEntity;
 import szte.flowboard.entity.UserEntity;
+import szte.flowboard.enums.ProjectEventType;
 import szte.flowboard.repository.ProjectUserRepository;
+import szte.flowboard.repository.ArchivedTaskRepository;
 import szte.flowboard.repository.TaskRepository;
+import szte.flowboard.repository.ArchivedTimeLogRepository;
 import szte.flowboard.repository.TimeLogRepository;
 
 import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,6 +44,9 @@ class TimeLogServiceTest {
     @Mock
     private TimeLogRepository timeLogRepository;
 
+    @Mock
+    private ArchivedTimeLogRepository archivedTimeLogRepository;
+
     @Mock
     private UserService userService;
 
@@ -39,6 +56,15 @@ class TimeLogServiceTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Mock
+    private UpdateConflictMetrics updateConflictMetrics;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private Authentication authentication;
 
@@ -52,6 +78,7 @@ class TimeLogServiceTest {
     private ProjectEntity testProject;
     private TaskEntity testTask;
     private TimeLogEntity testTimeLog;
+    private TimeLogDto testTimeLogDto;
     private UUID userId;
     private UUID projectId;
     private UUID taskId;
@@ -83,6 +110,14 @@ class TimeLogServiceTest {
         testTimeLog.setLoggedTime(Duration.ofHours(2));
         testTimeLog.setLogDate(LocalDate.now());
         testTimeLog.setIsBillable(true);
+
+        testTimeLogDto = new TimeLogDto();
+        testTimeLogDto.setId(timeLogId);
+        testTimeLogDto.setTaskId(taskId);
+        testTimeLogDto.setUserId(userId);
+        testTimeLogDto.setLoggedTime(Duration.ofHours(2));
+        testTimeLogDto.setLogDate(LocalDate.now());
+        testTimeLogDto.setBillable(true);
     }
 
     @Test
@@ -107,6 +142,7 @@ class TimeLogServiceTest {
             tl.setUser(testUser);
             return tl;
         });
+        when(taskRepository.findProjectIdById(taskId)).thenReturn(Optional.of(projectId));
 
         // When
         TimeLogEntity result = timeLogService.create(testTimeLog, authentication);
@@ -117,6 +153,7 @@ class TimeLogServiceTest {
         verify(timeLogRepository, times(1)).save(argThat(tl -> 
             tl.getUser().getId().equals(userId)
         ));
+        verify(eventPublisher).publishEvent(new ProjectEventDto(projectId, ProjectEventType.TIME_LOG_CREATED, timeLogId));
     }
 
     @Test
@@ -125,34 +162,64 @@ class TimeLogServiceTest {
         when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.empty());
 
         // When
-        List<TimeLogEntity> result = timeLogService.findAllByUser(authentication);
+        List<TimeLogDto> result = timeLogService.findAllByUser(authentication, new TimeLogFilterDto(), KeysetRequest.UNPAGED).items();
 
         // Then
         assertTrue(result.isEmpty());
-        verify(timeLogRepository, never()).findByUserId(any());
+        verify(timeLogRepository, never()).findTimeLogDtoPageByUserId(any(), any(), any(), any(), any(), any());
     }
 
     @Test
     void testFindAllByUser_Success() {
         // Given
         when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.of(testUser));
-        when(timeLogRepository.findByUserId(userId)).thenReturn(List.of(testTimeLog));
+        when(timeLogRepository.findTimeLogDtoPageByUserId(userId, DateRangeFilter.EARLIEST, DateRangeFilter.LATEST, KeysetCursor.START.createdAt(), KeysetCursor.START.id(), Limit.unlimited())).thenReturn(List.of(testTimeLogDto));
 
         // When
-        List<TimeLogEntity> result = timeLogService.findAllByUser(authentication);
+        List<TimeLogDto> result = timeLogService.findAllByUser(authentication, new TimeLogFilterDto(), KeysetRequest.UNPAGED).items();
 
         // Then
         assertEquals(1, result.size());
         assertEquals(testTimeLog.getId(), result.get(0).getId());
     }
 
+    @Test
+    void testForEachByUser_UserNotFound_PassesNothing() {
+        // Given
+        when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.empty());
+        var timeLogs = new ArrayList<TimeLogDto>();
+
+        // When
+        timeLogService.forEachByUser(authentication, new TimeLogFilterDto(), 100, timeLogs::add);
+
+        // Then
+        assertTrue(timeLogs.isEmpty());
+        verify(timeLogRepository, never()).findTimeLogDtoPageByUserId(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testForEachByUser_LastChunkNotFull_StopsReading() {
+        // Given
+        when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.of(testUser));
+        when(timeLogRepository.findTimeLogDtoPageByUserId(userId, DateRangeFilter.EARLIEST, DateRangeFilter.LATEST, KeysetCursor.START.createdAt(), KeysetCursor.START.id(), Limit.of(101)))
+                .thenReturn(List.of(testTimeLogDto));
+        var timeLogs = new ArrayList<TimeLogDto>();
+
+        // When
+        timeLogService.forEachByUser(authentication, new TimeLogFilterDto(), 100, timeLogs::add);
+
+        // Then
+        assertEquals(List.of(testTimeLogDto), timeLogs);
+        verify(timeLogRepository, times(1)).findTimeLogDtoPageByUserId(any(), any(), any(), any(), any(), any());
+    }
+
     @Test
     void testFindByIdAndUser_UserNotFound_ReturnsEmpty() {
         // Given
         when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.empty());
 
         // When
-        Optional<TimeLogEntity> result = timeLogService.findByIdAndUser(timeLogId, authentication);
+        Optional<TimeLogDto> result = timeLogService.findByIdAndUser(timeLogId, authentication);
 
         // Then
         assertTrue(result.isEmpty());
@@ -162,10 +229,10 @@ class TimeLogServiceTest {
     void testFindByIdAndUser_Success() {
         // Given
         when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.of(testUser));
-        when(timeLogRepository.findByIdAndUserId(timeLogId, userId)).thenReturn(Optional.of(testTimeLog));
+        when(timeLogRepository.findTimeLogDtoByIdAndUserId(timeLogId, userId)).thenReturn(Optional.of(testTimeLogDto));
 
         // When
-        Optional<TimeLogEntity> result = timeLogService.findByIdAndUser(timeLogId, authentication);
+        Optional<TimeLogDto> result = timeLogService.findByIdAndUser(timeLogId, authentication);
 
         // Then
         assertTrue(result.isPresent());
@@ -178,7 +245,7 @@ class TimeLogServiceTest {
         when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.empty());
 
         // When
-        List<TimeLogEntity> result = timeLogService.findAllByTaskId(taskId, authentication);
+        List<TimeLogDto> result = timeLogService.findAllByTaskId(taskId, authentication);
 
         // Then
         assertTrue(result.isEmpty());
@@ -188,10 +255,10 @@ class TimeLogServiceTest {
     void testFindAllByTaskId_TaskNotFound_ReturnsEmptyList() {
         // Given
         when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.of(testUser));
-        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(taskRepository.findProjectIdById(taskId)).thenReturn(Optional.empty());
 
         // When
-        List<TimeLogEntity> result = timeLogService.findAllByTaskId(taskId, authentication);
+        List<TimeLogDto> result = timeLogService.findAllByTaskId(taskId, authentication);
 
         // Then
         assertTrue(result.isEmpty());
@@ -201,11 +268,11 @@ class TimeLogServiceTest {
     void testFindAllByTaskId_NoAccess_ReturnsEmptyList() {
         // Given
         when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.of(testUser));
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(testTask));
+        when(taskRepository.findProjectIdById(taskId)).thenReturn(Optional.of(projectId));
         when(projectUserRepository.existsByUserIdAndProjectId(userId, projectId)).thenReturn(false);
 
         // When
-        List<TimeLogEntity> result = timeLogService.findAllByTaskId(taskId, authentication);
+        List<TimeLogDto> result = timeLogService.findAllByTaskId(taskId, authentication);
 
         // Then
         assertTrue(result.isEmpty());
@@ -214,19 +281,67 @@ class TimeLogServiceTest {
     @Test
     void testFindAllByTaskId_Success() {
         // Given
-        testTask.getTimeLogs().add(testTimeLog);
         when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.of(testUser));
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(testTask));
+        when(taskRepository.findProjectIdById(taskId)).thenReturn(Optional.of(projectId));
         when(projectUserRepository.existsByUserIdAndProjectId(userId, projectId)).thenReturn(true);
+        when(timeLogRepository.findTimeLogDtosByTaskId(taskId)).thenReturn(List.of(testTimeLogDto));
 
         // When
-        List<TimeLogEntity> result = timeLogService.findAllByTaskId(taskId, authentication);
+        List<TimeLogDto> result = timeLogService.findAllByTaskId(taskId, authentication);
 
         // Then
         assertEquals(1, result.size());
         assertEquals(testTimeLog.getId(), result.get(0).getId());
     }
 
+    @Test
+    void testFindAllByTaskId_ArchivedTask_ReadsArchive() {
+        // Given
+        when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.of(testUser));
+        when(taskRepository.findProjectIdById(taskId)).thenReturn(Optional.empty());
+        when(archivedTaskRepository.findProjectIdById(taskId)).thenReturn(Optional.of(projectId));
+        when(projectUserRepository.existsByUserIdAndProjectId(userId, projectId)).thenReturn(true);
+        when(archivedTimeLogRepository.findTimeLogDtosByTaskId(taskId)).thenReturn(List.of(testTimeLogDto));
+
+        // When
+        List<TimeLogDto> result = timeLogService.findAllByTaskId(taskId, authentication);
+
+        // Then
+        assertEquals(1, result.size());
+        verify(timeLogRepository, never()).findTimeLogDtosByTaskId(any());
+    }
+
+    @Test
+    void testFindListVersionByTaskId_NoAccess_ReturnsEmptyVersion() {
+        // Given
+        when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.of(testUser));
+        when(taskRepository.findProjectIdById(taskId)).thenReturn(Optional.of(projectId));
+        when(projectUserRepository.existsByUserIdAndProjectId(userId, projectId)).thenReturn(false);
+
+        // When
+        ListVersion result = timeLogService.findListVersionByTaskId(taskId, authentication);
+
+        // Then
+        assertEquals(ListVersion.EMPTY, result);
+        verify(timeLogRepository, never()).findListVersionByTaskId(any());
+    }
+
+    @Test
+    void testFindListVersionByTaskId_Success() {
+        // Given
+        var version = new ListVersion(1, 3, LocalDateTime.now());
+        when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.of(testUser));
+        when(taskRepository.findProjectIdById(taskId)).thenReturn(Optional.of(projectId));
+        when(projectUserRepository.existsByUserIdAndProjectId(userId, projectId)).thenReturn(true);
+        when(timeLogRepository.findListVersionByTaskId(taskId)).thenReturn(version);
+
+        // When
+        ListVersion result = timeLogService.findListVersionByTaskId(taskId, authentication);
+
+        // Then
+        assertEquals(version, result);
+    }
+
     @Test
     void testUpdate_UserNotFound_ThrowsException() {
         // Given
@@ -234,29 +349,63 @@ class TimeLogServiceTest {
 
         // When & Then
         assertThrows(RuntimeException.class, () -> {
-            timeLogService.update(testTimeLog, authentication);
+            timeLogService.update(testTimeLog, 5L, authentication);
         });
     }
 
     @Test
     void testUpdate_Success() {
         // Given
+        var existingTimeLog = new TimeLogEntity();
+        existingTimeLog.setVersion(5);
         when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.of(testUser));
+        when(timeLogRepository.findById(timeLogId)).thenReturn(Optional.of(existingTimeLog));
         when(timeLogRepository.save(any(TimeLogEntity.class))).thenReturn(testTimeLog);
+        when(taskRepository.findProjectIdById(taskId)).thenReturn(Optional.of(projectId));
 
         // When
-        TimeLogEntity result = timeLogService.update(testTimeLog, authentication);
+        TimeLogEntity result = timeLogService.update(testTimeLog, 5L, authentication);
 
         // Then
         assertNotNull(result);
         verify(timeLogRepository, times(1)).save(argThat(tl -> 
-            tl.getUser().getId().equals(userId)
+            tl.getUser().getId().equals(userId) && tl.getVersion() == 5
         ));
+        verify(eventPublisher).publishEvent(new ProjectEventDto(projectId, ProjectEventType.TIME_LOG_UPDATED, timeLogId));
+    }
+
+    @Test
+    void testUpdate_TimeLogNotFound_ReturnsNull() {
+        // Given
+        when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.of(testUser));
+        when(timeLogRepository.findById(timeLogId)).thenReturn(Optional.empty());
+
+        // When
+        TimeLogEntity result = timeLogService.update(testTimeLog, 5L, authentication);
+
+        // Then
+        assertNull(result);
+        verify(timeLogRepository, never()).save(any());
+    }
+
+    @Test
+    void testUpdate_StaleVersion_ThrowsAndRecordsConflict() {
+        // Given
+        var existingTimeLog = new TimeLogEntity();
+        existingTimeLog.setVersion(5);
+        when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.of(testUser));
+        when(timeLogRepository.findById(timeLogId)).thenReturn(Optional.of(existingTimeLog));
+
+        // When & Then
+        assertThrows(OptimisticLockingFailureException.class, () -> timeLogService.update(testTimeLog, 4L, authentication));
+        verify(timeLogRepository, never()).save(any());
+        verify(updateConflictMetrics).conflict("time_log", UpdateConflictMetrics.Reason.STALE);
     }
 
     @Test
     void testDelete_Success() {
         // Given
+        when(timeLogRepository.findProjectIdById(timeLogId)).thenReturn(Optional.of(projectId));
         doNothing().when(timeLogRepository).deleteById(timeLogId);
 
         // When
@@ -264,6 +413,7 @@ class TimeLogServiceTest {
 
         // Then
         verify(timeLogRepository, times(1)).deleteById(timeLogId);
+        verify(eventPublisher).publishEvent(new ProjectEventDto(projectId, ProjectEventType.TIME_LOG_DELETED, timeLogId));
     }
 
     @Test
@@ -308,10 +458,10 @@ class TimeLogServiceTest {
     void testFindAllByUser_EmptyList() {
         // Given
         when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.of(testUser));
-        when(timeLogRepository.findByUserId(userId)).thenReturn(Collections.emptyList());
+        when(timeLogRepository.findTimeLogDtoPageByUserId(userId, DateRangeFilter.EARLIEST, DateRangeFilter.LATEST, KeysetCursor.START.createdAt(), KeysetCursor.START.id(), Limit.unlimited())).thenReturn(Collections.emptyList());
 
         // When
-        List<TimeLogEntity> result = timeLogService.findAllByUser(authentication);
+        List<TimeLogDto> result = timeLogService.findAllByUser(authentication, new TimeLogFilterDto(), KeysetRequest.UNPAGED).items();
 
         // Then
         assertTrue(result.isEmpty());
@@ -320,13 +470,13 @@ class TimeLogServiceTest {
     @Test
     void testFindAllByTaskId_EmptyTimeLogs() {
         // Given
-        testTask.setTimeLogs(Collections.emptyList());
         when(userService.getUserByAuthentication(authentication)).thenReturn(Optional.of(testUser));
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(testTask));
+        when(taskRepository.findProjectIdById(taskId)).thenReturn(Optional.of(projectId));
         when(projectUserRepository.existsByUserIdAndProjectId(userId, projectId)).thenReturn(true);
+        when(timeLogRepository.findTimeLogDtosByTaskId(taskId)).thenReturn(Collections.emptyList());
 
         // When
-        List<TimeLogEntity> result = timeLogService.findAllByTaskId(taskId, authentication);
+        List<TimeLogDto> result = timeLogService.findAllByTaskId(taskId, authentication);
 
         // Then
         assertTrue(result.isEmpty());
@@ -6,8 +6,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
+import szte.flowboard.dto.KeysetCursor;
+import szte.flowboard.dto.KeysetRequest;
 import szte.flowboard.dto.response.UserResponse;
 import szte.flowboard.entity.UserEntity;
 import szte.flowboard.repository.UserRepository;
@@ -90,10 +93,10 @@ class UserServiceTest {
         user2.setLastName("Smith");
         user2.setEmailAddress("jane.smith@example.com");
 
-        when(userRepository.findAll()).thenReturn(List.of(testUser, user2));
+        when(userRepository.findPage(KeysetCursor.START.createdAt(), KeysetCursor.START.id(), Limit.unlimited())).thenReturn(List.of(testUser, user2));
 
         // When
-        List<UserResponse> result = userService.findAll();
+        List<UserResponse> result = userService.findAll(KeysetRequest.UNPAGED).items();
 
         // Then
         assertEquals(2, result.size());
@@ -102,16 +105,16 @@ class UserServiceTest {
         assertEquals(testUser.getFirstName(), result.get(0).firstName());
         assertEquals(testUser.getLastName(), result.get(0).lastName());
         assertEquals(testUser.getEmailAddress(), result.get(0).emailAddress());
-        verify(userRepository, times(1)).findAll();
+        verify(userRepository, times(1)).findPage(KeysetCursor.START.createdAt(), KeysetCursor.START.id(), Limit.unlimited());
     }
 
     @Test
     void testFindAll_EmptyList_ReturnsEmptyList() {
         // Given
-        when(userRepository.findAll()).thenReturn(Collections.emptyList());
+        when(userRepository.findPage(KeysetCursor.START.createdAt(), KeysetCursor.START.id(), Limit.unlimited())).thenReturn(Collections.emptyList());
 
         // When
-        List<UserResponse> result = userService.findAll();
+        List<UserResponse> result = userService.findAll(KeysetRequest.UNPAGED).items();
 
         // Then
         assertTrue(result.isEmpty());
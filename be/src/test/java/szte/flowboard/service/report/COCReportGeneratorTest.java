@@ -1,17 +1,24 @@
 package szte.flowboard.service.report;
 
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import szte.flowboard.dto.request.CreateCOCReportRequestDto;
 import szte.flowboard.entity.*;
 import szte.flowboard.enums.ProjectType;
 import szte.flowboard.enums.TaskStatus;
 import szte.flowboard.repository.ProjectUserRepository;
+import szte.flowboard.repository.ArchivedTaskRepository;
 import szte.flowboard.repository.TaskRepository;
+import szte.flowboard.repository.ArchivedTimeLogRepository;
 import szte.flowboard.repository.TimeLogRepository;
 
 import java.io.IOException;
@@ -19,6 +26,7 @@ import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -31,9 +39,15 @@ class COCReportGeneratorTest {
     @Mock
     private TimeLogRepository timeLogRepository;
 
+    @Mock
+    private ArchivedTimeLogRepository archivedTimeLogRepository;
+
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private ArchivedTaskRepository archivedTaskRepository;
+
     @Mock
     private ProjectUserRepository projectUserRepository;
 
@@ -43,6 +57,15 @@ class COCReportGeneratorTest {
     @Mock
     private PDFGenerator pdfGenerator;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private ReportMetrics reportMetrics = new ReportMetrics(new SimpleMeterRegistry(), ObservationRegistry.NOOP);
+
     @InjectMocks
     private COCReportGenerator generator;
 
@@ -90,9 +113,9 @@ class COCReportGeneratorTest {
         String html = "<html>Test HTML</html>";
         byte[] pdfData = new byte[]{1, 2, 3};
 
-        when(timeLogRepository.findAllByTaskProjectIdAndLogDateBetween(
+        when(timeLogRepository.streamAllByTaskProjectIdAndLogDateBetween(
             eq(projectId), any(LocalDate.class), any(LocalDate.class)))
-            .thenReturn(Collections.emptyList());
+            .thenReturn(Stream.empty());
         when(htmlGenerator.generateFromCOC(any())).thenReturn(html);
         when(pdfGenerator.generatePdf(html)).thenReturn(pdfData);
 
@@ -103,7 +126,7 @@ class COCReportGeneratorTest {
         assertNotNull(result);
         assertEquals(pdfData, result);
         verify(timeLogRepository, times(1))
-            .findAllByTaskProjectIdAndLogDateBetween(eq(projectId), any(LocalDate.class), any(LocalDate.class));
+            .streamAllByTaskProjectIdAndLogDateBetween(eq(projectId), any(LocalDate.class), any(LocalDate.class));
         verify(htmlGenerator, times(1)).generateFromCOC(any());
     }
 
@@ -128,9 +151,9 @@ class COCReportGeneratorTest {
         String html = "<html>Test HTML</html>";
         byte[] pdfData = new byte[]{1, 2, 3};
 
-        when(timeLogRepository.findAllByTaskProjectIdAndLogDateBetween(
+        when(timeLogRepository.streamAllByTaskProjectIdAndLogDateBetween(
             eq(projectId), any(LocalDate.class), any(LocalDate.class)))
-            .thenReturn(List.of(timeLog));
+            .thenReturn(Stream.of(timeLog));
         when(projectUserRepository.findByUserIdAndProjectId(userId, projectId))
             .thenReturn(Optional.of(projectUser));
         when(htmlGenerator.generateFromCOC(any())).thenReturn(html);
@@ -162,9 +185,9 @@ class COCReportGeneratorTest {
         String html = "<html>Test HTML</html>";
         byte[] pdfData = new byte[]{1, 2, 3};
 
-        when(timeLogRepository.findAllByTaskProjectIdAndLogDateBetween(
+        when(timeLogRepository.streamAllByTaskProjectIdAndLogDateBetween(
             eq(projectId), any(LocalDate.class), any(LocalDate.class)))
-            .thenReturn(List.of(timeLog));
+            .thenReturn(Stream.of(timeLog));
         when(projectUserRepository.findByUserIdAndProjectId(userId, projectId))
             .thenReturn(Optional.empty());
         when(htmlGenerator.generateFromCOC(any())).thenReturn(html);
@@ -188,9 +211,9 @@ class COCReportGeneratorTest {
         String html = "<html>Test HTML</html>";
         byte[] pdfData = new byte[]{1, 2, 3};
 
-        when(taskRepository.findByProjectIdAndFinishedAtBetween(
+        when(taskRepository.streamAllByProjectIdAndFinishedAtBetween(
             eq(projectId), any(LocalDateTime.class), any(LocalDateTime.class)))
-            .thenReturn(Collections.emptyList());
+            .thenReturn(Stream.empty());
         when(htmlGenerator.generateFromCOC(any())).thenReturn(html);
         when(pdfGenerator.generatePdf(html)).thenReturn(pdfData);
 
@@ -201,8 +224,8 @@ class COCReportGeneratorTest {
         assertNotNull(result);
         assertEquals(pdfData, result);
         verify(taskRepository, times(1))
-            .findByProjectIdAndFinishedAtBetween(eq(projectId), any(LocalDateTime.class), any(LocalDateTime.class));
-        verify(timeLogRepository, never()).findAllByTaskProjectIdAndLogDateBetween(any(), any(), any());
+            .streamAllByProjectIdAndFinishedAtBetween(eq(projectId), any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(timeLogRepository, never()).streamAllByTaskProjectIdAndLogDateBetween(any(), any(), any());
     }
 
     @Test
@@ -225,9 +248,9 @@ class COCReportGeneratorTest {
         String html = "<html>Test HTML</html>";
         byte[] pdfData = new byte[]{1, 2, 3};
 
-        when(taskRepository.findByProjectIdAndFinishedAtBetween(
+        when(taskRepository.streamAllByProjectIdAndFinishedAtBetween(
             eq(projectId), any(LocalDateTime.class), any(LocalDateTime.class)))
-            .thenReturn(List.of(task));
+            .thenReturn(Stream.of(task));
         when(htmlGenerator.generateFromCOC(any())).thenReturn(html);
         when(pdfGenerator.generatePdf(html)).thenReturn(pdfData);
 
@@ -238,7 +261,7 @@ class COCReportGeneratorTest {
         assertNotNull(result);
         assertEquals(pdfData, result);
         verify(taskRepository, times(1))
-            .findByProjectIdAndFinishedAtBetween(eq(projectId), any(LocalDateTime.class), any(LocalDateTime.class));
+            .streamAllByProjectIdAndFinishedAtBetween(eq(projectId), any(LocalDateTime.class), any(LocalDateTime.class));
     }
 
     @Test
@@ -272,9 +295,9 @@ class COCReportGeneratorTest {
         String html = "<html>Test HTML</html>";
         byte[] pdfData = new byte[]{1, 2, 3};
 
-        when(taskRepository.findByProjectIdAndFinishedAtBetween(
+        when(taskRepository.streamAllByProjectIdAndFinishedAtBetween(
             eq(projectId), any(LocalDateTime.class), any(LocalDateTime.class)))
-            .thenReturn(List.of(task1, task2));
+            .thenReturn(Stream.of(task1, task2));
         when(htmlGenerator.generateFromCOC(any())).thenReturn(html);
         when(pdfGenerator.generatePdf(html)).thenReturn(pdfData);
 
@@ -1,11 +1,17 @@
 package szte.flowboard.service.report;
 
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import szte.flowboard.dto.request.CreateEmployeeMatrixReportRequestDto;
 import szte.flowboard.entity.ProjectEntity;
 import szte.flowboard.entity.TimeLogEntity;
@@ -13,15 +19,18 @@ import szte.flowboard.entity.TaskEntity;
 import szte.flowboard.entity.UserEntity;
 import szte.flowboard.enums.UserRole;
 import szte.flowboard.repository.ProjectRepository;
+import szte.flowboard.repository.ArchivedTimeLogRepository;
 import szte.flowboard.repository.TimeLogRepository;
 
 import java.io.IOException;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +39,9 @@ class EmployeeMatrixReportGeneratorTest {
     @Mock
     private TimeLogRepository timeLogRepository;
 
+    @Mock
+    private ArchivedTimeLogRepository archivedTimeLogRepository;
+
     @Mock
     private ProjectRepository projectRepository;
 
@@ -39,6 +51,15 @@ class EmployeeMatrixReportGeneratorTest {
     @Mock
     private PDFGenerator pdfGenerator;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private ReportMetrics reportMetrics = new ReportMetrics(new SimpleMeterRegistry(), ObservationRegistry.NOOP);
+
     @InjectMocks
     private EmployeeMatrixReportGenerator generator;
 
@@ -80,7 +101,7 @@ class EmployeeMatrixReportGeneratorTest {
         assertNull(result);
         verify(projectRepository, times(1))
             .findAllByProjectUsersUserIdAndProjectUsersRole(userId, UserRole.MAINTAINER);
-        verify(timeLogRepository, never()).findByTaskProjectIdInAndLogDateBetween(any(), any(), any());
+        verify(timeLogRepository, never()).streamAllByTaskProjectIdInAndLogDateBetween(any(), any(), any());
     }
 
     @Test
@@ -102,8 +123,8 @@ class EmployeeMatrixReportGeneratorTest {
 
         when(projectRepository.findAllByProjectUsersUserIdAndProjectUsersRole(userId, UserRole.MAINTAINER))
             .thenReturn(List.of(testProject));
-        when(timeLogRepository.findByTaskProjectIdInAndLogDateBetween(any(Set.class), any(LocalDate.class), any(LocalDate.class)))
-            .thenReturn(List.of(timeLog));
+        when(timeLogRepository.streamAllByTaskProjectIdInAndLogDateBetween(any(Set.class), any(LocalDate.class), any(LocalDate.class)))
+            .thenReturn(Stream.of(timeLog));
         when(htmlGenerator.generateFromMatrix(any())).thenReturn(html);
         when(pdfGenerator.generatePdf(html)).thenReturn(pdfData);
 
@@ -117,6 +138,28 @@ class EmployeeMatrixReportGeneratorTest {
         verify(pdfGenerator, times(1)).generatePdf(html);
     }
 
+    @Test
+    void testGenerate_RendersAfterTransactionCommitted() throws IOException {
+        // Given
+        String html = "<html>Test HTML</html>";
+
+        when(projectRepository.findAllByProjectUsersUserIdAndProjectUsersRole(userId, UserRole.MAINTAINER))
+            .thenReturn(List.of(testProject));
+        when(htmlGenerator.generateFromMatrix(any())).thenReturn(html);
+        when(pdfGenerator.generatePdf(html)).thenReturn(new byte[]{1});
+
+        // When
+        generator.generate(request, userId);
+
+        // Then
+        var inOrder = inOrder(transactionManager, projectRepository, htmlGenerator, pdfGenerator);
+        inOrder.verify(transactionManager).getTransaction(argThat(definition -> definition.isReadOnly()));
+        inOrder.verify(projectRepository).findAllByProjectUsersUserIdAndProjectUsersRole(userId, UserRole.MAINTAINER);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(htmlGenerator).generateFromMatrix(any());
+        inOrder.verify(pdfGenerator).generatePdf(html);
+    }
+
     @Test
     void testGenerate_WithProjectsButNoTimeLogs_Success() throws IOException {
         // Given
@@ -125,8 +168,8 @@ class EmployeeMatrixReportGeneratorTest {
 
         when(projectRepository.findAllByProjectUsersUserIdAndProjectUsersRole(userId, UserRole.MAINTAINER))
             .thenReturn(List.of(testProject));
-        when(timeLogRepository.findByTaskProjectIdInAndLogDateBetween(any(Set.class), any(LocalDate.class), any(LocalDate.class)))
-            .thenReturn(Collections.emptyList());
+        when(timeLogRepository.streamAllByTaskProjectIdInAndLogDateBetween(any(Set.class), any(LocalDate.class), any(LocalDate.class)))
+            .thenReturn(Stream.empty());
         when(htmlGenerator.generateFromMatrix(any())).thenReturn(html);
         when(pdfGenerator.generatePdf(html)).thenReturn(pdfData);
 
@@ -169,8 +212,8 @@ class EmployeeMatrixReportGeneratorTest {
 
         when(projectRepository.findAllByProjectUsersUserIdAndProjectUsersRole(userId, UserRole.MAINTAINER))
             .thenReturn(List.of(testProject));
-        when(timeLogRepository.findByTaskProjectIdInAndLogDateBetween(any(Set.class), any(LocalDate.class), any(LocalDate.class)))
-            .thenReturn(List.of(timeLog1, timeLog2));
+        when(timeLogRepository.streamAllByTaskProjectIdInAndLogDateBetween(any(Set.class), any(LocalDate.class), any(LocalDate.class)))
+            .thenReturn(Stream.of(timeLog1, timeLog2));
         when(htmlGenerator.generateFromMatrix(any())).thenReturn(html);
         when(pdfGenerator.generatePdf(html)).thenReturn(pdfData);
 
@@ -181,4 +224,42 @@ class EmployeeMatrixReportGeneratorTest {
         assertNotNull(result);
         assertEquals(pdfData, result);
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGenerate_LargeTimeLogStream_ClearsPersistenceContextPeriodically() throws IOException {
+        // Given
+        TaskEntity task = new TaskEntity();
+        task.setId(UUID.randomUUID());
+        task.setProject(testProject);
+
+        var timeLogs = new ArrayList<TimeLogEntity>();
+        for (int i = 0; i < 1001; i++) {
+            TimeLogEntity timeLog = new TimeLogEntity();
+            timeLog.setId(UUID.randomUUID());
+            timeLog.setUser(testUser);
+            timeLog.setTask(task);
+            timeLog.setLoggedTime(Duration.ofMinutes(30));
+            timeLog.setLogDate(LocalDate.now().minusDays(1));
+            timeLogs.add(timeLog);
+        }
+
+        when(projectRepository.findAllByProjectUsersUserIdAndProjectUsersRole(userId, UserRole.MAINTAINER))
+            .thenReturn(List.of(testProject));
+        when(timeLogRepository.streamAllByTaskProjectIdInAndLogDateBetween(any(Set.class), any(LocalDate.class), any(LocalDate.class)))
+            .thenReturn(timeLogs.stream());
+        when(htmlGenerator.generateFromMatrix(any())).thenReturn("<html>Test HTML</html>");
+
+        // When
+        generator.generate(request, userId);
+
+        // Then
+        verify(entityManager, times(2)).clear();
+
+        ArgumentCaptor<ArrayList<ArrayList<String>>> captor = ArgumentCaptor.forClass(ArrayList.class);
+        verify(htmlGenerator).generateFromMatrix(captor.capture());
+        var matrix = captor.getValue();
+        assertEquals(List.of("Név", testUser.getFullName(), "Összesen"), matrix.get(0));
+        assertEquals(List.of(testProject.getName(), "500.5 óra", "500.5 óra"), matrix.get(1));
+    }
 }
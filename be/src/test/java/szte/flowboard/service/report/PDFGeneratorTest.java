@@ -1,9 +1,12 @@
 package szte.flowboard.service.report;
 
+import org.apache.pdfbox.filter.Filter;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import szte.flowboard.configuration.ReportProperties;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -12,9 +15,20 @@ class PDFGeneratorTest {
 
     private PDFGenerator pdfGenerator;
 
+    @BeforeAll
+    static void configureDeflateLevel() {
+        PDFGenerator.configureDeflateLevel();
+    }
+
     @BeforeEach
     void setUp() {
-        pdfGenerator = new PDFGenerator();
+        pdfGenerator = new PDFGenerator(new ReportProperties());
+    }
+
+    @Test
+    void testConfigureDeflateLevel_SetsApplicationLevel() {
+        // Then
+        assertEquals(String.valueOf(PDFGenerator.DEFLATE_LEVEL), System.getProperty(Filter.SYSPROP_DEFLATELEVEL));
     }
 
     @Test
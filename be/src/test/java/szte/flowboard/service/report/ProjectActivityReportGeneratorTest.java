@@ -1,27 +1,37 @@
 package szte.flowboard.service.report;
 
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import szte.flowboard.dto.ProjectActivityReportDto;
 import szte.flowboard.dto.request.CreateProjectActivityReportRequestDto;
 import szte.flowboard.entity.ProjectEntity;
 import szte.flowboard.entity.StoryPointTimeMappingEntity;
 import szte.flowboard.entity.TaskEntity;
 import szte.flowboard.entity.TimeLogEntity;
 import szte.flowboard.enums.TaskStatus;
+import szte.flowboard.repository.ArchivedTaskRepository;
 import szte.flowboard.repository.TaskRepository;
+import szte.flowboard.repository.ArchivedTimeLogRepository;
+import szte.flowboard.repository.TimeLogRepository;
 
 import java.io.IOException;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -34,12 +44,30 @@ class ProjectActivityReportGeneratorTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Mock
+    private TimeLogRepository timeLogRepository;
+
+    @Mock
+    private ArchivedTimeLogRepository archivedTimeLogRepository;
+
     @Mock
     private HTMLGenerator htmlGenerator;
 
     @Mock
     private PDFGenerator pdfGenerator;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private ReportMetrics reportMetrics = new ReportMetrics(new SimpleMeterRegistry(), ObservationRegistry.NOOP);
+
     @InjectMocks
     private ProjectActivityReportGenerator generator;
 
@@ -67,9 +95,9 @@ class ProjectActivityReportGeneratorTest {
         String html = "<html>Test HTML</html>";
         byte[] pdfData = new byte[]{1, 2, 3};
 
-        when(taskRepository.findByProjectIdAndFinishedAtBetween(
+        when(taskRepository.streamAllByProjectIdAndFinishedAtBetween(
             eq(projectId), any(LocalDateTime.class), any(LocalDateTime.class)))
-            .thenReturn(Collections.emptyList());
+            .thenReturn(Stream.empty());
         when(htmlGenerator.generateFromProjectActivity(any())).thenReturn(html);
         when(pdfGenerator.generatePdf(html)).thenReturn(pdfData);
 
@@ -102,9 +130,9 @@ class ProjectActivityReportGeneratorTest {
         String html = "<html>Test HTML</html>";
         byte[] pdfData = new byte[]{1, 2, 3};
 
-        when(taskRepository.findByProjectIdAndFinishedAtBetween(
+        when(taskRepository.streamAllByProjectIdAndFinishedAtBetween(
             eq(projectId), any(LocalDateTime.class), any(LocalDateTime.class)))
-            .thenReturn(List.of(task));
+            .thenReturn(Stream.of(task));
         when(htmlGenerator.generateFromProjectActivity(any())).thenReturn(html);
         when(pdfGenerator.generatePdf(html)).thenReturn(pdfData);
 
@@ -129,7 +157,7 @@ class ProjectActivityReportGeneratorTest {
         TimeLogEntity timeLog = new TimeLogEntity();
         timeLog.setId(UUID.randomUUID());
         timeLog.setLoggedTime(Duration.ofHours(8));
-        task.setTimeLogs(List.of(timeLog));
+        timeLog.setTask(task);
 
         StoryPointTimeMappingEntity mapping = new StoryPointTimeMappingEntity();
         mapping.setStoryPoints(5);
@@ -139,9 +167,12 @@ class ProjectActivityReportGeneratorTest {
         String html = "<html>Test HTML</html>";
         byte[] pdfData = new byte[]{1, 2, 3};
 
-        when(taskRepository.findByProjectIdAndFinishedAtBetween(
+        when(taskRepository.streamAllByProjectIdAndFinishedAtBetween(
+            eq(projectId), any(LocalDateTime.class), any(LocalDateTime.class)))
+            .thenReturn(Stream.of(task));
+        when(timeLogRepository.streamAllByTaskProjectIdAndTaskFinishedAtBetween(
             eq(projectId), any(LocalDateTime.class), any(LocalDateTime.class)))
-            .thenReturn(List.of(task));
+            .thenReturn(Stream.of(timeLog));
         when(htmlGenerator.generateFromProjectActivity(any())).thenReturn(html);
         when(pdfGenerator.generatePdf(html)).thenReturn(pdfData);
 
@@ -151,6 +182,13 @@ class ProjectActivityReportGeneratorTest {
         // Then
         assertNotNull(result);
         assertEquals(pdfData, result);
+
+        ArgumentCaptor<ProjectActivityReportDto> captor = ArgumentCaptor.forClass(ProjectActivityReportDto.class);
+        verify(htmlGenerator).generateFromProjectActivity(captor.capture());
+        var line = captor.getValue().getLines().get(0);
+        assertEquals(480L, line.getSpentMinutes());
+        assertEquals(600L, line.getEstimatedMinutes());
+        assertEquals(-120L, line.getDeviation());
     }
 
     @Test
@@ -185,9 +223,9 @@ class ProjectActivityReportGeneratorTest {
         String html = "<html>Test HTML</html>";
         byte[] pdfData = new byte[]{1, 2, 3};
 
-        when(taskRepository.findByProjectIdAndFinishedAtBetween(
+        when(taskRepository.streamAllByProjectIdAndFinishedAtBetween(
             eq(projectId), any(LocalDateTime.class), any(LocalDateTime.class)))
-            .thenReturn(List.of(task1, task2));
+            .thenReturn(Stream.of(task1, task2));
         when(htmlGenerator.generateFromProjectActivity(any())).thenReturn(html);
         when(pdfGenerator.generatePdf(html)).thenReturn(pdfData);
 
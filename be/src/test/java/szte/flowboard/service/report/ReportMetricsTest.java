@@ -0,0 +1,99 @@
+package szte.flowboard.service.report;
+
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.ObservationView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import szte.flowboard.enums.ProjectType;
+import szte.flowboard.enums.ReportType;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ObservationRegistry observationRegistry;
+    private ReportMetrics reportMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        reportMetrics = new ReportMetrics(meterRegistry, observationRegistry);
+    }
+
+    @Test
+    void testObserveStage_RecordsTimerWithTags() throws IOException {
+        // When
+        var result = reportMetrics.observeStage(ReportType.COC, ProjectType.TIME_BASED, ReportMetrics.Stage.RENDER, () -> "html");
+
+        // Then
+        assertEquals("html", result);
+        var timer = meterRegistry.find(ReportMetrics.STAGE_OBSERVATION)
+                .tag("report.type", "COC")
+                .tag("project.type", "TIME_BASED")
+                .tag("stage", "render")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void testObserveStage_InsideReport_HasReportAsParent() throws IOException {
+        // Given
+        var parent = new AtomicReference<Observation>();
+        var stageParent = new AtomicReference<ObservationView>();
+
+        // When
+        reportMetrics.observeReport(ReportType.PROJECT_ACTIVITY, ProjectType.STORY_POINT_BASED, () -> {
+            parent.set(observationRegistry.getCurrentObservation());
+            return reportMetrics.observeStage(ReportType.PROJECT_ACTIVITY, ProjectType.STORY_POINT_BASED, ReportMetrics.Stage.QUERY, () -> {
+                stageParent.set(observationRegistry.getCurrentObservation().getContextView().getParentObservation());
+                return null;
+            });
+        });
+
+        // Then
+        assertNotNull(parent.get());
+        assertSame(parent.get(), stageParent.get());
+        assertNotNull(meterRegistry.find(ReportMetrics.REPORT_OBSERVATION).tag("report.type", "PROJECT_ACTIVITY").timer());
+    }
+
+    @Test
+    void testObserveStage_Failure_IncrementsErrorCounter() {
+        // When
+        assertThrows(IOException.class, () -> reportMetrics.observeStage(ReportType.EMPLOYEE_MATRIX, null, ReportMetrics.Stage.LAYOUT, () -> {
+            throw new IOException("broken template");
+        }));
+
+        // Then
+        var counter = meterRegistry.find(ReportMetrics.ERROR_COUNTER)
+                .tag("report.type", "EMPLOYEE_MATRIX")
+                .tag("project.type", "none")
+                .tag("stage", "layout")
+                .tag("exception", "IOException")
+                .counter();
+        assertNotNull(counter);
+        assertEquals(1.0, counter.count());
+    }
+
+    @Test
+    void testRecordSize_RecordsDistributionSummary() {
+        // When
+        reportMetrics.recordSize(ReportType.COC, ProjectType.TIME_BASED, new byte[2048]);
+        reportMetrics.recordSize(ReportType.COC, ProjectType.TIME_BASED, null);
+
+        // Then
+        var summary = meterRegistry.find(ReportMetrics.SIZE_SUMMARY).tag("report.type", "COC").summary();
+        assertNotNull(summary);
+        assertEquals(1, summary.count());
+        assertEquals(2048.0, summary.totalAmount());
+    }
+}
@@ -0,0 +1,78 @@
+package szte.flowboard.service.report;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import szte.flowboard.configuration.ReportProperties;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the size of the generated report documents, since every report is archived in S3.
+ * Budgets leave roughly 15% headroom over the measured sizes of the synthetic reports.
+ */
+class ReportSizeBudgetTest {
+
+    private HTMLGenerator htmlGenerator;
+    private PDFGenerator pdfGenerator;
+
+    @BeforeAll
+    static void configureDeflateLevel() {
+        PDFGenerator.configureDeflateLevel();
+    }
+
+    @BeforeEach
+    void setUp() {
+        htmlGenerator = new HTMLGenerator();
+        pdfGenerator = new PDFGenerator(new ReportProperties());
+    }
+
+    @Test
+    void testCocReport_WithinBudget() throws IOException {
+        assertWithinBudget(pdfGenerator.generatePdf(htmlGenerator.generateFromCOC(SyntheticReportData.coc(20))), 32_000);
+        assertWithinBudget(pdfGenerator.generatePdf(htmlGenerator.generateFromCOC(SyntheticReportData.coc(200))), 120_000);
+    }
+
+    @Test
+    void testProjectActivityReport_WithinBudget() throws IOException {
+        assertWithinBudget(pdfGenerator.generatePdf(htmlGenerator.generateFromProjectActivity(SyntheticReportData.projectActivity(20))), 24_000);
+        assertWithinBudget(pdfGenerator.generatePdf(htmlGenerator.generateFromProjectActivity(SyntheticReportData.projectActivity(200))), 84_000);
+    }
+
+    @Test
+    void testEmployeeMatrixReport_WithinBudget() throws IOException {
+        assertWithinBudget(pdfGenerator.generatePdf(htmlGenerator.generateFromMatrix(SyntheticReportData.employeeMatrix(2, 20))), 20_000);
+        assertWithinBudget(pdfGenerator.generatePdf(htmlGenerator.generateFromMatrix(SyntheticReportData.employeeMatrix(20, 200))), 185_000);
+    }
+
+    @Test
+    void testFont_IsSubset() throws IOException {
+        // When
+        var pdf = new String(pdfGenerator.generatePdf(htmlGenerator.generateFromCOC(SyntheticReportData.coc(20))), StandardCharsets.ISO_8859_1);
+
+        // Then
+        assertTrue(pdf.matches("(?s).*/BaseFont /[A-Z]{6}\\+PTMono-Regular.*"));
+    }
+
+    @Test
+    void testPdfA_ConformantAndWithinBudget() throws IOException {
+        // Given
+        var properties = new ReportProperties();
+        properties.getPdf().setPdfA(true);
+        var pdfAGenerator = new PDFGenerator(properties);
+
+        // When
+        var pdf = pdfAGenerator.generatePdf(htmlGenerator.generateFromCOC(SyntheticReportData.coc(20)));
+
+        // Then
+        assertTrue(new String(pdf, StandardCharsets.ISO_8859_1).contains("<pdfaid:part>2</pdfaid:part>"));
+        assertWithinBudget(pdf, 40_000);
+    }
+
+    private static void assertWithinBudget(byte[] pdf, int budget) {
+        assertTrue(pdf.length <= budget, "Report is " + pdf.length + " bytes, budget is " + budget + " bytes");
+    }
+}
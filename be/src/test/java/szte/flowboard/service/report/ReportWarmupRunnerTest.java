@@ -0,0 +1,128 @@
+package szte.flowboard.service.report;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import szte.flowboard.configuration.ReportProperties;
+import szte.flowboard.enums.ProjectType;
+import szte.flowboard.enums.ReportType;
+import szte.flowboard.enums.UserRole;
+import szte.flowboard.repository.ProjectRepository;
+import szte.flowboard.repository.ProjectUserRepository;
+import szte.flowboard.repository.TaskRepository;
+import szte.flowboard.repository.TimeLogRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportWarmupRunnerTest {
+
+    @Mock
+    private TimeLogRepository timeLogRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private ProjectUserRepository projectUserRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReportMetrics reportMetrics;
+    private ReportWarmupRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reportMetrics = new ReportMetrics(meterRegistry, ObservationRegistry.NOOP);
+
+        var properties = new ReportProperties();
+        properties.getWarmup().setEnabled(true);
+        properties.getWarmup().setIterations(2);
+
+        runner = new ReportWarmupRunner(
+                timeLogRepository,
+                taskRepository,
+                projectRepository,
+                projectUserRepository,
+                new HTMLGenerator(),
+                new PDFGenerator(new ReportProperties()),
+                reportMetrics,
+                meterRegistry,
+                properties,
+                transactionManager);
+    }
+
+    @Test
+    void testRun_RendersEveryReportType() {
+        // When
+        runner.run(null);
+
+        // Then
+        for (var reportType : ReportType.values()) {
+            var timer = meterRegistry.find(ReportWarmupRunner.WARMUP_TIMER).tag("report.type", reportType.name()).timer();
+            assertNotNull(timer);
+            assertEquals(2, timer.count());
+        }
+    }
+
+    @Test
+    void testRun_CompilesReportQueries() {
+        // When
+        runner.run(null);
+
+        // Then
+        verify(timeLogRepository).streamAllByTaskProjectIdAndLogDateBetween(any(UUID.class), any(LocalDate.class), any(LocalDate.class));
+        verify(timeLogRepository).streamAllByTaskProjectIdInAndLogDateBetween(anySet(), any(LocalDate.class), any(LocalDate.class));
+        verify(timeLogRepository).streamAllByTaskProjectIdAndTaskFinishedAtBetween(any(UUID.class), any(), any());
+        verify(taskRepository).streamAllByProjectIdAndFinishedAtBetween(any(UUID.class), any(), any());
+        verify(projectRepository).findAllByProjectUsersUserIdAndProjectUsersRole(any(UUID.class), eq(UserRole.MAINTAINER));
+        verify(projectUserRepository).findByUserIdAndProjectId(any(UUID.class), any(UUID.class));
+    }
+
+    @Test
+    void testRun_FirstReportIsTaggedAsWarmedUp() throws IOException {
+        // Given
+        runner.run(null);
+
+        // When
+        reportMetrics.observeReport(ReportType.COC, ProjectType.TIME_BASED, () -> null);
+        reportMetrics.observeReport(ReportType.COC, ProjectType.TIME_BASED, () -> null);
+
+        // Then
+        var timer = meterRegistry.find(ReportMetrics.FIRST_REPORT_TIMER).tag("report.type", "COC").tag("warmup", "true").timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void testRun_QueryFailure_DoesNotPreventStartup() {
+        // Given
+        when(timeLogRepository.streamAllByTaskProjectIdAndLogDateBetween(any(UUID.class), any(LocalDate.class), any(LocalDate.class)))
+                .thenThrow(new IllegalStateException("database unavailable"));
+
+        // When
+        assertDoesNotThrow(() -> runner.run(null));
+
+        // Then
+        assertNull(meterRegistry.find(ReportWarmupRunner.WARMUP_TIMER).timer());
+    }
+}
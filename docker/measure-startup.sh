@@ -0,0 +1,38 @@
+#!/bin/sh
+# Measures a cold start of the backend image: the time until the application reports it has started,
+# and the resident memory of the JVM right after.
+# The database and Keycloak of docker-compose.yaml must be running: docker compose up -d postgres keycloak
+#
+# usage: measure-startup.sh [image] [runs]
+#   CPUS and MEMORY set the container limits (default 2 and 1g),
+#   JAVA_OPTS and SPRING_AOT_ENABLED are passed to the container when set.
+set -eu
+
+IMAGE=${1:-flowboard-be}
+RUNS=${2:-3}
+CPUS=${CPUS:-2}
+MEMORY=${MEMORY:-1g}
+
+for run in $(seq 1 "$RUNS"); do
+    start=$(date +%s%N)
+    container=$(docker run --detach --rm --network host --cpus "$CPUS" --memory "$MEMORY" \
+        --env DATASOURCE_URL="${DATASOURCE_URL:-jdbc:postgresql://localhost:5432/flowboard}" \
+        ${JAVA_OPTS:+--env JAVA_OPTS="$JAVA_OPTS"} \
+        ${SPRING_AOT_ENABLED:+--env SPRING_AOT_ENABLED="$SPRING_AOT_ENABLED"} \
+        "$IMAGE")
+
+    until docker logs "$container" 2>&1 | grep -q "Started FlowBoardApplication"; do
+        if [ -z "$(docker ps --quiet --filter id="$container")" ]; then
+            echo "run $run: the container exited before the application started" >&2
+            exit 1
+        fi
+        sleep 0.1
+    done
+
+    end=$(date +%s%N)
+    rss=$(docker exec "$container" sh -c "grep VmRSS /proc/1/status" | awk '{print $2}')
+    started=$(docker logs "$container" 2>&1 | grep -o "Started FlowBoardApplication in [0-9.]* seconds")
+    docker stop "$container" > /dev/null
+
+    printf "run %d: %6d ms until started (%s), RSS %4d MiB\n" "$run" $(((end - start) / 1000000)) "$started" $((rss / 1024))
+done
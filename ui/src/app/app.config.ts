@@ -18,6 +18,7 @@ import { environment } from '../environments/environment';
 import { FlowBoardConfiguration, provideApi } from '@anna/flow-board-api';
 import { DurationFormatPipe } from './shared/pipes/duration-format.pipe';
 import { DatePipe } from '@angular/common';
+import { ifMatchInterceptor } from './shared/interceptors/if-match.interceptor';
 
 const escapedHostname = environment.basePath.replace(/[.*+?^${}()|[\]\\]/g, '\\$&');
 
@@ -55,7 +56,7 @@ export const appConfig: ApplicationConfig = {
     },
     provideZoneChangeDetection({ eventCoalescing: true }),
     provideRouter(routes),
-    provideHttpClient(withInterceptors([includeBearerTokenInterceptor])),
+    provideHttpClient(withInterceptors([includeBearerTokenInterceptor, ifMatchInterceptor])),
     provideAnimationsAsync(),
     providePrimeNG({
       theme: {
@@ -93,17 +93,7 @@ export class ProjectModalComponent implements OnInit, OnChanges {
 
   ngOnInit() {
     if (this.project) {
-      this.projectForm.patchValue({
-        name: this.project.name,
-        status: this.project.status || ProjectDto.StatusEnum.Active,
-        type: this.project.type || ProjectDto.TypeEnum.TimeBased,
-        storyPointFee: this.project.storyPointFee || null,
-        storyPointTimeMappings: this.project.storyPointTimeMappings || [],
-        customerName: this.project.customer?.name || '',
-        customerAddress: this.project.customer?.address || '',
-        contractorName: this.project.contractor?.name || '',
-        contractorAddress: this.project.contractor?.address || ''
-      });
+      this.patchForm(this.project);
     }
   }
 
@@ -113,24 +103,38 @@ export class ProjectModalComponent implements OnInit, OnChanges {
       this.initializeFormForCreate();
     }
 
-    if (this.project && this.isEditMode && this.visible) {
-      this.projectForm.patchValue({
-        name: this.project.name,
-        status: this.project.status || ProjectDto.StatusEnum.Active,
-        type: this.project.type || ProjectDto.TypeEnum.TimeBased,
-        storyPointFee: this.project.storyPointFee || null,
-        storyPointTimeMappings: this.project.storyPointTimeMappings || [],
-        customerName: this.project.customer?.name || '',
-        customerAddress: this.project.customer?.address || '',
-        contractorName: this.project.contractor?.name || '',
-        contractorAddress: this.project.contractor?.address || ''
+    if (this.project?.id && this.isEditMode && this.visible && !this.previousVisible) {
+      // The update is based on the version read here
+      this.projectService.getProjectById(this.project.id).subscribe({
+        next: project => this.patchForm(project),
+        error: (error: any) => {
+          console.error('Error loading project:', error);
+        }
       });
-      this.projectForm.updateValueAndValidity();
+    }
+
+    if (this.project && this.isEditMode && this.visible) {
+      this.patchForm(this.project);
     }
 
     this.previousVisible = this.visible;
   }
 
+  private patchForm(project: ProjectDto) {
+    this.projectForm.patchValue({
+      name: project.name,
+      status: project.status || ProjectDto.StatusEnum.Active,
+      type: project.type || ProjectDto.TypeEnum.TimeBased,
+      storyPointFee: project.storyPointFee || null,
+      storyPointTimeMappings: project.storyPointTimeMappings || [],
+      customerName: project.customer?.name || '',
+      customerAddress: project.customer?.address || '',
+      contractorName: project.contractor?.name || '',
+      contractorAddress: project.contractor?.address || ''
+    });
+    this.projectForm.updateValueAndValidity();
+  }
+
   private initializeFormForCreate() {
     // Reset the entire form
     this.projectForm.reset({
@@ -183,7 +187,9 @@ export class ProjectModalComponent implements OnInit, OnChanges {
           },
           error: (error: any) => {
             this.loading = false;
-            this.errorMessage = 'Error updating project. Please try again.';
+            this.errorMessage = error.status === 412
+              ? 'The project has been changed in the meantime. Please reopen it and try again.'
+              : 'Error updating project. Please try again.';
             console.error('Error updating project:', error);
           }
         });
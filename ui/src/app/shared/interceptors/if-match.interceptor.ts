@@ -0,0 +1,26 @@
+import { HttpInterceptorFn, HttpResponse } from '@angular/common/http';
+import { tap } from 'rxjs';
+
+// The ETags of the entities read or updated last, by URL
+const eTags = new Map<string, string>();
+
+/**
+ * Sends the ETag of the entity read last as the If-Match header of its update. The backend rejects an update
+ * without it with 428 Precondition Required, and the update of an entity changed since with 412 Precondition Failed,
+ * so the entity has to be read before it is edited.
+ */
+export const ifMatchInterceptor: HttpInterceptorFn = (req, next) => {
+  const eTag = req.method === 'PUT' ? eTags.get(req.url) : undefined;
+  const request = eTag && !req.headers.has('If-Match') ? req.clone({ setHeaders: { 'If-Match': eTag } }) : req;
+
+  return next(request).pipe(
+    tap(event => {
+      if (event instanceof HttpResponse && (req.method === 'GET' || req.method === 'PUT')) {
+        const responseETag = event.headers.get('ETag');
+        if (responseETag) {
+          eTags.set(req.url, responseETag);
+        }
+      }
+    })
+  );
+};
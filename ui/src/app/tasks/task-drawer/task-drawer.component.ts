@@ -179,12 +179,14 @@ export class TaskDrawerComponent implements OnInit, OnChanges {
 
   ngOnInit() {
     if (this.task) {
+      this.loadTask();
       this.loadTimeLogs();
     }
   }
 
   ngOnChanges(changes: any) {
     if (changes.task && this.task && this.mode === 'view') {
+      this.loadTask();
       this.loadTimeLogs();
     }
     if (changes.mode) {
@@ -194,6 +196,20 @@ export class TaskDrawerComponent implements OnInit, OnChanges {
     }
   }
 
+  loadTask() {
+    if (!this.task?.id) return;
+
+    // The task lists leave the description out, only a single task is returned with it
+    this.taskService.getTaskById(this.task.id).subscribe({
+      next: (task) => {
+        this.task = task;
+      },
+      error: (error) => {
+        console.error('Error loading task:', error);
+      }
+    });
+  }
+
   loadTimeLogs() {
     if (!this.task?.id) return;
 
@@ -220,13 +236,10 @@ export class TaskDrawerComponent implements OnInit, OnChanges {
           this.taskFormLoading = false;
           this.dataChanged = true;
           // Refresh the task data
-          this.taskService.getAllTasks().subscribe({
-            next: tasks => {
-              const updatedTask = tasks.find(t => t.id === this.task?.id);
-              if (updatedTask) {
-                this.task = updatedTask;
-                this.loadTimeLogs();
-              }
+          this.taskService.getTaskById(this.task!.id!).subscribe({
+            next: updatedTask => {
+              this.task = updatedTask;
+              this.loadTimeLogs();
               this.mode = 'view';
               this.modeChange.emit(this.mode);
             }
@@ -326,6 +339,18 @@ export class TaskDrawerComponent implements OnInit, OnChanges {
     this.mode = 'edit-timelog';
     this.editingTimeLog = timeLog;
     this.modeChange.emit(this.mode);
+
+    if (!timeLog.id) return;
+
+    // The update is based on the version read here
+    this.timeLogService.getTimeLogById(timeLog.id).subscribe({
+      next: (current) => {
+        this.editingTimeLog = current;
+      },
+      error: (error) => {
+        console.error('Error loading time log:', error);
+      }
+    });
   }
 
   onDeleteTask() {